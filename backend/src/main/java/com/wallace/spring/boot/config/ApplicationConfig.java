@@ -1,31 +1,44 @@
 package com.wallace.spring.boot.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.wallace.spring.boot.exceptions.EmailNaoEncontradoException; 
 import com.wallace.spring.boot.model.repository.UserRepository;
+import com.wallace.spring.boot.services.autenticacao.CacheDeUsuarios;
 
 @Configuration
 public class ApplicationConfig {
 
+	private static final Logger logger = LoggerFactory.getLogger(ApplicationConfig.class);
+
 	private final UserRepository userRepository;
+	private final CacheDeUsuarios cacheDeUsuarios;
+	private final int custoBcrypt;
 
-	public ApplicationConfig(UserRepository userRepository) {
+	public ApplicationConfig(UserRepository userRepository, CacheDeUsuarios cacheDeUsuarios,
+			@Value("${usuarios.senhas.custo-bcrypt:10}") int custoBcrypt) {
 		this.userRepository = userRepository;
+		this.cacheDeUsuarios = cacheDeUsuarios;
+		this.custoBcrypt = custoBcrypt;
 	}
 
 	@Bean
 	UserDetailsService userDetailsService() {
-		return username -> userRepository.findByEmail(username)
-				.orElseThrow(() -> new EmailNaoEncontradoException("Email não encontrado"));
+		return username -> cacheDeUsuarios.buscar(username, email -> userRepository.findByEmail(email)
+				.orElseThrow(() -> new EmailNaoEncontradoException("Email não encontrado")));
 	}
 
 	@Bean
@@ -33,9 +46,20 @@ public class ApplicationConfig {
 		DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
 		authenticationProvider.setUserDetailsService(userDetailsService());
 		authenticationProvider.setPasswordEncoder(passwordEncoder());
+		authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService());
 		return authenticationProvider;
 	}
 
+	// Chamado pelo provider após um login válido cujo hash tem custo menor que o configurado
+	@Bean
+	UserDetailsPasswordService userDetailsPasswordService() {
+		return (userDetails, novaSenha) -> userRepository.findByEmail(userDetails.getUsername()).map(user -> {
+			user.setSenha(novaSenha);
+			logger.info("Hash de senha do usuário {} atualizado para o custo {}", user.getEmail(), custoBcrypt);
+			return (UserDetails) userRepository.save(user);
+		}).orElse(userDetails);
+	}
+
 	@Bean
 	AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
 		return config.getAuthenticationManager();
@@ -43,6 +67,6 @@ public class ApplicationConfig {
 
 	@Bean
 	PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new BCryptPasswordEncoder(custoBcrypt);
 	}
 }
\ No newline at end of file
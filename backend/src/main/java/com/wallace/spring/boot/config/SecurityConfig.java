@@ -17,7 +17,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.wallace.spring.boot.config.security.JwtAuthenticationEntryPoint;
+import com.wallace.spring.boot.config.security.DescarteDeCargaFilter;
 import com.wallace.spring.boot.config.security.JwtAuthenticationFilter;
+import com.wallace.spring.boot.config.security.LimiteDeRequisicoesFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -28,15 +30,21 @@ public class SecurityConfig {
 	private final AuthenticationProvider authenticationProvider;
 	private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 	private final CustomAccessDeniedHandler customAccessDeniedHandler;
+	private final LimiteDeRequisicoesFilter limiteDeRequisicoesFilter;
+	private final DescarteDeCargaFilter descarteDeCargaFilter;
 
 	public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
 			AuthenticationProvider authenticationProvider,
 			JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
-			CustomAccessDeniedHandler customAccessDeniedHandler) {
+			CustomAccessDeniedHandler customAccessDeniedHandler,
+			LimiteDeRequisicoesFilter limiteDeRequisicoesFilter,
+			DescarteDeCargaFilter descarteDeCargaFilter) {
 		this.jwtAuthenticationFilter = jwtAuthenticationFilter;
 		this.authenticationProvider = authenticationProvider;
 		this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
 		this.customAccessDeniedHandler = customAccessDeniedHandler;
+		this.limiteDeRequisicoesFilter = limiteDeRequisicoesFilter;
+		this.descarteDeCargaFilter = descarteDeCargaFilter;
 	}
 
 	@Bean
@@ -45,6 +53,7 @@ public class SecurityConfig {
 				.cors(cors -> cors.configurationSource(corsConfigurationSource()))
 				.authorizeHttpRequests(auth -> auth
 						.requestMatchers("/api/v1/auth/**").permitAll()
+						.requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
 						.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
 						.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 						
@@ -55,7 +64,11 @@ public class SecurityConfig {
 						
 						.requestMatchers(HttpMethod.GET, "/contas/**").hasAnyAuthority("user:read", "admin:read")
 						.requestMatchers(HttpMethod.POST, "/contas").hasAnyAuthority("user:write", "admin:write")
+						.requestMatchers(HttpMethod.POST, "/contas/transferencias/lote").hasAnyAuthority("user:write", "admin:write")
 						.requestMatchers(HttpMethod.PUT, "/contas/**").hasAnyAuthority("user:write", "admin:write")
+						.requestMatchers(HttpMethod.POST, "/admin/ledger/auditoria").hasAuthority("admin:read")
+						.requestMatchers(HttpMethod.POST, "/admin/ledger/reconstrucao").hasAuthority("admin:update")
+						.requestMatchers(HttpMethod.GET, "/admin/contabilidade/**").hasAuthority("admin:read")
 						
 						.anyRequest().authenticated())
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -63,7 +76,9 @@ public class SecurityConfig {
 				.exceptionHandling(ex -> ex
 					.authenticationEntryPoint(jwtAuthenticationEntryPoint)
 					.accessDeniedHandler(customAccessDeniedHandler)) 
-				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+				.addFilterAfter(limiteDeRequisicoesFilter, JwtAuthenticationFilter.class)
+				.addFilterBefore(descarteDeCargaFilter, JwtAuthenticationFilter.class);
 
 		return http.build();
 	}
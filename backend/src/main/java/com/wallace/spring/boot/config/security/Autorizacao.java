@@ -0,0 +1,27 @@
+package com.wallace.spring.boot.config.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.wallace.spring.boot.enums.Permission;
+import com.wallace.spring.boot.model.entities.User;
+
+// Usado nas expressões de @PreAuthorize: @autorizacao.possui(authentication, 'user:read')
+@Component("autorizacao")
+public class Autorizacao {
+
+    public boolean possui(Authentication authentication, String permissao) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        return (mascaraDe(authentication) & Permission.de(permissao).getBit()) != 0;
+    }
+
+    private long mascaraDe(Authentication authentication) {
+        return switch (authentication.getPrincipal()) {
+            case UsuarioAutenticado usuario -> usuario.mascaraPermissoes();
+            case User user when user.getRole() != null -> user.getRole().getMascaraPermissoes();
+            default -> Permission.mascaraDe(authentication.getAuthorities());
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.wallace.spring.boot.config.security;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallace.spring.boot.dto.ErroResponse;
+import com.wallace.spring.boot.services.monitoramento.SaturacaoDoPoolDeConexoes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Responde 503 enquanto o pool de conexões estiver saturado; o actuator continua respondendo
+@Component
+public class DescarteDeCargaFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DescarteDeCargaFilter.class);
+
+    private final SaturacaoDoPoolDeConexoes saturacaoDoPool;
+    private final ObjectMapper objectMapper;
+    private final Counter recusadas;
+    private final boolean habilitado;
+    private final long tentarNovamenteSegundos;
+
+    public DescarteDeCargaFilter(SaturacaoDoPoolDeConexoes saturacaoDoPool, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${banco.pool.descarte.habilitado:true}") boolean habilitado,
+            @Value("${banco.pool.descarte.tentar-novamente-segundos:1}") long tentarNovamenteSegundos) {
+        this.saturacaoDoPool = saturacaoDoPool;
+        this.objectMapper = objectMapper;
+        this.recusadas = meterRegistry.counter("banco.pool.requisicoes-recusadas");
+        this.habilitado = habilitado;
+        this.tentarNovamenteSegundos = tentarNovamenteSegundos;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !habilitado || request.getRequestURI().substring(request.getContextPath().length()).startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        if (!saturacaoDoPool.saturado()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        recusadas.increment();
+        logger.debug("Requisição {} {} recusada: pool de conexões saturado", request.getMethod(), request.getRequestURI());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(tentarNovamenteSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(),
+                "Serviço temporariamente sobrecarregado. Tente novamente em instantes.", request.getRequestURI());
+        response.getWriter().write(objectMapper.writeValueAsString(erroResponse));
+    }
+}
@@ -1,9 +1,14 @@
 package com.wallace.spring.boot.config.security;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,8 +16,12 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.wallace.spring.boot.enums.Permission;
+import com.wallace.spring.boot.enums.Role;
 import com.wallace.spring.boot.services.JwtService;
+import com.wallace.spring.boot.services.autenticacao.ListaDeNegacaoTokens;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,10 +32,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtService jwtService;
+    private final ListaDeNegacaoTokens listaDeNegacaoTokens;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+            ListaDeNegacaoTokens listaDeNegacaoTokens, @Value("${jwt.stateless:true}") boolean stateless) {
         this.userDetailsService = userDetailsService;
         this.jwtService = jwtService;
+        this.listaDeNegacaoTokens = listaDeNegacaoTokens;
+        this.stateless = stateless;
     }
 
     @Override
@@ -34,32 +48,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwtToken;
-        final String userEmail;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwtToken = authHeader.substring(7);
+        final String jwtToken = authHeader.substring(7);
+        final Claims claims = jwtService.validarToken(jwtToken).orElse(null);
 
-        userEmail = jwtService.extractUserEmail(jwtToken);
+        if (claims != null && claims.getSubject() != null && !listaDeNegacaoTokens.estaNegado(claims.getId())) {
+            boolean possuiClaimsDeAutorizacao = claims.get(JwtService.CLAIM_ID_USUARIO) != null;
+            UsernamePasswordAuthenticationToken authenticationToken = stateless && possuiClaimsDeAutorizacao
+                    ? autenticacaoPelasClaims(claims)
+                    : autenticacaoPeloBanco(claims);
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        }
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        filterChain.doFilter(request, response);
+    }
 
-            if (jwtService.isTokenValid(jwtToken, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+    // A assinatura já garante que as claims foram emitidas por nós, então o usuário é montado sem ir ao banco
+    private UsernamePasswordAuthenticationToken autenticacaoPelasClaims(Claims claims) {
+        Role role = Role.valueOf(claims.get(JwtService.CLAIM_ROLE, String.class));
 
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        List<?> permissoes = claims.get(JwtService.CLAIM_PERMISSOES, List.class);
+        if (permissoes != null) {
+            permissoes.forEach(permissao -> authorities.add(new SimpleGrantedAuthority(permissao.toString())));
+        }
+        long mascara = Permission.mascaraDe(authorities);
 
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+        UsuarioAutenticado usuario = new UsuarioAutenticado(
+                claims.get(JwtService.CLAIM_ID_USUARIO, Integer.class), claims.getSubject(), role, mascara);
+
+        // No caso comum as permissões do token são as da role, e a lista pré-calculada da role é reaproveitada
+        if (mascara == role.getMascaraPermissoes() && authorities.size() == Long.bitCount(mascara)) {
+            return new UsernamePasswordAuthenticationToken(usuario, null, role.getAuthorities());
         }
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        return new UsernamePasswordAuthenticationToken(usuario, null, authorities);
+    }
 
-        filterChain.doFilter(request, response);
+    // Tokens emitidos antes das claims de autorização (ou com o modo stateless desligado) ainda consultam o usuário
+    private UsernamePasswordAuthenticationToken autenticacaoPeloBanco(Claims claims) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.wallace.spring.boot.config.security;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallace.spring.boot.dto.ErroResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Com threads virtuais, o limite de requisições simultâneas que o pool do Tomcat dava passa a ser este semáforo
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LimiteDeConcorrenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteDeConcorrenciaFilter.class);
+
+    private final Semaphore vagas;
+    private final long esperaMaximaMs;
+    private final long tentarNovamenteSegundos;
+    private final ObjectMapper objectMapper;
+    private final Counter recusadas;
+
+    public LimiteDeConcorrenciaFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${threads-virtuais.requisicoes.maximo-simultaneas:40}") int maximoSimultaneas,
+            @Value("${threads-virtuais.requisicoes.espera-maxima-ms:2000}") long esperaMaximaMs,
+            @Value("${banco.pool.descarte.tentar-novamente-segundos:1}") long tentarNovamenteSegundos) {
+        this.vagas = new Semaphore(maximoSimultaneas, true);
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.tentarNovamenteSegundos = tentarNovamenteSegundos;
+        this.objectMapper = objectMapper;
+        this.recusadas = meterRegistry.counter("threads.virtuais.requisicoes-recusadas");
+        meterRegistry.gauge("threads.virtuais.requisicoes-aguardando", vagas, Semaphore::getQueueLength);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length()).startsWith("/actuator");
+    }
+
+    // A vaga é devolvida quando a cadeia retorna; numa resposta assíncrona (exportação, autenticação) isso acontece
+    // ao iniciar o processamento assíncrono, que segue fora da contagem
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        boolean obteve;
+        try {
+            obteve = vagas.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            obteve = false;
+        }
+        if (obteve) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                vagas.release();
+            }
+            return;
+        }
+
+        recusadas.increment();
+        logger.debug("Requisição {} {} recusada: limite de requisições simultâneas atingido", request.getMethod(),
+                request.getRequestURI());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(tentarNovamenteSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(),
+                "Serviço temporariamente sobrecarregado. Tente novamente em instantes.", request.getRequestURI());
+        response.getWriter().write(objectMapper.writeValueAsString(erroResponse));
+    }
+}
@@ -0,0 +1,129 @@
+package com.wallace.spring.boot.config.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallace.spring.boot.dto.ErroResponse;
+import com.wallace.spring.boot.services.limite.ArmazenamentoDeLimites;
+import com.wallace.spring.boot.services.limite.PoliticaDeLimite;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Limita /api/v1/auth/** por IP e as operações com dinheiro por IP e por usuário
+@Component
+public class LimiteDeRequisicoesFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteDeRequisicoesFilter.class);
+
+    private final ArmazenamentoDeLimites armazenamentoDeLimites;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean habilitado;
+    private final PoliticaDeLimite autenticacaoPorIp;
+    private final PoliticaDeLimite operacoesPorIp;
+    private final PoliticaDeLimite operacoesPorUsuario;
+
+    public LimiteDeRequisicoesFilter(ArmazenamentoDeLimites armazenamentoDeLimites, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${limites.habilitado:true}") boolean habilitado,
+            @Value("${limites.autenticacao.capacidade-por-ip:10}") long autenticacaoPorIp,
+            @Value("${limites.autenticacao.periodo-segundos:60}") long periodoAutenticacao,
+            @Value("${limites.operacoes.capacidade-por-ip:120}") long operacoesPorIp,
+            @Value("${limites.operacoes.capacidade-por-usuario:60}") long operacoesPorUsuario,
+            @Value("${limites.operacoes.periodo-segundos:60}") long periodoOperacoes) {
+        this.armazenamentoDeLimites = armazenamentoDeLimites;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.autenticacaoPorIp = new PoliticaDeLimite("autenticacao-ip", autenticacaoPorIp,
+                Duration.ofSeconds(periodoAutenticacao));
+        this.operacoesPorIp = new PoliticaDeLimite("operacoes-ip", operacoesPorIp,
+                Duration.ofSeconds(periodoOperacoes));
+        this.operacoesPorUsuario = new PoliticaDeLimite("operacoes-usuario", operacoesPorUsuario,
+                Duration.ofSeconds(periodoOperacoes));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !habilitado || (!ehAutenticacao(request) && !ehOperacaoFinanceira(request));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String ip = request.getRemoteAddr();
+
+        if (ehAutenticacao(request)) {
+            if (recusada(request, response, autenticacaoPorIp, ip)) {
+                return;
+            }
+        } else {
+            if (recusada(request, response, operacoesPorIp, ip)) {
+                return;
+            }
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && recusada(request, response, operacoesPorUsuario, authentication.getName())) {
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean recusada(HttpServletRequest request, HttpServletResponse response, PoliticaDeLimite politica,
+            String cliente) throws IOException {
+        long esperaNanos = armazenamentoDeLimites.consumir(politica.nome() + ":" + cliente, politica);
+        if (esperaNanos == 0) {
+            return false;
+        }
+
+        long esperaSegundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+        meterRegistry.counter("limites.requisicoes.recusadas", "politica", politica.nome()).increment();
+        logger.warn("Limite {} excedido para {}", politica.nome(), cliente);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(esperaSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(),
+                "Muitas requisições. Tente novamente em " + esperaSegundos + " segundo(s).", request.getRequestURI());
+        response.getWriter().write(objectMapper.writeValueAsString(erroResponse));
+        return true;
+    }
+
+    private static boolean ehAutenticacao(HttpServletRequest request) {
+        return caminho(request).startsWith("/api/v1/auth/");
+    }
+
+    private static boolean ehOperacaoFinanceira(HttpServletRequest request) {
+        String caminho = caminho(request);
+        return (HttpMethod.PUT.matches(request.getMethod()) && caminho.startsWith("/contas/"))
+                || (HttpMethod.POST.matches(request.getMethod()) && caminho.equals("/contas/transferencias/lote"));
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,14 @@
+package com.wallace.spring.boot.config.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import com.wallace.spring.boot.enums.Role;
+
+public record UsuarioAutenticado(Integer id, String email, Role role, long mascaraPermissoes)
+        implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,15 +1,21 @@
 package com.wallace.spring.boot.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.wallace.spring.boot.dto.AuthenticationRequestDTO;
+import com.wallace.spring.boot.dto.RefreshTokenRequestDTO;
 import com.wallace.spring.boot.dto.RegisterRequestDTO;
 import com.wallace.spring.boot.services.AuthenticationService;
 import com.wallace.spring.boot.services.AuthenticationService.AuthenticationResponse;
+import com.wallace.spring.boot.services.autenticacao.ExecutorDeSenhas;
 
 import jakarta.validation.Valid;
 
@@ -18,18 +24,35 @@ import jakarta.validation.Valid;
 public class AuthenticationController {
     
     private final AuthenticationService authenticationService;
+    private final ExecutorDeSenhas executorDeSenhas;
 
-    public AuthenticationController(AuthenticationService authenticationService) {
+    public AuthenticationController(AuthenticationService authenticationService, ExecutorDeSenhas executorDeSenhas) {
         this.authenticationService = authenticationService;
+        this.executorDeSenhas = executorDeSenhas;
     }
 
+    // Registro e login fazem BCrypt; rodam no executor de senhas e liberam a thread do servlet enquanto isso
     @PostMapping("/register") 
-    public ResponseEntity<AuthenticationResponse> register(@Valid @RequestBody RegisterRequestDTO requestDTO) {
-        return ResponseEntity.ok(authenticationService.register(requestDTO));
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> register(@Valid @RequestBody RegisterRequestDTO requestDTO) {
+        return executorDeSenhas.executar(() -> ResponseEntity.ok(authenticationService.register(requestDTO)));
     }
 
     @PostMapping("/authenticate")
-    public ResponseEntity<AuthenticationResponse> authenticate(@Valid @RequestBody AuthenticationRequestDTO requestDTO) {
-        return ResponseEntity.ok(authenticationService.authenticated(requestDTO));
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> authenticate(@Valid @RequestBody AuthenticationRequestDTO requestDTO) {
+        return executorDeSenhas.executar(() -> ResponseEntity.ok(authenticationService.authenticated(requestDTO)));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@Valid @RequestBody RefreshTokenRequestDTO requestDTO) {
+        return ResponseEntity.ok(authenticationService.renovar(requestDTO.refreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequestDTO requestDTO) {
+        String jwtToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authenticationService.logout(jwtToken, requestDTO != null ? requestDTO.refreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
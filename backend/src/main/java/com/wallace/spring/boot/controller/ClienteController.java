@@ -40,7 +40,7 @@ public class ClienteController {
 			@ApiResponse(responseCode = "401", description = "Realize o Login para acessar os endpoints!")
 })
 	@GetMapping
-	@PreAuthorize("hasAuthority('user:read')")
+	@PreAuthorize("@autorizacao.possui(authentication, 'user:read')")
 	public ResponseEntity<List<ClienteResponseDTO>> buscarTodosClientes() {
 		List<Cliente> clientes = clienteService.buscarTodosClientes();
 		List<ClienteResponseDTO> clientesResponseDTO = clientes.stream().map(ClienteResponseDTO::new).toList();
@@ -51,7 +51,7 @@ public class ClienteController {
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Cliente encontrado com sucesso."),
 			@ApiResponse(responseCode = "404", description = "Cliente não encontrado para o CPF informado.") })
 	@GetMapping("/{cpf}")
-	@PreAuthorize("hasAuthority('user:read')")
+	@PreAuthorize("@autorizacao.possui(authentication, 'user:read')")
 	public ResponseEntity<ClienteResponseDTO> buscarClientePorCPF(
 			@Parameter(description = "CPF do cliente a ser buscado", required = true, example = "123.456.789-00") @PathVariable String cpf) {
 
@@ -63,7 +63,7 @@ public class ClienteController {
 	@ApiResponses(value = { @ApiResponse(responseCode = "201", description = "Cliente cadastrado com sucesso."),
 			@ApiResponse(responseCode = "409", description = "O CPF informado já está cadastrado.") })
 	@PostMapping
-	@PreAuthorize("hasAuthority('user:write')")
+	@PreAuthorize("@autorizacao.possui(authentication, 'user:write')")
 	public ResponseEntity<ClienteResponseDTO> cadastrar(@Valid @RequestBody ClienteRequestDTO clienteRequestDTO) {
 		Cliente novoCliente = clienteService.cadastrarCliente(clienteRequestDTO);
 		ClienteResponseDTO clienteResponseDTO = new ClienteResponseDTO(novoCliente);
@@ -76,7 +76,7 @@ public class ClienteController {
 			@ApiResponse(responseCode = "404", description = "Cliente não encontrado para o CPF informado."),
 			@ApiResponse(responseCode = "409", description = "O novo CPF informado já está cadastrado em outro cliente.") })
 	@PutMapping("/{cpf}")
-	@PreAuthorize("hasAuthority('admin:update')") 
+	@PreAuthorize("@autorizacao.possui(authentication, 'admin:update')") 
 	public ResponseEntity<ClienteResponseDTO> alterarDadosClientePorCPF(
 			@Parameter(description = "CPF atual do cliente que será alterado", required = true, example = "123.456.789-00") @PathVariable String cpf,
 			@Valid @RequestBody ClienteRequestDTO clienteRequestDTO) {
@@ -91,7 +91,7 @@ public class ClienteController {
 			@ApiResponse(responseCode = "404", description = "Cliente não encontrado para o CPF informado."),
 			@ApiResponse(responseCode = "403", description = "Acesso negado - Apenas administradores") })
 	@DeleteMapping("/{cpf}")
-	@PreAuthorize("hasAuthority('admin:delete')")
+	@PreAuthorize("@autorizacao.possui(authentication, 'admin:delete')")
 	public ResponseEntity<Void> deletarClientePorCpf(
 			@Parameter(description = "CPF do cliente que será removido", required = true, example = "123.456.789-00") @PathVariable String cpf) {
 
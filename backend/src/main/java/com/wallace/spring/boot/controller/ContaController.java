@@ -1,33 +1,47 @@
 package com.wallace.spring.boot.controller;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.wallace.spring.boot.dto.ContaRequestDTO;
 import com.wallace.spring.boot.dto.ContaResponseDTO;
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
 import com.wallace.spring.boot.dto.HistoricoContaResponseDTO;
 import com.wallace.spring.boot.dto.OperacaoRequestDTO;
+import com.wallace.spring.boot.dto.PaginacaoResponseDTO;
 import com.wallace.spring.boot.dto.RendimentoResponseDTO;
+import com.wallace.spring.boot.dto.TransferenciaLoteRequestDTO;
+import com.wallace.spring.boot.dto.TransferenciaLoteResponseDTO;
 import com.wallace.spring.boot.dto.TransferenciaRequestDTO;
+import com.wallace.spring.boot.enums.FormatoExportacao;
+import com.wallace.spring.boot.enums.TipoTransacao;
 import com.wallace.spring.boot.model.entities.Cliente;
 import com.wallace.spring.boot.model.entities.Conta;
-import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 import com.wallace.spring.boot.services.ClienteService;
 import com.wallace.spring.boot.services.ContaService;
 import com.wallace.spring.boot.services.HistoricoContaService;
+import com.wallace.spring.boot.services.TransferenciaLoteService;
+import com.wallace.spring.boot.services.historico.ExportacaoHistoricoService;
+import com.wallace.spring.boot.services.idempotencia.IdempotenciaService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,17 +53,29 @@ import jakarta.validation.Valid;
 @RequestMapping("/contas")
 public class ContaController {
 
+	private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
 	private final ContaService contaService;
 
 	private final ClienteService clienteService;
 
 	private final HistoricoContaService historicoContaService;
 
+	private final TransferenciaLoteService transferenciaLoteService;
+
+	private final IdempotenciaService idempotenciaService;
+
+	private final ExportacaoHistoricoService exportacaoHistoricoService;
+
 	public ContaController(ContaService contaService, ClienteService clienteService,
-			HistoricoContaService historicoContaService) {
+			HistoricoContaService historicoContaService, TransferenciaLoteService transferenciaLoteService,
+			IdempotenciaService idempotenciaService, ExportacaoHistoricoService exportacaoHistoricoService) {
 		this.contaService = contaService;
 		this.clienteService = clienteService;
 		this.historicoContaService = historicoContaService;
+		this.transferenciaLoteService = transferenciaLoteService;
+		this.idempotenciaService = idempotenciaService;
+		this.exportacaoHistoricoService = exportacaoHistoricoService;
 	}
 
 	@Operation(summary = "Buscar contas por CPF", description = "Retorna todas as contas associadas a um cliente a partir do CPF fornecido.")
@@ -83,11 +109,16 @@ public class ContaController {
 	@Operation(summary = "Depositar saldo na conta", description = "Deposita um valor em uma conta Corrente ou Poupança.")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Depósito realizado com sucesso."),
 			@ApiResponse(responseCode = "400", description = "Valor informado é negativo ou igual a zero."),
-			@ApiResponse(responseCode = "404", description = "Conta não encontrada pelo ID fornecido.") })
+			@ApiResponse(responseCode = "404", description = "Conta não encontrada pelo ID fornecido."),
+			@ApiResponse(responseCode = "409", description = "Requisição com a mesma Idempotency-Key ainda em andamento."),
+			@ApiResponse(responseCode = "422", description = "Idempotency-Key já utilizada com outra requisição.") })
 	@PutMapping(path = "/{id}/deposito")
-	public ResponseEntity<ContaResponseDTO> depositar(@Valid @RequestBody OperacaoRequestDTO operacaoRequestDTO) {
-		Conta conta = contaService.depositar(operacaoRequestDTO.valor(), operacaoRequestDTO.contaId());
-		ContaResponseDTO contaResponseDTO = new ContaResponseDTO(conta);
+	public ResponseEntity<ContaResponseDTO> depositar(
+			@Parameter(description = "Chave para repetir a requisição com segurança sem duplicar o depósito") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+			@Valid @RequestBody OperacaoRequestDTO operacaoRequestDTO) {
+		ContaResponseDTO contaResponseDTO = idempotenciaService.executar(idempotencyKey, "deposito",
+				operacaoRequestDTO, new TypeReference<ContaResponseDTO>() {}, () -> new ContaResponseDTO(
+						contaService.depositar(operacaoRequestDTO.valor(), operacaoRequestDTO.contaId())));
 		return ResponseEntity.ok(contaResponseDTO);
 	}
 
@@ -95,11 +126,15 @@ public class ContaController {
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Saque realizado com sucesso."),
 			@ApiResponse(responseCode = "400", description = "Valor informado é negativo ou igual a zero."),
 			@ApiResponse(responseCode = "404", description = "Conta não encontrada pelo ID fornecido."),
-			@ApiResponse(responseCode = "409", description = "Saldo insuficiente para realizar o saque.") })
+			@ApiResponse(responseCode = "409", description = "Saldo insuficiente para realizar o saque."),
+			@ApiResponse(responseCode = "422", description = "Idempotency-Key já utilizada com outra requisição.") })
 	@PutMapping(path = "/{id}/saque")
-	public ResponseEntity<ContaResponseDTO> sacar(@Valid @RequestBody OperacaoRequestDTO operacaoRequestDTO) {
-		Conta conta = contaService.sacar(operacaoRequestDTO.valor(), operacaoRequestDTO.contaId());
-		ContaResponseDTO contaResponseDTO = new ContaResponseDTO(conta);
+	public ResponseEntity<ContaResponseDTO> sacar(
+			@Parameter(description = "Chave para repetir a requisição com segurança sem duplicar o saque") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+			@Valid @RequestBody OperacaoRequestDTO operacaoRequestDTO) {
+		ContaResponseDTO contaResponseDTO = idempotenciaService.executar(idempotencyKey, "saque",
+				operacaoRequestDTO, new TypeReference<ContaResponseDTO>() {}, () -> new ContaResponseDTO(
+						contaService.sacar(operacaoRequestDTO.valor(), operacaoRequestDTO.contaId())));
 		return ResponseEntity.ok(contaResponseDTO);
 	}
 
@@ -107,18 +142,34 @@ public class ContaController {
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Transferência realizada com sucesso."),
 			@ApiResponse(responseCode = "400", description = "Valor informado é negativo ou igual a zero."),
 			@ApiResponse(responseCode = "404", description = "Conta de origem ou destino não encontrada."),
-			@ApiResponse(responseCode = "409", description = "Saldo insuficiente na conta de origem para realizar a transferência.") })
+			@ApiResponse(responseCode = "409", description = "Saldo insuficiente na conta de origem para realizar a transferência."),
+			@ApiResponse(responseCode = "422", description = "Idempotency-Key já utilizada com outra requisição.") })
 	@PutMapping(path = "/transferencias")
 	public ResponseEntity<List<ContaResponseDTO>> transferir(
+			@Parameter(description = "Chave para repetir a requisição com segurança sem duplicar a transferência") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
 			@Valid @RequestBody TransferenciaRequestDTO transferenciaRequestDTO) {
-		List<Conta> contas = contaService.transferir(transferenciaRequestDTO.contaIdDepositar(),
-				transferenciaRequestDTO.valor(), transferenciaRequestDTO.contaIdReceber());
-
-		List<ContaResponseDTO> contasResponseDTO = contas.stream().map(ContaResponseDTO::new).toList();
+		List<ContaResponseDTO> contasResponseDTO = idempotenciaService.executar(idempotencyKey, "transferencia",
+				transferenciaRequestDTO, new TypeReference<List<ContaResponseDTO>>() {}, () -> {
+					List<Conta> contas = contaService.transferir(transferenciaRequestDTO.contaIdDepositar(),
+							transferenciaRequestDTO.valor(), transferenciaRequestDTO.contaIdReceber());
+					return contas.stream().map(ContaResponseDTO::new).toList();
+				});
 
 		return ResponseEntity.ok(contasResponseDTO);
 	}
 
+	@Operation(summary = "Transferir em lote", description = "Processa várias transferências em uma única requisição. Cada item é aplicado ou rejeitado individualmente e o resultado é devolvido na mesma ordem do lote.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Lote processado. Verifique o resultado de cada transferência."),
+			@ApiResponse(responseCode = "400", description = "Lote vazio, acima do limite ou com itens inválidos."),
+			@ApiResponse(responseCode = "503", description = "Transferência em lote desabilitada neste ambiente.") })
+	@PostMapping(path = "/transferencias/lote")
+	public ResponseEntity<TransferenciaLoteResponseDTO> transferirEmLote(
+			@Valid @RequestBody TransferenciaLoteRequestDTO transferenciaLoteRequestDTO) {
+		TransferenciaLoteResponseDTO resposta = transferenciaLoteService
+				.transferirEmLote(transferenciaLoteRequestDTO.transferencias());
+		return ResponseEntity.ok(resposta);
+	}
+
 	@Operation(summary = "Simular rendimento de uma conta poupança", description = "Simula o rendimento futuro de uma conta Poupança a partir de uma data prevista.")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Simulação realizada com sucesso."),
 			@ApiResponse(responseCode = "400", description = "Data inválida fornecida."),
@@ -127,21 +178,49 @@ public class ContaController {
 	public ResponseEntity<RendimentoResponseDTO> simularRendimento(@PathVariable Integer id,
 			@Parameter(example = "2026-10-20") @RequestParam("data") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataPrevista) {
 
-		BigDecimal valorSimulado = contaService.simularRendimento(dataPrevista, id);
+		Dinheiro valorSimulado = contaService.simularRendimento(dataPrevista, id);
 		RendimentoResponseDTO rendimentoResponseDTO = new RendimentoResponseDTO(valorSimulado);
 
 		return ResponseEntity.ok(rendimentoResponseDTO);
 	}
 
-	@Operation(summary = "Mostra histórico da conta", description = "Retorna todo o histórico da conta incluindo todas as transações.")
+	@Operation(summary = "Mostra histórico da conta", description = "Retorna o histórico da conta paginado por cursor, do mais recente para o mais antigo. Use o nextCursor da resposta para buscar a página seguinte.")
 	@ApiResponses(value = {
-			@ApiResponse(responseCode = "200", description = "Histórico de transaçções realizado com sucesso."), })
+			@ApiResponse(responseCode = "200", description = "Histórico de transaçções realizado com sucesso."),
+			@ApiResponse(responseCode = "400", description = "Cursor de paginação inválido.") })
 
 	@GetMapping(path = "/{id}/historico")
-	public ResponseEntity<List<HistoricoContaResponseDTO>> mostrarTodoRegistrosTransacoes(@PathVariable Integer id) {
-		List<HistoricoConta> historicoConta = historicoContaService.mostrarRegistrosTransacoes(id);
-		List<HistoricoContaResponseDTO> historicoContaResponseDTO = historicoConta.stream()
-				.map(HistoricoContaResponseDTO::new).toList();
-		return ResponseEntity.ok(historicoContaResponseDTO);
+	public ResponseEntity<PaginacaoResponseDTO<HistoricoContaResponseDTO>> mostrarTodoRegistrosTransacoes(
+			@PathVariable Integer id,
+			@Parameter(description = "Cursor opaco retornado em nextCursor pela página anterior") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Quantidade de itens por página (limitada pelo servidor)") @RequestParam(defaultValue = "20") int tamanho,
+			@Parameter(example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+			@Parameter(example = "2025-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+			@RequestParam(required = false) TipoTransacao tipo,
+			@Parameter(description = "Calcula totalItems e totalPages (executa uma contagem adicional)") @RequestParam(defaultValue = "false") boolean incluirTotal) {
+		PaginacaoResponseDTO<HistoricoContaResponseDTO> historico = historicoContaService.buscarHistorico(id,
+				new FiltroHistoricoDTO(dataInicio, dataFim, tipo), cursor, tamanho, incluirTotal);
+		return ResponseEntity.ok(historico);
+	}
+
+	@Operation(summary = "Exporta o extrato da conta", description = "Gera o extrato completo da conta em CSV ou NDJSON, em ordem cronológica. O conteúdo é enviado em streaming e comprimido com gzip quando o cliente aceitar.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Extrato gerado com sucesso."),
+			@ApiResponse(responseCode = "400", description = "Formato de exportação inválido."),
+			@ApiResponse(responseCode = "404", description = "Conta não encontrada pelo ID fornecido.") })
+	@GetMapping(path = "/{id}/historico/export")
+	public ResponseEntity<StreamingResponseBody> exportarHistorico(@PathVariable Integer id,
+			@Parameter(description = "csv ou ndjson") @RequestParam(name = "format", defaultValue = "csv") String formato,
+			@Parameter(example = "2025-01-01") @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+			@Parameter(example = "2025-12-31") @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+		FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+		exportacaoHistoricoService.validarConta(id);
+		FiltroHistoricoDTO filtro = new FiltroHistoricoDTO(dataInicio, dataFim, null);
+
+		StreamingResponseBody corpo = saida -> exportacaoHistoricoService.exportar(id, filtro, formatoExportacao, saida);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(formatoExportacao.getTipoDeConteudo() + ";charset=UTF-8"))
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+						.filename("extrato-conta-" + id + "." + formatoExportacao.getExtensao()).build().toString())
+				.body(corpo);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.wallace.spring.boot.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wallace.spring.boot.dto.BalanceteDTO;
+import com.wallace.spring.boot.services.lancamentos.LancamentosContabeis;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+@RestController
+@RequestMapping("/admin/contabilidade")
+@ConditionalOnProperty(name = "conta.lancamentos.habilitado", havingValue = "true", matchIfMissing = true)
+public class ContabilidadeController {
+
+	private final LancamentosContabeis lancamentosContabeis;
+
+	public ContabilidadeController(LancamentosContabeis lancamentosContabeis) {
+		this.lancamentosContabeis = lancamentosContabeis;
+	}
+
+	@Operation(summary = "Balancete de verificação", description = "Soma os totais mantidos por conta do razão; apenas administradores")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Balancete gerado com sucesso."),
+			@ApiResponse(responseCode = "403", description = "Usuário sem permissão para consultar a contabilidade.") })
+	@GetMapping("/balancete")
+	@PreAuthorize("@autorizacao.possui(authentication, 'admin:read')")
+	public ResponseEntity<BalanceteDTO> balancete(
+			@Parameter(description = "Conferir os totais com a soma de todos os lançamentos (lento)", example = "false") @RequestParam(defaultValue = "false") boolean conferirLancamentos) {
+		return ResponseEntity.ok(lancamentosContabeis.balancete(conferirLancamentos));
+	}
+}
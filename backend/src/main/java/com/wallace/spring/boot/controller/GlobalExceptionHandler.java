@@ -4,29 +4,41 @@ import java.time.LocalDateTime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.wallace.spring.boot.dto.ErroResponse;
 import com.wallace.spring.boot.exceptions.AcessoNegadoException;
 import com.wallace.spring.boot.exceptions.ClienteNaoEncontradoException;
+import com.wallace.spring.boot.exceptions.ChaveIdempotenciaReutilizadaException;
+import com.wallace.spring.boot.exceptions.ConflitoDeConcorrenciaException;
 import com.wallace.spring.boot.exceptions.ContaInexistenteException;
 import com.wallace.spring.boot.exceptions.ContaJaExistenteException;
 import com.wallace.spring.boot.exceptions.CpfInvalidoException;
 import com.wallace.spring.boot.exceptions.CpfJaExistenteException;
 import com.wallace.spring.boot.exceptions.CredenciaisInvalidasException;
+import com.wallace.spring.boot.exceptions.CursorInvalidoException;
 import com.wallace.spring.boot.exceptions.DataInvalidaException;
 import com.wallace.spring.boot.exceptions.EmailJaExistenteException;
 import com.wallace.spring.boot.exceptions.EmailNaoEncontradoException;
+import com.wallace.spring.boot.exceptions.FormatoDeExportacaoInvalidoException;
+import com.wallace.spring.boot.exceptions.MuitasRequisicoesException;
+import com.wallace.spring.boot.exceptions.OperacaoIndisponivelException;
 import com.wallace.spring.boot.exceptions.SaldoInsuficienteException;
+import com.wallace.spring.boot.exceptions.SobrecargaException;
 import com.wallace.spring.boot.exceptions.TipoDeContaInvalidaException;
+import com.wallace.spring.boot.exceptions.TokenDeAtualizacaoInvalidoException;
 import com.wallace.spring.boot.exceptions.UsuarioNaoEncontradoException;
 import com.wallace.spring.boot.exceptions.ValorMenorQueZeroException;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -107,6 +119,50 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(erroResponse, HttpStatus.UNPROCESSABLE_ENTITY);
 	}
 
+	@ExceptionHandler(SobrecargaException.class)
+	public ResponseEntity<ErroResponse> handleSobrecargaException(SobrecargaException ex, WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("SobrecargaException: {}", ex.getMessage());
+		return new ResponseEntity<>(erroResponse, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@ExceptionHandler(OperacaoIndisponivelException.class)
+	public ResponseEntity<ErroResponse> handleOperacaoIndisponivelException(OperacaoIndisponivelException ex,
+			WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("OperacaoIndisponivelException: {}", ex.getMessage());
+		return new ResponseEntity<>(erroResponse, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@ExceptionHandler(MuitasRequisicoesException.class)
+	public ResponseEntity<ErroResponse> handleMuitasRequisicoesException(MuitasRequisicoesException ex,
+			WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("MuitasRequisicoesException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(erroResponse);
+	}
+
+	@ExceptionHandler(CursorInvalidoException.class)
+	public ResponseEntity<ErroResponse> handleCursorInvalidoException(CursorInvalidoException ex, WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("CursorInvalidoException: {}", ex.getMessage());
+		return new ResponseEntity<>(erroResponse, HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(FormatoDeExportacaoInvalidoException.class)
+	public ResponseEntity<ErroResponse> handleFormatoDeExportacaoInvalidoException(
+			FormatoDeExportacaoInvalidoException ex, WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("FormatoDeExportacaoInvalidoException: {}", ex.getMessage());
+		return new ResponseEntity<>(erroResponse, HttpStatus.BAD_REQUEST);
+	}
+
 	@ExceptionHandler(DataInvalidaException.class)
 	public ResponseEntity<ErroResponse> handleDataInvalidaException(DataInvalidaException ex, WebRequest request) {
 		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
@@ -132,6 +188,24 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(erroResponse, HttpStatus.CONFLICT);
 	}
 
+	@ExceptionHandler(ConflitoDeConcorrenciaException.class)
+	public ResponseEntity<ErroResponse> handleConflitoDeConcorrenciaException(ConflitoDeConcorrenciaException ex,
+			WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("ConflitoDeConcorrenciaException: {}", ex.getMessage());
+		return new ResponseEntity<>(erroResponse, HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(ChaveIdempotenciaReutilizadaException.class)
+	public ResponseEntity<ErroResponse> handleChaveIdempotenciaReutilizadaException(
+			ChaveIdempotenciaReutilizadaException ex, WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("ChaveIdempotenciaReutilizadaException: {}", ex.getMessage());
+		return new ResponseEntity<>(erroResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+	}
+
 	@ExceptionHandler(ContaInexistenteException.class)
 	public ResponseEntity<ErroResponse> handleContaInexistenteException(ContaInexistenteException ex,
 			WebRequest request) {
@@ -149,6 +223,17 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(erroResponse, HttpStatus.BAD_REQUEST);
 	}
 
+	@ExceptionHandler(HttpMessageNotReadableException.class)
+	public ResponseEntity<ErroResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex,
+			WebRequest request) {
+		String mensagem = ex.getCause() instanceof InvalidFormatException formato
+				&& formato.getTargetType() == Dinheiro.class ? formato.getOriginalMessage()
+						: "O corpo da requisição é inválido ou está mal formatado.";
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), mensagem, request.getDescription(false));
+		logger.warn("HttpMessageNotReadableException: {}", mensagem);
+		return new ResponseEntity<>(erroResponse, HttpStatus.BAD_REQUEST);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ErroResponse> handleGenericException(Exception ex, WebRequest request) {
 		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), "Erro interno do servidor",
@@ -157,6 +242,15 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(erroResponse, HttpStatus.INTERNAL_SERVER_ERROR);
 	}
 
+	@ExceptionHandler(TokenDeAtualizacaoInvalidoException.class)
+	public ResponseEntity<ErroResponse> handleTokenDeAtualizacaoInvalidoException(
+			TokenDeAtualizacaoInvalidoException ex, WebRequest request) {
+		ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
+				request.getDescription(false));
+		logger.warn("TokenDeAtualizacaoInvalidoException: {}", ex.getMessage());
+		return new ResponseEntity<>(erroResponse, HttpStatus.UNAUTHORIZED);
+	}
+
 	@ExceptionHandler(CredenciaisInvalidasException.class)
 	public ResponseEntity<ErroResponse> handleCredenciaisInvalidasException(CredenciaisInvalidasException ex, WebRequest request) {
 	    ErroResponse erroResponse = new ErroResponse(LocalDateTime.now(), ex.getMessage(),
@@ -0,0 +1,30 @@
+package com.wallace.spring.boot.controller;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wallace.spring.boot.services.autenticacao.ChaveiroJwt;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+@RestController
+public class JwksController {
+
+    private final ChaveiroJwt chaveiroJwt;
+
+    public JwksController(ChaveiroJwt chaveiroJwt) {
+        this.chaveiroJwt = chaveiroJwt;
+    }
+
+    @Operation(summary = "Chaves públicas de verificação dos JWT", description = "Conjunto JWK com as chaves atual, próxima e aposentadas. Pode ser guardado em cache pelos serviços que validam tokens.")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(chaveiroJwt.jwks());
+    }
+}
@@ -0,0 +1,49 @@
+package com.wallace.spring.boot.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wallace.spring.boot.dto.RelatorioAuditoriaDTO;
+import com.wallace.spring.boot.services.ledger.AuditoriaDoLedger;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+@RestController
+@RequestMapping("/admin/ledger")
+@ConditionalOnProperty(name = "conta.saldo.fonte", havingValue = "LEDGER")
+public class LedgerController {
+
+	private final AuditoriaDoLedger auditoriaDoLedger;
+
+	public LedgerController(AuditoriaDoLedger auditoriaDoLedger) {
+		this.auditoriaDoLedger = auditoriaDoLedger;
+	}
+
+	@Operation(summary = "Conferir os saldos contra o ledger", description = "Apenas administradores podem auditar o ledger")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Auditoria concluída; as divergências vêm no relatório."),
+			@ApiResponse(responseCode = "403", description = "Usuário sem permissão para auditar o ledger.") })
+	@PostMapping("/auditoria")
+	@PreAuthorize("@autorizacao.possui(authentication, 'admin:read')")
+	public ResponseEntity<RelatorioAuditoriaDTO> auditar(
+			@Parameter(description = "Somar o ledger desde a primeira entrada, ignorando os snapshots", example = "false") @RequestParam(defaultValue = "false") boolean completa) {
+		return ResponseEntity.ok(auditoriaDoLedger.auditar(completa));
+	}
+
+	@Operation(summary = "Regravar os saldos divergentes a partir do ledger", description = "Com completa=true também refaz os snapshots de todas as contas")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Reconstrução concluída; as contas corrigidas vêm no relatório."),
+			@ApiResponse(responseCode = "403", description = "Usuário sem permissão para alterar saldos.") })
+	@PostMapping("/reconstrucao")
+	@PreAuthorize("@autorizacao.possui(authentication, 'admin:update')")
+	public ResponseEntity<RelatorioAuditoriaDTO> reconstruir(
+			@Parameter(description = "Somar o ledger desde a primeira entrada, ignorando os snapshots", example = "false") @RequestParam(defaultValue = "false") boolean completa) {
+		return ResponseEntity.ok(auditoriaDoLedger.reconstruir(completa));
+	}
+}
@@ -0,0 +1,26 @@
+package com.wallace.spring.boot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Balancete de verificação das partidas dobradas")
+public record BalanceteDTO(
+        @Schema(description = "Data e hora da leitura dos totais")
+        LocalDateTime geradoEm,
+        @Schema(description = "Totais por conta do razão")
+        List<LinhaBalanceteDTO> contas,
+        @Schema(description = "Soma dos débitos de todas as contas", example = "2000.00")
+        Dinheiro totalDebitos,
+        @Schema(description = "Soma dos créditos de todas as contas", example = "2000.00")
+        Dinheiro totalCreditos,
+        @Schema(description = "Indica se débitos e créditos fecham e se a COMPENSACAO está zerada", example = "true")
+        boolean equilibrado,
+        @Schema(description = "Indica se os totais conferem com a soma da tabela de lançamentos; só preenchido quando solicitado", nullable = true, example = "true")
+        Boolean totaisConferem,
+        @Schema(description = "Duração da consulta em milissegundos", example = "120")
+        long duracaoMs
+) {}
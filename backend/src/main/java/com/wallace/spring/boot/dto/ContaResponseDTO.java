@@ -1,8 +1,8 @@
 package com.wallace.spring.boot.dto;
 
 import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 import io.swagger.v3.oas.annotations.media.Schema;
-import java.math.BigDecimal;
 
 @Schema(description = "Dados de resposta para uma conta bancária")
 public record ContaResponseDTO(
@@ -11,7 +11,7 @@ public record ContaResponseDTO(
     @Schema(description = "Tipo da conta (ContaCorrente ou ContaPoupanca)", example = "ContaCorrente")
     String tipoConta,
     @Schema(description = "Saldo atual da conta", example = "1250.50")
-    BigDecimal saldo,
+    Dinheiro saldo,
     @Schema(description = "Dados do cliente titular da conta")
     ClienteResponseDTO cliente
 ) {
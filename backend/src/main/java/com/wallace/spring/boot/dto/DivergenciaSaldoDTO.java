@@ -0,0 +1,23 @@
+package com.wallace.spring.boot.dto;
+
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.ledger.PosicaoNoLedger;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Conta cujo saldo gravado difere do saldo obtido do ledger")
+public record DivergenciaSaldoDTO(
+        @Schema(description = "ID da conta", example = "1")
+        Integer contaId,
+        @Schema(description = "Sequência do ledger em que os saldos foram comparados", example = "42")
+        long sequencia,
+        @Schema(description = "Saldo gravado na conta", example = "150.75")
+        Dinheiro saldoArmazenado,
+        @Schema(description = "Saldo obtido somando as entradas do ledger", example = "140.75")
+        Dinheiro saldoDerivado
+) {
+
+    public DivergenciaSaldoDTO(PosicaoNoLedger posicao) {
+        this(posicao.contaId(), posicao.sequencia(), posicao.saldoArmazenado(), posicao.saldoDerivado());
+    }
+}
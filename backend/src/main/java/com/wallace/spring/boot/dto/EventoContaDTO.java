@@ -0,0 +1,35 @@
+package com.wallace.spring.boot.dto;
+
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.enums.TipoEventoConta;
+import com.wallace.spring.boot.model.entities.EventoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Evento de conta publicado para os sistemas externos")
+public record EventoContaDTO(
+        @Schema(description = "ID do evento, para descartar reentregas", example = "5001")
+        Integer id,
+        @Schema(description = "ID da conta afetada", example = "1")
+        Integer contaId,
+        @Schema(description = "Versão da conta após o evento; ordena os eventos de uma mesma conta", example = "42")
+        Long versaoConta,
+        @Schema(description = "Tipo do evento (DEPOSITO, SAQUE, TRANSFERENCIA_ENVIADA, TRANSFERENCIA_RECEBIDA)", example = "DEPOSITO")
+        TipoEventoConta tipo,
+        @Schema(description = "Valor movimentado", example = "100.00")
+        Dinheiro valor,
+        @Schema(description = "ID da outra conta de uma transferência", nullable = true, example = "2")
+        Integer contraparteId,
+        @Schema(description = "ID da transação no histórico da conta", nullable = true, example = "101")
+        Integer idTransacao,
+        @Schema(description = "Data e hora da transação")
+        LocalDateTime horario
+) {
+
+    public EventoContaDTO(EventoConta evento) {
+        this(evento.getId(), evento.getContaId(), evento.getVersaoConta(), evento.getTipo(), evento.getValor(),
+                evento.getContraparteId(), evento.getIdTransacao(), evento.getHorario());
+    }
+}
@@ -0,0 +1,21 @@
+package com.wallace.spring.boot.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+
+public record FiltroHistoricoDTO(
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        TipoTransacao tipo
+) {
+    public LocalDateTime inicio() {
+        return dataInicio != null ? dataInicio.atStartOfDay() : null;
+    }
+
+    // dataFim é inclusiva: o limite superior é o início do dia seguinte
+    public LocalDateTime fim() {
+        return dataFim != null ? dataFim.plusDays(1).atStartOfDay() : null;
+    }
+}
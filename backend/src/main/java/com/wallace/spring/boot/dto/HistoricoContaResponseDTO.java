@@ -1,9 +1,10 @@
 package com.wallace.spring.boot.dto;
 
-import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 
 import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Detalhes de uma única transação no histórico da conta")
@@ -13,7 +14,7 @@ public record HistoricoContaResponseDTO(
         @Schema(description = "Tipo da transação (DEPOSITO, SAQUE, TRANSFERENCIA)", example = "TRANSFERENCIA")
         String tipoDaTransacao,
         @Schema(description = "Valor da transação", example = "100.00")
-        BigDecimal valor,
+        Dinheiro valor,
         @Schema(description = "Data e hora da transação", example = "16/09/2025 17:30:00")
         String horario,
         @Schema(description = "ID da conta remetente (se aplicável)", nullable = true, example = "1")
@@ -25,16 +26,31 @@ public record HistoricoContaResponseDTO(
         @Schema(description = "Nome do cliente destinatário (se aplicável)", nullable = true, example = "Maria Silva")
         String nomeRecebedor
 ) {
+    private static final DateTimeFormatter FORMATO_HORARIO = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     public HistoricoContaResponseDTO(HistoricoConta entity) {
         this(
             entity.getId(),
             entity.getTipoDaTransacao().name(),
             entity.getValor(),
-            entity.getHorarioTransacao().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")),
+            entity.getHorarioTransacao().format(FORMATO_HORARIO),
             entity.getEfetuouTransacao() != null ? entity.getEfetuouTransacao().getId() : null,
             entity.getEfetuouTransacao() != null ? entity.getEfetuouTransacao().getCliente().getNome() : null,
             entity.getRecebeuTransacao() != null ? entity.getRecebeuTransacao().getId() : null,
             entity.getRecebeuTransacao() != null ? entity.getRecebeuTransacao().getCliente().getNome() : null
         );
     }
+
+    public HistoricoContaResponseDTO(HistoricoContaProjecao projecao) {
+        this(
+            projecao.id(),
+            projecao.tipoDaTransacao().name(),
+            projecao.valor(),
+            projecao.horario().format(FORMATO_HORARIO),
+            projecao.idRemetente(),
+            projecao.nomeRemetente(),
+            projecao.idRecebedor(),
+            projecao.nomeRecebedor()
+        );
+    }
 }
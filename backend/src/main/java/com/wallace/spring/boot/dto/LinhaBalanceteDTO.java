@@ -0,0 +1,28 @@
+package com.wallace.spring.boot.dto;
+
+import com.wallace.spring.boot.enums.ContaContabil;
+import com.wallace.spring.boot.enums.NaturezaLancamento;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Totais de uma conta do razão no balancete")
+public record LinhaBalanceteDTO(
+        @Schema(description = "Conta do razão (CAIXA, COMPENSACAO, DEPOSITOS_CLIENTES)", example = "CAIXA")
+        ContaContabil conta,
+        @Schema(description = "Soma dos débitos lançados", example = "1500.00")
+        Dinheiro debitos,
+        @Schema(description = "Soma dos créditos lançados", example = "400.00")
+        Dinheiro creditos,
+        @Schema(description = "Saldo pela natureza da conta: débitos menos créditos em CAIXA e COMPENSACAO, o inverso em DEPOSITOS_CLIENTES", example = "1100.00")
+        Dinheiro saldo,
+        @Schema(description = "Linhas de totais somadas (contas de clientes ou faixas)", example = "16")
+        long linhas
+) {
+
+    public static LinhaBalanceteDTO de(ContaContabil conta, Dinheiro debitos, Dinheiro creditos, long linhas) {
+        Dinheiro saldo = conta.getNatureza() == NaturezaLancamento.DEBITO ? debitos.subtrair(creditos)
+                : creditos.subtrair(debitos);
+        return new LinhaBalanceteDTO(conta, debitos, creditos, saldo, linhas);
+    }
+}
@@ -0,0 +1,21 @@
+package com.wallace.spring.boot.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Página de resultados no formato Pagination<T> do frontend")
+public record PaginacaoResponseDTO<T>(
+    @Schema(description = "Itens da página")
+    List<T> data,
+    @Schema(description = "Número da página atual, começando em 1", example = "1")
+    int currentPage,
+    @Schema(description = "Quantidade máxima de itens por página", example = "20")
+    int itemsPerPage,
+    @Schema(description = "Total de itens; preenchido apenas quando incluirTotal=true", nullable = true, example = "153")
+    Long totalItems,
+    @Schema(description = "Total de páginas; preenchido apenas quando incluirTotal=true", nullable = true, example = "8")
+    Integer totalPages,
+    @Schema(description = "Cursor opaco para buscar a próxima página; nulo na última página", nullable = true)
+    String nextCursor
+) {}
@@ -0,0 +1,11 @@
+package com.wallace.spring.boot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Refresh token recebido no login ou na última renovação")
+public record RefreshTokenRequestDTO(
+        @Schema(description = "Refresh token opaco", example = "q9v0yYc3n0f8wS3xF6mJ7b1sK2dL4tP5rE8aU0iO6hG")
+        @NotBlank(message = "O refresh token não pode estar em branco")
+        String refreshToken
+) {}
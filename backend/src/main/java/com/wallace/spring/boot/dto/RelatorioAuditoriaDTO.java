@@ -0,0 +1,19 @@
+package com.wallace.spring.boot.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado da conferência dos saldos contra o ledger")
+public record RelatorioAuditoriaDTO(
+        @Schema(description = "Indica se o ledger foi somado desde a primeira entrada, ignorando os snapshots", example = "false")
+        boolean completa,
+        @Schema(description = "Quantidade de contas conferidas", example = "10000")
+        int contasVerificadas,
+        @Schema(description = "Quantidade de contas cujo saldo foi regravado a partir do ledger", example = "0")
+        int contasCorrigidas,
+        @Schema(description = "Duração da conferência em milissegundos", example = "850")
+        long duracaoMs,
+        @Schema(description = "Contas divergentes encontradas")
+        List<DivergenciaSaldoDTO> divergencias
+) {}
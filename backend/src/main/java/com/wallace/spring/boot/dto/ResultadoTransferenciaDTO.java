@@ -0,0 +1,31 @@
+package com.wallace.spring.boot.dto;
+
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de uma transferência dentro de um lote")
+public record ResultadoTransferenciaDTO(
+        @Schema(description = "Posição da transferência no lote enviado", example = "0")
+        Integer indice,
+        @Schema(description = "ID da conta remetente", example = "1")
+        Integer contaIdDepositar,
+        @Schema(description = "ID da conta destinatária", example = "2")
+        Integer contaIdReceber,
+        @Schema(description = "Valor da transferência", example = "150.75")
+        Dinheiro valor,
+        @Schema(description = "Indica se a transferência foi aplicada", example = "true")
+        boolean sucesso,
+        @Schema(description = "Motivo da falha, quando houver", nullable = true, example = "Saldo insuficiente na conta para realizar a transferência")
+        String mensagem
+) {
+    public static ResultadoTransferenciaDTO sucesso(int indice, TransferenciaRequestDTO transferencia) {
+        return new ResultadoTransferenciaDTO(indice, transferencia.contaIdDepositar(), transferencia.contaIdReceber(),
+                transferencia.valor(), true, null);
+    }
+
+    public static ResultadoTransferenciaDTO falha(int indice, TransferenciaRequestDTO transferencia, String mensagem) {
+        return new ResultadoTransferenciaDTO(indice, transferencia.contaIdDepositar(), transferencia.contaIdReceber(),
+                transferencia.valor(), false, mensagem);
+    }
+}
@@ -0,0 +1,16 @@
+package com.wallace.spring.boot.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Lote de transferências a serem processadas em uma única requisição")
+public record TransferenciaLoteRequestDTO(
+        @Schema(description = "Transferências do lote, processadas na ordem em que foram enviadas")
+        @NotEmpty(message = "O lote deve conter ao menos uma transferência")
+        @Size(max = 10000, message = "O lote pode conter no máximo 10000 transferências")
+        List<@Valid TransferenciaRequestDTO> transferencias
+) {}
@@ -0,0 +1,17 @@
+package com.wallace.spring.boot.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resumo do processamento de um lote de transferências")
+public record TransferenciaLoteResponseDTO(
+    @Schema(description = "Quantidade de transferências recebidas", example = "1000")
+    int total,
+    @Schema(description = "Quantidade de transferências aplicadas", example = "998")
+    int sucessos,
+    @Schema(description = "Quantidade de transferências rejeitadas", example = "2")
+    int falhas,
+    @Schema(description = "Resultado individual de cada transferência, na ordem do lote")
+    List<ResultadoTransferenciaDTO> resultados
+) {}
@@ -1,9 +1,10 @@
 package com.wallace.spring.boot.dto;
 
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import java.math.BigDecimal;
 
 @Schema(description = "Dados para realizar uma transferência entre contas")
 public record TransferenciaRequestDTO(
@@ -18,5 +19,5 @@ public record TransferenciaRequestDTO(
         @Schema(description = "Valor a ser transferido. Deve ser maior que zero.", example = "150.75")
         @NotNull(message = "O valor da transferência é obrigatório")
         @Positive(message = "O valor da transferência deve ser maior que zero")
-        BigDecimal valor
+        Dinheiro valor
 ) {}
\ No newline at end of file
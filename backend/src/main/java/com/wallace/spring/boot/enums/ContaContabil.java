@@ -0,0 +1,18 @@
+package com.wallace.spring.boot.enums;
+
+// Contas do razão; a natureza indica de que lado o saldo cresce
+public enum ContaContabil {
+	CAIXA(NaturezaLancamento.DEBITO),
+	COMPENSACAO(NaturezaLancamento.DEBITO),
+	DEPOSITOS_CLIENTES(NaturezaLancamento.CREDITO);
+
+	private final NaturezaLancamento natureza;
+
+	ContaContabil(NaturezaLancamento natureza) {
+		this.natureza = natureza;
+	}
+
+	public NaturezaLancamento getNatureza() {
+		return natureza;
+	}
+}
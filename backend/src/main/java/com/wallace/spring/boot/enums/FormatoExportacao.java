@@ -0,0 +1,33 @@
+package com.wallace.spring.boot.enums;
+
+import com.wallace.spring.boot.exceptions.FormatoDeExportacaoInvalidoException;
+
+public enum FormatoExportacao {
+	CSV("text/csv", "csv"),
+	NDJSON("application/x-ndjson", "ndjson");
+
+	private final String tipoDeConteudo;
+	private final String extensao;
+
+	private FormatoExportacao(String tipoDeConteudo, String extensao) {
+		this.tipoDeConteudo = tipoDeConteudo;
+		this.extensao = extensao;
+	}
+
+	public String getTipoDeConteudo() {
+		return tipoDeConteudo;
+	}
+
+	public String getExtensao() {
+		return extensao;
+	}
+
+	public static FormatoExportacao de(String formato) {
+		for (FormatoExportacao valor : values()) {
+			if (valor.extensao.equalsIgnoreCase(formato)) {
+				return valor;
+			}
+		}
+		throw new FormatoDeExportacaoInvalidoException("Formato de exportação inválido. Use 'csv' ou 'ndjson'.");
+	}
+}
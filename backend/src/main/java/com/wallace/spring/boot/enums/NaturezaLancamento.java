@@ -0,0 +1,6 @@
+package com.wallace.spring.boot.enums;
+
+public enum NaturezaLancamento {
+	DEBITO,
+	CREDITO;
+}
@@ -1,18 +1,54 @@
 package com.wallace.spring.boot.enums;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+
 public enum Permission {
 
 	USER_READ("user:read"), USER_WRITE("user:write"),
 
 	ADMIN_READ("admin:read"), ADMIN_WRITE("admin:write"), ADMIN_DELETE("admin:delete"), ADMIN_UPDATE("admin:update");
 
+	private static final Map<String, Permission> POR_NOME = Arrays.stream(values())
+			.collect(Collectors.toUnmodifiableMap(Permission::getPermission, Function.identity()));
+
 	private final String permission;
+	private final long bit;
 
 	Permission(String permission) {
 		this.permission = permission;
+		this.bit = 1L << ordinal();
 	}
 
 	public String getPermission() {
 		return permission;
 	}
-}
\ No newline at end of file
+
+	public long getBit() {
+		return bit;
+	}
+
+	public static Permission de(String permission) {
+		Permission encontrada = POR_NOME.get(permission);
+		if (encontrada == null) {
+			throw new IllegalArgumentException("Permissão desconhecida: " + permission);
+		}
+		return encontrada;
+	}
+
+	public static long mascaraDe(Collection<? extends GrantedAuthority> authorities) {
+		long mascara = 0L;
+		for (GrantedAuthority authority : authorities) {
+			Permission permissao = POR_NOME.get(authority.getAuthority());
+			if (permissao != null) {
+				mascara |= permissao.bit;
+			}
+		}
+		return mascara;
+	}
+}
@@ -6,9 +6,9 @@ import static com.wallace.spring.boot.enums.Permission.ADMIN_WRITE;
 import static com.wallace.spring.boot.enums.Permission.USER_READ;
 import static com.wallace.spring.boot.enums.Permission.USER_WRITE;
 import static com.wallace.spring.boot.enums.Permission.ADMIN_UPDATE; 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -24,9 +24,25 @@ public enum Role {
     ));
     
     private final Set<Permission> permissions;
+
+    // Calculados uma vez por constante: o Spring Security consulta as authorities várias vezes por requisição
+    private final List<SimpleGrantedAuthority> authorities;
+    private final long mascaraPermissoes;
     
     Role(Set<Permission> permissions) {
         this.permissions = permissions;
+
+        List<SimpleGrantedAuthority> calculadas = new ArrayList<>();
+        long mascara = 0L;
+        for (Permission permission : Permission.values()) {
+            if (permissions.contains(permission)) {
+                calculadas.add(new SimpleGrantedAuthority(permission.getPermission()));
+                mascara |= permission.getBit();
+            }
+        }
+        calculadas.add(new SimpleGrantedAuthority("ROLE_" + this.name()));
+        this.authorities = List.copyOf(calculadas);
+        this.mascaraPermissoes = mascara;
     }
     
     public Set<Permission> getPermissions() {
@@ -34,11 +50,14 @@ public enum Role {
     }
     
     public List<SimpleGrantedAuthority> getAuthorities() {
-        var authorities = getPermissions()
-                .stream()
-                .map(permission -> new SimpleGrantedAuthority(permission.getPermission()))
-                .collect(Collectors.toList());
-        authorities.add(new SimpleGrantedAuthority("ROLE_" + this.name()));
         return authorities;
     }
-}
\ No newline at end of file
+
+    public long getMascaraPermissoes() {
+        return mascaraPermissoes;
+    }
+
+    public boolean possui(Permission permission) {
+        return (mascaraPermissoes & permission.getBit()) != 0;
+    }
+}
@@ -0,0 +1,8 @@
+package com.wallace.spring.boot.enums;
+
+public enum TipoEventoConta {
+	DEPOSITO,
+	SAQUE,
+	TRANSFERENCIA_ENVIADA,
+	TRANSFERENCIA_RECEBIDA;
+}
@@ -0,0 +1,14 @@
+package com.wallace.spring.boot.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class ChaveIdempotenciaReutilizadaException extends DomainException {
+private static final long serialVersionUID = 1L;
+
+	public ChaveIdempotenciaReutilizadaException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.wallace.spring.boot.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class FormatoDeExportacaoInvalidoException extends DomainException {
+private static final long serialVersionUID = 1L;
+
+	public FormatoDeExportacaoInvalidoException(String msg) {
+		super(msg);
+	}
+
+}
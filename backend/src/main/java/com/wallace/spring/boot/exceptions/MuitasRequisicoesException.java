@@ -0,0 +1,14 @@
+package com.wallace.spring.boot.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class MuitasRequisicoesException extends DomainException {
+private static final long serialVersionUID = 1L;
+
+	public MuitasRequisicoesException(String msg) {
+		super(msg);
+	}
+
+}
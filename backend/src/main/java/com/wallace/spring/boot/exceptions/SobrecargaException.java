@@ -0,0 +1,14 @@
+package com.wallace.spring.boot.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SobrecargaException extends DomainException {
+private static final long serialVersionUID = 1L;
+
+	public SobrecargaException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.wallace.spring.boot.model.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_criado_em", columnList = "criado_em"))
+public class ChaveIdempotencia {
+
+	@Id
+	@Column(name = "chave", length = 64)
+	private String chave;
+
+	@Column(name = "impressao_digital", length = 64, nullable = false)
+	private String impressaoDigital;
+
+	// nula enquanto a operação que reservou a chave não terminou. Sem o length o MySQL a criaria como
+	// TINYTEXT, 255 bytes, menos que o JSON de uma transferência
+	@Lob
+	@Column(name = "resposta", length = 16777215)
+	private String resposta;
+
+	@Column(name = "criado_em", nullable = false)
+	private LocalDateTime criadoEm;
+
+	public ChaveIdempotencia() {
+	}
+
+	public ChaveIdempotencia(String chave, String impressaoDigital, String resposta) {
+		this.chave = chave;
+		this.impressaoDigital = impressaoDigital;
+		this.resposta = resposta;
+		this.criadoEm = LocalDateTime.now();
+	}
+
+	public String getChave() {
+		return chave;
+	}
+
+	public String getImpressaoDigital() {
+		return impressaoDigital;
+	}
+
+	public String getResposta() {
+		return resposta;
+	}
+
+	public LocalDateTime getCriadoEm() {
+		return criadoEm;
+	}
+
+}
@@ -8,6 +8,7 @@ import org.hibernate.validator.constraints.br.CPF;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.wallace.spring.boot.exceptions.ContaJaExistenteException;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -18,13 +19,17 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "clientes")
 public class Cliente {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_clientes")
+	@TableGenerator(name = "ids_clientes", table = SequenciaDeIds.TABELA, pkColumnName = SequenciaDeIds.COLUNA_ENTIDADE,
+			valueColumnName = SequenciaDeIds.COLUNA_VALOR, pkColumnValue = SequenciaDeIds.CLIENTES,
+			allocationSize = SequenciaDeIds.TAMANHO_BLOCO)
 	@Column(name = "cliente_id")
 	private Integer id;
 	
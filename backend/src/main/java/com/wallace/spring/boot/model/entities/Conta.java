@@ -1,9 +1,10 @@
 package com.wallace.spring.boot.model.entities;
 
-import java.math.BigDecimal;
 import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
@@ -18,6 +19,8 @@ import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "contas")
@@ -26,25 +29,35 @@ import jakarta.persistence.Table;
 public abstract class Conta {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_contas")
+	@TableGenerator(name = "ids_contas", table = SequenciaDeIds.TABELA, pkColumnName = SequenciaDeIds.COLUNA_ENTIDADE,
+			valueColumnName = SequenciaDeIds.COLUNA_VALOR, pkColumnValue = SequenciaDeIds.CONTAS,
+			allocationSize = SequenciaDeIds.TAMANHO_BLOCO)
 	@Column(name = "Conta_id")
 	protected Integer id;
 	
-	@Column(name = "Saldo", precision = 12, scale = 3)
-	protected BigDecimal saldo;
+	@Column(name = "Saldo", precision = 12, scale = 2)
+	protected Dinheiro saldo;
 	
 	@JsonBackReference 
 	@ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "cliente_id", nullable = false)
+	@JoinColumn(name = "cliente_id", nullable = false)
 	protected Cliente cliente;
 
+	@Version
+	@Column(name = "versao", nullable = false)
+	protected Long versao;
+
+	// Número da última entrada desta conta no ledger (historico_conta); só avança com conta.saldo.fonte=LEDGER
+	@Column(name = "sequencia_ledger", nullable = false)
+	protected long sequenciaLedger;
 
 
 	public Conta() {
 		super();
 	}
 
-	public Conta(BigDecimal saldo, Cliente cliente) {
+	public Conta(Dinheiro saldo, Cliente cliente) {
 		this.saldo = saldo;
 		this.cliente = cliente;
 	}
@@ -57,11 +70,11 @@ public abstract class Conta {
 		this.id = id;
 	}
 
-	public BigDecimal getSaldo() {
+	public Dinheiro getSaldo() {
 		return saldo;
 	}
 
-	public void setSaldo(BigDecimal saldo) {
+	public void setSaldo(Dinheiro saldo) {
 		this.saldo = saldo;
 	}
 
@@ -73,6 +86,18 @@ public abstract class Conta {
 		this.cliente = cliente;
 	}
 
+	public Long getVersao() {
+		return versao;
+	}
+
+	public long getSequenciaLedger() {
+		return sequenciaLedger;
+	}
+
+	public long proximaSequenciaLedger() {
+		return ++sequenciaLedger;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
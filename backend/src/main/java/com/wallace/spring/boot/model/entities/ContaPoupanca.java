@@ -2,6 +2,8 @@ package com.wallace.spring.boot.model.entities;
 
 import java.math.BigDecimal;
 
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 
@@ -9,8 +11,7 @@ import jakarta.persistence.Entity;
 @DiscriminatorValue("CP")
 public class ContaPoupanca extends Conta {
 
-	public BigDecimal simularRendimento(BigDecimal taxa, long meses) {
-		BigDecimal numeroDeMeses = new BigDecimal(meses);
-		return this.getSaldo().multiply(taxa).multiply(numeroDeMeses);
+	public Dinheiro simularRendimento(BigDecimal taxa, long meses) {
+		return this.getSaldo().multiplicar(taxa.multiply(BigDecimal.valueOf(meses)));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.wallace.spring.boot.model.entities;
+
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.enums.TipoEventoConta;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+// Linha do outbox, gravada na transação do saldo e apagada pelo relay depois de publicada
+@Entity
+@Table(name = "outbox_eventos", indexes = @Index(name = "idx_outbox_conta_versao", columnList = "conta_id, versao_conta, id_evento"))
+public class EventoConta {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_outbox_eventos")
+	@TableGenerator(name = "ids_outbox_eventos", table = SequenciaDeIds.TABELA, pkColumnName = SequenciaDeIds.COLUNA_ENTIDADE,
+			valueColumnName = SequenciaDeIds.COLUNA_VALOR, pkColumnValue = SequenciaDeIds.OUTBOX_EVENTOS,
+			allocationSize = SequenciaDeIds.TAMANHO_BLOCO)
+	@Column(name = "id_evento")
+	private Integer id;
+
+	@Column(name = "conta_id", nullable = false)
+	private Integer contaId;
+
+	@Column(name = "versao_conta", nullable = false)
+	private Long versaoConta;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "tipo", nullable = false)
+	private TipoEventoConta tipo;
+
+	@Column(name = "valor", nullable = false)
+	private Dinheiro valor;
+
+	@Column(name = "contraparte_id")
+	private Integer contraparteId;
+
+	@Column(name = "id_transacao")
+	private Integer idTransacao;
+
+	@Column(name = "horario", nullable = false)
+	private LocalDateTime horario;
+
+	public EventoConta() {
+	}
+
+	public EventoConta(Integer contaId, Long versaoConta, TipoEventoConta tipo, Dinheiro valor, Integer contraparteId,
+			Integer idTransacao, LocalDateTime horario) {
+		this.contaId = contaId;
+		this.versaoConta = versaoConta;
+		this.tipo = tipo;
+		this.valor = valor;
+		this.contraparteId = contraparteId;
+		this.idTransacao = idTransacao;
+		this.horario = horario;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public Integer getContaId() {
+		return contaId;
+	}
+
+	public Long getVersaoConta() {
+		return versaoConta;
+	}
+
+	public TipoEventoConta getTipo() {
+		return tipo;
+	}
+
+	public Dinheiro getValor() {
+		return valor;
+	}
+
+	public Integer getContraparteId() {
+		return contraparteId;
+	}
+
+	public Integer getIdTransacao() {
+		return idTransacao;
+	}
+
+	public LocalDateTime getHorario() {
+		return horario;
+	}
+
+}
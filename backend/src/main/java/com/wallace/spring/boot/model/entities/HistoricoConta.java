@@ -1,9 +1,10 @@
 package com.wallace.spring.boot.model.entities;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,16 +13,25 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
-@Table(name = "historico_conta")
+@Table(name = "historico_conta", indexes = {
+		@Index(name = "idx_historico_remetente_horario", columnList = "id_remetente, horario, id_transacao"),
+		@Index(name = "idx_historico_recebedor_horario", columnList = "id_recebedor, horario, id_transacao"),
+		@Index(name = "uk_historico_remetente_sequencia", columnList = "id_remetente, seq_remetente", unique = true),
+		@Index(name = "uk_historico_recebedor_sequencia", columnList = "id_recebedor, seq_recebedor", unique = true) })
 public class HistoricoConta {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_historico_conta")
+	@TableGenerator(name = "ids_historico_conta", table = SequenciaDeIds.TABELA, pkColumnName = SequenciaDeIds.COLUNA_ENTIDADE,
+			valueColumnName = SequenciaDeIds.COLUNA_VALOR, pkColumnValue = SequenciaDeIds.HISTORICO_CONTA,
+			allocationSize = SequenciaDeIds.TAMANHO_BLOCO)
 	@Column(name = "id_transacao")
 	private Integer id;
 
@@ -30,7 +40,7 @@ public class HistoricoConta {
 	private TipoTransacao tipoDaTransacao;
 
 	@Column(name = "valor", nullable = false)
-	private BigDecimal valor;
+	private Dinheiro valor;
 
 	@Column(name = "horario", nullable = false)
 	private LocalDateTime horarioTransacao;
@@ -43,10 +53,17 @@ public class HistoricoConta {
 	@JoinColumn(name = "id_recebedor", nullable = true)
 	private Conta recebeuTransacao;
 
+	// Posição da entrada no ledger de cada conta envolvida; nulas nas entradas gravadas fora do modo LEDGER
+	@Column(name = "seq_remetente")
+	private Long sequenciaRemetente;
+
+	@Column(name = "seq_recebedor")
+	private Long sequenciaRecebedor;
+
 	public HistoricoConta() {
 	}
 
-	public HistoricoConta(TipoTransacao tipoDaTransacao, BigDecimal valor, Conta efetuouTransacao,
+	public HistoricoConta(TipoTransacao tipoDaTransacao, Dinheiro valor, Conta efetuouTransacao,
 			Conta recebeuTransacao) {
 		this.tipoDaTransacao = tipoDaTransacao;
 		this.valor = valor;
@@ -71,11 +88,11 @@ public class HistoricoConta {
 		this.tipoDaTransacao = tipoDaTransacao;
 	}
 
-	public BigDecimal getValor() {
+	public Dinheiro getValor() {
 		return valor;
 	}
 
-	public void setValor(BigDecimal valor) {
+	public void setValor(Dinheiro valor) {
 		this.valor = valor;
 	}
 
@@ -103,4 +120,20 @@ public class HistoricoConta {
 		this.recebeuTransacao = recebeuTransacao;
 	}
 
+	public Long getSequenciaRemetente() {
+		return sequenciaRemetente;
+	}
+
+	public void setSequenciaRemetente(Long sequenciaRemetente) {
+		this.sequenciaRemetente = sequenciaRemetente;
+	}
+
+	public Long getSequenciaRecebedor() {
+		return sequenciaRecebedor;
+	}
+
+	public void setSequenciaRecebedor(Long sequenciaRecebedor) {
+		this.sequenciaRecebedor = sequenciaRecebedor;
+	}
+
 }
@@ -0,0 +1,89 @@
+package com.wallace.spring.boot.model.entities;
+
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.enums.ContaContabil;
+import com.wallace.spring.boot.enums.NaturezaLancamento;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+// Partida de débito ou crédito de uma operação. Os lançamentos de uma mesma transação (id_transacao do
+// histórico) somam zero. contaId só é preenchido na conta DEPOSITOS_CLIENTES. Gravado em JDBC pelos
+// LancamentosContabeis; a entidade existe para o esquema
+@Entity
+@Table(name = "lancamentos", indexes = {
+		@Index(name = "idx_lancamentos_transacao", columnList = "id_transacao"),
+		@Index(name = "idx_lancamentos_conta", columnList = "conta_contabil, conta_id, id_lancamento") })
+public class Lancamento {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_lancamentos")
+	@TableGenerator(name = "ids_lancamentos", table = SequenciaDeIds.TABELA, pkColumnName = SequenciaDeIds.COLUNA_ENTIDADE,
+			valueColumnName = SequenciaDeIds.COLUNA_VALOR, pkColumnValue = SequenciaDeIds.LANCAMENTOS,
+			allocationSize = SequenciaDeIds.TAMANHO_BLOCO)
+	@Column(name = "id_lancamento")
+	private Integer id;
+
+	@Column(name = "id_transacao", nullable = false)
+	private Integer idTransacao;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "conta_contabil", nullable = false)
+	private ContaContabil contaContabil;
+
+	@Column(name = "conta_id")
+	private Integer contaId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "natureza", nullable = false)
+	private NaturezaLancamento natureza;
+
+	@Column(name = "valor", precision = 12, scale = 2, nullable = false)
+	private Dinheiro valor;
+
+	@Column(name = "horario", nullable = false)
+	private LocalDateTime horario;
+
+	public Lancamento() {
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public Integer getIdTransacao() {
+		return idTransacao;
+	}
+
+	public ContaContabil getContaContabil() {
+		return contaContabil;
+	}
+
+	public Integer getContaId() {
+		return contaId;
+	}
+
+	public NaturezaLancamento getNatureza() {
+		return natureza;
+	}
+
+	public Dinheiro getValor() {
+		return valor;
+	}
+
+	public LocalDateTime getHorario() {
+		return horario;
+	}
+
+}
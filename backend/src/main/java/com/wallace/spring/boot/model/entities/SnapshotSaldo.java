@@ -0,0 +1,49 @@
+package com.wallace.spring.boot.model.entities;
+
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Saldo da conta até a entrada `sequencia` do ledger; mantido em JDBC pelo LedgerDeContas
+@Entity
+@Table(name = "snapshots_saldo")
+public class SnapshotSaldo {
+
+	@Id
+	@Column(name = "conta_id")
+	private Integer contaId;
+
+	@Column(name = "sequencia", nullable = false)
+	private long sequencia;
+
+	@Column(name = "saldo", precision = 12, scale = 2, nullable = false)
+	private Dinheiro saldo;
+
+	@Column(name = "atualizado_em", nullable = false)
+	private LocalDateTime atualizadoEm;
+
+	public SnapshotSaldo() {
+	}
+
+	public Integer getContaId() {
+		return contaId;
+	}
+
+	public long getSequencia() {
+		return sequencia;
+	}
+
+	public Dinheiro getSaldo() {
+		return saldo;
+	}
+
+	public LocalDateTime getAtualizadoEm() {
+		return atualizadoEm;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.wallace.spring.boot.model.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+// Só o hash SHA-256 do refresh token é persistido; o valor opaco existe apenas na resposta ao cliente
+@Entity
+@Table(name = "refresh_tokens", indexes = { @Index(name = "idx_refresh_tokens_familia", columnList = "familia"),
+		@Index(name = "idx_refresh_tokens_expira_em", columnList = "expira_em") })
+public class TokenDeAtualizacao {
+
+	@Id
+	@Column(name = "hash", length = 64)
+	private String hash;
+
+	@Column(name = "familia", length = 36, nullable = false)
+	private String familia;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario", nullable = false)
+	private User usuario;
+
+	@Column(name = "criado_em", nullable = false)
+	private LocalDateTime criadoEm;
+
+	@Column(name = "expira_em", nullable = false)
+	private LocalDateTime expiraEm;
+
+	@Column(name = "revogado", nullable = false)
+	private boolean revogado;
+
+	public TokenDeAtualizacao() {
+	}
+
+	public TokenDeAtualizacao(String hash, String familia, User usuario, LocalDateTime criadoEm,
+			LocalDateTime expiraEm) {
+		this.hash = hash;
+		this.familia = familia;
+		this.usuario = usuario;
+		this.criadoEm = criadoEm;
+		this.expiraEm = expiraEm;
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	public String getFamilia() {
+		return familia;
+	}
+
+	public User getUsuario() {
+		return usuario;
+	}
+
+	public LocalDateTime getCriadoEm() {
+		return criadoEm;
+	}
+
+	public LocalDateTime getExpiraEm() {
+		return expiraEm;
+	}
+
+	public boolean isRevogado() {
+		return revogado;
+	}
+
+	public void setRevogado(boolean revogado) {
+		this.revogado = revogado;
+	}
+}
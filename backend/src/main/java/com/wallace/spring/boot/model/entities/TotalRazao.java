@@ -0,0 +1,59 @@
+package com.wallace.spring.boot.model.entities;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.enums.ContaContabil;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+// Débitos e créditos acumulados de uma conta do razão; em CAIXA e COMPENSACAO a chave é uma faixa
+@Entity
+@Table(name = "totais_razao")
+public class TotalRazao {
+
+	@EmbeddedId
+	private Chave chave;
+
+	@Column(name = "debitos", precision = 19, scale = 2, nullable = false)
+	private Dinheiro debitos;
+
+	@Column(name = "creditos", precision = 19, scale = 2, nullable = false)
+	private Dinheiro creditos;
+
+	@Column(name = "atualizado_em", nullable = false)
+	private LocalDateTime atualizadoEm;
+
+	public TotalRazao() {
+	}
+
+	public Chave getChave() {
+		return chave;
+	}
+
+	public Dinheiro getDebitos() {
+		return debitos;
+	}
+
+	public Dinheiro getCreditos() {
+		return creditos;
+	}
+
+	public LocalDateTime getAtualizadoEm() {
+		return atualizadoEm;
+	}
+
+	@Embeddable
+	public record Chave(
+			@Enumerated(EnumType.STRING) @Column(name = "conta_contabil") ContaContabil contaContabil,
+			@Column(name = "chave") Long chave) implements Serializable {
+	}
+
+}
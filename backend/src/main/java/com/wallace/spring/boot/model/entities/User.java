@@ -6,22 +6,31 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.services.autenticacao.UsuarioEntityListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
 @Table(name = "Users")
+@EntityListeners(UsuarioEntityListener.class)
 public class User implements UserDetails {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_usuarios")
+    @TableGenerator(name = "ids_usuarios", table = SequenciaDeIds.TABELA, pkColumnName = SequenciaDeIds.COLUNA_ENTIDADE,
+            valueColumnName = SequenciaDeIds.COLUNA_VALOR, pkColumnValue = SequenciaDeIds.USUARIOS,
+            allocationSize = SequenciaDeIds.TAMANHO_BLOCO)
     private Integer id;
     private String nome;
     private String sobrenome;
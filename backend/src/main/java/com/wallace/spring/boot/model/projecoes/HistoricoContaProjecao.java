@@ -0,0 +1,17 @@
+package com.wallace.spring.boot.model.projecoes;
+
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+public record HistoricoContaProjecao(
+		Integer id,
+		TipoTransacao tipoDaTransacao,
+		Dinheiro valor,
+		LocalDateTime horario,
+		Integer idRemetente,
+		String nomeRemetente,
+		Integer idRecebedor,
+		String nomeRecebedor) {
+}
@@ -0,0 +1,74 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Entrega ids em blocos da SequenciaDeIds, reservando o bloco seguinte numa thread virtual
+public class BlocosDeIds {
+
+	private final SequenciaDeIds sequenciaDeIds;
+	private final String entidade;
+	private final int tamanhoBloco;
+	private final ReentrantLock trava = new ReentrantLock();
+
+	private int proximo;
+	private int limite;
+	private CompletableFuture<Integer> seguinte;
+
+	public BlocosDeIds(SequenciaDeIds sequenciaDeIds, String entidade, int tamanhoBloco) {
+		this.sequenciaDeIds = sequenciaDeIds;
+		this.entidade = entidade;
+		this.tamanhoBloco = Math.max(1, tamanhoBloco);
+	}
+
+	public void antecipar() {
+		trava.lock();
+		try {
+			if (seguinte == null && limite - proximo <= tamanhoBloco / 2) {
+				seguinte = reservarAParte();
+			}
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	public int proximo() {
+		trava.lock();
+		try {
+			if (proximo >= limite) {
+				CompletableFuture<Integer> reserva = seguinte != null ? seguinte : reservarAParte();
+				seguinte = null;
+				proximo = aguardar(reserva);
+				limite = proximo + tamanhoBloco;
+			}
+			int id = proximo++;
+			if (seguinte == null && limite - proximo <= tamanhoBloco / 2) {
+				seguinte = reservarAParte();
+			}
+			return id;
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	private CompletableFuture<Integer> reservarAParte() {
+		CompletableFuture<Integer> reserva = new CompletableFuture<>();
+		Thread.ofVirtual().name("reserva-ids-" + entidade).start(() -> {
+			try {
+				reserva.complete(sequenciaDeIds.reservar(entidade, tamanhoBloco));
+			} catch (RuntimeException e) {
+				reserva.completeExceptionally(e);
+			}
+		});
+		return reserva;
+	}
+
+	private static int aguardar(CompletableFuture<Integer> reserva) {
+		try {
+			return reserva.join();
+		} catch (CompletionException e) {
+			throw e.getCause() instanceof RuntimeException causa ? causa : e;
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.wallace.spring.boot.model.entities.ChaveIdempotencia;
+
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+	@Modifying
+	@Query("delete from ChaveIdempotencia c where c.criadoEm < :limite")
+	int removerCriadasAntesDe(LocalDateTime limite);
+
+	@Modifying
+	@Query("delete from ChaveIdempotencia c where c.chave = :chave and c.criadoEm < :limite")
+	int removerExpirada(String chave, LocalDateTime limite);
+
+	// Inserção explícita: o save faria merge e sobrescreveria a linha de outra requisição com a mesma chave
+	@Modifying
+	@Query(value = "insert into idempotency_keys (chave, impressao_digital, criado_em) values (:chave, :impressaoDigital, :criadoEm)", nativeQuery = true)
+	int reservar(String chave, String impressaoDigital, LocalDateTime criadoEm);
+
+	@Modifying
+	@Query("update ChaveIdempotencia c set c.resposta = :resposta where c.chave = :chave")
+	int registrarResposta(String chave, String resposta);
+
+}
@@ -0,0 +1,121 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.query.NativeQuery;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+// SQL do histórico como UNION ALL de um ramo por coluna de conta, cada um no próprio índice
+public final class ConsultaHistoricoConta {
+
+	private static final String COLUNAS = """
+			select h.id_transacao, h.tipo_transacao, h.valor, h.horario,
+				h.id_remetente, cliente_remetente.nome as nome_remetente,
+				h.id_recebedor, cliente_recebedor.nome as nome_recebedor
+			""";
+
+	private static final String JUNCAO_IDS = "join historico_conta h on h.id_transacao = ids.id_transacao\n";
+
+	private static final String JUNCOES = """
+			join contas remetente on remetente.conta_id = h.id_remetente
+			join clientes cliente_remetente on cliente_remetente.cliente_id = remetente.cliente_id
+			left join contas recebedor on recebedor.conta_id = h.id_recebedor
+			left join clientes cliente_recebedor on cliente_recebedor.cliente_id = recebedor.cliente_id
+			""";
+
+	private static final String ORDEM = " order by horario desc, id_transacao desc";
+
+	// transferências para a própria conta já aparecem no ramo do remetente. A dica de índice é necessária no
+	// ramo do recebedor: sem ela o otimizador prefere o índice simples da chave estrangeira, que não tem o
+	// horario e obriga a ordenar o ramo inteiro antes do limite
+	private static final String INDICE_REMETENTE = " use index (idx_historico_remetente_horario) ";
+	private static final String INDICE_RECEBEDOR = " use index (idx_historico_recebedor_horario) ";
+	private static final String CONDICAO_REMETENTE = "where h.id_remetente = :contaId";
+	private static final String CONDICAO_RECEBEDOR = "where h.id_recebedor = :contaId and h.id_remetente <> :contaId";
+	private static final String RAMO_REMETENTE = "from historico_conta h" + INDICE_REMETENTE + CONDICAO_REMETENTE;
+	private static final String RAMO_RECEBEDOR = "from historico_conta h" + INDICE_RECEBEDOR + CONDICAO_RECEBEDOR;
+
+	private final StringBuilder filtros = new StringBuilder();
+	private final Map<String, Object> parametros = new LinkedHashMap<>();
+
+	public ConsultaHistoricoConta(Integer contaId, TipoTransacao tipo, LocalDateTime inicio, LocalDateTime fim) {
+		parametros.put("contaId", contaId);
+		if (tipo != null) {
+			filtros.append(" and h.tipo_transacao = :tipo");
+			parametros.put("tipo", tipo.name());
+		}
+		if (inicio != null) {
+			filtros.append(" and h.horario >= :inicio");
+			parametros.put("inicio", inicio);
+		}
+		if (fim != null) {
+			filtros.append(" and h.horario < :fim");
+			parametros.put("fim", fim);
+		}
+	}
+
+	public ConsultaHistoricoConta aPartirDe(LocalDateTime cursorHorario, Integer cursorId) {
+		if (cursorHorario != null) {
+			filtros.append(" and (h.horario < :cursorHorario or (h.horario = :cursorHorario and h.id_transacao < :cursorId))");
+			parametros.put("cursorHorario", cursorHorario);
+			parametros.put("cursorId", cursorId);
+		}
+		return this;
+	}
+
+	// O limite entra no SQL como literal: é um int já validado, e como parâmetro repetido nos três pontos o
+	// plano cacheado reaproveitava o valor da página anterior
+	public String sqlPagina(int limite) {
+		String ramoRemetente = "(select id_transacao, horario " + RAMO_REMETENTE + filtros + ORDEM + " limit " + limite + ")";
+		String ramoRecebedor = "(select id_transacao, horario " + RAMO_RECEBEDOR + filtros + ORDEM + " limit " + limite + ")";
+		return COLUNAS + "from (" + ramoRemetente + " union all " + ramoRecebedor + ") ids\n" + JUNCAO_IDS + JUNCOES
+				+ "order by h.horario desc, h.id_transacao desc limit " + limite;
+	}
+
+	// Para a exportação, um ramo por consulta em ordem crescente e sem limite: cada um percorre o próprio
+	// índice já na ordem, sem ordenar o extrato no banco, e quem lê intercala os dois cursores
+	public String sqlExportacaoRemetente() {
+		return sqlExportacao(INDICE_REMETENTE, CONDICAO_REMETENTE);
+	}
+
+	public String sqlExportacaoRecebedor() {
+		return sqlExportacao(INDICE_RECEBEDOR, CONDICAO_RECEBEDOR);
+	}
+
+	private String sqlExportacao(String indice, String condicao) {
+		return COLUNAS + "from historico_conta h" + indice + "\n" + JUNCOES + condicao + filtros
+				+ " order by h.horario, h.id_transacao";
+	}
+
+	public String sqlContagem() {
+		return "select (select count(*) " + RAMO_REMETENTE + filtros + ") + (select count(*) " + RAMO_RECEBEDOR
+				+ filtros + ")";
+	}
+
+	public Map<String, Object> parametros() {
+		return parametros;
+	}
+
+	public static NativeQuery<Object[]> comColunas(NativeQuery<Object[]> query) {
+		return query.addScalar("id_transacao", Integer.class)
+				.addScalar("tipo_transacao", String.class)
+				.addScalar("valor", BigDecimal.class)
+				.addScalar("horario", LocalDateTime.class)
+				.addScalar("id_remetente", Integer.class)
+				.addScalar("nome_remetente", String.class)
+				.addScalar("id_recebedor", Integer.class)
+				.addScalar("nome_recebedor", String.class);
+	}
+
+	public static HistoricoContaProjecao paraProjecao(Object[] linha) {
+		return new HistoricoContaProjecao((Integer) linha[0], TipoTransacao.valueOf((String) linha[1]),
+				Dinheiro.de((BigDecimal) linha[2]), (LocalDateTime) linha[3], (Integer) linha[4], (String) linha[5],
+				(Integer) linha[6], (String) linha[7]);
+	}
+}
@@ -1,9 +1,28 @@
 package com.wallace.spring.boot.model.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.wallace.spring.boot.model.entities.Conta;
 
+import jakarta.persistence.LockModeType;
+
 public interface ContaRepository extends JpaRepository<Conta, Integer> {
-	
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select c from Conta c where c.id = :id")
+	Optional<Conta> findByIdParaAtualizacao(@Param("id") Integer id);
+
+	// SELECT ... FOR UPDATE percorrendo a chave primária em ordem crescente: todas as transações
+	// adquirem os locks na mesma ordem, então duas transferências opostas não entram em deadlock
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select c from Conta c where c.id in :ids order by c.id asc")
+	List<Conta> findAllByIdParaAtualizacao(@Param("ids") Collection<Integer> ids);
+
 }
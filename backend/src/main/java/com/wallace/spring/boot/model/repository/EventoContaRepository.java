@@ -0,0 +1,19 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.wallace.spring.boot.model.entities.EventoConta;
+
+public interface EventoContaRepository extends JpaRepository<EventoConta, Integer> {
+
+	// Os eventos de uma conta saem em ordem de versão. Uma linha só fica visível depois do commit, e o commit
+	// da versão N exige o da N-1, então a N-1 já foi publicada ou aparece antes nesta mesma ordenação. Leitura
+	// sem bloqueio: um FOR UPDATE com ORDER BY e LIMIT travaria o intervalo do índice e os INSERTs do outbox
+	@Query("select e from EventoConta e order by e.contaId asc, e.versaoConta asc, e.id asc")
+	List<EventoConta> buscarParaPublicacao(Limit limite);
+
+}
@@ -0,0 +1,18 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+
+public interface HistoricoContaConsultas {
+
+	List<HistoricoContaProjecao> buscarPagina(Integer contaId, TipoTransacao tipo, LocalDateTime inicio,
+			LocalDateTime fim, LocalDateTime cursorHorario, Integer cursorId, Limit limite);
+
+	long contar(Integer contaId, TipoTransacao tipo, LocalDateTime inicio, LocalDateTime fim);
+
+}
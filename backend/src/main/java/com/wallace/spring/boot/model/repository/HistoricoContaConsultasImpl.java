@@ -0,0 +1,44 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Limit;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+public class HistoricoContaConsultasImpl implements HistoricoContaConsultas {
+
+	private final EntityManager entityManager;
+
+	public HistoricoContaConsultasImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public List<HistoricoContaProjecao> buscarPagina(Integer contaId, TipoTransacao tipo, LocalDateTime inicio,
+			LocalDateTime fim, LocalDateTime cursorHorario, Integer cursorId, Limit limite) {
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(contaId, tipo, inicio, fim)
+				.aPartirDe(cursorHorario, cursorId);
+		Query query = entityManager.createNativeQuery(consulta.sqlPagina(limite.max()));
+		consulta.parametros().forEach(query::setParameter);
+
+		@SuppressWarnings("unchecked")
+		List<Object[]> linhas = ConsultaHistoricoConta.comColunas(query.unwrap(NativeQuery.class)).getResultList();
+
+		return linhas.stream().map(ConsultaHistoricoConta::paraProjecao).toList();
+	}
+
+	@Override
+	public long contar(Integer contaId, TipoTransacao tipo, LocalDateTime inicio, LocalDateTime fim) {
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(contaId, tipo, inicio, fim);
+		Query query = entityManager.createNativeQuery(consulta.sqlContagem());
+		consulta.parametros().forEach(query::setParameter);
+		return ((Number) query.getSingleResult()).longValue();
+	}
+}
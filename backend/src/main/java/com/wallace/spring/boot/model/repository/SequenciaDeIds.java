@@ -0,0 +1,89 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Tabela de sequências dos @TableGenerator: o MySQL não tem SEQUENCE e IDENTITY impede o JDBC batch
+@Component
+public class SequenciaDeIds implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(SequenciaDeIds.class);
+
+	public static final String TABELA = "sequencias_ids";
+	public static final String COLUNA_ENTIDADE = "entidade";
+	public static final String COLUNA_VALOR = "ultimo_valor";
+	public static final int TAMANHO_BLOCO = 50;
+
+	public static final String CLIENTES = "clientes";
+	public static final String CONTAS = "contas";
+	public static final String HISTORICO_CONTA = "historico_conta";
+	public static final String USUARIOS = "users";
+	public static final String OUTBOX_EVENTOS = "outbox_eventos";
+	public static final String LANCAMENTOS = "lancamentos";
+
+	private static final Map<String, String> COLUNAS_ID = Map.of(CLIENTES, "cliente_id", CONTAS, "conta_id",
+			HISTORICO_CONTA, "id_transacao", USUARIOS, "id", OUTBOX_EVENTOS, "id_evento", LANCAMENTOS, "id_lancamento");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transacaoPropria;
+
+	public SequenciaDeIds(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transacaoPropria = new TransactionTemplate(transactionManager);
+		this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	// Migração dos ids gerados por IDENTITY: antes de o servidor aceitar requisições, cada sequência é
+	// posicionada acima do maior id existente. Idempotente; nunca retrocede uma sequência
+	@Override
+	public void afterSingletonsInstantiated() {
+		COLUNAS_ID.forEach(this::ajustarAoMaiorId);
+	}
+
+	public void ajustarAoMaiorId(String entidade, String colunaId) {
+		transacaoPropria.executeWithoutResult(status -> {
+			Long maiorId = jdbcTemplate.queryForObject(
+					"SELECT COALESCE(MAX(" + colunaId + "), 0) FROM " + entidade, Long.class);
+			// o próximo bloco do Hibernate começa em ultimo_valor - TAMANHO_BLOCO + 2
+			long minimo = maiorId + TAMANHO_BLOCO;
+			int atualizadas = jdbcTemplate.update("UPDATE " + TABELA + " SET " + COLUNA_VALOR + " = ? WHERE "
+					+ COLUNA_ENTIDADE + " = ? AND " + COLUNA_VALOR + " < ?", minimo, entidade, minimo);
+			if (atualizadas == 0 && !existe(entidade)) {
+				try {
+					jdbcTemplate.update("INSERT INTO " + TABELA + " (" + COLUNA_ENTIDADE + ", " + COLUNA_VALOR
+							+ ") VALUES (?, ?)", entidade, minimo);
+					logger.info("Sequência de ids de {} iniciada após o id {}", entidade, maiorId);
+				} catch (DuplicateKeyException e) {
+					logger.debug("Sequência de ids de {} criada por outra instância", entidade);
+				}
+			}
+		});
+	}
+
+	// Reserva ids consecutivos para gravações em JDBC puro, numa transação própria e curta para não segurar
+	// o bloqueio da linha. O intervalo devolvido não se sobrepõe a nenhum bloco entregue ao Hibernate
+	public int reservar(String entidade, int quantidade) {
+		return transacaoPropria.execute(status -> {
+			Long ultimo = jdbcTemplate.queryForObject("SELECT " + COLUNA_VALOR + " FROM " + TABELA + " WHERE "
+					+ COLUNA_ENTIDADE + " = ? FOR UPDATE", Long.class, entidade);
+			jdbcTemplate.update("UPDATE " + TABELA + " SET " + COLUNA_VALOR + " = ? WHERE " + COLUNA_ENTIDADE + " = ?",
+					ultimo + quantidade, entidade);
+			return Math.toIntExact(ultimo - TAMANHO_BLOCO + 2);
+		});
+	}
+
+	private boolean existe(String entidade) {
+		Integer linhas = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM " + TABELA + " WHERE " + COLUNA_ENTIDADE + " = ?", Integer.class, entidade);
+		return linhas != null && linhas > 0;
+	}
+}
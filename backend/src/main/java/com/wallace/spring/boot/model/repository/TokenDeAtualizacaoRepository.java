@@ -0,0 +1,30 @@
+package com.wallace.spring.boot.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.wallace.spring.boot.model.entities.TokenDeAtualizacao;
+
+public interface TokenDeAtualizacaoRepository extends JpaRepository<TokenDeAtualizacao, String> {
+
+	@Query("select t from TokenDeAtualizacao t join fetch t.usuario where t.hash = :hash")
+	Optional<TokenDeAtualizacao> buscarComUsuario(String hash);
+
+	// Condicional para que duas renovações concorrentes com o mesmo token não sejam ambas aceitas
+	@Modifying
+	@Query("update TokenDeAtualizacao t set t.revogado = true where t.hash = :hash and t.revogado = false")
+	int revogar(String hash);
+
+	@Modifying
+	@Query("update TokenDeAtualizacao t set t.revogado = true where t.familia = :familia")
+	int revogarFamilia(String familia);
+
+	@Modifying
+	@Query("delete from TokenDeAtualizacao t where t.expiraEm < :limite")
+	int removerExpiradosAntesDe(LocalDateTime limite);
+
+}
@@ -0,0 +1,154 @@
+package com.wallace.spring.boot.model.valores;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(type = "number", format = "decimal", example = "150.75")
+@JsonSerialize(using = Dinheiro.Serializador.class)
+@JsonDeserialize(using = Dinheiro.Desserializador.class)
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int CASAS_DECIMAIS = 2;
+	public static final RoundingMode ARREDONDAMENTO = RoundingMode.HALF_EVEN;
+	public static final Dinheiro ZERO = new Dinheiro(0);
+
+	private final long centavos;
+
+	private Dinheiro(long centavos) {
+		this.centavos = centavos;
+	}
+
+	public static Dinheiro deCentavos(long centavos) {
+		return centavos == 0 ? ZERO : new Dinheiro(centavos);
+	}
+
+	public static Dinheiro deReais(long reais) {
+		return deCentavos(Math.multiplyExact(reais, 100));
+	}
+
+	public static Dinheiro de(BigDecimal valor) {
+		try {
+			return deCentavos(valor.setScale(CASAS_DECIMAIS, ARREDONDAMENTO).unscaledValue().longValueExact());
+		} catch (ArithmeticException e) {
+			throw new ArithmeticException("Valor monetário fora do limite suportado: " + valor);
+		}
+	}
+
+	public static Dinheiro de(String valor) {
+		return de(new BigDecimal(valor));
+	}
+
+	// Sem arredondamento: recusa valores com mais casas que centavos
+	public static Dinheiro exato(BigDecimal valor) {
+		if (temMaisCasasQueCentavos(valor)) {
+			throw new ArithmeticException(
+					"O valor " + valor.toPlainString() + " tem mais de " + CASAS_DECIMAIS + " casas decimais");
+		}
+		return de(valor);
+	}
+
+	private static boolean temMaisCasasQueCentavos(BigDecimal valor) {
+		return valor.stripTrailingZeros().scale() > CASAS_DECIMAIS;
+	}
+
+	public long centavos() {
+		return centavos;
+	}
+
+	public Dinheiro somar(Dinheiro outro) {
+		return deCentavos(Math.addExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro subtrair(Dinheiro outro) {
+		return deCentavos(Math.subtractExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro multiplicar(long fator) {
+		return deCentavos(Math.multiplyExact(centavos, fator));
+	}
+
+	public Dinheiro multiplicar(BigDecimal fator) {
+		return de(BigDecimal.valueOf(centavos, CASAS_DECIMAIS).multiply(fator));
+	}
+
+	public int signum() {
+		return Long.signum(centavos);
+	}
+
+	public boolean isPositivo() {
+		return centavos > 0;
+	}
+
+	public boolean menorQue(Dinheiro outro) {
+		return centavos < outro.centavos;
+	}
+
+	public BigDecimal paraBigDecimal() {
+		return BigDecimal.valueOf(centavos, CASAS_DECIMAIS);
+	}
+
+	@Override
+	public int compareTo(Dinheiro outro) {
+		return Long.compare(centavos, outro.centavos);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj || (obj instanceof Dinheiro outro && centavos == outro.centavos);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(centavos);
+	}
+
+	@Override
+	public String toString() {
+		long resto = Math.abs(centavos % 100);
+		return (centavos < 0 ? "-" : "") + Math.abs(centavos / 100) + (resto < 10 ? ".0" : ".") + resto;
+	}
+
+	static class Serializador extends JsonSerializer<Dinheiro> {
+
+		@Override
+		public void serialize(Dinheiro valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+			gerador.writeNumber(valor.toString());
+		}
+	}
+
+	// Valores vindos do cliente não são arredondados: 10.005 é recusado em vez de virar 10.00. O arredondamento
+	// de de(BigDecimal) fica para os valores calculados internamente, como o rendimento
+	static class Desserializador extends JsonDeserializer<Dinheiro> {
+
+		@Override
+		public Dinheiro deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+			BigDecimal valor = contexto.readValue(parser, BigDecimal.class);
+			if (temMaisCasasQueCentavos(valor)) {
+				throw InvalidFormatException.from(parser,
+						"O valor " + valor.toPlainString() + " tem mais de " + CASAS_DECIMAIS + " casas decimais", valor,
+						Dinheiro.class);
+			}
+			try {
+				return de(valor);
+			} catch (ArithmeticException e) {
+				return (Dinheiro) contexto.handleWeirdNumberValue(Dinheiro.class, valor, e.getMessage());
+			}
+		}
+	}
+}
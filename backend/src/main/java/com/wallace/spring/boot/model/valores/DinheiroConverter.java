@@ -0,0 +1,22 @@
+package com.wallace.spring.boot.model.valores;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+	@Override
+	public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+		return valor != null ? valor.paraBigDecimal() : null;
+	}
+
+	// Um saldo com a terceira casa no banco é erro, não arredondamento: a migração V10 já ajustou os existentes
+	@Override
+	public Dinheiro convertToEntityAttribute(BigDecimal valor) {
+		return valor != null ? Dinheiro.exato(valor) : null;
+	}
+
+}
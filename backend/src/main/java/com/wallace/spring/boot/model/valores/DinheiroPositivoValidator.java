@@ -0,0 +1,14 @@
+package com.wallace.spring.boot.model.valores;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Positive;
+
+public class DinheiroPositivoValidator implements ConstraintValidator<Positive, Dinheiro> {
+
+	@Override
+	public boolean isValid(Dinheiro valor, ConstraintValidatorContext context) {
+		return valor == null || valor.isPositivo();
+	}
+
+}
@@ -17,6 +17,9 @@ import com.wallace.spring.boot.exceptions.EmailJaExistenteException;
 import com.wallace.spring.boot.exceptions.EmailNaoEncontradoException;
 import com.wallace.spring.boot.model.entities.User;
 import com.wallace.spring.boot.model.repository.UserRepository;
+import com.wallace.spring.boot.services.autenticacao.ListaDeNegacaoTokens;
+import com.wallace.spring.boot.services.autenticacao.TokenDeAtualizacaoService;
+import com.wallace.spring.boot.services.autenticacao.TokenDeAtualizacaoService.TokenRotacionado;
 
 @Service
 public class AuthenticationService {
@@ -27,13 +30,18 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final ListaDeNegacaoTokens listaDeNegacaoTokens;
+    private final TokenDeAtualizacaoService tokenDeAtualizacaoService;
 
     public AuthenticationService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-            JwtService jwtService, AuthenticationManager authenticationManager) {
+            JwtService jwtService, AuthenticationManager authenticationManager,
+            ListaDeNegacaoTokens listaDeNegacaoTokens, TokenDeAtualizacaoService tokenDeAtualizacaoService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.listaDeNegacaoTokens = listaDeNegacaoTokens;
+        this.tokenDeAtualizacaoService = tokenDeAtualizacaoService;
     }
 
     public AuthenticationResponse register(RegisterRequestDTO requestDTO) {
@@ -55,10 +63,12 @@ public class AuthenticationService {
             
             User savedUser = userRepository.save(user);
             String jwtToken = jwtService.generateToken(savedUser);
+            String refreshToken = tokenDeAtualizacaoService.emitir(savedUser);
             logger.info("Usuário com email {} registrado com sucesso.", savedUser.getEmail());
 
             return AuthenticationResponse.builder()
                     .token(jwtToken)
+                    .refreshToken(refreshToken)
                     .build();
                     
         } catch (Exception e) {
@@ -85,10 +95,12 @@ public class AuthenticationService {
             );
 
             String jwtToken = jwtService.generateToken(user);
+            String refreshToken = tokenDeAtualizacaoService.emitir(user);
             logger.info("Usuário com email {} autenticado com sucesso.", user.getEmail());
 
             return AuthenticationResponse.builder()
                     .token(jwtToken)
+                    .refreshToken(refreshToken)
                     .build();
                     
         } catch (EmailNaoEncontradoException e) {
@@ -105,13 +117,41 @@ public class AuthenticationService {
         }
     }
 
+    public AuthenticationResponse renovar(String refreshToken) {
+        TokenRotacionado rotacionado = tokenDeAtualizacaoService.rotacionar(refreshToken);
+        logger.info("Access token renovado para o usuário com email {}.", rotacionado.usuario().getEmail());
+
+        return AuthenticationResponse.builder()
+                .token(jwtService.generateToken(rotacionado.usuario()))
+                .refreshToken(rotacionado.refreshToken())
+                .build();
+    }
+
+    public void logout(String jwtToken, String refreshToken) {
+        if (jwtToken != null) {
+            jwtService.validarToken(jwtToken).ifPresent(claims -> {
+                listaDeNegacaoTokens.negar(claims.getId(), claims.getExpiration().toInstant());
+                logger.info("Token do usuário com email {} revogado por logout.", claims.getSubject());
+            });
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            tokenDeAtualizacaoService.revogar(refreshToken);
+        }
+    }
+
     public static class AuthenticationResponse {
         private String token;
+        private String refreshToken;
 
         public AuthenticationResponse(String token) {
             this.token = token;
         }
 
+        public AuthenticationResponse(String token, String refreshToken) {
+            this.token = token;
+            this.refreshToken = refreshToken;
+        }
+
         public AuthenticationResponse() {}
 
         public String getToken() {
@@ -122,20 +162,34 @@ public class AuthenticationService {
             this.token = token;
         }
 
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+
         public static AuthenticationResponseBuilder builder() {
             return new AuthenticationResponseBuilder();
         }
 
         public static class AuthenticationResponseBuilder {
             private String token;
+            private String refreshToken;
 
             public AuthenticationResponseBuilder token(String token) {
                 this.token = token;
                 return this;
             }
 
+            public AuthenticationResponseBuilder refreshToken(String refreshToken) {
+                this.refreshToken = refreshToken;
+                return this;
+            }
+
             public AuthenticationResponse build() {
-                return new AuthenticationResponse(token);
+                return new AuthenticationResponse(token, refreshToken);
             }
         }
     }
@@ -1,41 +1,143 @@
 package com.wallace.spring.boot.services;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.dto.HistoricoContaResponseDTO;
+import com.wallace.spring.boot.dto.PaginacaoResponseDTO;
 import com.wallace.spring.boot.enums.TipoTransacao;
 import com.wallace.spring.boot.model.entities.Conta;
 import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
 import com.wallace.spring.boot.model.repository.HistoricoContaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.historico.CursorHistorico;
+import com.wallace.spring.boot.services.historico.journal.HistoricoEmJournal;
+import com.wallace.spring.boot.services.lancamentos.LancamentosContabeis;
+import com.wallace.spring.boot.services.ledger.LedgerDeContas;
 
 @Service
 public class HistoricoContaService {
 
 	private final HistoricoContaRepository historicoContaRepository;
+	private final HistoricoEmJournal historicoEmJournal;
+	private final LedgerDeContas ledgerDeContas;
+	private final LancamentosContabeis lancamentosContabeis;
+	private final int tamanhoMaximoPagina;
 
-	public HistoricoContaService(HistoricoContaRepository historicoContaRepository) {
+	public HistoricoContaService(HistoricoContaRepository historicoContaRepository,
+			Optional<HistoricoEmJournal> historicoEmJournal, Optional<LedgerDeContas> ledgerDeContas,
+			Optional<LancamentosContabeis> lancamentosContabeis,
+			@Value("${conta.historico.tamanho-maximo-pagina:100}") int tamanhoMaximoPagina) {
 		this.historicoContaRepository = historicoContaRepository;
+		this.historicoEmJournal = historicoEmJournal.orElse(null);
+		this.ledgerDeContas = ledgerDeContas.orElse(null);
+		this.lancamentosContabeis = lancamentosContabeis.orElse(null);
+		this.tamanhoMaximoPagina = tamanhoMaximoPagina;
 	}
 
-	public HistoricoConta registrarSaque(Conta conta, BigDecimal valor) {
+	public HistoricoConta registrarSaque(Conta conta, Dinheiro valor) {
 		HistoricoConta historicoConta = new HistoricoConta(TipoTransacao.SAQUE, valor, conta, null);
-		return historicoContaRepository.save(historicoConta);
+		return registrar(historicoConta);
 	}
 
-	public HistoricoConta registrarDeposito(Conta conta, BigDecimal valor) {
+	public HistoricoConta registrarDeposito(Conta conta, Dinheiro valor) {
 		HistoricoConta historicoConta = new HistoricoConta(TipoTransacao.DEPOSITO, valor, conta, null);
-		return historicoContaRepository.save(historicoConta);
+		return registrar(historicoConta);
 	}
 
-	public HistoricoConta registrarTransferencia(Conta contaRemetente, BigDecimal valor, Conta conta) {
+	public List<HistoricoConta> registrarDepositos(Conta conta, List<Dinheiro> valores) {
+		List<HistoricoConta> historicos = new ArrayList<>(valores.size());
+		for (Dinheiro valor : valores) {
+			historicos.add(new HistoricoConta(TipoTransacao.DEPOSITO, valor, conta, null));
+		}
+		if (ledgerDeContas != null) {
+			ledgerDeContas.numerar(historicos);
+		}
+		// O persist preenche o id nas próprias entradas; os lançamentos partem delas, não do retorno do save
+		List<HistoricoConta> registrados = historicos;
+		if (historicoEmJournal != null) {
+			historicoEmJournal.registrar(historicos);
+		} else {
+			registrados = historicoContaRepository.saveAll(historicos);
+		}
+		lancar(historicos);
+		return registrados;
+	}
+
+	public HistoricoConta registrarTransferencia(Conta contaRemetente, Dinheiro valor, Conta conta) {
 		HistoricoConta historicoConta = new HistoricoConta(TipoTransacao.TRANSFERENCIA, valor, contaRemetente, conta);
-		return historicoContaRepository.save(historicoConta);
+		return registrar(historicoConta);
+	}
+
+	private HistoricoConta registrar(HistoricoConta historicoConta) {
+		if (ledgerDeContas != null) {
+			ledgerDeContas.numerar(List.of(historicoConta));
+		}
+		HistoricoConta registrado = historicoConta;
+		if (historicoEmJournal != null) {
+			historicoEmJournal.registrar(List.of(historicoConta));
+		} else {
+			registrado = historicoContaRepository.save(historicoConta);
+		}
+		lancar(List.of(historicoConta));
+		return registrado;
+	}
+
+	// Depois de gravado o histórico, quando as entradas já têm id
+	private void lancar(List<HistoricoConta> historicos) {
+		if (lancamentosContabeis != null) {
+			lancamentosContabeis.registrar(historicos);
+		}
 	}
 	
-	public List<HistoricoConta> mostrarRegistrosTransacoes(Integer id){
-		return historicoContaRepository.findByEfetuouTransacaoIdOrRecebeuTransacaoId(id,id);
+	public PaginacaoResponseDTO<HistoricoContaResponseDTO> buscarHistorico(Integer id, FiltroHistoricoDTO filtro,
+			String cursor, int tamanho, boolean incluirTotal) {
+		int tamanhoPagina = Math.max(1, Math.min(tamanho, tamanhoMaximoPagina));
+		CursorHistorico anterior = cursor != null && !cursor.isBlank() ? CursorHistorico.decodificar(cursor) : null;
+		LocalDateTime cursorHorario = anterior != null ? anterior.horario() : null;
+		Integer cursorId = anterior != null ? anterior.id() : null;
+
+		// As pendentes são lidas antes da tabela: uma entrada drenada entre as duas leituras aparece nas duas
+		// e é deduplicada pelo id, nunca some
+		List<HistoricoContaProjecao> pendentes = historicoEmJournal != null
+				? historicoEmJournal.pendentes(id, filtro, cursorHorario, cursorId)
+				: List.of();
+		List<HistoricoContaProjecao> registros = historicoContaRepository.buscarPagina(id, filtro.tipo(), filtro.inicio(),
+				filtro.fim(), cursorHorario, cursorId, Limit.of(tamanhoPagina + 1));
+		if (!pendentes.isEmpty()) {
+			registros = HistoricoEmJournal.mesclar(registros, pendentes, tamanhoPagina + 1);
+		}
+
+		boolean temProxima = registros.size() > tamanhoPagina;
+		List<HistoricoContaProjecao> pagina = temProxima ? registros.subList(0, tamanhoPagina) : registros;
+		int numeroPagina = anterior != null ? anterior.pagina() + 1 : 1;
+
+		String proximoCursor = null;
+		if (temProxima) {
+			HistoricoContaProjecao ultimo = pagina.get(pagina.size() - 1);
+			proximoCursor = new CursorHistorico(ultimo.horario(), ultimo.id(), numeroPagina).codificar();
+		}
+
+		Long totalItens = null;
+		Integer totalPaginas = null;
+		if (incluirTotal) {
+			totalItens = historicoContaRepository.contar(id, filtro.tipo(), filtro.inicio(), filtro.fim());
+			if (historicoEmJournal != null) {
+				totalItens += historicoEmJournal.contarPendentes(id, filtro);
+			}
+			totalPaginas = (int) ((totalItens + tamanhoPagina - 1) / tamanhoPagina);
+		}
+
+		return new PaginacaoResponseDTO<>(pagina.stream().map(HistoricoContaResponseDTO::new).toList(), numeroPagina,
+				tamanhoPagina, totalItens, totalPaginas, proximoCursor);
 	}
 
 }
@@ -4,34 +4,71 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.wallace.spring.boot.enums.Permission;
+import com.wallace.spring.boot.model.entities.User;
+import com.wallace.spring.boot.services.autenticacao.ChaveiroJwt;
+import com.wallace.spring.boot.services.autenticacao.ChaveiroJwt.ChaveDeAssinatura;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret:b2IhY0J5c3RvU0VjdXJpdHlLZXlVbHRyYVNlZ3VyYQ==}")
-    private String secretKey;
-    
-    @Value("${jwt.expiration:86400000}") // 24 horas em millisegundos
-    private long jwtExpiration;
+    public static final String CLAIM_ID_USUARIO = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_PERMISSOES = "perms";
+
+    private final long jwtExpiration;
+    private final ChaveiroJwt chaveiroJwt;
+
+    // O parser é montado uma única vez; é imutável e pode ser compartilhado entre threads. A chave pública de
+    // verificação vem do chaveiro pelo "kid" do cabeçalho, inclusive as publicadas no JWKS dos outros nós
+    private final JwtParser jwtParser;
+
+    public JwtService(ChaveiroJwt chaveiroJwt,
+            @Value("${jwt.expiration:900000}") long jwtExpiration) { // 15 minutos em millisegundos
+        this.jwtExpiration = jwtExpiration;
+        this.chaveiroJwt = chaveiroJwt;
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                if (!chaveiroJwt.getAlgoritmo().getValue().equals(header.getAlgorithm())) {
+                    throw new JwtException("Algoritmo de assinatura não aceito: " + header.getAlgorithm());
+                }
+                return chaveiroJwt.chavePublica(header.getKeyId())
+                        .orElseThrow(() -> new JwtException("Chave de assinatura desconhecida: " + header.getKeyId()));
+            }
+        }).build();
+    }
 
     public String extractUserEmail(String jwtToken) {
         return extractClaims(jwtToken, Claims::getSubject);
     }
 
+    // Para usuários da aplicação o token carrega id, role e permissões, permitindo autenticar a requisição
+    // só com as claims verificadas, sem consultar o banco
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getRole() != null) {
+            claims.put(CLAIM_ID_USUARIO, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_PERMISSOES,
+                    user.getRole().getPermissions().stream().map(Permission::getPermission).sorted().toList());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -39,57 +76,42 @@ public class JwtService {
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        ChaveDeAssinatura chave = chaveiroJwt.chaveAtual();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, chave.kid())
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), io.jsonwebtoken.SignatureAlgorithm.HS256)
+                .signWith(chave.par().getPrivate(), chaveiroJwt.getAlgoritmo())
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
+    // Verifica assinatura e expiração e devolve as claims; é a única verificação RS256/ES256 + leitura do JSON por token
+    public Claims parse(String jwtToken) {
         try {
-            final String userEmail = extractUserEmail(token);
-            return (userEmail.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (ExpiredJwtException e) {
-            return false;
-        } catch (JwtException e) {
-            return false;
+            return jwtParser.parseClaimsJws(jwtToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new JwtException("Token JWT inválido", e);
         }
     }
 
-    private boolean isTokenExpired(String token) {
+    public Optional<Claims> validarToken(String token) {
         try {
-            return extractExpiration(token).before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
+            return Optional.of(parse(token));
+        } catch (JwtException e) {
+            return Optional.empty();
         }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaims(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return validarToken(token)
+                .map(claims -> userDetails.getUsername().equals(claims.getSubject()))
+                .orElse(false);
     }
 
     public <T> T extractClaims(String jwtToken, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(jwtToken);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String jwtToken) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(jwtToken)
-                    .getBody();
-        } catch (Exception e) {
-            throw new JwtException("Token JWT inválido", e);
-        }
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return claimsResolver.apply(parse(jwtToken));
     }
-}
\ No newline at end of file
+}
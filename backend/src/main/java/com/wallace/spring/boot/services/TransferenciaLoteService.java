@@ -0,0 +1,227 @@
+package com.wallace.spring.boot.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.ResultadoTransferenciaDTO;
+import com.wallace.spring.boot.dto.TransferenciaLoteResponseDTO;
+import com.wallace.spring.boot.dto.TransferenciaRequestDTO;
+import com.wallace.spring.boot.enums.TipoEventoConta;
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.exceptions.OperacaoIndisponivelException;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.repository.ContaRepository;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.eventos.OutboxDeEventos;
+import com.wallace.spring.boot.services.lancamentos.LancamentosContabeis;
+import com.wallace.spring.boot.services.lancamentos.MovimentoContabil;
+import com.wallace.spring.boot.services.ledger.LedgerDeContas;
+
+@Service
+public class TransferenciaLoteService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TransferenciaLoteService.class);
+
+	private static final String SQL_BLOQUEAR_CONTAS = "SELECT conta_id, saldo, versao, sequencia_ledger FROM contas WHERE conta_id IN (:ids) ORDER BY conta_id FOR UPDATE";
+	private static final String SQL_ATUALIZAR_SALDO = "UPDATE contas SET saldo = ?, versao = versao + 1 WHERE conta_id = ?";
+	private static final String SQL_INSERIR_HISTORICO = "INSERT INTO historico_conta (id_transacao, tipo_transacao, valor, horario, id_remetente, id_recebedor) VALUES (?, ?, ?, ?, ?, ?)";
+	private static final String SQL_ATUALIZAR_SALDO_E_SEQUENCIA = "UPDATE contas SET saldo = ?, sequencia_ledger = ?, versao = versao + 1 WHERE conta_id = ?";
+	private static final String SQL_INSERIR_HISTORICO_NUMERADO = "INSERT INTO historico_conta (id_transacao, tipo_transacao, valor, horario, id_remetente, id_recebedor, seq_remetente, seq_recebedor) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String SQL_INSERIR_EVENTO = "INSERT INTO outbox_eventos (id_evento, conta_id, versao_conta, tipo, valor, contraparte_id, id_transacao, horario) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final ContaRepository contaRepository;
+	private final SequenciaDeIds sequenciaDeIds;
+	private final OutboxDeEventos outboxDeEventos;
+	private final boolean numerarLedger;
+	private final LancamentosContabeis lancamentosContabeis;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int tamanhoChunk;
+	private final boolean habilitado;
+
+	public TransferenciaLoteService(ContaRepository contaRepository, SequenciaDeIds sequenciaDeIds,
+			OutboxDeEventos outboxDeEventos, Optional<LedgerDeContas> ledgerDeContas,
+			Optional<LancamentosContabeis> lancamentosContabeis,
+			NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+			@Value("${conta.transferencias.lote.tamanho-chunk:500}") int tamanhoChunk,
+			@Value("${conta.transferencias.lote.habilitado:true}") boolean habilitado) {
+		this.contaRepository = contaRepository;
+		this.sequenciaDeIds = sequenciaDeIds;
+		this.outboxDeEventos = outboxDeEventos;
+		this.numerarLedger = ledgerDeContas.isPresent();
+		this.lancamentosContabeis = lancamentosContabeis.orElse(null);
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.tamanhoChunk = Math.max(1, tamanhoChunk);
+		this.habilitado = habilitado;
+	}
+
+	public TransferenciaLoteResponseDTO transferirEmLote(List<TransferenciaRequestDTO> transferencias) {
+		if (!habilitado) {
+			throw new OperacaoIndisponivelException("A transferência em lote está desabilitada neste ambiente.");
+		}
+		logger.info("Iniciando lote de {} transferências em blocos de {}", transferencias.size(), tamanhoChunk);
+		Set<Integer> ids = new HashSet<>();
+		for (TransferenciaRequestDTO transferencia : transferencias) {
+			ids.add(transferencia.contaIdDepositar());
+			ids.add(transferencia.contaIdReceber());
+		}
+		Set<Integer> contasExistentes = contaRepository.findAllById(ids).stream().map(Conta::getId)
+				.collect(Collectors.toSet());
+
+		ResultadoTransferenciaDTO[] resultados = new ResultadoTransferenciaDTO[transferencias.size()];
+		for (int inicio = 0; inicio < transferencias.size(); inicio += tamanhoChunk) {
+			int fim = Math.min(inicio + tamanhoChunk, transferencias.size());
+			processarChunk(transferencias, inicio, fim, contasExistentes, resultados);
+		}
+
+		List<ResultadoTransferenciaDTO> listaResultados = Arrays.asList(resultados);
+		int sucessos = (int) listaResultados.stream().filter(ResultadoTransferenciaDTO::sucesso).count();
+		logger.info("Lote finalizado. Sucessos: {}, falhas: {}", sucessos, transferencias.size() - sucessos);
+		return new TransferenciaLoteResponseDTO(transferencias.size(), sucessos, transferencias.size() - sucessos,
+				listaResultados);
+	}
+
+	private void processarChunk(List<TransferenciaRequestDTO> transferencias, int inicio, int fim,
+			Set<Integer> contasExistentes, ResultadoTransferenciaDTO[] resultados) {
+		List<Integer> indicesValidos = new ArrayList<>();
+		Set<Integer> contasDoChunk = new TreeSet<>();
+		for (int i = inicio; i < fim; i++) {
+			TransferenciaRequestDTO transferencia = transferencias.get(i);
+			if (transferencia.valor() == null || transferencia.valor().signum() <= 0) {
+				resultados[i] = ResultadoTransferenciaDTO.falha(i, transferencia,
+						"O valor para realizar a transferência deve ser maior do que 0");
+			} else if (!contasExistentes.contains(transferencia.contaIdDepositar())
+					|| !contasExistentes.contains(transferencia.contaIdReceber())) {
+				resultados[i] = ResultadoTransferenciaDTO.falha(i, transferencia, "Esta conta não existe!");
+			} else {
+				indicesValidos.add(i);
+				contasDoChunk.add(transferencia.contaIdDepositar());
+				contasDoChunk.add(transferencia.contaIdReceber());
+			}
+		}
+		if (indicesValidos.isEmpty()) {
+			return;
+		}
+
+		try {
+			// ids reservados antes de bloquear as contas; os de transferências recusadas viram lacunas
+			int primeiroId = sequenciaDeIds.reservar(SequenciaDeIds.HISTORICO_CONTA, indicesValidos.size());
+			// cada transferência gera dois eventos no outbox, um por conta
+			Integer primeiroIdEvento = outboxDeEventos.habilitado()
+					? sequenciaDeIds.reservar(SequenciaDeIds.OUTBOX_EVENTOS, indicesValidos.size() * 2)
+					: null;
+			transactionTemplate.executeWithoutResult(status -> aplicarChunk(transferencias, indicesValidos,
+					contasDoChunk, primeiroId, primeiroIdEvento, resultados));
+		} catch (RuntimeException e) {
+			// o bloco foi revertido por inteiro; os anteriores já estão confirmados e seguem no resultado
+			logger.error("Falha ao gravar o bloco de transferências {}-{}. Nenhuma transferência do bloco foi aplicada.", inicio, fim - 1, e);
+			for (Integer i : indicesValidos) {
+				resultados[i] = ResultadoTransferenciaDTO.falha(i, transferencias.get(i),
+						"Erro ao gravar o bloco desta transferência. Tente novamente.");
+			}
+		}
+	}
+
+	private void aplicarChunk(List<TransferenciaRequestDTO> transferencias, List<Integer> indicesValidos,
+			Set<Integer> contasDoChunk, int primeiroId, Integer primeiroIdEvento, ResultadoTransferenciaDTO[] resultados) {
+		Map<Integer, Dinheiro> saldos = new HashMap<>();
+		Map<Integer, Long> versoes = new HashMap<>();
+		Map<Integer, Long> sequencias = new HashMap<>();
+		jdbcTemplate.query(SQL_BLOQUEAR_CONTAS, Map.of("ids", contasDoChunk), (RowCallbackHandler) rs -> {
+			saldos.put(rs.getInt("conta_id"), Dinheiro.exato(rs.getBigDecimal("saldo")));
+			versoes.put(rs.getInt("conta_id"), rs.getLong("versao"));
+			if (numerarLedger) {
+				sequencias.put(rs.getInt("conta_id"), rs.getLong("sequencia_ledger"));
+			}
+		});
+
+		Set<Integer> contasAlteradas = new TreeSet<>();
+		List<Object[]> historicos = new ArrayList<>();
+		List<Object[]> eventos = new ArrayList<>();
+		List<MovimentoContabil> movimentos = new ArrayList<>();
+		Timestamp horario = Timestamp.valueOf(LocalDateTime.now());
+		for (Integer i : indicesValidos) {
+			TransferenciaRequestDTO transferencia = transferencias.get(i);
+			Dinheiro saldoRemetente = saldos.get(transferencia.contaIdDepositar());
+			if (saldoRemetente == null || !saldos.containsKey(transferencia.contaIdReceber())) {
+				resultados[i] = ResultadoTransferenciaDTO.falha(i, transferencia, "Esta conta não existe!");
+				continue;
+			}
+			if (saldoRemetente.menorQue(transferencia.valor())) {
+				resultados[i] = ResultadoTransferenciaDTO.falha(i, transferencia,
+						"Saldo insuficiente na conta para realizar a transferência");
+				continue;
+			}
+			saldos.put(transferencia.contaIdDepositar(), saldoRemetente.subtrair(transferencia.valor()));
+			saldos.merge(transferencia.contaIdReceber(), transferencia.valor(), Dinheiro::somar);
+			contasAlteradas.add(transferencia.contaIdDepositar());
+			contasAlteradas.add(transferencia.contaIdReceber());
+			int idTransacao = primeiroId + historicos.size();
+			if (numerarLedger) {
+				// as contas estão bloqueadas: a sequência lida é a última, e o chunk continua a partir dela
+				historicos.add(new Object[] { idTransacao, TipoTransacao.TRANSFERENCIA.name(), transferencia.valor().paraBigDecimal(), horario,
+						transferencia.contaIdDepositar(), transferencia.contaIdReceber(),
+						sequencias.merge(transferencia.contaIdDepositar(), 1L, Long::sum),
+						sequencias.merge(transferencia.contaIdReceber(), 1L, Long::sum) });
+			} else {
+				historicos.add(new Object[] { idTransacao, TipoTransacao.TRANSFERENCIA.name(), transferencia.valor().paraBigDecimal(), horario,
+						transferencia.contaIdDepositar(), transferencia.contaIdReceber() });
+			}
+			if (primeiroIdEvento != null) {
+				// o chunk incrementa a versão de cada conta uma única vez; dentro dela, o id do evento dá a ordem
+				eventos.add(new Object[] { primeiroIdEvento + eventos.size(), transferencia.contaIdDepositar(),
+						versoes.get(transferencia.contaIdDepositar()) + 1, TipoEventoConta.TRANSFERENCIA_ENVIADA.name(),
+						transferencia.valor().paraBigDecimal(), transferencia.contaIdReceber(), idTransacao, horario });
+				eventos.add(new Object[] { primeiroIdEvento + eventos.size(), transferencia.contaIdReceber(),
+						versoes.get(transferencia.contaIdReceber()) + 1, TipoEventoConta.TRANSFERENCIA_RECEBIDA.name(),
+						transferencia.valor().paraBigDecimal(), transferencia.contaIdDepositar(), idTransacao, horario });
+			}
+			if (lancamentosContabeis != null) {
+				movimentos.add(new MovimentoContabil(idTransacao, TipoTransacao.TRANSFERENCIA, transferencia.valor(),
+						transferencia.contaIdDepositar(), transferencia.contaIdReceber(), horario.toLocalDateTime()));
+			}
+			resultados[i] = ResultadoTransferenciaDTO.sucesso(i, transferencia);
+		}
+
+		if (historicos.isEmpty()) {
+			return;
+		}
+		if (numerarLedger) {
+			List<Object[]> atualizacoes = contasAlteradas.stream()
+					.map(id -> new Object[] { saldos.get(id).paraBigDecimal(), sequencias.get(id), id }).toList();
+			jdbcTemplate.getJdbcTemplate().batchUpdate(SQL_ATUALIZAR_SALDO_E_SEQUENCIA, atualizacoes);
+			jdbcTemplate.getJdbcTemplate().batchUpdate(SQL_INSERIR_HISTORICO_NUMERADO, historicos);
+		} else {
+			List<Object[]> atualizacoes = contasAlteradas.stream().map(id -> new Object[] { saldos.get(id).paraBigDecimal(), id }).toList();
+			jdbcTemplate.getJdbcTemplate().batchUpdate(SQL_ATUALIZAR_SALDO, atualizacoes);
+			jdbcTemplate.getJdbcTemplate().batchUpdate(SQL_INSERIR_HISTORICO, historicos);
+		}
+		if (!eventos.isEmpty()) {
+			jdbcTemplate.getJdbcTemplate().batchUpdate(SQL_INSERIR_EVENTO, eventos);
+		}
+		if (!movimentos.isEmpty()) {
+			// gravados no beforeCommit desta transação, com as contas do chunk ainda bloqueadas
+			lancamentosContabeis.lancar(movimentos);
+		}
+	}
+}
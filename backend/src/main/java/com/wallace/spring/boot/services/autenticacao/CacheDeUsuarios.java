@@ -0,0 +1,58 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wallace.spring.boot.model.entities.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Cache de principais por email, invalidado após o commit de escritas em User
+@Component
+public class CacheDeUsuarios {
+
+	private static final Logger logger = LoggerFactory.getLogger(CacheDeUsuarios.class);
+
+	private final Cache<String, User> cache;
+
+	public CacheDeUsuarios(MeterRegistry meterRegistry,
+			@Value("${usuarios.cache.habilitado:true}") boolean habilitado,
+			@Value("${usuarios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+			@Value("${usuarios.cache.validade-segundos:300}") long validadeSegundos) {
+		if (habilitado) {
+			this.cache = Caffeine.newBuilder().maximumSize(tamanhoMaximo)
+					.expireAfterWrite(Duration.ofSeconds(validadeSegundos)).recordStats().build();
+			CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios");
+		} else {
+			this.cache = null;
+		}
+	}
+
+	public User buscar(String email, Function<String, User> carregador) {
+		return cache != null ? cache.get(email, carregador) : carregador.apply(email);
+	}
+
+	// O email pode ter mudado na própria escrita, então também sai qualquer entrada que aponte para o mesmo id
+	@TransactionalEventListener(fallbackExecution = true)
+	public void aoAlterarUsuario(UsuarioAlteradoEvento evento) {
+		if (cache == null) {
+			return;
+		}
+		if (evento.email() != null) {
+			cache.invalidate(evento.email());
+		}
+		if (evento.id() != null) {
+			cache.asMap().values().removeIf(usuario -> evento.id().equals(usuario.getId()));
+		}
+		logger.debug("Cache de usuários invalidado para o usuário ID {}", evento.id());
+	}
+}
@@ -0,0 +1,318 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+// Chaves de assinatura dos JWT, uma por kid no diretório configurado e compartilhado entre os nós
+@Component
+public class ChaveiroJwt {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChaveiroJwt.class);
+
+	private static final String EXTENSAO = ".json";
+	private static final int TEMPO_LIMITE_JWKS_MS = 2000;
+	private static final int TAMANHO_MAXIMO_JWKS = 64 * 1024;
+
+	private final SignatureAlgorithm algoritmo;
+	private final KeyType tipoDeChave;
+	private final Path diretorio;
+	private final Duration intervaloRotacao;
+	private final Duration sobreposicao;
+	private final List<URI> pares;
+	private final Duration intervaloMinimoBusca;
+	private final Map<String, ChaveDeAssinatura> chaves = new ConcurrentHashMap<>();
+	private final Map<URI, Map<String, PublicKey>> chavesDosPares = new ConcurrentHashMap<>();
+	private final ReentrantLock busca = new ReentrantLock();
+
+	private volatile ChaveDeAssinatura atual;
+	private volatile ChaveDeAssinatura proxima;
+	private volatile Instant ultimaBusca;
+
+	public ChaveiroJwt(@Value("${jwt.algoritmo:RS256}") String algoritmo,
+			@Value("${jwt.chaves.diretorio:./dados/chaves-jwt}") String diretorio,
+			@Value("${jwt.chaves.intervalo-rotacao-ms:86400000}") long intervaloRotacaoMs,
+			@Value("${jwt.chaves.sobreposicao-minutos:30}") long sobreposicaoMinutos,
+			@Value("${jwt.expiration:900000}") long validadeAccessToken,
+			@Value("${jwt.jwks-uris:}") List<String> jwksUris,
+			@Value("${jwt.jwks-intervalo-minimo-ms:30000}") long intervaloMinimoBuscaMs) {
+		this.algoritmo = SignatureAlgorithm.forName(algoritmo);
+		if (this.algoritmo != SignatureAlgorithm.RS256 && this.algoritmo != SignatureAlgorithm.ES256) {
+			throw new IllegalArgumentException("Algoritmo de assinatura JWT não suportado: " + algoritmo);
+		}
+		this.tipoDeChave = this.algoritmo == SignatureAlgorithm.ES256 ? KeyType.EC : KeyType.RSA;
+		this.diretorio = Path.of(diretorio);
+		this.intervaloRotacao = Duration.ofMillis(intervaloRotacaoMs);
+		this.sobreposicao = Duration.ofMinutes(sobreposicaoMinutos).compareTo(Duration.ofMillis(validadeAccessToken)) > 0
+				? Duration.ofMinutes(sobreposicaoMinutos)
+				: Duration.ofMillis(validadeAccessToken);
+		this.pares = jwksUris.stream().map(String::trim).filter(uri -> !uri.isEmpty()).map(URI::create).toList();
+		this.intervaloMinimoBusca = Duration.ofMillis(intervaloMinimoBuscaMs);
+		try {
+			Files.createDirectories(this.diretorio);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir o diretório de chaves JWT " + diretorio, e);
+		}
+		recarregar();
+		// primeiro nó sobre um diretório vazio: gera a chave atual e a próxima
+		while (proxima == null) {
+			persistir(gerar(Instant.now()));
+			recarregar();
+		}
+	}
+
+	public SignatureAlgorithm getAlgoritmo() {
+		return algoritmo;
+	}
+
+	public ChaveDeAssinatura chaveAtual() {
+		return atual;
+	}
+
+	// Um kid desconhecido pode ser de uma rotação feita por outro nó; a busca é limitada a uma por
+	// intervalo mínimo para que tokens com kids inventados não virem uma enxurrada de leituras e requisições
+	public Optional<PublicKey> chavePublica(String kid) {
+		if (kid == null) {
+			return Optional.empty();
+		}
+		Optional<PublicKey> conhecida = chaveConhecida(kid);
+		if (conhecida.isPresent()) {
+			return conhecida;
+		}
+		buscarChavesNovas();
+		return chaveConhecida(kid);
+	}
+
+	// Com o diretório compartilhado só um nó rotaciona por intervalo; os demais encontram a rotação já feita
+	// e apenas adotam as chaves dele
+	@Scheduled(fixedRateString = "${jwt.chaves.intervalo-rotacao-ms:86400000}",
+			initialDelayString = "${jwt.chaves.intervalo-rotacao-ms:86400000}")
+	public synchronized void rotacionar() {
+		recarregar();
+		Instant agora = Instant.now();
+		if (proxima.criadaEm().isAfter(agora.minus(intervaloRotacao.dividedBy(2)))) {
+			logger.info("Chave de assinatura JWT já rotacionada por outro nó: atual {}", atual.kid());
+			return;
+		}
+		String aposentada = atual.kid();
+		for (ChaveDeAssinatura chave : ativas()) {
+			if (!chave.kid().equals(proxima.kid())) {
+				persistir(chave.aposentar(agora.plus(sobreposicao)));
+			}
+		}
+		persistir(gerar(agora));
+		recarregar();
+		logger.info("Chave de assinatura JWT rotacionada: atual {}, aposentada {}", atual.kid(), aposentada);
+	}
+
+	public Map<String, Object> jwks() {
+		Instant agora = Instant.now();
+		List<JWK> publicas = new ArrayList<>();
+		for (ChaveDeAssinatura chave : chaves.values()) {
+			if (!chave.expirada(agora)) {
+				publicas.add(paraJwk(chave));
+			}
+		}
+		return new JWKSet(publicas).toJSONObject(true);
+	}
+
+	private Optional<PublicKey> chaveConhecida(String kid) {
+		ChaveDeAssinatura chave = chaves.get(kid);
+		if (chave != null) {
+			return chave.expirada(Instant.now()) ? Optional.empty() : Optional.of(chave.par().getPublic());
+		}
+		return chavesDosPares.values().stream().map(publicas -> publicas.get(kid)).filter(publica -> publica != null)
+				.findFirst();
+	}
+
+	private void buscarChavesNovas() {
+		if (!busca.tryLock()) {
+			return;
+		}
+		try {
+			Instant agora = Instant.now();
+			if (ultimaBusca != null && ultimaBusca.plus(intervaloMinimoBusca).isAfter(agora)) {
+				return;
+			}
+			ultimaBusca = agora;
+			try {
+				recarregar();
+			} catch (UncheckedIOException e) {
+				logger.warn("Não foi possível reler as chaves de assinatura JWT: {}", e.getMessage());
+			}
+			for (URI par : pares) {
+				buscarJwks(par);
+			}
+		} finally {
+			busca.unlock();
+		}
+	}
+
+	// Um par fora do ar mantém as chaves da última busca bem-sucedida
+	private void buscarJwks(URI par) {
+		try {
+			Map<String, PublicKey> publicas = new HashMap<>();
+			for (JWK jwk : JWKSet.load(par.toURL(), TEMPO_LIMITE_JWKS_MS, TEMPO_LIMITE_JWKS_MS, TAMANHO_MAXIMO_JWKS)
+					.getKeys()) {
+				if (jwk.getKeyID() != null && tipoDeChave.equals(jwk.getKeyType())) {
+					publicas.put(jwk.getKeyID(), jwk instanceof ECKey ec ? ec.toPublicKey() : jwk.toRSAKey().toPublicKey());
+				}
+			}
+			chavesDosPares.put(par, publicas);
+		} catch (IOException | ParseException | JOSEException e) {
+			logger.warn("Não foi possível buscar o JWKS de {}: {}", par, e.getMessage());
+		}
+	}
+
+	// Lê o diretório inteiro: chaves removidas dele deixam de valer, as expiradas são apagadas e a atual é a
+	// penúltima ativa por data de criação, a mesma escolha em todos os nós
+	private synchronized void recarregar() {
+		Instant agora = Instant.now();
+		Map<String, ChaveDeAssinatura> lidas = new HashMap<>();
+		try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+			for (Path arquivo : arquivos) {
+				ChaveDeAssinatura chave = ler(arquivo);
+				if (chave == null) {
+					continue;
+				}
+				if (chave.expirada(agora)) {
+					Files.deleteIfExists(arquivo);
+				} else {
+					lidas.put(chave.kid(), chave);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível ler as chaves de assinatura JWT em " + diretorio, e);
+		}
+		chaves.keySet().retainAll(lidas.keySet());
+		chaves.putAll(lidas);
+		List<ChaveDeAssinatura> ativas = ativas();
+		if (ativas.size() >= 2) {
+			atual = ativas.get(ativas.size() - 2);
+			proxima = ativas.get(ativas.size() - 1);
+		}
+	}
+
+	private List<ChaveDeAssinatura> ativas() {
+		return chaves.values().stream().filter(chave -> chave.aposentadaAte() == null)
+				.sorted(Comparator.comparing(ChaveDeAssinatura::criadaEm).thenComparing(ChaveDeAssinatura::kid))
+				.toList();
+	}
+
+	private ChaveDeAssinatura ler(Path arquivo) throws IOException {
+		try {
+			JWK jwk = JWK.parse(Files.readString(arquivo));
+			if (!tipoDeChave.equals(jwk.getKeyType()) || !jwk.isPrivate()) {
+				logger.warn("Ignorando {}: não é uma chave privada {} para {}", arquivo, tipoDeChave, algoritmo);
+				return null;
+			}
+			String nome = arquivo.getFileName().toString();
+			String kid = jwk.getKeyID() != null ? jwk.getKeyID() : nome.substring(0, nome.length() - EXTENSAO.length());
+			Instant criadaEm = jwk.getIssueTime() != null ? jwk.getIssueTime().toInstant()
+					: Files.getLastModifiedTime(arquivo).toInstant();
+			Instant aposentadaAte = jwk.getExpirationTime() != null ? jwk.getExpirationTime().toInstant() : null;
+			KeyPair par = jwk instanceof ECKey ec ? ec.toKeyPair() : jwk.toRSAKey().toKeyPair();
+			return new ChaveDeAssinatura(kid, par, criadaEm, aposentadaAte);
+		} catch (ParseException | JOSEException e) {
+			throw new IOException("Chave de assinatura JWT inválida em " + arquivo, e);
+		}
+	}
+
+	// Gravação atômica com permissão só para o dono; nós concorrentes nunca leem um arquivo pela metade
+	private void persistir(ChaveDeAssinatura chave) {
+		try {
+			Path temporario = diretorio.getFileSystem().supportedFileAttributeViews().contains("posix")
+					? Files.createTempFile(diretorio, chave.kid(), ".tmp",
+							PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+					: Files.createTempFile(diretorio, chave.kid(), ".tmp");
+			Files.writeString(temporario, paraJwk(chave).toJSONString());
+			Files.move(temporario, diretorio.resolve(chave.kid() + EXTENSAO),
+					StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível gravar a chave de assinatura JWT " + chave.kid(), e);
+		}
+	}
+
+	private ChaveDeAssinatura gerar(Instant criadaEm) {
+		try {
+			KeyPairGenerator gerador;
+			if (algoritmo == SignatureAlgorithm.ES256) {
+				gerador = KeyPairGenerator.getInstance("EC");
+				gerador.initialize(new ECGenParameterSpec("secp256r1"));
+			} else {
+				gerador = KeyPairGenerator.getInstance("RSA");
+				gerador.initialize(2048);
+			}
+			return new ChaveDeAssinatura(UUID.randomUUID().toString(), gerador.generateKeyPair(), criadaEm, null);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Não foi possível gerar a chave de assinatura JWT", e);
+		}
+	}
+
+	// JWK com a parte privada; o JWKS publicado usa apenas a pública
+	private JWK paraJwk(ChaveDeAssinatura chave) {
+		Date aposentadaAte = chave.aposentadaAte() != null ? Date.from(chave.aposentadaAte()) : null;
+		if (chave.par().getPublic() instanceof ECPublicKey publica) {
+			return new ECKey.Builder(Curve.P_256, publica).privateKey(chave.par().getPrivate()).keyID(chave.kid())
+					.keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.ES256).issueTime(Date.from(chave.criadaEm()))
+					.expirationTime(aposentadaAte).build();
+		}
+		return new RSAKey.Builder((RSAPublicKey) chave.par().getPublic()).privateKey(chave.par().getPrivate())
+				.keyID(chave.kid()).keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.RS256)
+				.issueTime(Date.from(chave.criadaEm())).expirationTime(aposentadaAte).build();
+	}
+
+	public record ChaveDeAssinatura(String kid, KeyPair par, Instant criadaEm, Instant aposentadaAte) {
+
+		ChaveDeAssinatura aposentar(Instant ate) {
+			return new ChaveDeAssinatura(kid, par, criadaEm, ate);
+		}
+
+		boolean expirada(Instant agora) {
+			return aposentadaAte != null && aposentadaAte.isBefore(agora);
+		}
+	}
+}
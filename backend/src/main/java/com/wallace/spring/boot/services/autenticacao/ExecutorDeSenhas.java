@@ -0,0 +1,58 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.wallace.spring.boot.exceptions.MuitasRequisicoesException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Executor dedicado ao BCrypt; o excedente da fila é recusado com 429
+@Component
+public class ExecutorDeSenhas {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExecutorDeSenhas.class);
+
+	private final ThreadPoolExecutor executor;
+
+	public ExecutorDeSenhas(MeterRegistry meterRegistry,
+			@Value("${usuarios.senhas.threads:0}") int threads,
+			@Value("${usuarios.senhas.capacidade-fila:64}") int capacidadeFila) {
+		int quantidade = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(quantidade, quantidade, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(capacidadeFila), tarefa -> {
+					Thread thread = new Thread(tarefa, "senhas-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		meterRegistry.gauge("autenticacao.senhas.fila", executor, pool -> pool.getQueue().size());
+		meterRegistry.gauge("autenticacao.senhas.ativas", executor, ThreadPoolExecutor::getActiveCount);
+	}
+
+	public <T> CompletableFuture<T> executar(Supplier<T> tarefa) {
+		try {
+			return CompletableFuture.supplyAsync(tarefa, executor);
+		} catch (RejectedExecutionException e) {
+			logger.warn("Fila de verificação de senhas cheia ({} aguardando)", executor.getQueue().size());
+			throw new MuitasRequisicoesException(
+					"Muitas tentativas de autenticação simultâneas. Tente novamente em instantes.");
+		}
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,68 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom sem lock: inserções fazem OR atômico nas palavras de 64 bits
+public final class FiltroDeBloom {
+
+	private final AtomicLongArray palavras;
+	private final long quantidadeBits;
+	private final int funcoes;
+
+	public FiltroDeBloom(long capacidadeEsperada, double taxaFalsoPositivo) {
+		long capacidade = Math.max(1, capacidadeEsperada);
+		double ln2 = Math.log(2);
+		long bits = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+		int quantidadePalavras = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+		this.palavras = new AtomicLongArray(quantidadePalavras);
+		this.quantidadeBits = quantidadePalavras * 64L;
+		this.funcoes = (int) Math.max(1, Math.round((double) quantidadeBits / capacidade * ln2));
+	}
+
+	public void adicionar(String valor) {
+		long h1 = hash(valor);
+		long h2 = misturar(h1) | 1L;
+		for (int i = 0; i < funcoes; i++) {
+			long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+			int indice = (int) (bit >>> 6);
+			long mascara = 1L << bit;
+			long atual = palavras.get(indice);
+			while ((atual & mascara) == 0 && !palavras.compareAndSet(indice, atual, atual | mascara)) {
+				atual = palavras.get(indice);
+			}
+		}
+	}
+
+	public boolean podeConter(String valor) {
+		long h1 = hash(valor);
+		long h2 = misturar(h1) | 1L;
+		for (int i = 0; i < funcoes; i++) {
+			long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+			if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int getFuncoes() {
+		return funcoes;
+	}
+
+	private static long hash(String valor) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < valor.length(); i++) {
+			h ^= valor.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return misturar(h);
+	}
+
+	private static long misturar(long h) {
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		return h ^ (h >>> 33);
+	}
+}
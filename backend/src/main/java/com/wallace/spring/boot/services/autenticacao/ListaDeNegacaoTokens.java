@@ -0,0 +1,74 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tokens revogados antes de expirar, consultados primeiro no filtro de Bloom. Local à instância
+@Component
+public class ListaDeNegacaoTokens {
+
+	private static final Logger logger = LoggerFactory.getLogger(ListaDeNegacaoTokens.class);
+
+	private final Map<String, Instant> negados = new ConcurrentHashMap<>();
+	private final long capacidadeEsperada;
+	private final double taxaFalsoPositivo;
+
+	private volatile FiltroDeBloom filtroAtual;
+	private volatile FiltroDeBloom filtroAnterior;
+
+	@Autowired
+	public ListaDeNegacaoTokens(@Value("${jwt.lista-negacao.capacidade-esperada:100000}") long capacidadeEsperada,
+			@Value("${jwt.lista-negacao.taxa-falso-positivo:0.001}") double taxaFalsoPositivo) {
+		this.capacidadeEsperada = capacidadeEsperada;
+		this.taxaFalsoPositivo = taxaFalsoPositivo;
+		this.filtroAtual = new FiltroDeBloom(capacidadeEsperada, taxaFalsoPositivo);
+		this.filtroAnterior = new FiltroDeBloom(capacidadeEsperada, taxaFalsoPositivo);
+	}
+
+	public ListaDeNegacaoTokens() {
+		this(100_000, 0.001);
+	}
+
+	public void negar(String jti, Instant expiraEm) {
+		if (jti != null && expiraEm.isAfter(Instant.now())) {
+			negados.put(jti, expiraEm);
+			filtroAtual.adicionar(jti);
+		}
+	}
+
+	public boolean estaNegado(String jti) {
+		if (jti == null || !(filtroAtual.podeConter(jti) || filtroAnterior.podeConter(jti))) {
+			return false;
+		}
+		return negados.containsKey(jti);
+	}
+
+	public int tamanho() {
+		return negados.size();
+	}
+
+	@Scheduled(fixedRateString = "${jwt.expiration:900000}", initialDelayString = "${jwt.expiration:900000}")
+	public synchronized void rotacionarFiltros() {
+		filtroAnterior = filtroAtual;
+		filtroAtual = new FiltroDeBloom(capacidadeEsperada, taxaFalsoPositivo);
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.lista-negacao.intervalo-limpeza-ms:60000}")
+	public void removerExpirados() {
+		Instant agora = Instant.now();
+		int antes = negados.size();
+		negados.values().removeIf(expiraEm -> !expiraEm.isAfter(agora));
+		int removidos = antes - negados.size();
+		if (removidos > 0) {
+			logger.debug("{} tokens expirados removidos da lista de negação", removidos);
+		}
+	}
+}
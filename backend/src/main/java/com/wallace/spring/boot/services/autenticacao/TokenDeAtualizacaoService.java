@@ -0,0 +1,103 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.wallace.spring.boot.exceptions.TokenDeAtualizacaoInvalidoException;
+import com.wallace.spring.boot.model.entities.TokenDeAtualizacao;
+import com.wallace.spring.boot.model.entities.User;
+import com.wallace.spring.boot.model.repository.TokenDeAtualizacaoRepository;
+
+import jakarta.transaction.Transactional;
+
+// Refresh tokens opacos e de uso único; reapresentar um token usado revoga a família
+@Service
+public class TokenDeAtualizacaoService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenDeAtualizacaoService.class);
+
+	private final TokenDeAtualizacaoRepository tokenDeAtualizacaoRepository;
+	private final Duration validade;
+	private final SecureRandom aleatorio = new SecureRandom();
+
+	public TokenDeAtualizacaoService(TokenDeAtualizacaoRepository tokenDeAtualizacaoRepository,
+			@Value("${jwt.refresh.validade-dias:7}") long validadeDias) {
+		this.tokenDeAtualizacaoRepository = tokenDeAtualizacaoRepository;
+		this.validade = Duration.ofDays(validadeDias);
+	}
+
+	@Transactional
+	public String emitir(User usuario) {
+		return emitir(usuario, UUID.randomUUID().toString());
+	}
+
+	@Transactional(dontRollbackOn = TokenDeAtualizacaoInvalidoException.class)
+	public TokenRotacionado rotacionar(String token) {
+		TokenDeAtualizacao atual = tokenDeAtualizacaoRepository.buscarComUsuario(resumo(token))
+				.orElseThrow(() -> new TokenDeAtualizacaoInvalidoException("Refresh token inválido."));
+
+		if (atual.getExpiraEm().isBefore(LocalDateTime.now())) {
+			throw new TokenDeAtualizacaoInvalidoException("Refresh token expirado. Faça login novamente.");
+		}
+
+		if (tokenDeAtualizacaoRepository.revogar(atual.getHash()) == 0) {
+			int revogados = tokenDeAtualizacaoRepository.revogarFamilia(atual.getFamilia());
+			logger.warn("Refresh token reutilizado para o usuário ID {}; {} tokens da família revogados",
+					atual.getUsuario().getId(), revogados);
+			throw new TokenDeAtualizacaoInvalidoException("Refresh token já utilizado. Faça login novamente.");
+		}
+
+		User usuario = atual.getUsuario();
+		return new TokenRotacionado(usuario, emitir(usuario, atual.getFamilia()));
+	}
+
+	@Transactional
+	public void revogar(String token) {
+		tokenDeAtualizacaoRepository.revogar(resumo(token));
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.refresh.intervalo-limpeza-ms:3600000}")
+	@Transactional
+	public void removerExpirados() {
+		int removidos = tokenDeAtualizacaoRepository.removerExpiradosAntesDe(LocalDateTime.now());
+		if (removidos > 0) {
+			logger.info("{} refresh tokens expirados removidos", removidos);
+		}
+	}
+
+	private String emitir(User usuario, String familia) {
+		byte[] bytes = new byte[32];
+		aleatorio.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+		LocalDateTime agora = LocalDateTime.now();
+		tokenDeAtualizacaoRepository
+				.save(new TokenDeAtualizacao(resumo(token), familia, usuario, agora, agora.plus(validade)));
+		return token;
+	}
+
+	private static String resumo(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponível", e);
+		}
+	}
+
+	public record TokenRotacionado(User usuario, String refreshToken) {
+	}
+}
@@ -0,0 +1,4 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+public record UsuarioAlteradoEvento(Integer id, String email) {
+}
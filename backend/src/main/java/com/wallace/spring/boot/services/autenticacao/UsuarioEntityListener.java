@@ -0,0 +1,28 @@
+package com.wallace.spring.boot.services.autenticacao;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.wallace.spring.boot.model.entities.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// Qualquer escrita em User (senha, role, email) publica um evento para que caches de principais sejam invalidados
+@Component
+public class UsuarioEntityListener {
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	public UsuarioEntityListener(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void aoAlterar(User user) {
+		eventPublisher.publishEvent(new UsuarioAlteradoEvento(user.getId(), user.getEmail()));
+	}
+}
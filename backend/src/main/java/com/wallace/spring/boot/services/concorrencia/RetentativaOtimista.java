@@ -0,0 +1,16 @@
+package com.wallace.spring.boot.services.concorrencia;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reexecuta o método (e a transação aberta por ele) quando o {@code @Version}
+ * de uma conta indica que outra operação a alterou no meio do caminho.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetentativaOtimista {
+
+}
@@ -0,0 +1,81 @@
+package com.wallace.spring.boot.services.concorrencia;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wallace.spring.boot.exceptions.ConflitoDeConcorrenciaException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+
+// Precisa rodar por fora do interceptor de transação para que cada tentativa tenha sua própria transação
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetentativaOtimistaAspect {
+
+	private static final Logger logger = LoggerFactory.getLogger(RetentativaOtimistaAspect.class);
+
+	private final MeterRegistry meterRegistry;
+	private final int maxTentativas;
+	private final long atrasoInicialMs;
+	private final long atrasoMaximoMs;
+
+	public RetentativaOtimistaAspect(MeterRegistry meterRegistry,
+			@Value("${conta.concorrencia.retentativas.max-tentativas:5}") int maxTentativas,
+			@Value("${conta.concorrencia.retentativas.atraso-inicial-ms:5}") long atrasoInicialMs,
+			@Value("${conta.concorrencia.retentativas.atraso-maximo-ms:200}") long atrasoMaximoMs) {
+		this.meterRegistry = meterRegistry;
+		this.maxTentativas = Math.max(1, maxTentativas);
+		this.atrasoInicialMs = atrasoInicialMs;
+		this.atrasoMaximoMs = atrasoMaximoMs;
+	}
+
+	@Around("@annotation(com.wallace.spring.boot.services.concorrencia.RetentativaOtimista)")
+	public Object executarComRetentativa(ProceedingJoinPoint joinPoint) throws Throwable {
+		// Dentro de uma transação externa o conflito só aparece no commit dela, então não adianta repetir aqui
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return joinPoint.proceed();
+		}
+
+		String operacao = joinPoint.getSignature().getName();
+		int tentativa = 1;
+		while (true) {
+			try {
+				return joinPoint.proceed();
+			} catch (OptimisticLockingFailureException | OptimisticLockException e) {
+				meterRegistry.counter("contas.concorrencia.conflitos", "operacao", operacao).increment();
+
+				if (tentativa >= maxTentativas) {
+					meterRegistry.counter("contas.concorrencia.esgotadas", "operacao", operacao).increment();
+					logger.warn("Operação {} abortada após {} tentativas por conflito de versão", operacao, tentativa);
+					throw new ConflitoDeConcorrenciaException(
+							"A conta foi alterada por outra operação simultânea. Tente novamente.");
+				}
+
+				long atraso = calcularAtraso(tentativa);
+				meterRegistry.counter("contas.concorrencia.retentativas", "operacao", operacao).increment();
+				logger.debug("Conflito de versão em {} (tentativa {}). Nova tentativa em {} ms", operacao, tentativa, atraso);
+				Thread.sleep(atraso);
+				tentativa++;
+			}
+		}
+	}
+
+	// Backoff exponencial com "full jitter": espera aleatória entre 0 e o teto da tentativa
+	long calcularAtraso(int tentativa) {
+		long teto = Math.min(atrasoMaximoMs, atrasoInicialMs << Math.min(tentativa - 1, 20));
+		return ThreadLocalRandom.current().nextLong(teto + 1);
+	}
+}
@@ -0,0 +1,15 @@
+package com.wallace.spring.boot.services.eventos;
+
+import java.util.List;
+
+import com.wallace.spring.boot.dto.EventoContaDTO;
+
+// Consumidor do log de eventos; recebe em ordem por conta, pelo menos uma vez
+public interface AssinanteDeEventos {
+
+	// Identifica a posição do consumidor no log; não pode mudar entre versões
+	String nome();
+
+	void receber(List<EventoContaDTO> eventos);
+
+}
@@ -0,0 +1,12 @@
+package com.wallace.spring.boot.services.eventos;
+
+import java.util.List;
+
+import com.wallace.spring.boot.dto.EventoContaDTO;
+
+// Para onde o relay publica o outbox; o lote precisa estar durável quando publicar retorna
+public interface DestinoDeEventos {
+
+	void publicar(List<EventoContaDTO> eventos);
+
+}
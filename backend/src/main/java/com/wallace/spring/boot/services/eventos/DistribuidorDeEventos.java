@@ -0,0 +1,54 @@
+package com.wallace.spring.boot.services.eventos;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Entrega o log de eventos a cada assinante e só então confirma a posição
+@Component
+@ConditionalOnProperty(name = "eventos.destino", havingValue = "ARQUIVO", matchIfMissing = true)
+public class DistribuidorDeEventos {
+
+	private static final Logger logger = LoggerFactory.getLogger(DistribuidorDeEventos.class);
+
+	private final LogDeEventosEmArquivo logDeEventos;
+	private final List<AssinanteDeEventos> assinantes;
+	private final int tamanhoLote;
+
+	public DistribuidorDeEventos(LogDeEventosEmArquivo logDeEventos, ObjectProvider<AssinanteDeEventos> assinantes,
+			@Value("${eventos.distribuicao.tamanho-lote:500}") int tamanhoLote) {
+		this.logDeEventos = logDeEventos;
+		this.assinantes = assinantes.orderedStream().toList();
+		this.tamanhoLote = Math.max(1, tamanhoLote);
+		this.assinantes.forEach(assinante -> logDeEventos.registrarConsumidor(assinante.nome()));
+	}
+
+	@Scheduled(fixedDelayString = "${eventos.distribuicao.intervalo-ms:500}")
+	public void distribuir() {
+		for (AssinanteDeEventos assinante : assinantes) {
+			try {
+				entregarPendentes(assinante);
+			} catch (RuntimeException e) {
+				logger.error("Falha ao entregar eventos ao assinante {}; o lote será reenviado", assinante.nome(), e);
+			}
+		}
+	}
+
+	private void entregarPendentes(AssinanteDeEventos assinante) {
+		LeituraDoLog leitura;
+		do {
+			leitura = logDeEventos.ler(assinante.nome(), tamanhoLote);
+			if (leitura.eventos().isEmpty()) {
+				return;
+			}
+			assinante.receber(leitura.eventos());
+			logDeEventos.confirmar(assinante.nome(), leitura.proximaPosicao());
+		} while (leitura.eventos().size() == tamanhoLote);
+	}
+}
@@ -0,0 +1,9 @@
+package com.wallace.spring.boot.services.eventos;
+
+import java.util.List;
+
+import com.wallace.spring.boot.dto.EventoContaDTO;
+
+// proximaPosicao é o que o consumidor confirma depois de processar os eventos
+public record LeituraDoLog(List<EventoContaDTO> eventos, long proximaPosicao) {
+}
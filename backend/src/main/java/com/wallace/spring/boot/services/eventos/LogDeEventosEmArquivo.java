@@ -0,0 +1,330 @@
+package com.wallace.spring.boot.services.eventos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallace.spring.boot.dto.EventoContaDTO;
+
+import jakarta.annotation.PreDestroy;
+
+// Log de eventos em segmentos só de anexo, com uma posição por consumidor
+@Component
+@ConditionalOnProperty(name = "eventos.destino", havingValue = "ARQUIVO", matchIfMissing = true)
+public class LogDeEventosEmArquivo implements DestinoDeEventos, Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(LogDeEventosEmArquivo.class);
+
+	private static final int CABECALHO = Integer.BYTES * 2;
+	private static final String EXTENSAO = ".log";
+	private static final String EXTENSAO_OFFSET = ".offset";
+	private static final Pattern NOME_CONSUMIDOR = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+	private final Path diretorio;
+	private final Path diretorioConsumidores;
+	private final int tamanhoSegmento;
+	private final ObjectMapper objectMapper;
+	private final ReentrantLock trava = new ReentrantLock();
+	private final TreeMap<Long, FileChannel> segmentos = new TreeMap<>();
+	private final Map<String, Long> posicoesConsumidores = new ConcurrentHashMap<>();
+
+	private long segmentoAtual;
+	private long posicaoEscrita;
+
+	@Autowired
+	public LogDeEventosEmArquivo(ObjectMapper objectMapper,
+			@Value("${eventos.log.diretorio:./dados/eventos-conta}") String diretorio,
+			@Value("${eventos.log.tamanho-segmento-mb:64}") int tamanhoSegmentoMb) {
+		this(Path.of(diretorio), tamanhoSegmentoMb * 1024 * 1024, objectMapper);
+	}
+
+	public LogDeEventosEmArquivo(Path diretorio, int tamanhoSegmento, ObjectMapper objectMapper) {
+		this.diretorio = diretorio;
+		this.diretorioConsumidores = diretorio.resolve("consumidores");
+		this.tamanhoSegmento = tamanhoSegmento;
+		this.objectMapper = objectMapper;
+		try {
+			Files.createDirectories(diretorioConsumidores);
+			try (Stream<Path> arquivos = Files.list(diretorio)) {
+				arquivos.map(arquivo -> arquivo.getFileName().toString()).filter(nome -> nome.endsWith(EXTENSAO))
+						.map(nome -> Long.parseLong(nome.substring(0, nome.length() - EXTENSAO.length())))
+						.forEach(numero -> segmentos.put(numero, abrir(numero)));
+			}
+			if (segmentos.isEmpty()) {
+				segmentos.put(0L, abrir(0L));
+			}
+			segmentoAtual = segmentos.lastKey();
+			FileChannel atual = segmentos.get(segmentoAtual);
+			// um anexo interrompido deixa um registro incompleto no fim do último segmento
+			long fim = fimDosRegistros(atual);
+			if (fim < atual.size()) {
+				logger.warn("Descartando {} bytes incompletos no fim do log de eventos", atual.size() - fim);
+				atual.truncate(fim);
+			}
+			posicaoEscrita = posicao(segmentoAtual, (int) fim);
+			try (Stream<Path> arquivos = Files.list(diretorioConsumidores)) {
+				for (Path arquivo : arquivos.filter(arquivo -> arquivo.toString().endsWith(EXTENSAO_OFFSET)).toList()) {
+					String nome = arquivo.getFileName().toString();
+					posicoesConsumidores.put(nome.substring(0, nome.length() - EXTENSAO_OFFSET.length()),
+							Long.parseLong(Files.readString(arquivo).trim()));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir o log de eventos em " + diretorio, e);
+		}
+	}
+
+	@Override
+	public void publicar(List<EventoContaDTO> eventos) {
+		List<byte[]> registros = new ArrayList<>(eventos.size());
+		try {
+			for (EventoContaDTO evento : eventos) {
+				registros.add(objectMapper.writeValueAsBytes(evento));
+			}
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível serializar o evento de conta", e);
+		}
+		anexar(registros);
+	}
+
+	// Um único fsync por lote; devolve a posição logo após o último registro
+	public long anexar(List<byte[]> registros) {
+		trava.lock();
+		try {
+			FileChannel atual = segmentos.get(segmentoAtual);
+			for (byte[] conteudo : registros) {
+				int deslocamento = deslocamento(posicaoEscrita);
+				if (deslocamento > 0 && deslocamento + CABECALHO + conteudo.length > tamanhoSegmento) {
+					atual.force(false);
+					segmentoAtual++;
+					atual = abrir(segmentoAtual);
+					segmentos.put(segmentoAtual, atual);
+					deslocamento = 0;
+				}
+				CRC32C crc = new CRC32C();
+				crc.update(conteudo);
+				ByteBuffer registro = ByteBuffer.allocate(CABECALHO + conteudo.length);
+				registro.putInt(conteudo.length).putInt((int) crc.getValue()).put(conteudo).flip();
+				long posicaoArquivo = deslocamento;
+				while (registro.hasRemaining()) {
+					posicaoArquivo += atual.write(registro, posicaoArquivo);
+				}
+				posicaoEscrita = posicao(segmentoAtual, (int) posicaoArquivo);
+			}
+			atual.force(false);
+			return posicaoEscrita;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Falha ao anexar ao log de eventos", e);
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	public LeituraDoLog ler(String consumidor, int maximo) {
+		return ler(posicaoDoConsumidor(consumidor), maximo);
+	}
+
+	public LeituraDoLog ler(long desde, int maximo) {
+		long limite;
+		Map<Long, FileChannel> visiveis;
+		trava.lock();
+		try {
+			limite = posicaoEscrita;
+			visiveis = new TreeMap<>(segmentos.tailMap(segmento(desde), true));
+		} finally {
+			trava.unlock();
+		}
+		List<EventoContaDTO> eventos = new ArrayList<>();
+		long proxima = desde;
+		try {
+			for (Map.Entry<Long, FileChannel> segmento : visiveis.entrySet()) {
+				long fimDoSegmento = segmento.getKey() == segmento(limite) ? deslocamento(limite)
+						: segmento.getValue().size();
+				long deslocamento = segmento.getKey() == segmento(desde) ? deslocamento(desde) : 0;
+				while (deslocamento + CABECALHO <= fimDoSegmento) {
+					if (eventos.size() == maximo) {
+						return new LeituraDoLog(eventos, proxima);
+					}
+					ByteBuffer cabecalho = lerCompleto(segmento.getValue(), deslocamento, CABECALHO);
+					ByteBuffer conteudo = lerCompleto(segmento.getValue(), deslocamento + CABECALHO, cabecalho.getInt(0));
+					CRC32C crc = new CRC32C();
+					crc.update(conteudo.duplicate());
+					if ((int) crc.getValue() != cabecalho.getInt(Integer.BYTES)) {
+						throw new IllegalStateException("Registro corrompido no log de eventos na posição "
+								+ posicao(segmento.getKey(), (int) deslocamento));
+					}
+					eventos.add(objectMapper.readValue(conteudo.array(), EventoContaDTO.class));
+					deslocamento += CABECALHO + conteudo.capacity();
+					proxima = posicao(segmento.getKey(), (int) deslocamento);
+				}
+				if (segmento.getKey() < segmento(limite)) {
+					proxima = posicao(segmento.getKey() + 1, 0);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Falha ao ler o log de eventos", e);
+		}
+		return new LeituraDoLog(eventos, proxima);
+	}
+
+	public long posicaoDoConsumidor(String consumidor) {
+		validarNome(consumidor);
+		Long posicao = posicoesConsumidores.get(consumidor);
+		if (posicao != null) {
+			return posicao;
+		}
+		trava.lock();
+		try {
+			return posicao(segmentos.firstKey(), 0);
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	// Um consumidor novo começa no segmento mais antigo ainda retido e, a partir daqui, segura a retenção
+	public void registrarConsumidor(String consumidor) {
+		if (!posicoesConsumidores.containsKey(consumidor)) {
+			confirmar(consumidor, posicaoDoConsumidor(consumidor));
+		}
+	}
+
+	// A posição é gravada de forma atômica; um consumidor que cai antes disso relê o último lote
+	public void confirmar(String consumidor, long posicao) {
+		validarNome(consumidor);
+		Path temporario = diretorioConsumidores.resolve(consumidor + EXTENSAO_OFFSET + ".tmp");
+		try {
+			Files.writeString(temporario, Long.toString(posicao));
+			Files.move(temporario, diretorioConsumidores.resolve(consumidor + EXTENSAO_OFFSET),
+					StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível gravar a posição do consumidor " + consumidor, e);
+		}
+		posicoesConsumidores.put(consumidor, posicao);
+		removerSegmentosConsumidos();
+	}
+
+	public long posicaoFinal() {
+		trava.lock();
+		try {
+			return posicaoEscrita;
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	@PreDestroy
+	@Override
+	public void close() {
+		trava.lock();
+		try {
+			for (FileChannel canal : segmentos.values()) {
+				canal.close();
+			}
+		} catch (IOException e) {
+			logger.warn("Falha ao fechar o log de eventos", e);
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	private void removerSegmentosConsumidos() {
+		long menorSegmento = posicoesConsumidores.values().stream().mapToLong(LogDeEventosEmArquivo::segmento).min()
+				.orElse(Long.MIN_VALUE);
+		trava.lock();
+		try {
+			while (segmentos.firstKey() < menorSegmento && segmentos.firstKey() < segmentoAtual) {
+				Map.Entry<Long, FileChannel> consumido = segmentos.pollFirstEntry();
+				consumido.getValue().close();
+				Files.deleteIfExists(arquivoDoSegmento(consumido.getKey()));
+			}
+		} catch (IOException e) {
+			logger.warn("Falha ao apagar segmentos consumidos do log de eventos", e);
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	private long fimDosRegistros(FileChannel canal) throws IOException {
+		long deslocamento = 0;
+		long tamanho = canal.size();
+		while (deslocamento + CABECALHO <= tamanho) {
+			ByteBuffer cabecalho = lerCompleto(canal, deslocamento, CABECALHO);
+			int tamanhoRegistro = cabecalho.getInt(0);
+			if (tamanhoRegistro <= 0 || deslocamento + CABECALHO + tamanhoRegistro > tamanho) {
+				break;
+			}
+			CRC32C crc = new CRC32C();
+			crc.update(lerCompleto(canal, deslocamento + CABECALHO, tamanhoRegistro));
+			if ((int) crc.getValue() != cabecalho.getInt(Integer.BYTES)) {
+				break;
+			}
+			deslocamento += CABECALHO + tamanhoRegistro;
+		}
+		return deslocamento;
+	}
+
+	private static ByteBuffer lerCompleto(FileChannel canal, long posicao, int tamanho) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+		while (buffer.hasRemaining()) {
+			if (canal.read(buffer, posicao + buffer.position()) < 0) {
+				throw new IOException("Fim inesperado do segmento do log de eventos");
+			}
+		}
+		return buffer.flip();
+	}
+
+	private FileChannel abrir(long numero) {
+		try {
+			return FileChannel.open(arquivoDoSegmento(numero), StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir o segmento " + numero + " do log de eventos", e);
+		}
+	}
+
+	private Path arquivoDoSegmento(long numero) {
+		return diretorio.resolve(String.format("%016d%s", numero, EXTENSAO));
+	}
+
+	private static void validarNome(String consumidor) {
+		if (consumidor == null || !NOME_CONSUMIDOR.matcher(consumidor).matches()) {
+			throw new IllegalArgumentException("Nome de consumidor inválido: " + consumidor);
+		}
+	}
+
+	private static long posicao(long segmento, int deslocamento) {
+		return (segmento << 32) | deslocamento;
+	}
+
+	private static long segmento(long posicao) {
+		return posicao >>> 32;
+	}
+
+	private static int deslocamento(long posicao) {
+		return (int) posicao;
+	}
+}
@@ -0,0 +1,92 @@
+package com.wallace.spring.boot.services.eventos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wallace.spring.boot.enums.TipoEventoConta;
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.EventoConta;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+
+import jakarta.persistence.EntityManager;
+
+// Grava no outbox, na transação do saldo, um evento por conta de cada registro de histórico
+@Service
+public class OutboxDeEventos {
+
+	private final EntityManager entityManager;
+	private final boolean habilitado;
+
+	public OutboxDeEventos(EntityManager entityManager,
+			@Value("${eventos.outbox.habilitado:true}") boolean habilitado) {
+		this.entityManager = entityManager;
+		this.habilitado = habilitado;
+	}
+
+	public boolean habilitado() {
+		return habilitado;
+	}
+
+	public void registrar(HistoricoConta historico) {
+		registrar(List.of(historico));
+	}
+
+	public void registrar(List<HistoricoConta> historicos) {
+		if (!habilitado) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			throw new IllegalStateException("Eventos do outbox só podem ser registrados dentro de uma transação");
+		}
+		EventosDaTransacao eventos = (EventosDaTransacao) TransactionSynchronizationManager.getResource(this);
+		if (eventos == null) {
+			eventos = new EventosDaTransacao();
+			TransactionSynchronizationManager.bindResource(this, eventos);
+			TransactionSynchronizationManager.registerSynchronization(eventos);
+		}
+		eventos.historicos.addAll(historicos);
+	}
+
+	public static TipoEventoConta tipoDoRemetente(TipoTransacao tipo) {
+		return switch (tipo) {
+		case DEPOSITO -> TipoEventoConta.DEPOSITO;
+		case SAQUE -> TipoEventoConta.SAQUE;
+		case TRANSFERENCIA -> TipoEventoConta.TRANSFERENCIA_ENVIADA;
+		};
+	}
+
+	private final class EventosDaTransacao implements TransactionSynchronization {
+
+		private final List<HistoricoConta> historicos = new ArrayList<>();
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			entityManager.flush();
+			List<EventoConta> eventos = new ArrayList<>();
+			for (HistoricoConta historico : historicos) {
+				Conta remetente = historico.getEfetuouTransacao();
+				Conta recebedor = historico.getRecebeuTransacao();
+				eventos.add(new EventoConta(remetente.getId(), remetente.getVersao(),
+						tipoDoRemetente(historico.getTipoDaTransacao()), historico.getValor(),
+						recebedor != null ? recebedor.getId() : null, historico.getId(), historico.getHorarioTransacao()));
+				if (recebedor != null) {
+					eventos.add(new EventoConta(recebedor.getId(), recebedor.getVersao(),
+							TipoEventoConta.TRANSFERENCIA_RECEBIDA, historico.getValor(), remetente.getId(),
+							historico.getId(), historico.getHorarioTransacao()));
+				}
+			}
+			eventos.forEach(entityManager::persist);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(OutboxDeEventos.this);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.wallace.spring.boot.services.eventos;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.EventoContaDTO;
+import com.wallace.spring.boot.model.entities.EventoConta;
+import com.wallace.spring.boot.model.repository.EventoContaRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Publica o outbox em lotes; a leitura não bloqueia, então deve rodar numa única instância
+@Component
+@ConditionalOnProperty(name = "eventos.relay.habilitado", havingValue = "true", matchIfMissing = true)
+public class RelayDoOutbox {
+
+	private static final Logger logger = LoggerFactory.getLogger(RelayDoOutbox.class);
+
+	private final EventoContaRepository eventoContaRepository;
+	private final DestinoDeEventos destinoDeEventos;
+	private final TransactionTemplate transactionTemplate;
+	private final int tamanhoLote;
+	private final Counter publicados;
+
+	public RelayDoOutbox(EventoContaRepository eventoContaRepository, DestinoDeEventos destinoDeEventos,
+			TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+			@Value("${eventos.relay.tamanho-lote:500}") int tamanhoLote) {
+		this.eventoContaRepository = eventoContaRepository;
+		this.destinoDeEventos = destinoDeEventos;
+		this.transactionTemplate = transactionTemplate;
+		this.tamanhoLote = Math.max(1, tamanhoLote);
+		this.publicados = meterRegistry.counter("eventos.outbox.publicados");
+	}
+
+	@Scheduled(fixedDelayString = "${eventos.relay.intervalo-ms:500}")
+	public void publicarPeriodicamente() {
+		try {
+			publicarPendentes();
+		} catch (RuntimeException e) {
+			logger.error("Falha ao publicar o outbox de eventos; o lote será reenviado", e);
+		}
+	}
+
+	// Sem cursor entre os lotes: o que foi publicado some da tabela, então cada consulta recomeça do início
+	public int publicarPendentes() {
+		int total = 0;
+		int publicadosNoLote;
+		do {
+			publicadosNoLote = transactionTemplate.execute(status -> publicarLote());
+			total += publicadosNoLote;
+		} while (publicadosNoLote == tamanhoLote);
+		if (total > 0) {
+			logger.debug("{} eventos do outbox publicados", total);
+		}
+		return total;
+	}
+
+	private int publicarLote() {
+		List<EventoConta> lote = eventoContaRepository.buscarParaPublicacao(Limit.of(tamanhoLote));
+		if (lote.isEmpty()) {
+			return 0;
+		}
+		destinoDeEventos.publicar(lote.stream().map(EventoContaDTO::new).toList());
+		eventoContaRepository.deleteAllByIdInBatch(lote.stream().map(EventoConta::getId).toList());
+		publicados.increment(lote.size());
+		return lote.size();
+	}
+}
@@ -0,0 +1,32 @@
+package com.wallace.spring.boot.services.historico;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.wallace.spring.boot.exceptions.CursorInvalidoException;
+
+public record CursorHistorico(LocalDateTime horario, Integer id, int pagina) {
+
+	private static final String SEPARADOR = "|";
+
+	public String codificar() {
+		String conteudo = horario + SEPARADOR + id + SEPARADOR + pagina;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static CursorHistorico decodificar(String cursor) {
+		try {
+			String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] partes = conteudo.split("\\" + SEPARADOR);
+			if (partes.length != 3) {
+				throw new CursorInvalidoException("Cursor de paginação inválido.");
+			}
+			return new CursorHistorico(LocalDateTime.parse(partes[0]), Integer.valueOf(partes[1]),
+					Integer.parseInt(partes[2]));
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new CursorInvalidoException("Cursor de paginação inválido.");
+		}
+	}
+}
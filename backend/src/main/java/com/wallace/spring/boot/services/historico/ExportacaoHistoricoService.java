@@ -0,0 +1,152 @@
+package com.wallace.spring.boot.services.historico;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Optional;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.dto.HistoricoContaResponseDTO;
+import com.wallace.spring.boot.enums.FormatoExportacao;
+import com.wallace.spring.boot.exceptions.ContaInexistenteException;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+import com.wallace.spring.boot.model.repository.ConsultaHistoricoConta;
+import com.wallace.spring.boot.model.repository.ContaRepository;
+import com.wallace.spring.boot.services.historico.journal.DrenagemDoJournal;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class ExportacaoHistoricoService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExportacaoHistoricoService.class);
+
+	private static final Comparator<HistoricoContaProjecao> ORDEM_DO_EXTRATO = Comparator
+			.comparing(HistoricoContaProjecao::horario).thenComparing(HistoricoContaProjecao::id);
+
+	private static final String CABECALHO_CSV = "id,tipo,valor,horario,id_remetente,nome_remetente,id_recebedor,nome_recebedor";
+
+	private final ContaRepository contaRepository;
+	private final SessionFactory sessionFactory;
+	private final ObjectMapper objectMapper;
+	private final DrenagemDoJournal drenagemDoJournal;
+	private final int tamanhoFetch;
+
+	public ExportacaoHistoricoService(ContaRepository contaRepository, EntityManagerFactory entityManagerFactory,
+			ObjectMapper objectMapper, Optional<DrenagemDoJournal> drenagemDoJournal,
+			@Value("${conta.historico.exportacao.tamanho-fetch:1000}") int tamanhoFetch) {
+		this.contaRepository = contaRepository;
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		this.objectMapper = objectMapper;
+		this.drenagemDoJournal = drenagemDoJournal.orElse(null);
+		this.tamanhoFetch = tamanhoFetch;
+	}
+
+	public void validarConta(Integer id) {
+		if (!contaRepository.existsById(id)) {
+			logger.warn("Tentativa de exportar o histórico de uma conta inexistente. ID: {}", id);
+			throw new ContaInexistenteException("Conta não encontrada para o ID: " + id);
+		}
+	}
+
+	// Sessão sem estado + cursores somente-leitura: as linhas vão direto do ResultSet para a resposta, sem
+	// contexto de persistência, então a memória usada não depende do tamanho do extrato. Os dois ramos do
+	// histórico (remetente e recebedor) são lidos em cursores separados, cada um no próprio índice e já em
+	// ordem, e intercalados aqui; um OR entre as duas colunas faria o banco varrer e ordenar a tabela
+	public void exportar(Integer id, FiltroHistoricoDTO filtro, FormatoExportacao formato, OutputStream saida)
+			throws IOException {
+		logger.info("Iniciando exportação {} do histórico da conta ID {}", formato, id);
+		// A exportação lê só a tabela; com o histórico em journal, o que está pendente é drenado antes
+		if (drenagemDoJournal != null) {
+			drenagemDoJournal.drenar();
+		}
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(id, filtro.tipo(), filtro.inicio(), filtro.fim());
+		long linhasExportadas = 0;
+		try (StatelessSession sessao = sessionFactory.openStatelessSession()) {
+			sessao.doWork(conexao -> conexao.setReadOnly(true));
+			Transaction transacao = sessao.beginTransaction();
+			try (ScrollableResults<Object[]> comoRemetente = abrir(sessao, consulta.sqlExportacaoRemetente(), consulta);
+					ScrollableResults<Object[]> comoRecebedor = abrir(sessao, consulta.sqlExportacaoRecebedor(), consulta)) {
+				Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+				if (formato == FormatoExportacao.CSV) {
+					escritor.write(CABECALHO_CSV);
+					escritor.write('\n');
+				}
+				HistoricoContaProjecao remetente = proxima(comoRemetente);
+				HistoricoContaProjecao recebedor = proxima(comoRecebedor);
+				while (remetente != null || recebedor != null) {
+					if (recebedor == null || (remetente != null && ORDEM_DO_EXTRATO.compare(remetente, recebedor) <= 0)) {
+						escrever(escritor, formato, remetente);
+						remetente = proxima(comoRemetente);
+					} else {
+						escrever(escritor, formato, recebedor);
+						recebedor = proxima(comoRecebedor);
+					}
+					linhasExportadas++;
+				}
+				escritor.flush();
+			} finally {
+				transacao.rollback();
+			}
+		}
+		logger.info("Exportação do histórico da conta ID {} concluída com {} registros", id, linhasExportadas);
+	}
+
+	private ScrollableResults<Object[]> abrir(StatelessSession sessao, String sql, ConsultaHistoricoConta consulta) {
+		NativeQuery<Object[]> query = ConsultaHistoricoConta.comColunas(sessao.createNativeQuery(sql, Object[].class));
+		consulta.parametros().forEach(query::setParameter);
+		return query.setFetchSize(tamanhoFetch).scroll(ScrollMode.FORWARD_ONLY);
+	}
+
+	private static HistoricoContaProjecao proxima(ScrollableResults<Object[]> linhas) {
+		return linhas.next() ? ConsultaHistoricoConta.paraProjecao(linhas.get()) : null;
+	}
+
+	private void escrever(Writer escritor, FormatoExportacao formato, HistoricoContaProjecao linha)
+			throws IOException {
+		if (formato == FormatoExportacao.NDJSON) {
+			escritor.write(objectMapper.writeValueAsString(new HistoricoContaResponseDTO(linha)));
+			escritor.write('\n');
+			return;
+		}
+		escritor.write(String.valueOf(linha.id()));
+		escritor.write(',');
+		escritor.write(linha.tipoDaTransacao().name());
+		escritor.write(',');
+		escritor.write(linha.valor().toString());
+		escritor.write(',');
+		escritor.write(linha.horario().toString());
+		escritor.write(',');
+		escritor.write(String.valueOf(linha.idRemetente()));
+		escritor.write(',');
+		escritor.write(campoCsv(linha.nomeRemetente()));
+		escritor.write(',');
+		escritor.write(linha.idRecebedor() != null ? String.valueOf(linha.idRecebedor()) : "");
+		escritor.write(',');
+		escritor.write(campoCsv(linha.nomeRecebedor()));
+		escritor.write('\n');
+	}
+
+	private static String campoCsv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		return "\"" + valor.replace("\"", "\"\"") + "\"";
+	}
+}
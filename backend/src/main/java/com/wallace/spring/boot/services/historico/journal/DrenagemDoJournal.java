@@ -0,0 +1,192 @@
+package com.wallace.spring.boot.services.historico.journal;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.historico.journal.RegistroDoJournal.Conclusao;
+import com.wallace.spring.boot.services.historico.journal.RegistroDoJournal.Marcador;
+import com.wallace.spring.boot.services.historico.journal.RegistroDoJournal.Preparado;
+
+// Copia para historico_conta as transações confirmadas no journal e avança o checkpoint
+@Component
+@ConditionalOnProperty(name = "conta.historico.gravacao", havingValue = "JOURNAL")
+public class DrenagemDoJournal implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(DrenagemDoJournal.class);
+
+	private static final int TAMANHO_CONFERENCIA = 1000;
+
+	private static final String SQL_VERSOES = "SELECT conta_id, versao FROM contas WHERE conta_id IN (:ids)";
+	private static final String SQL_JA_DRENADOS = "SELECT id_transacao FROM historico_conta WHERE id_transacao IN (:ids)";
+	private static final String SQL_INSERIR_HISTORICO = "INSERT INTO historico_conta (id_transacao, tipo_transacao, valor, horario, id_remetente, id_recebedor) VALUES (?, ?, ?, ?, ?, ?)";
+
+	private final HistoricoEmJournal historicoEmJournal;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration esperaDuvida;
+	private final Map<Long, Aberta> abertas = new HashMap<>();
+	private final List<EntradaDoJournal> confirmadas = new ArrayList<>();
+
+	private long posicaoLida = -1;
+	private long checkpoint;
+	private boolean conferirTabela = true;
+
+	public DrenagemDoJournal(HistoricoEmJournal historicoEmJournal, NamedParameterJdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate,
+			@Value("${conta.historico.journal.espera-duvida-ms:60000}") long esperaDuvidaMs) {
+		this.historicoEmJournal = historicoEmJournal;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.esperaDuvida = Duration.ofMillis(esperaDuvidaMs);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		recuperar();
+		drenar();
+	}
+
+	@Scheduled(fixedDelayString = "${conta.historico.journal.intervalo-drenagem-ms:200}")
+	public void drenarPeriodicamente() {
+		try {
+			drenar();
+		} catch (RuntimeException e) {
+			logger.error("Falha ao drenar o journal de histórico; as entradas seguem pendentes", e);
+		}
+	}
+
+	// Na subida nenhuma transação está em andamento: todo Preparado sem conclusão é uma dúvida a resolver, decidida
+	// pela versão das contas. Com o journal ligado só as transações dele incrementam a versão (o lote fica desligado)
+	void recuperar() {
+		JournalDeHistorico journal = historicoEmJournal.journal();
+		Map<Long, Preparado> abertasNaSubida = new LinkedHashMap<>();
+		journal.percorrer(journal.lerCheckpoint(), (inicio, fim, conteudo) -> {
+			switch (RegistroDoJournal.decodificar(conteudo)) {
+			case Preparado preparado -> abertasNaSubida.put(preparado.transacao(), preparado);
+			case Conclusao conclusao -> abertasNaSubida.remove(conclusao.transacao());
+			}
+		});
+		resolver(abertasNaSubida.values());
+	}
+
+	// As versões são lidas antes do journal: uma transação que levou a conta à mesma versão e confirmou já tinha
+	// anexado o seu Preparado, então a releitura sempre o encontra
+	private void resolver(Collection<Preparado> emDuvida) {
+		if (emDuvida.isEmpty()) {
+			return;
+		}
+		JournalDeHistorico journal = historicoEmJournal.journal();
+		Set<Integer> contas = new HashSet<>();
+		emDuvida.forEach(preparado -> preparado.marcadores().forEach(marcador -> contas.add(marcador.contaId())));
+		Map<Integer, Long> versoesAtuais = new HashMap<>();
+		jdbcTemplate.query(SQL_VERSOES, Map.of("ids", contas),
+				(RowCallbackHandler) rs -> versoesAtuais.put(rs.getInt("conta_id"), rs.getLong("versao")));
+		Map<Marcador, Long> ultimoPreparoPorVersao = new HashMap<>();
+		journal.percorrer(journal.lerCheckpoint(), (inicio, fim, conteudo) -> {
+			if (RegistroDoJournal.decodificar(conteudo) instanceof Preparado preparado) {
+				preparado.marcadores().forEach(marcador -> ultimoPreparoPorVersao.put(marcador, preparado.transacao()));
+			}
+		});
+
+		for (Preparado preparado : emDuvida) {
+			// Um Preparado posterior com a mesma versão da mesma conta prova que este sofreu rollback
+			boolean confirmada = preparado.marcadores().stream()
+					.allMatch(marcador -> versoesAtuais.getOrDefault(marcador.contaId(), -1L) >= marcador.versao()
+							&& ultimoPreparoPorVersao.get(marcador) == preparado.transacao());
+			journal.anexar(new Conclusao(preparado.transacao(), confirmada).codificar());
+			logger.warn("Transação {} do journal de histórico estava em dúvida; resolvida como {}", preparado.transacao(),
+					confirmada ? "confirmada" : "descartada");
+		}
+		journal.aguardarDurabilidade(journal.posicaoFinal());
+	}
+
+	// Commit com resultado desconhecido: passada a espera, o banco já terminou o commit ou o rollback
+	private void resolverEmDuvida() {
+		List<Preparado> vencidas = historicoEmJournal.transacoesEmDuvida(Instant.now().minus(esperaDuvida)).stream()
+				.map(abertas::get).filter(Objects::nonNull).map(Aberta::preparado).toList();
+		resolver(vencidas);
+		historicoEmJournal.resolvidas(vencidas.stream().map(Preparado::transacao).toList());
+	}
+
+	// A leitura continua de onde a anterior parou; as transações abertas ficam em memória e o checkpoint para no
+	// início do Preparado aberto mais antigo. Só a primeira drenagem depois da subida relê entradas que podem
+	// já estar na tabela (queda entre o INSERT e o checkpoint) e as confere por id
+	public synchronized void drenar() {
+		JournalDeHistorico journal = historicoEmJournal.journal();
+		if (posicaoLida < 0) {
+			checkpoint = journal.lerCheckpoint();
+			posicaoLida = checkpoint;
+		}
+		long[] lida = { posicaoLida };
+		journal.percorrer(posicaoLida, (inicio, fim, conteudo) -> {
+			switch (RegistroDoJournal.decodificar(conteudo)) {
+			case Preparado preparado -> abertas.put(preparado.transacao(), new Aberta(inicio, preparado));
+			case Conclusao conclusao -> {
+				Aberta aberta = abertas.remove(conclusao.transacao());
+				if (aberta != null && conclusao.confirmada()) {
+					confirmadas.addAll(aberta.preparado().entradas());
+				}
+			}
+			}
+			lida[0] = fim;
+		});
+		posicaoLida = lida[0];
+		resolverEmDuvida();
+
+		if (!confirmadas.isEmpty()) {
+			historicoEmJournal.adicionarPendentes(confirmadas);
+			transactionTemplate.executeWithoutResult(status -> inserir(confirmadas));
+			conferirTabela = false;
+			historicoEmJournal.removerPendentes(confirmadas);
+			logger.debug("{} registros de histórico drenados do journal", confirmadas.size());
+			confirmadas.clear();
+		}
+		long novoCheckpoint = abertas.values().stream().mapToLong(Aberta::inicio).min().orElse(posicaoLida);
+		if (novoCheckpoint != checkpoint) {
+			journal.gravarCheckpoint(novoCheckpoint);
+			checkpoint = novoCheckpoint;
+		}
+	}
+
+	private void inserir(List<EntradaDoJournal> entradas) {
+		Set<Integer> jaDrenados = new HashSet<>();
+		if (conferirTabela) {
+			for (int i = 0; i < entradas.size(); i += TAMANHO_CONFERENCIA) {
+				List<Integer> ids = entradas.subList(i, Math.min(i + TAMANHO_CONFERENCIA, entradas.size())).stream()
+						.map(EntradaDoJournal::id).toList();
+				jaDrenados.addAll(jdbcTemplate.queryForList(SQL_JA_DRENADOS, Map.of("ids", ids), Integer.class));
+			}
+		}
+		List<Object[]> linhas = entradas.stream().filter(entrada -> !jaDrenados.contains(entrada.id()))
+				.map(entrada -> new Object[] { entrada.id(), entrada.tipo().name(),
+						Dinheiro.deCentavos(entrada.centavos()).paraBigDecimal(), Timestamp.valueOf(entrada.horario()),
+						entrada.idRemetente(), entrada.idRecebedor() })
+				.toList();
+		jdbcTemplate.getJdbcTemplate().batchUpdate(SQL_INSERIR_HISTORICO, linhas);
+	}
+
+	private record Aberta(long inicio, Preparado preparado) {
+	}
+}
@@ -0,0 +1,53 @@
+package com.wallace.spring.boot.services.historico.journal;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+// Registro de histórico no journal ainda não drenado, com os nomes dos clientes para o extrato
+public record EntradaDoJournal(
+		int id,
+		TipoTransacao tipo,
+		long centavos,
+		LocalDateTime horario,
+		int idRemetente,
+		String nomeRemetente,
+		Integer idRecebedor,
+		String nomeRecebedor) {
+
+	public static EntradaDoJournal de(HistoricoConta historico) {
+		return new EntradaDoJournal(historico.getId(), historico.getTipoDaTransacao(),
+				historico.getValor().centavos(), historico.getHorarioTransacao(),
+				historico.getEfetuouTransacao().getId(), historico.getEfetuouTransacao().getCliente().getNome(),
+				historico.getRecebeuTransacao() != null ? historico.getRecebeuTransacao().getId() : null,
+				historico.getRecebeuTransacao() != null ? historico.getRecebeuTransacao().getCliente().getNome() : null);
+	}
+
+	public boolean envolve(Integer contaId) {
+		return contaId == idRemetente || Objects.equals(contaId, idRecebedor);
+	}
+
+	public boolean atende(FiltroHistoricoDTO filtro) {
+		return (filtro.tipo() == null || filtro.tipo() == tipo)
+				&& (filtro.inicio() == null || !horario.isBefore(filtro.inicio()))
+				&& (filtro.fim() == null || horario.isBefore(filtro.fim()));
+	}
+
+	// Mesma ordem da consulta paginada: horário decrescente, depois id decrescente
+	public boolean depoisDoCursor(LocalDateTime cursorHorario, Integer cursorId) {
+		if (cursorHorario == null) {
+			return true;
+		}
+		return horario.isBefore(cursorHorario) || (horario.isEqual(cursorHorario) && id < cursorId);
+	}
+
+	public HistoricoContaProjecao paraProjecao() {
+		return new HistoricoContaProjecao(id, tipo, Dinheiro.deCentavos(centavos), horario, idRemetente,
+				nomeRemetente, idRecebedor, nomeRecebedor);
+	}
+}
@@ -0,0 +1,236 @@
+package com.wallace.spring.boot.services.historico.journal;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+import com.wallace.spring.boot.model.repository.BlocosDeIds;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.services.historico.journal.RegistroDoJournal.Conclusao;
+import com.wallace.spring.boot.services.historico.journal.RegistroDoJournal.Marcador;
+import com.wallace.spring.boot.services.historico.journal.RegistroDoJournal.Preparado;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+// Grava o histórico no journal local em vez de inserir em historico_conta na transação do saldo
+@Component
+@ConditionalOnProperty(name = "conta.historico.gravacao", havingValue = "JOURNAL")
+public class HistoricoEmJournal {
+
+	private static final Logger logger = LoggerFactory.getLogger(HistoricoEmJournal.class);
+
+	private static final Comparator<HistoricoContaProjecao> ORDEM_DO_EXTRATO = Comparator
+			.comparing(HistoricoContaProjecao::horario).thenComparing(HistoricoContaProjecao::id).reversed();
+
+	private final JournalDeHistorico journal;
+	private final BlocosDeIds ids;
+	private final EntityManager entityManager;
+	private final Timer sincronizacoes;
+	private final Map<Integer, Set<EntradaDoJournal>> pendentesPorConta = new ConcurrentHashMap<>();
+	private final AtomicInteger quantidadePendentes = new AtomicInteger();
+	private final Map<Long, Instant> emDuvida = new ConcurrentHashMap<>();
+
+	public HistoricoEmJournal(SequenciaDeIds sequenciaDeIds, EntityManager entityManager, MeterRegistry meterRegistry,
+			@Value("${conta.historico.journal.diretorio:./dados/journal-historico}") String diretorio,
+			@Value("${conta.historico.journal.tamanho-segmento-mb:64}") int tamanhoSegmentoMb,
+			@Value("${conta.historico.journal.bloco-ids:1000}") int blocoIds,
+			@Value("${conta.transferencias.lote.habilitado:true}") boolean transferenciaEmLoteHabilitada) {
+		if (transferenciaEmLoteHabilitada) {
+			throw new IllegalStateException(
+					"conta.historico.gravacao=JOURNAL exige conta.transferencias.lote.habilitado=false");
+		}
+		this.journal = new JournalDeHistorico(Path.of(diretorio), tamanhoSegmentoMb * 1024 * 1024);
+		this.ids = new BlocosDeIds(sequenciaDeIds, SequenciaDeIds.HISTORICO_CONTA, blocoIds);
+		this.entityManager = entityManager;
+		this.sincronizacoes = meterRegistry.timer("historico.journal.sincronizacoes");
+		meterRegistry.gauge("historico.journal.pendentes", quantidadePendentes);
+		logger.info("Histórico gravado no journal em {}", Path.of(diretorio).toAbsolutePath());
+	}
+
+	// Os ids são atribuídos já aqui, de blocos reservados na sequência de historico_conta, e o horário é
+	// truncado à precisão de datetime(6) para que a entrada pendente e a linha drenada ordenem igual
+	public void registrar(List<HistoricoConta> historicos) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			throw new IllegalStateException("O histórico em journal só pode ser registrado dentro de uma transação");
+		}
+		for (HistoricoConta historico : historicos) {
+			historico.setId(ids.proximo());
+			historico.setHorarioTransacao(historico.getHorarioTransacao().truncatedTo(ChronoUnit.MICROS));
+		}
+		TransacaoNoJournal transacao = (TransacaoNoJournal) TransactionSynchronizationManager.getResource(this);
+		if (transacao == null) {
+			transacao = new TransacaoNoJournal();
+			TransactionSynchronizationManager.bindResource(this, transacao);
+			TransactionSynchronizationManager.registerSynchronization(transacao);
+		}
+		transacao.historicos.addAll(historicos);
+	}
+
+	public List<HistoricoContaProjecao> pendentes(Integer contaId, FiltroHistoricoDTO filtro,
+			LocalDateTime cursorHorario, Integer cursorId) {
+		Set<EntradaDoJournal> daConta = pendentesPorConta.get(contaId);
+		if (daConta == null || daConta.isEmpty()) {
+			return List.of();
+		}
+		return daConta.stream().filter(entrada -> entrada.atende(filtro))
+				.filter(entrada -> entrada.depoisDoCursor(cursorHorario, cursorId))
+				.map(EntradaDoJournal::paraProjecao).toList();
+	}
+
+	public long contarPendentes(Integer contaId, FiltroHistoricoDTO filtro) {
+		Set<EntradaDoJournal> daConta = pendentesPorConta.get(contaId);
+		return daConta == null ? 0 : daConta.stream().filter(entrada -> entrada.atende(filtro)).count();
+	}
+
+	// Mescla a página lida da tabela com as entradas pendentes, sem repetir as drenadas entre as duas leituras
+	public static List<HistoricoContaProjecao> mesclar(List<HistoricoContaProjecao> daTabela,
+			List<HistoricoContaProjecao> pendentes, int limite) {
+		Map<Integer, HistoricoContaProjecao> porId = new LinkedHashMap<>();
+		daTabela.forEach(registro -> porId.put(registro.id(), registro));
+		pendentes.forEach(registro -> porId.putIfAbsent(registro.id(), registro));
+		return porId.values().stream().sorted(ORDEM_DO_EXTRATO).limit(limite).toList();
+	}
+
+	JournalDeHistorico journal() {
+		return journal;
+	}
+
+	void adicionarPendentes(Collection<EntradaDoJournal> entradas) {
+		for (EntradaDoJournal entrada : entradas) {
+			if (indice(entrada.idRemetente()).add(entrada)) {
+				quantidadePendentes.incrementAndGet();
+			}
+			if (entrada.idRecebedor() != null && entrada.idRecebedor() != entrada.idRemetente()) {
+				indice(entrada.idRecebedor()).add(entrada);
+			}
+		}
+	}
+
+	void removerPendentes(Collection<EntradaDoJournal> entradas) {
+		for (EntradaDoJournal entrada : entradas) {
+			if (remover(entrada.idRemetente(), entrada)) {
+				quantidadePendentes.decrementAndGet();
+			}
+			if (entrada.idRecebedor() != null) {
+				remover(entrada.idRecebedor(), entrada);
+			}
+		}
+	}
+
+	List<Long> transacoesEmDuvida(Instant ate) {
+		return emDuvida.entrySet().stream().filter(duvida -> !duvida.getValue().isAfter(ate)).map(Map.Entry::getKey)
+				.toList();
+	}
+
+	void resolvidas(Collection<Long> transacoes) {
+		emDuvida.keySet().removeAll(transacoes);
+	}
+
+	// Depois do ajuste das sequências na subida, para que a primeira transação já encontre um bloco reservado
+	@EventListener(ApplicationReadyEvent.class)
+	public void anteciparIds() {
+		ids.antecipar();
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		journal.close();
+	}
+
+	private Set<EntradaDoJournal> indice(Integer contaId) {
+		return pendentesPorConta.computeIfAbsent(contaId, id -> ConcurrentHashMap.newKeySet());
+	}
+
+	private boolean remover(Integer contaId, EntradaDoJournal entrada) {
+		Set<EntradaDoJournal> daConta = pendentesPorConta.get(contaId);
+		return daConta != null && daConta.remove(entrada);
+	}
+
+	private final class TransacaoNoJournal implements TransactionSynchronization {
+
+		private final List<HistoricoConta> historicos = new ArrayList<>();
+		private List<EntradaDoJournal> entradas;
+		private long transacao;
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			entityManager.flush();
+			Map<Integer, Long> versoes = new LinkedHashMap<>();
+			for (HistoricoConta historico : historicos) {
+				anotarVersao(versoes, historico.getEfetuouTransacao());
+				anotarVersao(versoes, historico.getRecebeuTransacao());
+			}
+			List<Marcador> marcadores = versoes.entrySet().stream()
+					.map(versao -> new Marcador(versao.getKey(), versao.getValue())).toList();
+			List<EntradaDoJournal> novasEntradas = historicos.stream().map(EntradaDoJournal::de).toList();
+			transacao = novasEntradas.get(0).id();
+			long posicao = journal.anexar(new Preparado(transacao, marcadores, novasEntradas).codificar());
+			sincronizacoes.record(() -> journal.aguardarDurabilidade(posicao));
+			entradas = novasEntradas;
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(HistoricoEmJournal.this);
+			if (entradas == null) {
+				return;
+			}
+			// sem saber se o commit chegou ao banco, o Preparado fica sem conclusão até a drenagem decidir pela versão
+			if (status == STATUS_UNKNOWN) {
+				emDuvida.put(transacao, Instant.now());
+				logger.warn("Transação {} do journal de histórico com resultado desconhecido; fica em dúvida", transacao);
+				return;
+			}
+			if (status != STATUS_COMMITTED) {
+				long posicao = journal.anexar(new Conclusao(transacao, false).codificar());
+				sincronizacoes.record(() -> journal.aguardarDurabilidade(posicao));
+				logger.warn("Transação {} do journal de histórico descartada (status {})", transacao, status);
+				return;
+			}
+			// as entradas entram no índice antes da conclusão: a drenagem só as vê depois dela, então a remoção
+			// que ela faz ao inserir nunca chega antes desta inclusão
+			adicionarPendentes(entradas);
+			try {
+				long posicao = journal.anexar(new Conclusao(transacao, true).codificar());
+				sincronizacoes.record(() -> journal.aguardarDurabilidade(posicao));
+			} catch (RuntimeException e) {
+				removerPendentes(entradas);
+				emDuvida.put(transacao, Instant.now());
+				throw e;
+			}
+		}
+
+		private static void anotarVersao(Map<Integer, Long> versoes, Conta conta) {
+			if (conta != null) {
+				versoes.put(conta.getId(), conta.getVersao());
+			}
+		}
+	}
+}
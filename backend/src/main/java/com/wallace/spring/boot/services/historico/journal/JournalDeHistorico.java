@@ -0,0 +1,266 @@
+package com.wallace.spring.boot.services.historico.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Arquivo local só de anexo, em segmentos mapeados em memória, com fsyncs agrupados
+public class JournalDeHistorico implements Closeable {
+
+	private static final int CABECALHO = Integer.BYTES * 2;
+	private static final String EXTENSAO = ".journal";
+	private static final String CHECKPOINT = "checkpoint";
+
+	@FunctionalInterface
+	public interface Leitor {
+		void ler(long inicio, long fim, ByteBuffer conteudo);
+	}
+
+	private final Path diretorio;
+	private final int tamanhoSegmento;
+	private final ReentrantLock trava = new ReentrantLock();
+	private final Condition sincronizado = trava.newCondition();
+	private final TreeMap<Long, MappedByteBuffer> segmentos = new TreeMap<>();
+
+	private long segmentoAtual;
+	private MappedByteBuffer atual;
+	private long posicaoEscrita;
+	private long posicaoDuravel;
+	private boolean sincronizando;
+
+	public JournalDeHistorico(Path diretorio, int tamanhoSegmento) {
+		this.diretorio = diretorio;
+		this.tamanhoSegmento = tamanhoSegmento;
+		try {
+			Files.createDirectories(diretorio);
+			try (Stream<Path> arquivos = Files.list(diretorio)) {
+				arquivos.map(arquivo -> arquivo.getFileName().toString()).filter(nome -> nome.endsWith(EXTENSAO))
+						.map(nome -> Long.parseLong(nome.substring(0, nome.length() - EXTENSAO.length())))
+						.forEach(numero -> segmentos.put(numero, mapear(numero)));
+			}
+			if (segmentos.isEmpty()) {
+				segmentos.put(0L, mapear(0L));
+			}
+			segmentoAtual = segmentos.lastKey();
+			atual = segmentos.get(segmentoAtual);
+			int fim = fimDosRegistros(atual);
+			// restos de uma escrita interrompida seriam lidos como registros depois do próximo anexo
+			byte[] zeros = new byte[64 * 1024];
+			for (int i = fim; i < tamanhoSegmento; i += zeros.length) {
+				atual.put(i, zeros, 0, Math.min(zeros.length, tamanhoSegmento - i));
+			}
+			atual.force();
+			posicaoEscrita = posicao(segmentoAtual, fim);
+			posicaoDuravel = posicaoEscrita;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir o journal em " + diretorio, e);
+		}
+	}
+
+	// Devolve a posição logo após o registro, a ser passada para aguardarDurabilidade
+	public long anexar(byte[] conteudo) {
+		if (conteudo.length + CABECALHO > tamanhoSegmento) {
+			throw new IllegalArgumentException("Registro maior que o segmento do journal: " + conteudo.length + " bytes");
+		}
+		trava.lock();
+		try {
+			int deslocamento = deslocamento(posicaoEscrita);
+			if (deslocamento + CABECALHO + conteudo.length > tamanhoSegmento) {
+				rolarSegmento();
+				deslocamento = 0;
+			}
+			CRC32C crc = new CRC32C();
+			crc.update(conteudo);
+			atual.put(deslocamento + CABECALHO, conteudo);
+			atual.putInt(deslocamento + Integer.BYTES, (int) crc.getValue());
+			atual.putInt(deslocamento, conteudo.length);
+			posicaoEscrita = posicao(segmentoAtual, deslocamento + CABECALHO + conteudo.length);
+			return posicaoEscrita;
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	public void aguardarDurabilidade(long posicao) {
+		trava.lock();
+		try {
+			while (posicaoDuravel < posicao) {
+				if (sincronizando) {
+					sincronizado.awaitUninterruptibly();
+					continue;
+				}
+				sincronizando = true;
+				long alvo = posicaoEscrita;
+				MappedByteBuffer buffer = atual;
+				int de = segmento(posicaoDuravel) == segmento(alvo) ? deslocamento(posicaoDuravel) : 0;
+				int ate = deslocamento(alvo);
+				trava.unlock();
+				try {
+					buffer.force(de, ate - de);
+				} finally {
+					trava.lock();
+					sincronizando = false;
+				}
+				posicaoDuravel = Math.max(posicaoDuravel, alvo);
+				sincronizado.signalAll();
+			}
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	// Percorre os registros íntegros a partir de uma posição até o fim do que já foi anexado
+	public void percorrer(long desde, Leitor leitor) {
+		long limite;
+		Map<Long, MappedByteBuffer> visiveis;
+		trava.lock();
+		try {
+			limite = posicaoEscrita;
+			visiveis = new TreeMap<>(segmentos.tailMap(segmento(desde), true));
+		} finally {
+			trava.unlock();
+		}
+		for (Map.Entry<Long, MappedByteBuffer> segmento : visiveis.entrySet()) {
+			ByteBuffer leitura = segmento.getValue().duplicate();
+			int deslocamento = segmento.getKey() == segmento(desde) ? deslocamento(desde) : 0;
+			while (deslocamento + CABECALHO <= tamanhoSegmento) {
+				long inicio = posicao(segmento.getKey(), deslocamento);
+				if (inicio >= limite) {
+					return;
+				}
+				int tamanho = leitura.getInt(deslocamento);
+				if (tamanho <= 0 || deslocamento + CABECALHO + tamanho > tamanhoSegmento) {
+					break;
+				}
+				ByteBuffer conteudo = leitura.slice(deslocamento + CABECALHO, tamanho);
+				if (!integro(conteudo, leitura.getInt(deslocamento + Integer.BYTES))) {
+					break;
+				}
+				deslocamento += CABECALHO + tamanho;
+				leitor.ler(inicio, posicao(segmento.getKey(), deslocamento), conteudo.asReadOnlyBuffer());
+			}
+		}
+	}
+
+	public long lerCheckpoint() {
+		Path arquivo = diretorio.resolve(CHECKPOINT);
+		try {
+			return Files.exists(arquivo) ? Long.parseLong(Files.readString(arquivo).trim())
+					: posicao(segmentos.firstKey(), 0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// Grava o checkpoint de forma atômica e apaga os segmentos inteiramente anteriores a ele
+	public void gravarCheckpoint(long posicao) {
+		Path temporario = diretorio.resolve(CHECKPOINT + ".tmp");
+		try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			canal.write(ByteBuffer.wrap(Long.toString(posicao).getBytes()));
+			canal.force(true);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		try {
+			Files.move(temporario, diretorio.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			trava.lock();
+			try {
+				while (segmentos.firstKey() < segmento(posicao) && segmentos.firstKey() < segmentoAtual) {
+					Files.deleteIfExists(arquivoDoSegmento(segmentos.pollFirstEntry().getKey()));
+				}
+			} finally {
+				trava.unlock();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public long posicaoFinal() {
+		trava.lock();
+		try {
+			return posicaoEscrita;
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	@Override
+	public void close() {
+		trava.lock();
+		try {
+			atual.force();
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	// Chamado com a trava: o segmento cheio é forçado por inteiro antes de o próximo receber registros
+	private void rolarSegmento() {
+		atual.force();
+		segmentoAtual++;
+		atual = mapear(segmentoAtual);
+		segmentos.put(segmentoAtual, atual);
+		posicaoEscrita = posicao(segmentoAtual, 0);
+		posicaoDuravel = posicaoEscrita;
+	}
+
+	private MappedByteBuffer mapear(long numero) {
+		try (FileChannel canal = FileChannel.open(arquivoDoSegmento(numero), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível mapear o segmento " + numero + " do journal", e);
+		}
+	}
+
+	private int fimDosRegistros(MappedByteBuffer segmento) {
+		int deslocamento = 0;
+		while (deslocamento + CABECALHO <= tamanhoSegmento) {
+			int tamanho = segmento.getInt(deslocamento);
+			if (tamanho <= 0 || deslocamento + CABECALHO + tamanho > tamanhoSegmento
+					|| !integro(segmento.slice(deslocamento + CABECALHO, tamanho), segmento.getInt(deslocamento + Integer.BYTES))) {
+				break;
+			}
+			deslocamento += CABECALHO + tamanho;
+		}
+		return deslocamento;
+	}
+
+	private static boolean integro(ByteBuffer conteudo, int crcEsperado) {
+		CRC32C crc = new CRC32C();
+		crc.update(conteudo.duplicate());
+		return (int) crc.getValue() == crcEsperado;
+	}
+
+	private Path arquivoDoSegmento(long numero) {
+		return diretorio.resolve(String.format("%016d%s", numero, EXTENSAO));
+	}
+
+	private static long posicao(long segmento, int deslocamento) {
+		return (segmento << 32) | deslocamento;
+	}
+
+	private static long segmento(long posicao) {
+		return posicao >>> 32;
+	}
+
+	private static int deslocamento(long posicao) {
+		return (int) posicao;
+	}
+}
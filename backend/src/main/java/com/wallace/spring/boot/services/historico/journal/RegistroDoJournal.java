@@ -0,0 +1,134 @@
+package com.wallace.spring.boot.services.historico.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+
+// Registros do journal. Preparado é gravado (e sincronizado em disco) antes do commit do saldo, com a versão
+// que cada conta terá após o commit; Conclusao é gravado depois, com o resultado da transação
+public sealed interface RegistroDoJournal {
+
+	byte PREPARADO = 1;
+	byte CONCLUSAO = 2;
+
+	long transacao();
+
+	byte[] codificar();
+
+	record Marcador(int contaId, long versao) {
+	}
+
+	record Preparado(long transacao, List<Marcador> marcadores, List<EntradaDoJournal> entradas)
+			implements RegistroDoJournal {
+
+		@Override
+		public byte[] codificar() {
+			return escrever(saida -> {
+				saida.writeByte(PREPARADO);
+				saida.writeLong(transacao);
+				saida.writeShort(marcadores.size());
+				for (Marcador marcador : marcadores) {
+					saida.writeInt(marcador.contaId());
+					saida.writeLong(marcador.versao());
+				}
+				saida.writeInt(entradas.size());
+				for (EntradaDoJournal entrada : entradas) {
+					saida.writeInt(entrada.id());
+					saida.writeByte(entrada.tipo().ordinal());
+					saida.writeLong(entrada.centavos());
+					saida.writeLong(entrada.horario().toEpochSecond(ZoneOffset.UTC));
+					saida.writeInt(entrada.horario().getNano());
+					saida.writeInt(entrada.idRemetente());
+					escreverTexto(saida, entrada.nomeRemetente());
+					saida.writeInt(entrada.idRecebedor() != null ? entrada.idRecebedor() : 0);
+					escreverTexto(saida, entrada.nomeRecebedor());
+				}
+			});
+		}
+	}
+
+	record Conclusao(long transacao, boolean confirmada) implements RegistroDoJournal {
+
+		@Override
+		public byte[] codificar() {
+			return escrever(saida -> {
+				saida.writeByte(CONCLUSAO);
+				saida.writeLong(transacao);
+				saida.writeBoolean(confirmada);
+			});
+		}
+	}
+
+	static RegistroDoJournal decodificar(ByteBuffer conteudo) {
+		ByteBuffer leitura = conteudo.duplicate();
+		byte tipo = leitura.get();
+		long transacao = leitura.getLong();
+		if (tipo == CONCLUSAO) {
+			return new Conclusao(transacao, leitura.get() != 0);
+		}
+		int quantidadeMarcadores = leitura.getShort();
+		List<Marcador> marcadores = new ArrayList<>(quantidadeMarcadores);
+		for (int i = 0; i < quantidadeMarcadores; i++) {
+			marcadores.add(new Marcador(leitura.getInt(), leitura.getLong()));
+		}
+		int quantidadeEntradas = leitura.getInt();
+		List<EntradaDoJournal> entradas = new ArrayList<>(quantidadeEntradas);
+		for (int i = 0; i < quantidadeEntradas; i++) {
+			int id = leitura.getInt();
+			TipoTransacao tipoTransacao = TipoTransacao.values()[leitura.get()];
+			long centavos = leitura.getLong();
+			LocalDateTime horario = LocalDateTime.ofEpochSecond(leitura.getLong(), leitura.getInt(), ZoneOffset.UTC);
+			int idRemetente = leitura.getInt();
+			String nomeRemetente = lerTexto(leitura);
+			int idRecebedor = leitura.getInt();
+			String nomeRecebedor = lerTexto(leitura);
+			entradas.add(new EntradaDoJournal(id, tipoTransacao, centavos, horario, idRemetente, nomeRemetente,
+					idRecebedor != 0 ? idRecebedor : null, nomeRecebedor));
+		}
+		return new Preparado(transacao, marcadores, entradas);
+	}
+
+	private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+		if (texto == null) {
+			saida.writeShort(-1);
+			return;
+		}
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		saida.writeShort(bytes.length);
+		saida.write(bytes);
+	}
+
+	private static String lerTexto(ByteBuffer leitura) {
+		short tamanho = leitura.getShort();
+		if (tamanho < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[tamanho];
+		leitura.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static byte[] escrever(Escrita escrita) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+		try (DataOutputStream saida = new DataOutputStream(bytes)) {
+			escrita.escrever(saida);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	@FunctionalInterface
+	interface Escrita {
+		void escrever(DataOutputStream saida) throws IOException;
+	}
+}
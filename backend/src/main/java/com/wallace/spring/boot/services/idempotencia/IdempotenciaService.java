@@ -0,0 +1,193 @@
+package com.wallace.spring.boot.services.idempotencia;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wallace.spring.boot.exceptions.ChaveIdempotenciaReutilizadaException;
+import com.wallace.spring.boot.exceptions.ConflitoDeConcorrenciaException;
+import com.wallace.spring.boot.model.entities.ChaveIdempotencia;
+import com.wallace.spring.boot.model.repository.ChaveIdempotenciaRepository;
+import com.wallace.spring.boot.services.concorrencia.RetentativaOtimista;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.transaction.Transactional;
+
+// A chave é inserida antes da operação e na mesma transação
+@Service
+public class IdempotenciaService {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotenciaService.class);
+
+	private final ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+	private final ObjectMapper objectMapper;
+	private final Duration validade;
+	private final Cache<String, RespostaArmazenada> cache;
+	private final TransactionTemplate transactionTemplate;
+
+	public IdempotenciaService(ChaveIdempotenciaRepository chaveIdempotenciaRepository, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry, TransactionTemplate transactionTemplate,
+			@Value("${conta.idempotencia.validade-horas:24}") long validadeHoras,
+			@Value("${conta.idempotencia.tamanho-maximo-cache:100000}") long tamanhoMaximoCache) {
+		this.chaveIdempotenciaRepository = chaveIdempotenciaRepository;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = transactionTemplate;
+		this.validade = Duration.ofHours(validadeHoras);
+		this.cache = Caffeine.newBuilder().maximumSize(tamanhoMaximoCache).expireAfterWrite(validade).recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotencia");
+	}
+
+	// Com a chave, a operação roda dentro desta transação e o conflito de versão só aparece no commit; a
+	// retentativa precisa envolver a transação inteira, inclusive a reserva da chave
+	@RetentativaOtimista
+	public <T> T executar(String chave, String operacao, Object requisicao, TypeReference<T> tipoResposta,
+			Supplier<T> operacaoIdempotente) {
+		if (chave == null || chave.isBlank()) {
+			return operacaoIdempotente.get();
+		}
+
+		String id = resumo(usuarioAtual() + ":" + chave);
+		String impressaoDigital = resumo(operacao + ":" + serializar(requisicao));
+
+		RespostaArmazenada armazenada = cache.getIfPresent(id);
+		if (armazenada != null) {
+			return reproduzir(chave, armazenada, impressaoDigital);
+		}
+
+		// a segunda volta só acontece quando a chave que barrou a reserva estava expirada e acabou de ser removida
+		for (int tentativa = 1;; tentativa++) {
+			try {
+				T resposta = transactionTemplate.execute(status -> {
+					reservar(id, impressaoDigital);
+					T resultado = operacaoIdempotente.get();
+					chaveIdempotenciaRepository.registrarResposta(id, serializar(resultado));
+					return resultado;
+				});
+				cache.put(id, new RespostaArmazenada(impressaoDigital, resposta));
+				return resposta;
+			} catch (ChaveJaReservadaException e) {
+				Optional<RespostaArmazenada> persistida = buscarPersistida(chave, id, tipoResposta);
+				if (persistida.isPresent()) {
+					cache.put(id, persistida.get());
+					return reproduzir(chave, persistida.get(), impressaoDigital);
+				}
+				if (tentativa >= 2) {
+					throw new ConflitoDeConcorrenciaException(
+							"Já existe uma requisição em andamento com esta Idempotency-Key. Tente novamente em instantes.");
+				}
+			}
+		}
+	}
+
+	@Transactional
+	@Scheduled(fixedDelayString = "${conta.idempotencia.intervalo-limpeza-ms:3600000}")
+	public void removerChavesExpiradas() {
+		int removidas = chaveIdempotenciaRepository.removerCriadasAntesDe(LocalDateTime.now().minus(validade));
+		if (removidas > 0) {
+			logger.info("{} chaves de idempotência expiradas removidas", removidas);
+		}
+	}
+
+	private void reservar(String id, String impressaoDigital) {
+		try {
+			chaveIdempotenciaRepository.reservar(id, impressaoDigital, LocalDateTime.now());
+		} catch (DataIntegrityViolationException e) {
+			throw new ChaveJaReservadaException(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T reproduzir(String chave, RespostaArmazenada armazenada, String impressaoDigital) {
+		if (!armazenada.impressaoDigital().equals(impressaoDigital)) {
+			logger.warn("Idempotency-Key {} reutilizada com uma requisição diferente", chave);
+			throw new ChaveIdempotenciaReutilizadaException(
+					"Esta Idempotency-Key já foi utilizada com uma requisição diferente.");
+		}
+		logger.info("Reproduzindo resposta armazenada para a Idempotency-Key {}", chave);
+		return (T) armazenada.resposta();
+	}
+
+	// Uma chave expirada que a limpeza ainda não removeu também barra a reserva; ela é apagada aqui para que a
+	// requisição siga como nova
+	private <T> Optional<RespostaArmazenada> buscarPersistida(String chave, String id, TypeReference<T> tipoResposta) {
+		Optional<ChaveIdempotencia> registro = chaveIdempotenciaRepository.findById(id);
+		if (registro.isEmpty()) {
+			return Optional.empty();
+		}
+		LocalDateTime limite = LocalDateTime.now().minus(validade);
+		if (registro.get().getCriadoEm().isBefore(limite)) {
+			transactionTemplate.executeWithoutResult(status -> chaveIdempotenciaRepository.removerExpirada(id, limite));
+			return Optional.empty();
+		}
+		if (registro.get().getResposta() == null) {
+			logger.warn("Requisição com Idempotency-Key {} já está em andamento", chave);
+			throw new ConflitoDeConcorrenciaException(
+					"Já existe uma requisição em andamento com esta Idempotency-Key. Tente novamente em instantes.");
+		}
+		return Optional.of(new RespostaArmazenada(registro.get().getImpressaoDigital(),
+				desserializar(registro.get().getResposta(), tipoResposta)));
+	}
+
+	private String usuarioAtual() {
+		Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+		return autenticacao != null ? autenticacao.getName() : "anonimo";
+	}
+
+	private String serializar(Object valor) {
+		try {
+			return objectMapper.writeValueAsString(valor);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível serializar o conteúdo da requisição idempotente", e);
+		}
+	}
+
+	private <T> T desserializar(String json, TypeReference<T> tipo) {
+		try {
+			return objectMapper.readValue(json, tipo);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível ler a resposta armazenada da requisição idempotente", e);
+		}
+	}
+
+	private static String resumo(String valor) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(valor.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class ChaveJaReservadaException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		ChaveJaReservadaException(DataIntegrityViolationException causa) {
+			super(causa);
+		}
+	}
+
+	private record RespostaArmazenada(String impressaoDigital, Object resposta) {
+	}
+}
@@ -0,0 +1,297 @@
+package com.wallace.spring.boot.services.lancamentos;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.BalanceteDTO;
+import com.wallace.spring.boot.dto.LinhaBalanceteDTO;
+import com.wallace.spring.boot.enums.ContaContabil;
+import com.wallace.spring.boot.enums.NaturezaLancamento;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.repository.BlocosDeIds;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import jakarta.persistence.EntityManager;
+
+// Partidas dobradas de cada operação, inseridas em lote no beforeCommit
+@Service
+@ConditionalOnProperty(name = "conta.lancamentos.habilitado", havingValue = "true", matchIfMissing = true)
+public class LancamentosContabeis implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(LancamentosContabeis.class);
+
+	private static final String SQL_INSERIR_LANCAMENTO = "INSERT INTO lancamentos (id_lancamento, id_transacao, conta_contabil, conta_id, natureza, valor, horario) VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String SQL_SOMAR_AO_TOTAL = "UPDATE totais_razao SET debitos = debitos + ?, creditos = creditos + ?, atualizado_em = ? WHERE conta_contabil = ? AND chave = ?";
+	private static final String SQL_EXISTE_TOTAL = "SELECT COUNT(*) FROM totais_razao WHERE conta_contabil = ? AND chave = ?";
+	private static final String SQL_CRIAR_TOTAL = "INSERT INTO totais_razao (conta_contabil, chave, debitos, creditos, atualizado_em) VALUES (?, ?, 0, 0, ?)";
+	private static final String SQL_CONTAS_SEM_TOTAL = "SELECT c.conta_id FROM contas c WHERE NOT EXISTS (SELECT 1 FROM totais_razao t WHERE t.conta_contabil = 'DEPOSITOS_CLIENTES' AND t.chave = c.conta_id)";
+	private static final String SQL_SALDO_BLOQUEADO = "SELECT saldo FROM contas WHERE conta_id = ? FOR UPDATE";
+	private static final String SQL_BALANCETE = "SELECT conta_contabil, SUM(debitos) AS debitos, SUM(creditos) AS creditos, COUNT(*) AS linhas FROM totais_razao GROUP BY conta_contabil";
+	private static final String SQL_SOMA_DOS_LANCAMENTOS = "SELECT conta_contabil, SUM(CASE WHEN natureza = 'DEBITO' THEN valor ELSE 0 END) AS debitos, SUM(CASE WHEN natureza = 'CREDITO' THEN valor ELSE 0 END) AS creditos FROM lancamentos GROUP BY conta_contabil";
+
+	// id_transacao dos lançamentos de abertura, que não vêm de um histórico
+	static final int TRANSACAO_DE_ABERTURA = 0;
+
+	private static final Comparator<ChaveDoTotal> ORDEM_DAS_CHAVES = Comparator
+			.comparing(ChaveDoTotal::contaContabil).thenComparing(ChaveDoTotal::chave);
+
+	private final EntityManager entityManager;
+	private final JdbcTemplate jdbcTemplate;
+	private final SequenciaDeIds sequenciaDeIds;
+	private final BlocosDeIds ids;
+	private final TransactionTemplate transacaoPropria;
+	private final int faixas;
+
+	public LancamentosContabeis(EntityManager entityManager, JdbcTemplate jdbcTemplate, SequenciaDeIds sequenciaDeIds,
+			PlatformTransactionManager transactionManager,
+			@Value("${conta.lancamentos.faixas:16}") int faixas,
+			@Value("${conta.lancamentos.bloco-ids:1000}") int blocoIds) {
+		this.entityManager = entityManager;
+		this.jdbcTemplate = jdbcTemplate;
+		this.sequenciaDeIds = sequenciaDeIds;
+		this.ids = new BlocosDeIds(sequenciaDeIds, SequenciaDeIds.LANCAMENTOS, blocoIds);
+		this.transacaoPropria = new TransactionTemplate(transactionManager);
+		this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.faixas = Math.max(1, faixas);
+	}
+
+	// O total da conta nova é criado zerado na transação que a cria, para que o beforeCommit só precise do UPDATE
+	public void abrirConta(Integer contaId) {
+		jdbcTemplate.update(SQL_CRIAR_TOTAL, ContaContabil.DEPOSITOS_CLIENTES.name(), contaId.longValue(),
+				Timestamp.valueOf(LocalDateTime.now()));
+	}
+
+	// Antes de o servidor aceitar requisições: cria as faixas das contas internas e abre o razão das contas que
+	// já existiam, lançando o saldo de cada uma contra CAIXA. Assim DEPOSITOS_CLIENTES de cada conta passa a
+	// conferir com contas.saldo, e as operações seguintes mantêm a conferência
+	@Override
+	public void afterSingletonsInstantiated() {
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		// os lançamentos de abertura usam ids da sequência, que precisa já estar acima dos existentes
+		sequenciaDeIds.ajustarAoMaiorId(SequenciaDeIds.LANCAMENTOS, "id_lancamento");
+		transacaoPropria.executeWithoutResult(status -> {
+			for (ContaContabil conta : List.of(ContaContabil.CAIXA, ContaContabil.COMPENSACAO)) {
+				for (long faixa = 0; faixa < faixas; faixa++) {
+					criarTotalSeAusente(new ChaveDoTotal(conta, faixa), agora);
+				}
+			}
+		});
+		List<Integer> contasSemTotal = jdbcTemplate.queryForList(SQL_CONTAS_SEM_TOTAL, Integer.class);
+		for (Integer contaId : contasSemTotal) {
+			transacaoPropria.executeWithoutResult(status -> lancarSaldoDeAbertura(contaId, agora));
+		}
+		if (!contasSemTotal.isEmpty()) {
+			logger.info("Razão aberto para {} contas existentes", contasSemTotal.size());
+		}
+	}
+
+	public void registrar(List<HistoricoConta> historicos) {
+		lancar(historicos.stream().map(MovimentoContabil::de).toList());
+	}
+
+	public void lancar(List<MovimentoContabil> movimentos) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			throw new IllegalStateException("Lançamentos só podem ser registrados dentro de uma transação");
+		}
+		LancamentosDaTransacao lancamentos = (LancamentosDaTransacao) TransactionSynchronizationManager.getResource(this);
+		if (lancamentos == null) {
+			lancamentos = new LancamentosDaTransacao();
+			TransactionSynchronizationManager.bindResource(this, lancamentos);
+			TransactionSynchronizationManager.registerSynchronization(lancamentos);
+		}
+		lancamentos.movimentos.addAll(movimentos);
+	}
+
+	public static List<Partida> partidas(MovimentoContabil movimento) {
+		Dinheiro valor = movimento.valor();
+		return switch (movimento.tipo()) {
+		case DEPOSITO -> List.of(Partida.debito(ContaContabil.CAIXA, null, valor),
+				Partida.credito(ContaContabil.DEPOSITOS_CLIENTES, movimento.remetenteId(), valor));
+		case SAQUE -> List.of(Partida.debito(ContaContabil.DEPOSITOS_CLIENTES, movimento.remetenteId(), valor),
+				Partida.credito(ContaContabil.CAIXA, null, valor));
+		case TRANSFERENCIA -> List.of(Partida.debito(ContaContabil.DEPOSITOS_CLIENTES, movimento.remetenteId(), valor),
+				Partida.credito(ContaContabil.COMPENSACAO, null, valor),
+				Partida.debito(ContaContabil.COMPENSACAO, null, valor),
+				Partida.credito(ContaContabil.DEPOSITOS_CLIENTES, movimento.recebedorId(), valor));
+		};
+	}
+
+	// Lê apenas os totais, uma linha por conta de cliente e por faixa, sem agregar os lançamentos. Com
+	// conferirLancamentos soma também a tabela de lançamentos, no mesmo retrato, para validar os totais
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public BalanceteDTO balancete(boolean conferirLancamentos) {
+		long inicio = System.nanoTime();
+		Map<ContaContabil, LinhaBalanceteDTO> linhas = new TreeMap<>();
+		jdbcTemplate.query(SQL_BALANCETE, rs -> {
+			ContaContabil conta = ContaContabil.valueOf(rs.getString("conta_contabil"));
+			linhas.put(conta, LinhaBalanceteDTO.de(conta, Dinheiro.de(rs.getBigDecimal("debitos")),
+					Dinheiro.de(rs.getBigDecimal("creditos")), rs.getLong("linhas")));
+		});
+		Dinheiro totalDebitos = Dinheiro.ZERO;
+		Dinheiro totalCreditos = Dinheiro.ZERO;
+		for (LinhaBalanceteDTO linha : linhas.values()) {
+			totalDebitos = totalDebitos.somar(linha.debitos());
+			totalCreditos = totalCreditos.somar(linha.creditos());
+		}
+		LinhaBalanceteDTO compensacao = linhas.get(ContaContabil.COMPENSACAO);
+		boolean compensacaoZerada = compensacao == null || compensacao.saldo().signum() == 0;
+
+		Boolean totaisConferem = null;
+		if (conferirLancamentos) {
+			Map<ContaContabil, Dinheiro[]> somas = new TreeMap<>();
+			jdbcTemplate.query(SQL_SOMA_DOS_LANCAMENTOS, rs -> {
+				somas.put(ContaContabil.valueOf(rs.getString("conta_contabil")), new Dinheiro[] {
+						Dinheiro.de(rs.getBigDecimal("debitos")), Dinheiro.de(rs.getBigDecimal("creditos")) });
+			});
+			// as linhas de totais são criadas zeradas antes do primeiro lançamento: conta sem lançamentos soma zero
+			Dinheiro[] semLancamentos = { Dinheiro.ZERO, Dinheiro.ZERO };
+			totaisConferem = linhas.keySet().containsAll(somas.keySet()) && linhas.entrySet().stream()
+					.allMatch(linha -> somas.getOrDefault(linha.getKey(), semLancamentos)[0].equals(linha.getValue().debitos())
+							&& somas.getOrDefault(linha.getKey(), semLancamentos)[1].equals(linha.getValue().creditos()));
+			if (!totaisConferem) {
+				logger.warn("Totais do razão divergem da soma dos lançamentos");
+			}
+		}
+		return new BalanceteDTO(LocalDateTime.now(), List.copyOf(linhas.values()), totalDebitos, totalCreditos,
+				totalDebitos.equals(totalCreditos) && compensacaoZerada, totaisConferem,
+				(System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	// A conta fica bloqueada até o fim da transação: uma operação simultânea espera e soma depois da abertura
+	private void lancarSaldoDeAbertura(Integer contaId, Timestamp agora) {
+		BigDecimal saldo = jdbcTemplate.queryForObject(SQL_SALDO_BLOQUEADO, BigDecimal.class, contaId);
+		if (!criarTotalSeAusente(new ChaveDoTotal(ContaContabil.DEPOSITOS_CLIENTES, contaId), agora) || saldo == null
+				|| saldo.signum() == 0) {
+			return;
+		}
+		Dinheiro valor = Dinheiro.exato(saldo.abs());
+		List<Partida> partidas = saldo.signum() > 0
+				? List.of(Partida.debito(ContaContabil.CAIXA, null, valor),
+						Partida.credito(ContaContabil.DEPOSITOS_CLIENTES, contaId, valor))
+				: List.of(Partida.credito(ContaContabil.CAIXA, null, valor),
+						Partida.debito(ContaContabil.DEPOSITOS_CLIENTES, contaId, valor));
+		// CAIXA antes de DEPOSITOS_CLIENTES, a mesma ordem de chaves do beforeCommit
+		List<Object[]> linhas = new ArrayList<>();
+		for (Partida partida : partidas) {
+			linhas.add(new Object[] { ids.proximo(), TRANSACAO_DE_ABERTURA, partida.contaContabil().name(),
+					partida.contaId(), partida.natureza().name(), partida.valor().paraBigDecimal(), agora });
+			ChaveDoTotal chave = new ChaveDoTotal(partida.contaContabil(), partida.contaId() != null ? partida.contaId() : 0);
+			BigDecimal debitos = partida.natureza() == NaturezaLancamento.DEBITO ? valor.paraBigDecimal() : BigDecimal.ZERO;
+			BigDecimal creditos = partida.natureza() == NaturezaLancamento.CREDITO ? valor.paraBigDecimal() : BigDecimal.ZERO;
+			somarAoTotal(chave, debitos, creditos, agora);
+		}
+		jdbcTemplate.batchUpdate(SQL_INSERIR_LANCAMENTO, linhas);
+	}
+
+	private boolean criarTotalSeAusente(ChaveDoTotal chave, Timestamp agora) {
+		Integer existentes = jdbcTemplate.queryForObject(SQL_EXISTE_TOTAL, Integer.class, chave.contaContabil().name(),
+				chave.chave());
+		if (existentes != null && existentes > 0) {
+			return false;
+		}
+		try {
+			jdbcTemplate.update(SQL_CRIAR_TOTAL, chave.contaContabil().name(), chave.chave(), agora);
+			return true;
+		} catch (DuplicateKeyException e) {
+			logger.debug("Total de {} {} criado por outro nó", chave.contaContabil(), chave.chave());
+			return false;
+		}
+	}
+
+	// As linhas existem desde a criação da conta ou da subida; uma ausente é erro de configuração, e criá-la
+	// aqui exigiria uma segunda conexão no meio do commit
+	private void somarAoTotal(ChaveDoTotal chave, BigDecimal debitos, BigDecimal creditos, Timestamp agora) {
+		int atualizadas = jdbcTemplate.update(SQL_SOMAR_AO_TOTAL, debitos, creditos, agora, chave.contaContabil().name(),
+				chave.chave());
+		if (atualizadas == 0) {
+			throw new IllegalStateException(
+					"Total do razão ausente para " + chave.contaContabil() + " " + chave.chave());
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void anteciparIds() {
+		ids.antecipar();
+	}
+
+	public record Partida(ContaContabil contaContabil, Integer contaId, NaturezaLancamento natureza, Dinheiro valor) {
+
+		static Partida debito(ContaContabil contaContabil, Integer contaId, Dinheiro valor) {
+			return new Partida(contaContabil, contaId, NaturezaLancamento.DEBITO, valor);
+		}
+
+		static Partida credito(ContaContabil contaContabil, Integer contaId, Dinheiro valor) {
+			return new Partida(contaContabil, contaId, NaturezaLancamento.CREDITO, valor);
+		}
+	}
+
+	private record ChaveDoTotal(ContaContabil contaContabil, long chave) {
+	}
+
+	private final class LancamentosDaTransacao implements TransactionSynchronization {
+
+		private final List<MovimentoContabil> movimentos = new ArrayList<>();
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			// o flush bloqueia as contas dos clientes antes das linhas de totais, na mesma ordem em toda transação
+			entityManager.flush();
+			Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+			// uma faixa por transação para as contas internas, sorteada para espalhar a disputa entre as linhas
+			long faixa = ThreadLocalRandom.current().nextInt(faixas);
+			List<Object[]> linhas = new ArrayList<>();
+			Map<ChaveDoTotal, long[]> totais = new TreeMap<>(ORDEM_DAS_CHAVES);
+			for (MovimentoContabil movimento : movimentos) {
+				for (Partida partida : partidas(movimento)) {
+					linhas.add(new Object[] { null, movimento.idTransacao(), partida.contaContabil().name(),
+							partida.contaId(), partida.natureza().name(), partida.valor().paraBigDecimal(),
+							Timestamp.valueOf(movimento.horario()) });
+					ChaveDoTotal chave = new ChaveDoTotal(partida.contaContabil(),
+							partida.contaId() != null ? partida.contaId() : faixa);
+					long[] total = totais.computeIfAbsent(chave, c -> new long[2]);
+					total[partida.natureza() == NaturezaLancamento.DEBITO ? 0 : 1] += partida.valor().centavos();
+				}
+			}
+			if (linhas.isEmpty()) {
+				return;
+			}
+			for (Object[] linha : linhas) {
+				linha[0] = ids.proximo();
+			}
+			jdbcTemplate.batchUpdate(SQL_INSERIR_LANCAMENTO, linhas);
+			totais.forEach((chave, total) -> somarAoTotal(chave, Dinheiro.deCentavos(total[0]).paraBigDecimal(),
+					Dinheiro.deCentavos(total[1]).paraBigDecimal(), agora));
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(LancamentosContabeis.this);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.wallace.spring.boot.services.lancamentos;
+
+import java.time.LocalDateTime;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+// Operação a lançar no razão, já com o id que recebeu no histórico
+public record MovimentoContabil(Integer idTransacao, TipoTransacao tipo, Dinheiro valor, Integer remetenteId,
+		Integer recebedorId, LocalDateTime horario) {
+
+	public static MovimentoContabil de(HistoricoConta historico) {
+		return new MovimentoContabil(historico.getId(), historico.getTipoDaTransacao(), historico.getValor(),
+				historico.getEfetuouTransacao().getId(),
+				historico.getRecebeuTransacao() != null ? historico.getRecebeuTransacao().getId() : null,
+				historico.getHorarioTransacao());
+	}
+}
@@ -0,0 +1,156 @@
+package com.wallace.spring.boot.services.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.DivergenciaSaldoDTO;
+import com.wallace.spring.boot.dto.RelatorioAuditoriaDTO;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Confere contas.saldo contra o ledger, conta a conta, num pool próprio
+@Service
+@ConditionalOnProperty(name = "conta.saldo.fonte", havingValue = "LEDGER")
+public class AuditoriaDoLedger {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditoriaDoLedger.class);
+
+	private static final String SQL_PAGINA_DE_CONTAS = "SELECT conta_id FROM contas WHERE conta_id > ? ORDER BY conta_id LIMIT ?";
+	private static final String SQL_BLOQUEAR_CONTA = "SELECT saldo, sequencia_ledger FROM contas WHERE conta_id = ? FOR UPDATE";
+	private static final String SQL_CORRIGIR_SALDO = "UPDATE contas SET saldo = ?, versao = versao + 1 WHERE conta_id = ?";
+
+	private final LedgerDeContas ledger;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ThreadPoolExecutor executor;
+	private final Counter divergenciasEncontradas;
+	private final int contasPorPagina;
+
+	public AuditoriaDoLedger(LedgerDeContas ledger, JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+			@Value("${conta.ledger.auditoria.paralelismo:4}") int paralelismo,
+			@Value("${conta.ledger.auditoria.contas-por-pagina:1000}") int contasPorPagina) {
+		this.ledger = ledger;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.contasPorPagina = Math.max(1, contasPorPagina);
+		int quantidade = Math.max(1, paralelismo);
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(quantidade, quantidade, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), tarefa -> {
+					Thread thread = new Thread(tarefa, "auditoria-ledger-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.divergenciasEncontradas = Counter.builder("ledger.auditoria.divergencias")
+				.description("Contas com saldo diferente do ledger").register(meterRegistry);
+	}
+
+	public RelatorioAuditoriaDTO auditar(boolean completa) {
+		return percorrer(completa, false);
+	}
+
+	public RelatorioAuditoriaDTO reconstruir(boolean completa) {
+		return percorrer(completa, true);
+	}
+
+	// Uma página de contas por vez: a fila do pool nunca passa do tamanho da página
+	private RelatorioAuditoriaDTO percorrer(boolean completa, boolean corrigir) {
+		long inicio = System.nanoTime();
+		List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+		int verificadas = 0;
+		int corrigidas = 0;
+		int ultimoId = 0;
+		List<Integer> pagina;
+		do {
+			pagina = jdbcTemplate.queryForList(SQL_PAGINA_DE_CONTAS, Integer.class, ultimoId, contasPorPagina);
+			List<CompletableFuture<Resultado>> conferencias = pagina.stream()
+					.map(contaId -> CompletableFuture.supplyAsync(() -> conferir(contaId, completa, corrigir), executor))
+					.toList();
+			for (CompletableFuture<Resultado> conferencia : conferencias) {
+				Resultado resultado = conferencia.join();
+				if (resultado == null) {
+					continue;
+				}
+				verificadas++;
+				if (resultado.posicao().diverge()) {
+					divergencias.add(new DivergenciaSaldoDTO(resultado.posicao()));
+				}
+				if (resultado.corrigida()) {
+					corrigidas++;
+				}
+			}
+			if (!pagina.isEmpty()) {
+				ultimoId = pagina.get(pagina.size() - 1);
+			}
+		} while (pagina.size() == contasPorPagina);
+
+		divergenciasEncontradas.increment(divergencias.size());
+		long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+		if (!divergencias.isEmpty()) {
+			logger.warn("Auditoria do ledger encontrou {} contas divergentes em {} verificadas ({} corrigidas)",
+					divergencias.size(), verificadas, corrigidas);
+		} else {
+			logger.info("Auditoria do ledger conferiu {} contas em {} ms sem divergências", verificadas, duracaoMs);
+		}
+		return new RelatorioAuditoriaDTO(completa, verificadas, corrigidas, duracaoMs, divergencias);
+	}
+
+	private Resultado conferir(Integer contaId, boolean completa, boolean corrigir) {
+		PosicaoNoLedger posicao = ledger.posicao(contaId, completa);
+		if (posicao == null) {
+			return null;
+		}
+		boolean corrigida = false;
+		if (corrigir && posicao.diverge()) {
+			posicao = corrigirSaldo(contaId, completa);
+			corrigida = posicao != null && posicao.diverge();
+		}
+		if (completa && corrigir && posicao != null) {
+			ledger.gravarSnapshot(contaId, true);
+		}
+		return posicao == null ? null : new Resultado(posicao, corrigida);
+	}
+
+	// Refaz a conta com o registro bloqueado: nenhuma entrada nova entra entre a soma e a regravação
+	private PosicaoNoLedger corrigirSaldo(Integer contaId, boolean completa) {
+		return transactionTemplate.execute(status -> jdbcTemplate.query(SQL_BLOQUEAR_CONTA, rs -> {
+			if (!rs.next()) {
+				return null;
+			}
+			long sequencia = rs.getLong("sequencia_ledger");
+			Dinheiro armazenado = Dinheiro.exato(rs.getBigDecimal("saldo"));
+			Dinheiro derivado = ledger.saldoNaSequencia(contaId, sequencia, completa);
+			PosicaoNoLedger posicao = new PosicaoNoLedger(contaId, sequencia, armazenado, derivado);
+			if (posicao.diverge()) {
+				jdbcTemplate.update(SQL_CORRIGIR_SALDO, derivado.paraBigDecimal(), contaId);
+				logger.warn("Saldo da conta {} regravado de {} para {} (sequência {})", contaId, armazenado, derivado, sequencia);
+			}
+			return posicao;
+		}, contaId));
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	private record Resultado(PosicaoNoLedger posicao, boolean corrigida) {
+	}
+}
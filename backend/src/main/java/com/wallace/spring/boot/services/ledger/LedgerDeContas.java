@@ -0,0 +1,151 @@
+package com.wallace.spring.boot.services.ledger;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import jakarta.persistence.EntityManager;
+
+// Modo em que historico_conta é o ledger e contas.saldo uma projeção dele
+@Service
+@ConditionalOnProperty(name = "conta.saldo.fonte", havingValue = "LEDGER")
+public class LedgerDeContas {
+
+	private static final Logger logger = LoggerFactory.getLogger(LedgerDeContas.class);
+
+	private static final String SQL_POSICAO = "SELECT saldo, sequencia_ledger FROM contas WHERE conta_id = ?";
+	private static final String SQL_SNAPSHOT = "SELECT sequencia, saldo FROM snapshots_saldo WHERE conta_id = ? AND sequencia <= ?";
+	private static final String SQL_SOMA_REMETENTE = "SELECT COALESCE(SUM(CASE WHEN tipo_transacao = 'DEPOSITO' THEN valor ELSE -valor END), 0) FROM historico_conta WHERE id_remetente = ? AND seq_remetente > ? AND seq_remetente <= ?";
+	private static final String SQL_SOMA_RECEBEDOR = "SELECT COALESCE(SUM(valor), 0) FROM historico_conta WHERE id_recebedor = ? AND seq_recebedor > ? AND seq_recebedor <= ?";
+	private static final String SQL_SOMA_SEM_SEQUENCIA = "SELECT COALESCE(SUM(CASE WHEN id_recebedor = ? THEN valor WHEN tipo_transacao = 'DEPOSITO' THEN valor ELSE -valor END), 0) FROM historico_conta WHERE (id_remetente = ? AND seq_remetente IS NULL) OR (id_recebedor = ? AND seq_recebedor IS NULL)";
+	private static final String SQL_PENDENTES_DE_SNAPSHOT = "SELECT c.conta_id FROM contas c LEFT JOIN snapshots_saldo s ON s.conta_id = c.conta_id WHERE c.sequencia_ledger - COALESCE(s.sequencia, 0) >= ? ORDER BY c.conta_id LIMIT ?";
+	private static final String SQL_ATUALIZAR_SNAPSHOT = "UPDATE snapshots_saldo SET sequencia = ?, saldo = ?, atualizado_em = ? WHERE conta_id = ? AND sequencia < ?";
+	private static final String SQL_INSERIR_SNAPSHOT = "INSERT INTO snapshots_saldo (conta_id, sequencia, saldo, atualizado_em) VALUES (?, ?, ?, ?)";
+	private static final String SQL_REMOVER_SNAPSHOT = "DELETE FROM snapshots_saldo WHERE conta_id = ?";
+
+	private final EntityManager entityManager;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int entradasPorSnapshot;
+	private final int contasPorRodada;
+
+	public LedgerDeContas(EntityManager entityManager, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+			@Value("${conta.historico.gravacao:TABELA}") String gravacaoHistorico,
+			@Value("${conta.ledger.snapshot.entradas:100}") int entradasPorSnapshot,
+			@Value("${conta.ledger.snapshot.contas-por-rodada:500}") int contasPorRodada) {
+		// no journal as entradas chegam à tabela depois do commit do saldo, então o ledger não seria a fonte
+		if ("JOURNAL".equalsIgnoreCase(gravacaoHistorico)) {
+			throw new IllegalStateException("conta.saldo.fonte=LEDGER exige conta.historico.gravacao=TABELA");
+		}
+		this.entityManager = entityManager;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.entradasPorSnapshot = Math.max(1, entradasPorSnapshot);
+		this.contasPorRodada = Math.max(1, contasPorRodada);
+	}
+
+	// Chamado antes de a entrada ser gravada, com as contas já carregadas na transação que altera o saldo. O
+	// flush grava a sequência e confere a versão das contas antes do INSERT da entrada: no flush o Hibernate
+	// executa os INSERTs antes dos UPDATEs, e no modo otimista a transação perdedora bateria na chave única da
+	// sequência em vez de receber o conflito de versão que a retentativa trata
+	public void numerar(List<HistoricoConta> historicos) {
+		for (HistoricoConta historico : historicos) {
+			historico.setSequenciaRemetente(historico.getEfetuouTransacao().proximaSequenciaLedger());
+			Conta recebedor = historico.getRecebeuTransacao();
+			if (recebedor != null) {
+				historico.setSequenciaRecebedor(recebedor.proximaSequenciaLedger());
+			}
+		}
+		entityManager.flush();
+	}
+
+	// Lê saldo e sequência numa só linha: todas as entradas até a sequência lida já estão confirmadas, então a
+	// comparação não precisa bloquear a conta
+	public PosicaoNoLedger posicao(Integer contaId, boolean ignorarSnapshot) {
+		return jdbcTemplate.query(SQL_POSICAO, rs -> {
+			if (!rs.next()) {
+				return null;
+			}
+			long sequencia = rs.getLong("sequencia_ledger");
+			return new PosicaoNoLedger(contaId, sequencia, Dinheiro.exato(rs.getBigDecimal("saldo")),
+					saldoNaSequencia(contaId, sequencia, ignorarSnapshot));
+		}, contaId);
+	}
+
+	public Dinheiro saldoNaSequencia(Integer contaId, long sequencia, boolean ignorarSnapshot) {
+		long desde = 0;
+		BigDecimal saldo = BigDecimal.ZERO;
+		if (!ignorarSnapshot) {
+			Snapshot snapshot = jdbcTemplate.query(SQL_SNAPSHOT,
+					rs -> rs.next() ? new Snapshot(rs.getLong("sequencia"), rs.getBigDecimal("saldo")) : null, contaId,
+					sequencia);
+			if (snapshot != null) {
+				desde = snapshot.sequencia();
+				saldo = snapshot.saldo();
+			}
+		}
+		if (desde == 0) {
+			saldo = saldo.add(jdbcTemplate.queryForObject(SQL_SOMA_SEM_SEQUENCIA, BigDecimal.class, contaId, contaId,
+					contaId));
+		}
+		saldo = saldo.add(jdbcTemplate.queryForObject(SQL_SOMA_REMETENTE, BigDecimal.class, contaId, desde, sequencia))
+				.add(jdbcTemplate.queryForObject(SQL_SOMA_RECEBEDOR, BigDecimal.class, contaId, desde, sequencia));
+		return Dinheiro.de(saldo);
+	}
+
+	@Scheduled(fixedDelayString = "${conta.ledger.snapshot.intervalo-ms:60000}")
+	public void gravarSnapshotsPendentes() {
+		try {
+			List<Integer> contas = jdbcTemplate.queryForList(SQL_PENDENTES_DE_SNAPSHOT, Integer.class,
+					entradasPorSnapshot, contasPorRodada);
+			contas.forEach(contaId -> gravarSnapshot(contaId, false));
+			if (!contas.isEmpty()) {
+				logger.debug("Snapshots de saldo atualizados para {} contas", contas.size());
+			}
+		} catch (RuntimeException e) {
+			logger.error("Falha ao gravar snapshots de saldo", e);
+		}
+	}
+
+	// O snapshot é sempre uma soma do ledger, nunca uma cópia de contas.saldo, para não perpetuar uma divergência
+	public void gravarSnapshot(Integer contaId, boolean refazer) {
+		PosicaoNoLedger posicao = posicao(contaId, refazer);
+		if (posicao == null || posicao.sequencia() == 0) {
+			return;
+		}
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		BigDecimal saldo = posicao.saldoDerivado().paraBigDecimal();
+		transactionTemplate.executeWithoutResult(status -> {
+			if (refazer) {
+				jdbcTemplate.update(SQL_REMOVER_SNAPSHOT, contaId);
+			}
+			int atualizadas = jdbcTemplate.update(SQL_ATUALIZAR_SNAPSHOT, posicao.sequencia(), saldo, agora, contaId,
+					posicao.sequencia());
+			if (atualizadas == 0) {
+				try {
+					jdbcTemplate.update(SQL_INSERIR_SNAPSHOT, contaId, posicao.sequencia(), saldo, agora);
+				} catch (DuplicateKeyException e) {
+					logger.debug("Snapshot da conta {} já está na sequência {} ou adiante", contaId, posicao.sequencia());
+				}
+			}
+		});
+	}
+
+	private record Snapshot(long sequencia, BigDecimal saldo) {
+	}
+}
@@ -0,0 +1,11 @@
+package com.wallace.spring.boot.services.ledger;
+
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+// Saldo gravado em contas e saldo obtido do ledger, ambos na mesma sequência da conta
+public record PosicaoNoLedger(Integer contaId, long sequencia, Dinheiro saldoArmazenado, Dinheiro saldoDerivado) {
+
+	public boolean diverge() {
+		return !saldoArmazenado.equals(saldoDerivado);
+	}
+}
@@ -0,0 +1,9 @@
+package com.wallace.spring.boot.services.limite;
+
+// Estado dos baldes; um armazenamento compartilhado pode ser registrado como @Primary
+public interface ArmazenamentoDeLimites {
+
+	// Devolve 0 quando a requisição é aceita, ou quantos nanossegundos faltam para a próxima ficha
+	long consumir(String chave, PoliticaDeLimite politica);
+
+}
@@ -0,0 +1,55 @@
+package com.wallace.spring.boot.services.limite;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// GCRA: cada chave guarda o instante teórico da próxima chegada, decidido por CAS
+@Component
+public class ArmazenamentoDeLimitesEmMemoria implements ArmazenamentoDeLimites {
+
+	private final Cache<String, AtomicLong> baldes;
+	private final LongSupplier relogio;
+
+	@Autowired
+	public ArmazenamentoDeLimitesEmMemoria(@Value("${limites.tamanho-maximo-chaves:100000}") long tamanhoMaximo,
+			@Value("${limites.ociosidade-segundos:600}") long ociosidadeSegundos) {
+		this(tamanhoMaximo, Duration.ofSeconds(ociosidadeSegundos), System::nanoTime);
+	}
+
+	public ArmazenamentoDeLimitesEmMemoria(long tamanhoMaximo, Duration ociosidade, LongSupplier relogio) {
+		this.baldes = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterAccess(ociosidade).build();
+		this.relogio = relogio;
+	}
+
+	@Override
+	public long consumir(String chave, PoliticaDeLimite politica) {
+		AtomicLong proximaChegada = baldes.get(chave, ignorada -> new AtomicLong(Long.MIN_VALUE));
+		long intervalo = politica.intervaloNanos();
+		long tolerancia = politica.toleranciaNanos();
+		long agora = relogio.getAsLong();
+
+		while (true) {
+			long atual = proximaChegada.get();
+			long nova = Math.max(atual, agora) + intervalo;
+			long excesso = nova - agora - tolerancia;
+			if (excesso > 0) {
+				return excesso;
+			}
+			if (proximaChegada.compareAndSet(atual, nova)) {
+				return 0;
+			}
+		}
+	}
+
+	public long quantidadeDeChaves() {
+		return baldes.estimatedSize();
+	}
+}
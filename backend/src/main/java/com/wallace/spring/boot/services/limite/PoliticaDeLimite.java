@@ -0,0 +1,21 @@
+package com.wallace.spring.boot.services.limite;
+
+import java.time.Duration;
+
+// Balde de fichas: até "capacidade" requisições de uma vez, repostas à razão de capacidade por período
+public record PoliticaDeLimite(String nome, long capacidade, Duration periodo) {
+
+	public PoliticaDeLimite {
+		if (capacidade <= 0 || periodo.isZero() || periodo.isNegative()) {
+			throw new IllegalArgumentException("Política de limite inválida: " + nome);
+		}
+	}
+
+	public long intervaloNanos() {
+		return periodo.toNanos() / capacidade;
+	}
+
+	public long toleranciaNanos() {
+		return intervaloNanos() * capacidade;
+	}
+}
@@ -0,0 +1,90 @@
+package com.wallace.spring.boot.services.monitoramento;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+// Mede os eventos jdk.VirtualThreadPinned do JFR e registra a pilha da primeira ocorrência
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class MonitorDeThreadsFixadas {
+
+	private static final Logger logger = LoggerFactory.getLogger(MonitorDeThreadsFixadas.class);
+
+	static final String EVENTO = "jdk.VirtualThreadPinned";
+	private static final String PACOTE_APLICACAO = "com.wallace.spring.boot";
+	private static final int QUADROS_NO_LOG = 8;
+
+	private final Timer fixacoes;
+	private final Duration limite;
+	private final Set<String> origensRegistradas = ConcurrentHashMap.newKeySet();
+	private RecordingStream stream;
+
+	public MonitorDeThreadsFixadas(MeterRegistry meterRegistry,
+			@Value("${threads-virtuais.fixacao.limite-ms:20}") long limiteMs) {
+		this.fixacoes = meterRegistry.timer("threads.virtuais.fixadas");
+		this.limite = Duration.ofMillis(limiteMs);
+	}
+
+	@PostConstruct
+	public void iniciar() {
+		stream = new RecordingStream();
+		stream.enable(EVENTO).withThreshold(limite).withStackTrace();
+		stream.onEvent(EVENTO, this::registrar);
+		stream.startAsync();
+		logger.info("Monitorando threads virtuais presas à carregadora por mais de {} ms", limite.toMillis());
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	void registrar(RecordedEvent evento) {
+		fixacoes.record(evento.getDuration());
+		List<RecordedFrame> quadros = evento.getStackTrace() != null ? evento.getStackTrace().getFrames() : List.of();
+		String origem = origem(quadros);
+		if (origensRegistradas.add(origem)) {
+			logger.warn("Thread virtual presa à carregadora por {} ms em {}:\n{}", evento.getDuration().toMillis(),
+					origem, pilha(quadros));
+		}
+	}
+
+	// Primeiro quadro da aplicação; sem ele, o topo da pilha (ex.: driver ou biblioteca)
+	private static String origem(List<RecordedFrame> quadros) {
+		return quadros.stream()
+				.filter(quadro -> quadro.getMethod().getType().getName().startsWith(PACOTE_APLICACAO))
+				.findFirst()
+				.or(() -> quadros.stream().findFirst())
+				.map(MonitorDeThreadsFixadas::descrever)
+				.orElse("desconhecida");
+	}
+
+	private static String pilha(List<RecordedFrame> quadros) {
+		StringBuilder texto = new StringBuilder();
+		quadros.stream().limit(QUADROS_NO_LOG).forEach(quadro -> texto.append("\tat ").append(descrever(quadro)).append('\n'));
+		return texto.toString();
+	}
+
+	private static String descrever(RecordedFrame quadro) {
+		return quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName() + ":" + quadro.getLineNumber();
+	}
+}
@@ -0,0 +1,130 @@
+package com.wallace.spring.boot.services.monitoramento;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Considera o pool saturado pela espera média por conexão no último intervalo
+@Component
+public class SaturacaoDoPoolDeConexoes {
+
+	private static final Logger logger = LoggerFactory.getLogger(SaturacaoDoPoolDeConexoes.class);
+
+	private final DataSource dataSource;
+	private final MeterRegistry meterRegistry;
+	private final long limiteEsperaNanos;
+	private final long intervaloNanos;
+	private ScheduledExecutorService amostragem;
+
+	private volatile HikariPoolMXBean pool;
+	private volatile long esperaMediaNanos;
+	private volatile boolean saturado;
+	private long ultimaContagem;
+	private double ultimoTempoTotalNanos;
+
+	public SaturacaoDoPoolDeConexoes(DataSource dataSource, MeterRegistry meterRegistry,
+			@Value("${banco.pool.descarte.limite-espera-ms:250}") long limiteEsperaMs,
+			@Value("${banco.pool.descarte.intervalo-amostragem-ms:1000}") long intervaloMs) {
+		this.dataSource = dataSource;
+		this.meterRegistry = meterRegistry;
+		this.limiteEsperaNanos = TimeUnit.MILLISECONDS.toNanos(limiteEsperaMs);
+		this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+		meterRegistry.gauge("banco.pool.espera-media-ms", this,
+				saturacao -> saturacao.esperaMediaNanos / 1_000_000.0);
+		meterRegistry.gauge("banco.pool.saturado", this, saturacao -> saturacao.saturado ? 1 : 0);
+	}
+
+	// Thread de plataforma própria: no perfil virtual um @Scheduled disputaria as carregadoras com as requisições
+	// e, sob a carga que deveria detectar, a amostra atrasaria dezenas de segundos
+	@PostConstruct
+	public void iniciar() {
+		amostragem = Executors.newSingleThreadScheduledExecutor(
+				Thread.ofPlatform().name("amostragem-pool-conexoes").daemon().factory());
+		amostragem.scheduleAtFixedRate(this::amostrarSemFalhar, intervaloNanos, intervaloNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		if (amostragem != null) {
+			amostragem.shutdownNow();
+		}
+	}
+
+	private void amostrarSemFalhar() {
+		try {
+			amostrar();
+		} catch (RuntimeException e) {
+			logger.warn("Falha ao amostrar o pool de conexões", e);
+		}
+	}
+
+	public synchronized void amostrar() {
+		HikariPoolMXBean poolAtual = pool();
+		Timer aquisicoes = meterRegistry.find("hikaricp.connections.acquire").timer();
+		if (poolAtual == null || aquisicoes == null) {
+			return;
+		}
+
+		long contagem = aquisicoes.count();
+		double tempoTotalNanos = aquisicoes.totalTime(TimeUnit.NANOSECONDS);
+		long novas = contagem - ultimaContagem;
+		int pendentes = poolAtual.getThreadsAwaitingConnection();
+
+		if (novas > 0) {
+			esperaMediaNanos = (long) ((tempoTotalNanos - ultimoTempoTotalNanos) / novas);
+		} else {
+			// nenhuma conexão entregue no intervalo: quem está na fila esperou pelo menos o intervalo inteiro
+			esperaMediaNanos = pendentes > 0 ? intervaloNanos : 0;
+		}
+		ultimaContagem = contagem;
+		ultimoTempoTotalNanos = tempoTotalNanos;
+
+		boolean saturadoAgora = pendentes > 0 && esperaMediaNanos > limiteEsperaNanos;
+		if (saturadoAgora != saturado) {
+			if (saturadoAgora) {
+				logger.warn("Pool de conexões saturado: espera média de {} ms, {} threads aguardando, {} ativas",
+						TimeUnit.NANOSECONDS.toMillis(esperaMediaNanos), pendentes, poolAtual.getActiveConnections());
+			} else {
+				logger.info("Pool de conexões normalizado: espera média de {} ms",
+						TimeUnit.NANOSECONDS.toMillis(esperaMediaNanos));
+			}
+		}
+		saturado = saturadoAgora;
+	}
+
+	// Consultado a cada requisição: além da última amostra, a fila precisa continuar existindo
+	public boolean saturado() {
+		HikariPoolMXBean poolAtual = pool;
+		return saturado && poolAtual != null && poolAtual.getThreadsAwaitingConnection() > 0;
+	}
+
+	// O MXBean só existe depois que o pool abre a primeira conexão
+	private HikariPoolMXBean pool() {
+		if (pool == null) {
+			try {
+				if (dataSource.isWrapperFor(HikariDataSource.class)) {
+					pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+				}
+			} catch (SQLException e) {
+				logger.debug("DataSource não expõe o pool Hikari: {}", e.getMessage());
+			}
+		}
+		return pool;
+	}
+}
@@ -0,0 +1,17 @@
+package com.wallace.spring.boot.services.motor;
+
+import java.util.List;
+
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+// Ponto de extensão das operações que movimentam saldo; o ContaService delega para a implementação ativa
+public interface MotorDeContas {
+
+	Conta depositar(Dinheiro valor, Integer id);
+
+	Conta sacar(Dinheiro valor, Integer id);
+
+	List<Conta> transferir(Integer contaIdDepositar, Dinheiro valor, Integer contaIdReceber);
+
+}
@@ -0,0 +1,168 @@
+package com.wallace.spring.boot.services.motor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.wallace.spring.boot.enums.ModoConcorrencia;
+import com.wallace.spring.boot.exceptions.ContaInexistenteException;
+import com.wallace.spring.boot.exceptions.SaldoInsuficienteException;
+import com.wallace.spring.boot.exceptions.ValorMenorQueZeroException;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.repository.ContaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.HistoricoContaService;
+import com.wallace.spring.boot.services.concorrencia.RetentativaOtimista;
+import com.wallace.spring.boot.services.eventos.OutboxDeEventos;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class MotorDeContasPadrao implements MotorDeContas {
+
+	private static final Logger logger = LoggerFactory.getLogger(MotorDeContasPadrao.class);
+
+	private final ContaRepository contaRepository;
+	private final HistoricoContaService historicoContaService;
+	private final OutboxDeEventos outboxDeEventos;
+	private final ModoConcorrencia modoConcorrencia;
+
+	public MotorDeContasPadrao(ContaRepository contaRepository, HistoricoContaService historicoContaService,
+			OutboxDeEventos outboxDeEventos,
+			@Value("${conta.concorrencia.modo:OTIMISTA}") ModoConcorrencia modoConcorrencia) {
+		this.contaRepository = contaRepository;
+		this.historicoContaService = historicoContaService;
+		this.outboxDeEventos = outboxDeEventos;
+		this.modoConcorrencia = modoConcorrencia;
+	}
+
+	@Override
+	@RetentativaOtimista
+	@Transactional
+	public Conta depositar(Dinheiro valor, Integer id) {
+		logger.info("Iniciando depósito de {} na conta ID {}", valor, id);
+		Conta conta = buscarContaParaAtualizacao(id);
+		if (valor.signum() <= 0) {
+			logger.warn("Tentativa de depósito com valor inválido: {}", valor);
+			throw new ValorMenorQueZeroException("O valor para depósito deve ser maior do que 0 ");
+		}
+		conta.setSaldo(conta.getSaldo().somar(valor));
+		outboxDeEventos.registrar(historicoContaService.registrarDeposito(conta, valor));
+		logger.info("Depósito na conta ID {} realizado com sucesso. Novo saldo: {}", id, conta.getSaldo());
+		return prepararResposta(contaRepository.save(conta));
+	}
+
+	@Override
+	@RetentativaOtimista
+	@Transactional
+	public Conta sacar(Dinheiro valor, Integer id) {
+		logger.info("Iniciando saque de {} da conta ID {}", valor, id);
+		Conta conta = buscarContaParaAtualizacao(id);
+
+		if (valor.signum() <= 0) {
+			logger.warn("Tentativa de saque com valor inválido: {}", valor);
+			throw new ValorMenorQueZeroException("O valor do saque deve ser maior que zero.");
+		}
+
+		if (conta.getSaldo().menorQue(valor)) {
+			logger.warn("Tentativa de saque com saldo insuficiente na conta ID {}. Saldo: {}, Saque: {}", id, conta.getSaldo(), valor);
+			throw new SaldoInsuficienteException("Saldo insuficiente.");
+		}
+
+		conta.setSaldo(conta.getSaldo().subtrair(valor));
+		outboxDeEventos.registrar(historicoContaService.registrarSaque(conta, valor));
+		logger.info("Saque da conta ID {} realizado com sucesso. Novo saldo: {}", id, conta.getSaldo());
+		return prepararResposta(contaRepository.save(conta));
+	}
+
+	@Override
+	@RetentativaOtimista
+	@Transactional
+	public List<Conta> transferir(Integer contaIdDepositar, Dinheiro valor, Integer contaIdReceber) {
+		logger.info("Iniciando transferência de {} da conta ID {} para a conta ID {}", valor, contaIdDepositar, contaIdReceber);
+		Conta contaDepositar;
+		Conta contaReceber;
+		if (modoConcorrencia == ModoConcorrencia.PESSIMISTA) {
+			Map<Integer, Conta> contasBloqueadas = contaRepository
+					.findAllByIdParaAtualizacao(List.of(contaIdDepositar, contaIdReceber)).stream()
+					.collect(Collectors.toMap(Conta::getId, Function.identity()));
+			contaDepositar = exigirConta(contasBloqueadas.get(contaIdDepositar));
+			contaReceber = exigirConta(contasBloqueadas.get(contaIdReceber));
+		} else {
+			contaDepositar = contaRepository.findById(contaIdDepositar)
+					.orElseThrow(() -> new ContaInexistenteException("Esta conta não existe!"));
+			contaReceber = contaRepository.findById(contaIdReceber)
+					.orElseThrow(() -> new ContaInexistenteException("Esta conta não existe!"));
+		}
+
+		if (valor.signum() <= 0) {
+			logger.warn("Tentativa de transferência com valor inválido: {}", valor);
+			throw new ValorMenorQueZeroException("O valor para realizar a transferência deve ser maior do que 0");
+		}
+		if (contaDepositar.getSaldo().menorQue(valor)) {
+			logger.warn("Tentativa de transferência com saldo insuficiente na conta de origem ID {}. Saldo: {}, Transferência: {}", contaIdDepositar, contaDepositar.getSaldo(), valor);
+			throw new SaldoInsuficienteException("Saldo insuficiente na conta para realizar a transferência");
+		}
+
+		contaDepositar.setSaldo(contaDepositar.getSaldo().subtrair(valor));
+		contaReceber.setSaldo(contaReceber.getSaldo().somar(valor));
+
+		contaRepository.save(contaDepositar);
+		contaRepository.save(contaReceber);
+
+		List<Conta> contas = new ArrayList<>();
+		contas.add(contaDepositar);
+		contas.add(contaReceber);
+
+		outboxDeEventos.registrar(historicoContaService.registrarTransferencia(contaDepositar, valor, contaReceber));
+		contas.forEach(this::prepararResposta);
+		logger.info("Transferência de {} da conta ID {} para a conta ID {} realizada com sucesso.", valor, contaIdDepositar, contaIdReceber);
+
+		return contas;
+	}
+
+	// Aplica de uma vez os depósitos enfileirados para a mesma conta: um UPDATE de saldo e um saveAll de histórico
+	@RetentativaOtimista
+	@Transactional
+	public Conta depositarEmLote(Integer id, List<Dinheiro> valores) {
+		Conta conta = buscarContaParaAtualizacao(id);
+		Dinheiro total = Dinheiro.ZERO;
+		for (Dinheiro valor : valores) {
+			total = total.somar(valor);
+		}
+		conta.setSaldo(conta.getSaldo().somar(total));
+		outboxDeEventos.registrar(historicoContaService.registrarDepositos(conta, valores));
+		logger.debug("{} depósitos aplicados em lote na conta ID {}. Novo saldo: {}", valores.size(), id, conta.getSaldo());
+		return prepararResposta(contaRepository.save(conta));
+	}
+
+	private Conta buscarContaParaAtualizacao(Integer id) {
+		if (modoConcorrencia == ModoConcorrencia.PESSIMISTA) {
+			return contaRepository.findByIdParaAtualizacao(id)
+					.orElseThrow(() -> new ContaInexistenteException("Esta conta não existe!"));
+		}
+		return contaRepository.findById(id)
+				.orElseThrow(() -> new ContaInexistenteException("Esta conta não existe!"));
+	}
+
+	private Conta exigirConta(Conta conta) {
+		if (conta == null) {
+			throw new ContaInexistenteException("Esta conta não existe!");
+		}
+		return conta;
+	}
+
+	// A resposta HTTP é montada fora desta transação (às vezes em outra thread), então o cliente já sai carregado
+	private Conta prepararResposta(Conta conta) {
+		Hibernate.initialize(conta.getCliente());
+		return conta;
+	}
+}
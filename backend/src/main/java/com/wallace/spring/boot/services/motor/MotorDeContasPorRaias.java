@@ -0,0 +1,268 @@
+package com.wallace.spring.boot.services.motor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wallace.spring.boot.exceptions.SobrecargaException;
+import com.wallace.spring.boot.exceptions.ValorMenorQueZeroException;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Cada conta pertence a uma raia com uma única thread escritora
+@Primary
+@Component
+@ConditionalOnProperty(name = "conta.motor.tipo", havingValue = "RAIAS")
+public class MotorDeContasPorRaias implements MotorDeContas {
+
+	private static final Logger logger = LoggerFactory.getLogger(MotorDeContasPorRaias.class);
+
+	private final MotorDeContasPadrao motorPadrao;
+	private final List<Raia> raias;
+	private final long tempoMaximoEsperaMs;
+	private final Counter depositosAgrupados;
+
+	public MotorDeContasPorRaias(MotorDeContasPadrao motorPadrao, MeterRegistry meterRegistry,
+			@Value("${conta.motor.raias.quantidade:8}") int quantidade,
+			@Value("${conta.motor.raias.capacidade-fila:10000}") int capacidadeFila,
+			@Value("${conta.motor.raias.lote-maximo:256}") int loteMaximo,
+			@Value("${conta.motor.raias.tempo-maximo-espera-ms:5000}") long tempoMaximoEsperaMs) {
+		this.motorPadrao = motorPadrao;
+		this.tempoMaximoEsperaMs = tempoMaximoEsperaMs;
+		this.depositosAgrupados = meterRegistry.counter("contas.motor.raias.depositos-agrupados");
+		this.raias = new ArrayList<>(quantidade);
+		for (int i = 0; i < quantidade; i++) {
+			Raia raia = new Raia(i, capacidadeFila, loteMaximo);
+			meterRegistry.gauge("contas.motor.raias.fila", Tags.of("raia", String.valueOf(i)), raia.fila,
+					BlockingQueue::size);
+			raias.add(raia);
+		}
+	}
+
+	@PostConstruct
+	public void iniciar() {
+		raias.forEach(Raia::iniciar);
+		logger.info("Motor de contas por raias iniciado com {} raias", raias.size());
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		raias.forEach(Raia::encerrar);
+	}
+
+	@Override
+	public Conta depositar(Dinheiro valor, Integer id) {
+		if (valor.signum() <= 0) {
+			throw new ValorMenorQueZeroException("O valor para depósito deve ser maior do que 0 ");
+		}
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return motorPadrao.depositar(valor, id);
+		}
+		Deposito deposito = new Deposito(id, valor, new CompletableFuture<>(), new AtomicBoolean());
+		raiaDa(id).enfileirar(deposito);
+		return aguardar(deposito, deposito.resultado());
+	}
+
+	@Override
+	public Conta sacar(Dinheiro valor, Integer id) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return motorPadrao.sacar(valor, id);
+		}
+		Tarefa<Conta> tarefa = new Tarefa<>(() -> motorPadrao.sacar(valor, id), new CompletableFuture<>(),
+				new AtomicBoolean());
+		raiaDa(id).enfileirar(tarefa);
+		return aguardar(tarefa, tarefa.resultado());
+	}
+
+	// A transferência roda na raia da conta de origem; o lado creditado é protegido pelo @Version
+	@Override
+	public List<Conta> transferir(Integer contaIdDepositar, Dinheiro valor, Integer contaIdReceber) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return motorPadrao.transferir(contaIdDepositar, valor, contaIdReceber);
+		}
+		Tarefa<List<Conta>> tarefa = new Tarefa<>(
+				() -> motorPadrao.transferir(contaIdDepositar, valor, contaIdReceber), new CompletableFuture<>(),
+				new AtomicBoolean());
+		raiaDa(contaIdDepositar).enfileirar(tarefa);
+		return aguardar(tarefa, tarefa.resultado());
+	}
+
+	private Raia raiaDa(Integer contaId) {
+		return raias.get(Math.floorMod(contaId.hashCode(), raias.size()));
+	}
+
+	private <T> T aguardar(Comando comando, CompletableFuture<T> resultado) {
+		try {
+			return resultado.get(tempoMaximoEsperaMs, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			throw causaDe(e);
+		} catch (TimeoutException e) {
+			if (comando.reivindicar()) {
+				throw new SobrecargaException("Tempo de espera esgotado na fila de operações da conta. A operação não foi executada; tente novamente.");
+			}
+			// a raia já começou a executar: o resultado é esperado até o fim para não responder 503 a uma
+			// operação que vai ser aplicada
+			return aguardarExecucao(resultado);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if (comando.reivindicar()) {
+				throw new SobrecargaException("Operação interrompida enquanto aguardava na fila da conta.");
+			}
+			return aguardarExecucao(resultado);
+		}
+	}
+
+	private <T> T aguardarExecucao(CompletableFuture<T> resultado) {
+		try {
+			return resultado.join();
+		} catch (CompletionException e) {
+			throw causaDe(e);
+		}
+	}
+
+	private RuntimeException causaDe(Exception e) {
+		if (e.getCause() instanceof RuntimeException causa) {
+			return causa;
+		}
+		return new IllegalStateException(e.getCause());
+	}
+
+	private interface Comando {
+
+		AtomicBoolean reivindicado();
+
+		default boolean reivindicar() {
+			return reivindicado().compareAndSet(false, true);
+		}
+	}
+
+	private record Deposito(Integer contaId, Dinheiro valor, CompletableFuture<Conta> resultado,
+			AtomicBoolean reivindicado) implements Comando {
+	}
+
+	private record Tarefa<T>(Supplier<T> operacao, CompletableFuture<T> resultado, AtomicBoolean reivindicado)
+			implements Comando {
+
+		void executar() {
+			try {
+				resultado.complete(operacao.get());
+			} catch (RuntimeException e) {
+				resultado.completeExceptionally(e);
+			}
+		}
+	}
+
+	private final class Raia implements Runnable {
+
+		private final BlockingQueue<Comando> fila;
+		private final int loteMaximo;
+		private final Thread thread;
+		private volatile boolean ativa = true;
+
+		Raia(int indice, int capacidadeFila, int loteMaximo) {
+			this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+			this.loteMaximo = loteMaximo;
+			this.thread = new Thread(this, "raia-conta-" + indice);
+			this.thread.setDaemon(true);
+		}
+
+		void iniciar() {
+			thread.start();
+		}
+
+		void encerrar() {
+			ativa = false;
+			try {
+				thread.join(tempoMaximoEsperaMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		void enfileirar(Comando comando) {
+			if (!ativa || !fila.offer(comando)) {
+				throw new SobrecargaException("A fila de operações desta conta está cheia. Tente novamente em instantes.");
+			}
+		}
+
+		@Override
+		public void run() {
+			List<Comando> lote = new ArrayList<>(loteMaximo);
+			while (ativa || !fila.isEmpty()) {
+				try {
+					Comando primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+					if (primeiro == null) {
+						continue;
+					}
+					lote.add(primeiro);
+					fila.drainTo(lote, loteMaximo - 1);
+					processar(lote);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (RuntimeException e) {
+					logger.error("Erro inesperado na raia {}", thread.getName(), e);
+				} finally {
+					lote.clear();
+				}
+			}
+		}
+
+		private void processar(List<Comando> lote) {
+			Map<Integer, List<Deposito>> depositosPendentes = new LinkedHashMap<>();
+			for (Comando comando : lote) {
+				if (!comando.reivindicar()) {
+					// quem esperava desistiu por tempo e já recebeu 503
+					continue;
+				}
+				if (comando instanceof Deposito deposito) {
+					depositosPendentes.computeIfAbsent(deposito.contaId(), id -> new ArrayList<>()).add(deposito);
+				} else if (comando instanceof Tarefa<?> tarefa) {
+					// Saques e transferências precisam enxergar os depósitos que chegaram antes deles
+					aplicarDepositos(depositosPendentes);
+					tarefa.executar();
+				}
+			}
+			aplicarDepositos(depositosPendentes);
+		}
+
+		private void aplicarDepositos(Map<Integer, List<Deposito>> depositosPendentes) {
+			for (Map.Entry<Integer, List<Deposito>> entrada : depositosPendentes.entrySet()) {
+				List<Deposito> depositos = entrada.getValue();
+				try {
+					Conta conta = motorPadrao.depositarEmLote(entrada.getKey(),
+							depositos.stream().map(Deposito::valor).toList());
+					depositosAgrupados.increment(depositos.size());
+					depositos.forEach(deposito -> deposito.resultado().complete(conta));
+				} catch (RuntimeException e) {
+					depositos.forEach(deposito -> deposito.resultado().completeExceptionally(e));
+				}
+			}
+			depositosPendentes.clear();
+		}
+	}
+}
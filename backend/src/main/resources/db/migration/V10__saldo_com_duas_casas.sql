@@ -0,0 +1,23 @@
+-- contas.saldo passa de DECIMAL(12,3) para DECIMAL(12,2), a escala de Dinheiro. Saldos com a terceira casa são
+-- arredondados aqui, uma única vez, com HALF_EVEN como Dinheiro.de (é o valor que a aplicação já exibia e o que
+-- LancamentosContabeis lançou na abertura), e cada ajuste fica registrado com o saldo anterior
+CREATE TABLE ajustes_arredondamento_saldo (
+    conta_id INTEGER NOT NULL,
+    saldo_anterior DECIMAL(12,3) NOT NULL,
+    saldo_ajustado DECIMAL(12,2) NOT NULL,
+    ajustado_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (conta_id)
+) ENGINE=InnoDB;
+
+INSERT INTO ajustes_arredondamento_saldo (conta_id, saldo_anterior, saldo_ajustado, ajustado_em)
+SELECT conta_id, saldo,
+       CASE WHEN ABS(MOD(saldo * 1000, 10)) = 5 AND MOD(TRUNCATE(saldo, 2) * 100, 2) = 0
+            THEN TRUNCATE(saldo, 2) ELSE ROUND(saldo, 2) END,
+       CURRENT_TIMESTAMP(6)
+FROM contas
+WHERE saldo <> TRUNCATE(saldo, 2);
+
+UPDATE contas c JOIN ajustes_arredondamento_saldo a ON a.conta_id = c.conta_id
+SET c.saldo = a.saldo_ajustado;
+
+ALTER TABLE contas MODIFY saldo DECIMAL(12,2);
@@ -0,0 +1,46 @@
+-- Esquema criado pelo ddl-auto antes das migrações. Bancos que já o têm entram no Flyway como esta versão
+-- (baseline-on-migrate) e recebem só as seguintes
+CREATE TABLE clientes (
+    cliente_id INTEGER NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(100) NOT NULL,
+    cpf VARCHAR(255),
+    PRIMARY KEY (cliente_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE contas (
+    cliente_id INTEGER NOT NULL,
+    conta_id INTEGER NOT NULL AUTO_INCREMENT,
+    saldo DECIMAL(12,3),
+    tipo_conta VARCHAR(31) NOT NULL,
+    PRIMARY KEY (conta_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE historico_conta (
+    id_recebedor INTEGER,
+    id_remetente INTEGER NOT NULL,
+    id_transacao INTEGER NOT NULL AUTO_INCREMENT,
+    valor DECIMAL(38,2) NOT NULL,
+    horario DATETIME(6) NOT NULL,
+    tipo_transacao ENUM ('DEPOSITO','SAQUE','TRANSFERENCIA') NOT NULL,
+    PRIMARY KEY (id_transacao)
+) ENGINE=InnoDB;
+
+CREATE TABLE users (
+    id INTEGER NOT NULL,
+    email VARCHAR(255),
+    nome VARCHAR(255),
+    senha VARCHAR(255),
+    sobrenome VARCHAR(255),
+    role ENUM ('ADMIN','USER'),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO users_seq VALUES (1);
+
+ALTER TABLE contas ADD CONSTRAINT FKe46s8q5k8d3r3h8x1vs19nl82 FOREIGN KEY (cliente_id) REFERENCES clientes (cliente_id);
+ALTER TABLE historico_conta ADD CONSTRAINT FK20tqg0n5tvol2j3u8k5w7057s FOREIGN KEY (id_remetente) REFERENCES contas (conta_id);
+ALTER TABLE historico_conta ADD CONSTRAINT FKblote55tqbce1rqwfositsl0c FOREIGN KEY (id_recebedor) REFERENCES contas (conta_id);
@@ -0,0 +1,2 @@
+-- Bloqueio otimista das contas: as existentes começam na versão 0
+ALTER TABLE contas ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- A resposta guardada é o JSON devolvido à primeira chamada; uma transferência passa de 255 bytes
+CREATE TABLE idempotency_keys (
+    chave VARCHAR(64) NOT NULL,
+    impressao_digital VARCHAR(64) NOT NULL,
+    resposta MEDIUMTEXT,
+    criado_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (chave)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_idempotency_keys_criado_em ON idempotency_keys (criado_em);
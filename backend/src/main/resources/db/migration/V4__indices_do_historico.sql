@@ -0,0 +1,3 @@
+-- Um índice por ramo da consulta do histórico (UNION ALL de remetente e recebedor), na ordem da página
+CREATE INDEX idx_historico_remetente_horario ON historico_conta (id_remetente, horario, id_transacao);
+CREATE INDEX idx_historico_recebedor_horario ON historico_conta (id_recebedor, horario, id_transacao);
@@ -0,0 +1,13 @@
+CREATE TABLE refresh_tokens (
+    hash VARCHAR(64) NOT NULL,
+    familia VARCHAR(36) NOT NULL,
+    id_usuario INTEGER NOT NULL,
+    criado_em DATETIME(6) NOT NULL,
+    expira_em DATETIME(6) NOT NULL,
+    revogado BIT NOT NULL,
+    PRIMARY KEY (hash)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_refresh_tokens_familia ON refresh_tokens (familia);
+CREATE INDEX idx_refresh_tokens_expira_em ON refresh_tokens (expira_em);
+ALTER TABLE refresh_tokens ADD CONSTRAINT fk_refresh_tokens_usuario FOREIGN KEY (id_usuario) REFERENCES users (id);
@@ -0,0 +1,12 @@
+-- Sequências dos @TableGenerator. Cada uma começa TAMANHO_BLOCO (50) acima do maior id existente, como faz
+-- SequenciaDeIds.ajustarAoMaiorId na subida
+CREATE TABLE sequencias_ids (
+    entidade VARCHAR(255) NOT NULL,
+    ultimo_valor BIGINT,
+    PRIMARY KEY (entidade)
+) ENGINE=InnoDB;
+
+INSERT INTO sequencias_ids (entidade, ultimo_valor) SELECT 'clientes', COALESCE(MAX(cliente_id), 0) + 50 FROM clientes;
+INSERT INTO sequencias_ids (entidade, ultimo_valor) SELECT 'contas', COALESCE(MAX(conta_id), 0) + 50 FROM contas;
+INSERT INTO sequencias_ids (entidade, ultimo_valor) SELECT 'historico_conta', COALESCE(MAX(id_transacao), 0) + 50 FROM historico_conta;
+INSERT INTO sequencias_ids (entidade, ultimo_valor) SELECT 'users', COALESCE(MAX(id), 0) + 50 FROM users;
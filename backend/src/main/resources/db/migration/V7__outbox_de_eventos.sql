@@ -0,0 +1,15 @@
+CREATE TABLE outbox_eventos (
+    id_evento INTEGER NOT NULL,
+    conta_id INTEGER NOT NULL,
+    versao_conta BIGINT NOT NULL,
+    tipo ENUM ('DEPOSITO','SAQUE','TRANSFERENCIA_ENVIADA','TRANSFERENCIA_RECEBIDA') NOT NULL,
+    valor DECIMAL(38,2) NOT NULL,
+    contraparte_id INTEGER,
+    id_transacao INTEGER,
+    horario DATETIME(6) NOT NULL,
+    PRIMARY KEY (id_evento)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_outbox_conta_versao ON outbox_eventos (conta_id, versao_conta, id_evento);
+
+INSERT INTO sequencias_ids (entidade, ultimo_valor) VALUES ('outbox_eventos', 50);
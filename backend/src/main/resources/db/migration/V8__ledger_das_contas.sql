@@ -0,0 +1,14 @@
+-- As entradas já gravadas ficam sem sequência e contam como anteriores à sequência 1 (LedgerDeContas)
+ALTER TABLE contas ADD COLUMN sequencia_ledger BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE historico_conta ADD COLUMN seq_remetente BIGINT, ADD COLUMN seq_recebedor BIGINT;
+ALTER TABLE historico_conta ADD CONSTRAINT uk_historico_remetente_sequencia UNIQUE (id_remetente, seq_remetente);
+ALTER TABLE historico_conta ADD CONSTRAINT uk_historico_recebedor_sequencia UNIQUE (id_recebedor, seq_recebedor);
+
+CREATE TABLE snapshots_saldo (
+    conta_id INTEGER NOT NULL,
+    sequencia BIGINT NOT NULL,
+    saldo DECIMAL(12,2) NOT NULL,
+    atualizado_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (conta_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,26 @@
+-- As linhas de totais e os lançamentos de abertura das contas existentes são criados na subida por
+-- LancamentosContabeis, com a conta bloqueada
+CREATE TABLE lancamentos (
+    id_lancamento INTEGER NOT NULL,
+    id_transacao INTEGER NOT NULL,
+    conta_contabil ENUM ('CAIXA','COMPENSACAO','DEPOSITOS_CLIENTES') NOT NULL,
+    conta_id INTEGER,
+    natureza ENUM ('CREDITO','DEBITO') NOT NULL,
+    valor DECIMAL(12,2) NOT NULL,
+    horario DATETIME(6) NOT NULL,
+    PRIMARY KEY (id_lancamento)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_lancamentos_transacao ON lancamentos (id_transacao);
+CREATE INDEX idx_lancamentos_conta ON lancamentos (conta_contabil, conta_id, id_lancamento);
+
+CREATE TABLE totais_razao (
+    conta_contabil ENUM ('CAIXA','COMPENSACAO','DEPOSITOS_CLIENTES') NOT NULL,
+    chave BIGINT NOT NULL,
+    debitos DECIMAL(19,2) NOT NULL,
+    creditos DECIMAL(19,2) NOT NULL,
+    atualizado_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (chave, conta_contabil)
+) ENGINE=InnoDB;
+
+INSERT INTO sequencias_ids (entidade, ultimo_valor) VALUES ('lancamentos', 50);
@@ -0,0 +1,73 @@
+package com.wallace.spring.boot.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.wallace.spring.boot.config.security.Autorizacao;
+import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.model.entities.User;
+
+// Decisão de @PreAuthorize: authorities recriadas e busca linear contra a máscara de bits pré-calculada.
+// Execução: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.wallace.spring.boot.benchmark.AutorizacaoBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class AutorizacaoBenchmark {
+
+	private Autorizacao autorizacao;
+	private Authentication autenticacao;
+
+	@Setup
+	public void preparar() {
+		autorizacao = new Autorizacao();
+		User admin = User.builder().id(1).email("admin@email.com").roles(Role.ADMIN).build();
+		autenticacao = new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities());
+	}
+
+	@Benchmark
+	public boolean authoritiesRecriadas() {
+		User admin = (User) autenticacao.getPrincipal();
+		List<SimpleGrantedAuthority> authorities = admin.getRole().getPermissions().stream()
+				.map(permission -> new SimpleGrantedAuthority(permission.getPermission()))
+				.collect(Collectors.toList());
+		authorities.add(new SimpleGrantedAuthority("ROLE_" + admin.getRole().name()));
+		for (GrantedAuthority authority : authorities) {
+			if ("admin:delete".equals(authority.getAuthority())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Benchmark
+	public boolean mascaraDePermissoes() {
+		return autorizacao.possui(autenticacao, "admin:delete");
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AutorizacaoBenchmark.class.getSimpleName())
+				.addProfiler("gc").build()).run();
+	}
+}
@@ -0,0 +1,80 @@
+package com.wallace.spring.boot.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+// Compara o caminho de depósito + saque + transferência com BigDecimal (escala 3) e com Dinheiro.
+// Execução: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.wallace.spring.boot.benchmark.DinheiroBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class DinheiroBenchmark {
+
+	private BigDecimal saldoDecimal;
+	private BigDecimal valorDecimal;
+	private BigDecimal destinoDecimal;
+
+	private Dinheiro saldoDinheiro;
+	private Dinheiro valorDinheiro;
+	private Dinheiro destinoDinheiro;
+
+	@Setup
+	public void preparar() {
+		saldoDecimal = new BigDecimal("15234.750");
+		valorDecimal = new BigDecimal("150.750");
+		destinoDecimal = new BigDecimal("820.100");
+		saldoDinheiro = Dinheiro.de("15234.75");
+		valorDinheiro = Dinheiro.de("150.75");
+		destinoDinheiro = Dinheiro.de("820.10");
+	}
+
+	@Benchmark
+	public BigDecimal operacoesComBigDecimal() {
+		BigDecimal saldo = saldoDecimal.add(valorDecimal);
+		if (saldo.compareTo(valorDecimal) >= 0) {
+			saldo = saldo.subtract(valorDecimal);
+		}
+		if (saldo.compareTo(valorDecimal) >= 0) {
+			saldo = saldo.subtract(valorDecimal);
+			return destinoDecimal.add(valorDecimal).add(saldo);
+		}
+		return saldo;
+	}
+
+	@Benchmark
+	public Dinheiro operacoesComDinheiro() {
+		Dinheiro saldo = saldoDinheiro.somar(valorDinheiro);
+		if (!saldo.menorQue(valorDinheiro)) {
+			saldo = saldo.subtrair(valorDinheiro);
+		}
+		if (!saldo.menorQue(valorDinheiro)) {
+			saldo = saldo.subtrair(valorDinheiro);
+			return destinoDinheiro.somar(valorDinheiro).somar(saldo);
+		}
+		return saldo;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DinheiroBenchmark.class.getSimpleName())
+				.addProfiler("gc").build()).run();
+	}
+}
@@ -0,0 +1,144 @@
+package com.wallace.spring.boot.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+// Grava lotes de histórico com ids IDENTITY (um INSERT por linha) e com @TableGenerator (JDBC batch).
+// Contra um MySQL: -p url="jdbc:mysql://host/banco?user=...&password=...&rewriteBatchedStatements=true"
+// Execução: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.wallace.spring.boot.benchmark.HistoricoLoteBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoricoLoteBenchmark {
+
+	@Param({ "IDENTITY", "TABELA" })
+	private String geracaoDeIds;
+
+	@Param({ "500" })
+	private int tamanhoLote;
+
+	@Param({ "jdbc:h2:mem:historico;DB_CLOSE_DELAY=-1" })
+	private String url;
+
+	private SessionFactory sessionFactory;
+
+	@Setup
+	public void preparar() {
+		StandardServiceRegistry registro = new StandardServiceRegistryBuilder()
+				.applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+				.applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+				.applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+				.applySetting(AvailableSettings.ORDER_INSERTS, true)
+				.build();
+		Class<?> entidade = identity() ? RegistroIdentity.class : RegistroTabela.class;
+		sessionFactory = new MetadataSources(registro).addAnnotatedClass(entidade).buildMetadata()
+				.buildSessionFactory();
+	}
+
+	@TearDown
+	public void encerrar() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public void gravarLote() {
+		sessionFactory.inTransaction(sessao -> {
+			for (int i = 0; i < tamanhoLote; i++) {
+				Registro registro = identity() ? new RegistroIdentity() : new RegistroTabela();
+				registro.preencher(i);
+				sessao.persist(registro);
+			}
+		});
+	}
+
+	private boolean identity() {
+		return "IDENTITY".equals(geracaoDeIds);
+	}
+
+	@MappedSuperclass
+	public abstract static class Registro {
+
+		@Column(name = "tipo_transacao", nullable = false)
+		private String tipoDaTransacao;
+
+		@Column(name = "valor", nullable = false)
+		private BigDecimal valor;
+
+		@Column(name = "horario", nullable = false)
+		private LocalDateTime horarioTransacao;
+
+		@Column(name = "id_remetente", nullable = false)
+		private Integer idRemetente;
+
+		@Column(name = "id_recebedor")
+		private Integer idRecebedor;
+
+		void preencher(int i) {
+			tipoDaTransacao = "TRANSFERENCIA";
+			valor = BigDecimal.valueOf(1000 + i, 2);
+			horarioTransacao = LocalDateTime.now();
+			idRemetente = i % 100;
+			idRecebedor = (i + 1) % 100;
+		}
+	}
+
+	@Entity
+	@Table(name = "historico_identity")
+	public static class RegistroIdentity extends Registro {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		@Column(name = "id_transacao")
+		private Integer id;
+	}
+
+	@Entity
+	@Table(name = "historico_tabela")
+	public static class RegistroTabela extends Registro {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_historico")
+		@TableGenerator(name = "ids_historico", table = "sequencias_ids", pkColumnName = "entidade",
+				valueColumnName = "ultimo_valor", pkColumnValue = "historico_conta", allocationSize = 50)
+		@Column(name = "id_transacao")
+		private Integer id;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(HistoricoLoteBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,92 @@
+package com.wallace.spring.boot.benchmark;
+
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.model.entities.User;
+import com.wallace.spring.boot.services.JwtService;
+import com.wallace.spring.boot.services.autenticacao.ChaveiroJwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+// Autenticação de uma requisição: extractUserEmail + isTokenValid contra um único JwtService.parse.
+// Execução: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.wallace.spring.boot.benchmark.JwtAutenticacaoBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAutenticacaoBenchmark {
+
+	private static final String SEGREDO = "b2IhY0J5c3RvU0VjdXJpdHlLZXlVbHRyYVNlZ3VyYSE=";
+
+	private JwtService jwtService;
+	private String token;
+	private String tokenHs256;
+	private String email;
+
+	@Setup
+	public void preparar() throws Exception {
+		ChaveiroJwt chaveiro = new ChaveiroJwt("RS256", Files.createTempDirectory("chaves-jwt").toString(), 86400000L,
+				30, 900000L, List.of(), 30000L);
+		jwtService = new JwtService(chaveiro, 900000L);
+		User usuario = User.builder().id(1).username("Maria").email("maria@email.com").password("hash")
+				.roles(Role.USER).build();
+		token = jwtService.generateToken(usuario);
+		email = usuario.getEmail();
+		tokenHs256 = Jwts.builder().setSubject(email).setExpiration(new Date(System.currentTimeMillis() + 900000L))
+				.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SEGREDO)), SignatureAlgorithm.HS256).compact();
+	}
+
+	@Benchmark
+	public boolean fluxoAnterior() {
+		String assunto = claimsComChaveRecriada(tokenHs256).getSubject();
+		if (assunto == null) {
+			return false;
+		}
+		String assuntoValidado = claimsComChaveRecriada(tokenHs256).getSubject();
+		Date expiracao = claimsComChaveRecriada(tokenHs256).getExpiration();
+		return assuntoValidado.equals(email) && !expiracao.before(new Date());
+	}
+
+	// Verificação RS256 com a chave pública do chaveiro: mais cara que um HMAC, mas sem segredo compartilhado
+	@Benchmark
+	public Claims parseUnico() {
+		return jwtService.parse(token);
+	}
+
+	private static Claims claimsComChaveRecriada(String token) {
+		return Jwts.parserBuilder()
+				.setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SEGREDO)))
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JwtAutenticacaoBenchmark.class.getSimpleName())
+				.addProfiler("gc").build()).run();
+	}
+}
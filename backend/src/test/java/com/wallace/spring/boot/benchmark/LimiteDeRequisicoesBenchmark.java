@@ -0,0 +1,65 @@
+package com.wallace.spring.boot.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.wallace.spring.boot.services.limite.ArmazenamentoDeLimitesEmMemoria;
+import com.wallace.spring.boot.services.limite.PoliticaDeLimite;
+
+// Decisão de limite com uma thread por núcleo, numa chave disputada e em chaves espalhadas.
+// Execução: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.wallace.spring.boot.benchmark.LimiteDeRequisicoesBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class LimiteDeRequisicoesBenchmark {
+
+	private static final int QUANTIDADE_DE_IPS = 10_000;
+
+	private ArmazenamentoDeLimitesEmMemoria armazenamento;
+	private PoliticaDeLimite politica;
+	private String[] ips;
+
+	@Setup
+	public void preparar() {
+		armazenamento = new ArmazenamentoDeLimitesEmMemoria(100_000, Duration.ofMinutes(10), System::nanoTime);
+		politica = new PoliticaDeLimite("benchmark", 1_000_000, Duration.ofSeconds(1));
+		ips = new String[QUANTIDADE_DE_IPS];
+		for (int i = 0; i < QUANTIDADE_DE_IPS; i++) {
+			ips[i] = "10.0." + (i / 256) + "." + (i % 256);
+		}
+	}
+
+	@Benchmark
+	public long chaveDisputada() {
+		return armazenamento.consumir("usuario:maria@email.com", politica);
+	}
+
+	@Benchmark
+	public long chavesEspalhadas() {
+		return armazenamento.consumir(ips[ThreadLocalRandom.current().nextInt(QUANTIDADE_DE_IPS)], politica);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(LimiteDeRequisicoesBenchmark.class.getSimpleName()).build()).run();
+	}
+}
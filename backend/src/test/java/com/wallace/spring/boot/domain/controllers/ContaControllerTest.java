@@ -1,18 +1,30 @@
 package com.wallace.spring.boot.domain.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,15 +34,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wallace.spring.boot.controller.ContaController;
 import com.wallace.spring.boot.controller.GlobalExceptionHandler;
 import com.wallace.spring.boot.dto.ContaRequestDTO;
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.dto.HistoricoContaResponseDTO;
 import com.wallace.spring.boot.dto.OperacaoRequestDTO;
+import com.wallace.spring.boot.dto.PaginacaoResponseDTO;
+import com.wallace.spring.boot.dto.ResultadoTransferenciaDTO;
+import com.wallace.spring.boot.dto.TransferenciaLoteRequestDTO;
+import com.wallace.spring.boot.dto.TransferenciaLoteResponseDTO;
 import com.wallace.spring.boot.dto.TransferenciaRequestDTO;
+import com.wallace.spring.boot.enums.FormatoExportacao;
 import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.exceptions.ChaveIdempotenciaReutilizadaException;
 import com.wallace.spring.boot.exceptions.ClienteNaoEncontradoException;
 import com.wallace.spring.boot.exceptions.ContaInexistenteException;
 import com.wallace.spring.boot.exceptions.DataInvalidaException;
@@ -42,9 +63,13 @@ import com.wallace.spring.boot.model.entities.Conta;
 import com.wallace.spring.boot.model.entities.ContaCorrente;
 import com.wallace.spring.boot.model.entities.ContaPoupanca;
 import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 import com.wallace.spring.boot.services.ClienteService;
 import com.wallace.spring.boot.services.ContaService;
 import com.wallace.spring.boot.services.HistoricoContaService;
+import com.wallace.spring.boot.services.TransferenciaLoteService;
+import com.wallace.spring.boot.services.historico.ExportacaoHistoricoService;
+import com.wallace.spring.boot.services.idempotencia.IdempotenciaService;
 
 @ExtendWith(MockitoExtension.class)
 public class ContaControllerTest {
@@ -58,6 +83,15 @@ public class ContaControllerTest {
 	@Mock
 	private HistoricoContaService historicoContaService;
 
+	@Mock
+	private TransferenciaLoteService transferenciaLoteService;
+
+	@Mock
+	private IdempotenciaService idempotenciaService;
+
+	@Mock
+	private ExportacaoHistoricoService exportacaoHistoricoService;
+
 	@InjectMocks
 	private ContaController contaController;
 
@@ -77,6 +111,8 @@ public class ContaControllerTest {
 	void setup() {
 		mockMvc = MockMvcBuilders.standaloneSetup(contaController).setControllerAdvice(new GlobalExceptionHandler())
 				.build();
+		lenient().when(idempotenciaService.executar(any(), any(), any(), any(), any()))
+				.thenAnswer(invocacao -> invocacao.<Supplier<?>>getArgument(4).get());
 
 		String cpf = "123.456.789-00";
 		cliente = new Cliente("Wallace", cpf);
@@ -84,12 +120,12 @@ public class ContaControllerTest {
 
 		contaCorrente = new ContaCorrente();
 		contaCorrente.setId(1);
-		contaCorrente.setSaldo(new BigDecimal("1000.00"));
+		contaCorrente.setSaldo(Dinheiro.de("1000.00"));
 		contaCorrente.setCliente(cliente);
 
 		contaPoupanca = new ContaPoupanca();
 		contaPoupanca.setId(2);
-		contaPoupanca.setSaldo(new BigDecimal("2000.00"));
+		contaPoupanca.setSaldo(Dinheiro.de("2000.00"));
 		contaPoupanca.setCliente(cliente);
 
 		mapper = new ObjectMapper();
@@ -122,8 +158,8 @@ public class ContaControllerTest {
 
 	@Test
 	void deveSimularDeposito() throws Exception {
-		OperacaoRequestDTO operacaoRequestDTO = new OperacaoRequestDTO(new BigDecimal(100), 1);
-		contaCorrente.setSaldo(new BigDecimal(1100));
+		OperacaoRequestDTO operacaoRequestDTO = new OperacaoRequestDTO(Dinheiro.deReais(100), 1);
+		contaCorrente.setSaldo(Dinheiro.deReais(1100));
 
 		when(contaService.depositar(operacaoRequestDTO.valor(), operacaoRequestDTO.contaId()))
 				.thenReturn(contaCorrente);
@@ -135,8 +171,8 @@ public class ContaControllerTest {
 
 	@Test
 	void deveSimularSaque() throws Exception {
-		OperacaoRequestDTO operacaoRequestDTO = new OperacaoRequestDTO(new BigDecimal(100), 1);
-		contaCorrente.setSaldo(new BigDecimal(900));
+		OperacaoRequestDTO operacaoRequestDTO = new OperacaoRequestDTO(Dinheiro.deReais(100), 1);
+		contaCorrente.setSaldo(Dinheiro.deReais(900));
 
 		when(contaService.sacar(operacaoRequestDTO.valor(), operacaoRequestDTO.contaId())).thenReturn(contaCorrente);
 
@@ -147,7 +183,7 @@ public class ContaControllerTest {
 
 	@Test
 	void deveSimularTransferencia() throws Exception {
-		TransferenciaRequestDTO dto = new TransferenciaRequestDTO(1, 2, new BigDecimal(100));
+		TransferenciaRequestDTO dto = new TransferenciaRequestDTO(1, 2, Dinheiro.deReais(100));
 		List<Conta> contas = Arrays.asList(contaCorrente, contaPoupanca);
 
 		when(contaService.transferir(dto.contaIdDepositar(), dto.valor(), dto.contaIdReceber())).thenReturn(contas);
@@ -161,27 +197,35 @@ public class ContaControllerTest {
 	@Test
 	void deveSimularRendimento() throws Exception {
 		LocalDate dataPrevista = LocalDate.now().plusMonths(2);
-		BigDecimal valorEsperado = contaPoupanca.getSaldo().multiply(TAXA_PARA_TESTE).multiply(new BigDecimal(2));
+		Dinheiro valorEsperado = contaPoupanca.getSaldo().multiplicar(TAXA_PARA_TESTE.multiply(BigDecimal.valueOf(2)));
 
 		when(contaService.simularRendimento(dataPrevista, contaCorrente.getId())).thenReturn(valorEsperado);
 
 		mockMvc.perform(get("/contas/{id}/simulacao-rendimento?data={data}", contaCorrente.getId(), dataPrevista))
-				.andExpect(status().isOk()).andExpect(jsonPath("$.valor").value(valorEsperado.doubleValue()));
+				.andExpect(status().isOk()).andExpect(jsonPath("$.valor").value(valorEsperado.paraBigDecimal().doubleValue()));
 	}
 
 	@Test
 	void deveMostrarOHistoricoDaConta() throws Exception {
-		BigDecimal valor = new BigDecimal(500);
+		Dinheiro valor = Dinheiro.deReais(500);
 		List<HistoricoConta> historico = Arrays.asList(
 				new HistoricoConta(TipoTransacao.DEPOSITO, valor, contaPoupanca, contaCorrente),
 				new HistoricoConta(TipoTransacao.SAQUE, valor, contaCorrente, contaPoupanca));
 
-		when(historicoContaService.mostrarRegistrosTransacoes(contaCorrente.getId())).thenReturn(historico);
+		PaginacaoResponseDTO<HistoricoContaResponseDTO> pagina = new PaginacaoResponseDTO<>(
+				historico.stream().map(HistoricoContaResponseDTO::new).toList(), 1, 20, null, null, "cursor-seguinte");
+
+		when(historicoContaService.buscarHistorico(contaCorrente.getId(),
+				new FiltroHistoricoDTO(null, null, TipoTransacao.DEPOSITO), null, 20, false)).thenReturn(pagina);
 
-		mockMvc.perform(get("/contas/{id}/historico", contaCorrente.getId())).andExpect(status().isOk())
-				.andExpect(jsonPath("$[0].tipoDaTransacao").value("DEPOSITO"))
-				.andExpect(jsonPath("$[0].valor").value(500))
-				.andExpect(jsonPath("$[1].tipoDaTransacao").value("SAQUE"));
+		mockMvc.perform(get("/contas/{id}/historico", contaCorrente.getId()).param("tipo", "DEPOSITO"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data[0].tipoDaTransacao").value("DEPOSITO"))
+				.andExpect(jsonPath("$.data[0].valor").value(500))
+				.andExpect(jsonPath("$.data[1].tipoDaTransacao").value("SAQUE"))
+				.andExpect(jsonPath("$.currentPage").value(1))
+				.andExpect(jsonPath("$.itemsPerPage").value(20))
+				.andExpect(jsonPath("$.nextCursor").value("cursor-seguinte"));
 	}
 
 	@Test
@@ -211,7 +255,7 @@ public class ContaControllerTest {
 
 	@Test
 	void deveRetornar404AoTentarDepositarEmContaInexistente() throws Exception {
-		BigDecimal valor = new BigDecimal(100);
+		Dinheiro valor = Dinheiro.deReais(100);
 		OperacaoRequestDTO dto = new OperacaoRequestDTO(valor, id);
 
 		when(contaService.depositar(dto.valor(), dto.contaId()))
@@ -225,7 +269,7 @@ public class ContaControllerTest {
 
 	@Test
 	void deveRetornar400AoTentarSacarValorMaiorQueSaldo() throws Exception {
-		BigDecimal valor = new BigDecimal(10000);
+		Dinheiro valor = Dinheiro.deReais(10000);
 		OperacaoRequestDTO dto = new OperacaoRequestDTO(valor, id);
 
 		when(contaService.sacar(valor, dto.contaId())).thenThrow(new SaldoInsuficienteException("Saldo Insuficiente"));
@@ -238,7 +282,7 @@ public class ContaControllerTest {
 
 	@Test
 	void deveRetornar404AoTentarTransferirParaContaInexistente() throws Exception {
-		BigDecimal valor = new BigDecimal(100);
+		Dinheiro valor = Dinheiro.deReais(100);
 		TransferenciaRequestDTO dto = new TransferenciaRequestDTO(contaCorrente.getId(), contaPoupanca.getId(), valor);
 
 		when(contaService.transferir(dto.contaIdDepositar(), dto.valor(), dto.contaIdReceber()))
@@ -252,7 +296,7 @@ public class ContaControllerTest {
 
 	@Test
 	void deveRetornar400AoTentarTransferirValorNegativoOuZero() throws Exception {
-		BigDecimal valor = new BigDecimal(-10);
+		Dinheiro valor = Dinheiro.deReais(-10);
 		TransferenciaRequestDTO dto = new TransferenciaRequestDTO(contaCorrente.getId(), contaPoupanca.getId(), valor);
 
 		when(contaService.transferir(dto.contaIdDepositar(), dto.valor(), dto.contaIdReceber()))
@@ -264,6 +308,36 @@ public class ContaControllerTest {
 				.andExpect(jsonPath("$.timestamp").exists()).andExpect(jsonPath("$.details").exists());
 	}
 
+	@Test
+	void deveProcessarTransferenciasEmLote() throws Exception {
+		TransferenciaRequestDTO valida = new TransferenciaRequestDTO(1, 2, Dinheiro.de("10.00"));
+		TransferenciaRequestDTO semSaldo = new TransferenciaRequestDTO(2, 1, Dinheiro.de("9999.00"));
+		TransferenciaLoteRequestDTO dto = new TransferenciaLoteRequestDTO(List.of(valida, semSaldo));
+		TransferenciaLoteResponseDTO resposta = new TransferenciaLoteResponseDTO(2, 1, 1,
+				List.of(ResultadoTransferenciaDTO.sucesso(0, valida), ResultadoTransferenciaDTO.falha(1, semSaldo,
+						"Saldo insuficiente na conta para realizar a transferência")));
+
+		when(transferenciaLoteService.transferirEmLote(dto.transferencias())).thenReturn(resposta);
+
+		mockMvc.perform(post("/contas/transferencias/lote").contentType(APPLICATION_JSON)
+				.content(mapper.writeValueAsString(dto))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.sucessos").value(1)).andExpect(jsonPath("$.falhas").value(1))
+				.andExpect(jsonPath("$.resultados[0].sucesso").value(true))
+				.andExpect(jsonPath("$.resultados[1].mensagem")
+						.value("Saldo insuficiente na conta para realizar a transferência"));
+	}
+
+	@Test
+	void deveRetornar422AoReutilizarIdempotencyKeyComOutraRequisicao() throws Exception {
+		OperacaoRequestDTO dto = new OperacaoRequestDTO(Dinheiro.de("50.00"), id);
+		doThrow(new ChaveIdempotenciaReutilizadaException("Esta Idempotency-Key já foi utilizada com uma requisição diferente."))
+				.when(idempotenciaService).executar(any(), any(), any(), any(), any());
+
+		mockMvc.perform(put("/contas/1/deposito").header("Idempotency-Key", "pedido-123").contentType(APPLICATION_JSON)
+				.content(mapper.writeValueAsString(dto))).andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.message").value("Esta Idempotency-Key já foi utilizada com uma requisição diferente."));
+	}
+
 	@Test
 	void deveRetornar400AoSimularRendimentoComDataNoPassado() throws Exception {
 		LocalDate dataPassada = LocalDate.now().minusYears(1);
@@ -293,7 +367,7 @@ public class ContaControllerTest {
 	void deveRetornar404AoBuscarHistoricoDeContaInexistente() throws Exception {
 	    Integer idInexistente = 3;
 
-	    when(historicoContaService.mostrarRegistrosTransacoes(idInexistente))
+	    when(historicoContaService.buscarHistorico(idInexistente, new FiltroHistoricoDTO(null, null, null), null, 20, false))
 	            .thenThrow(new ContaInexistenteException("Conta inexistente"));
 
 	    mockMvc.perform(get("/contas/{id}/historico", idInexistente)
@@ -303,4 +377,48 @@ public class ContaControllerTest {
 	            .andExpect(jsonPath("$.timestamp").exists())
 	            .andExpect(jsonPath("$.details").exists());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void deveExportarHistoricoEmCsv() throws Exception {
+		FiltroHistoricoDTO filtro = new FiltroHistoricoDTO(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null);
+		doAnswer(invocacao -> {
+			invocacao.<OutputStream>getArgument(3).write("id,tipo\n1,DEPOSITO\n".getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).when(exportacaoHistoricoService).exportar(eq(contaCorrente.getId()), eq(filtro), eq(FormatoExportacao.CSV),
+				any());
+
+		MvcResult resultado = mockMvc.perform(get("/contas/{id}/historico/export", contaCorrente.getId())
+				.param("format", "csv").param("from", "2025-01-01").param("to", "2025-01-31"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk())
+				.andExpect(content().contentType("text/csv;charset=UTF-8"))
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"extrato-conta-1.csv\""))
+				.andExpect(content().string("id,tipo\n1,DEPOSITO\n"));
+	}
+
+	@Test
+	void deveRetornar400AoDepositarValorComMaisDeDuasCasasDecimais() throws Exception {
+		mockMvc.perform(put("/contas/1/deposito").contentType(APPLICATION_JSON)
+				.content("{\"valor\":10.005,\"contaId\":1}")).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("O valor 10.005 tem mais de 2 casas decimais"));
+		verifyNoInteractions(contaService);
+	}
+
+	@Test
+	void deveRetornar400AoExportarHistoricoEmFormatoInvalido() throws Exception {
+		mockMvc.perform(get("/contas/{id}/historico/export", contaCorrente.getId()).param("format", "xml"))
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").exists());
+	}
+
+	@Test
+	void deveRetornar404AoExportarHistoricoDeContaInexistente() throws Exception {
+		Integer idInexistente = 3;
+		doAnswer(invocacao -> {
+			throw new ContaInexistenteException("Conta inexistente");
+		}).when(exportacaoHistoricoService).validarConta(idInexistente);
+
+		mockMvc.perform(get("/contas/{id}/historico/export", idInexistente).param("format", "ndjson"))
+				.andExpect(status().isNotFound()).andExpect(jsonPath("$.message").value("Conta inexistente"));
+	}
+}
@@ -0,0 +1,63 @@
+package com.wallace.spring.boot.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.wallace.spring.boot.model.repository.BlocosDeIds;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+
+public class BlocosDeIdsTest {
+
+	private final SequenciaDeIds sequenciaDeIds = mock(SequenciaDeIds.class);
+
+	@Test
+	void deveReservarOBlocoSeguinteAntesDeEsgotarOAtual() {
+		when(sequenciaDeIds.reservar(SequenciaDeIds.LANCAMENTOS, 4)).thenReturn(1, 101);
+		BlocosDeIds ids = new BlocosDeIds(sequenciaDeIds, SequenciaDeIds.LANCAMENTOS, 4);
+
+		assertEquals(1, ids.proximo());
+		assertEquals(2, ids.proximo());
+		// metade do bloco usada: a reserva seguinte já foi pedida, fora de quem pede o id
+		verify(sequenciaDeIds, timeout(1000).times(2)).reservar(SequenciaDeIds.LANCAMENTOS, 4);
+		assertEquals(3, ids.proximo());
+		assertEquals(4, ids.proximo());
+		assertEquals(101, ids.proximo());
+	}
+
+	@Test
+	void deveReservarNumaThreadPropria() {
+		AtomicReference<Thread> reservou = new AtomicReference<>();
+		when(sequenciaDeIds.reservar(SequenciaDeIds.HISTORICO_CONTA, 10)).thenAnswer(chamada -> {
+			reservou.set(Thread.currentThread());
+			return 1;
+		});
+		BlocosDeIds ids = new BlocosDeIds(sequenciaDeIds, SequenciaDeIds.HISTORICO_CONTA, 10);
+
+		ids.antecipar();
+		assertEquals(1, ids.proximo());
+
+		verify(sequenciaDeIds, times(1)).reservar(SequenciaDeIds.HISTORICO_CONTA, 10);
+		assertNotSame(Thread.currentThread(), reservou.get());
+	}
+
+	@Test
+	void devePropagarAFalhaDaReserva() {
+		when(sequenciaDeIds.reservar(SequenciaDeIds.LANCAMENTOS, 10))
+				.thenThrow(new IllegalStateException("sem conexão"))
+				.thenReturn(1);
+		BlocosDeIds ids = new BlocosDeIds(sequenciaDeIds, SequenciaDeIds.LANCAMENTOS, 10);
+
+		assertThrows(IllegalStateException.class, ids::proximo);
+		assertEquals(1, ids.proximo());
+	}
+}
@@ -0,0 +1,58 @@
+package com.wallace.spring.boot.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.wallace.spring.boot.model.entities.ChaveIdempotencia;
+import com.wallace.spring.boot.model.repository.ChaveIdempotenciaRepository;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+public class ChaveIdempotenciaRepositoryTest {
+
+	@Autowired
+	private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void deveReservarAChaveSemRespostaEPreencherDepois() {
+		chaveIdempotenciaRepository.reservar("chave-1", "impressao", LocalDateTime.now());
+		entityManager.clear();
+		assertNull(chaveIdempotenciaRepository.findById("chave-1").orElseThrow().getResposta());
+
+		chaveIdempotenciaRepository.registrarResposta("chave-1", "{\"saldo\":10}");
+		entityManager.clear();
+
+		ChaveIdempotencia registro = chaveIdempotenciaRepository.findById("chave-1").orElseThrow();
+		assertEquals("impressao", registro.getImpressaoDigital());
+		assertEquals("{\"saldo\":10}", registro.getResposta());
+	}
+
+	@Test
+	void deveRecusarASegundaReservaDaMesmaChave() {
+		chaveIdempotenciaRepository.reservar("chave-1", "impressao", LocalDateTime.now());
+
+		assertThrows(DataIntegrityViolationException.class,
+				() -> chaveIdempotenciaRepository.reservar("chave-1", "outra", LocalDateTime.now()));
+	}
+
+	@Test
+	void deveRemoverApenasAChaveExpirada() {
+		LocalDateTime agora = LocalDateTime.now();
+		chaveIdempotenciaRepository.reservar("chave-1", "impressao", agora.minusDays(2));
+		chaveIdempotenciaRepository.reservar("chave-2", "impressao", agora);
+
+		assertEquals(1, chaveIdempotenciaRepository.removerExpirada("chave-1", agora.minusDays(1)));
+		assertEquals(0, chaveIdempotenciaRepository.removerExpirada("chave-2", agora.minusDays(1)));
+	}
+}
@@ -0,0 +1,197 @@
+package com.wallace.spring.boot.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import jakarta.persistence.Query;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.entities.Cliente;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.ContaCorrente;
+import com.wallace.spring.boot.model.entities.ContaPoupanca;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
+import com.wallace.spring.boot.model.repository.ConsultaHistoricoConta;
+import com.wallace.spring.boot.model.repository.HistoricoContaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+@DataJpaTest(properties = { "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+public class HistoricoContaRepositoryTest {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private HistoricoContaRepository historicoContaRepository;
+
+	private Conta contaMaria;
+	private Conta contaJoao;
+
+	@BeforeEach
+	void setUp() {
+		contaMaria = criarConta(new ContaCorrente(), "Maria Silva", "52998224725");
+		contaJoao = criarConta(new ContaPoupanca(), "João Souza", "11144477735");
+
+		LocalDateTime horario = LocalDateTime.of(2025, 3, 10, 14, 30);
+		for (int i = 0; i < 60; i++) {
+			HistoricoConta registro = i % 2 == 0
+					? new HistoricoConta(TipoTransacao.TRANSFERENCIA, Dinheiro.deReais(10), contaMaria, contaJoao)
+					: new HistoricoConta(TipoTransacao.DEPOSITO, Dinheiro.deReais(5), contaMaria, null);
+			registro.setHorarioTransacao(horario.minusMinutes(i));
+			entityManager.persist(registro);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		estatisticas().clear();
+	}
+
+	@Test
+	void deveBuscarQualquerTamanhoDePaginaComUmUnicoSelect() {
+		for (int tamanho : new int[] { 1, 10, 50 }) {
+			estatisticas().clear();
+
+			List<HistoricoContaProjecao> pagina = historicoContaRepository.buscarPagina(contaMaria.getId(), null,
+					null, null, null, null, Limit.of(tamanho));
+
+			assertEquals(tamanho, pagina.size());
+			assertEquals(1, estatisticas().getPrepareStatementCount(), "páginas de " + tamanho + " itens");
+			assertEquals(0, estatisticas().getEntityLoadCount());
+		}
+	}
+
+	@Test
+	void deveTrazerOsNomesDoRemetenteEDoRecebedor() {
+		List<HistoricoContaProjecao> pagina = historicoContaRepository.buscarPagina(contaJoao.getId(), null, null,
+				null, null, null, Limit.of(2));
+
+		HistoricoContaProjecao primeiro = pagina.get(0);
+		assertEquals(TipoTransacao.TRANSFERENCIA, primeiro.tipoDaTransacao());
+		assertEquals(Dinheiro.deReais(10), primeiro.valor());
+		assertEquals("Maria Silva", primeiro.nomeRemetente());
+		assertEquals("João Souza", primeiro.nomeRecebedor());
+	}
+
+	@Test
+	void deveIncluirRegistrosSemRecebedorEContinuarAPartirDoCursor() {
+		List<HistoricoContaProjecao> primeira = historicoContaRepository.buscarPagina(contaMaria.getId(),
+				TipoTransacao.DEPOSITO, null, null, null, null, Limit.of(3));
+		HistoricoContaProjecao ultimo = primeira.get(2);
+
+		List<HistoricoContaProjecao> segunda = historicoContaRepository.buscarPagina(contaMaria.getId(),
+				TipoTransacao.DEPOSITO, null, null, ultimo.horario(), ultimo.id(), Limit.of(3));
+
+		assertNull(primeira.get(0).nomeRecebedor());
+		assertEquals(3, segunda.size());
+		assertEquals(ultimo.horario().minusMinutes(2), segunda.get(0).horario());
+		assertEquals(30, historicoContaRepository.contar(contaMaria.getId(), TipoTransacao.DEPOSITO, null, null));
+	}
+
+	@Test
+	void deveNaoRepetirTransferenciasParaAPropriaConta() {
+		HistoricoConta paraSiMesma = new HistoricoConta(TipoTransacao.TRANSFERENCIA, Dinheiro.deReais(1), contaJoao,
+				contaJoao);
+		entityManager.persistAndFlush(paraSiMesma);
+
+		List<HistoricoContaProjecao> pagina = historicoContaRepository.buscarPagina(contaJoao.getId(), null, null,
+				null, null, null, Limit.of(100));
+
+		assertEquals(31, pagina.size());
+		assertEquals(1, pagina.stream().filter(registro -> registro.id().equals(paraSiMesma.getId())).count());
+		assertEquals(31, historicoContaRepository.contar(contaJoao.getId(), null, null, null));
+	}
+
+	@Test
+	void deveCriarOsIndicesCompostosDoHistorico() {
+		assertEquals(List.of("ID_REMETENTE", "HORARIO", "ID_TRANSACAO"),
+				colunasDoIndice("IDX_HISTORICO_REMETENTE_HORARIO"));
+		assertEquals(List.of("ID_RECEBEDOR", "HORARIO", "ID_TRANSACAO"),
+				colunasDoIndice("IDX_HISTORICO_RECEBEDOR_HORARIO"));
+	}
+
+	@Test
+	void deveUsarUmIndicePorRamoNoPlanoDaConsulta() {
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(contaMaria.getId(), TipoTransacao.TRANSFERENCIA,
+				null, null).aPartirDe(LocalDateTime.of(2025, 3, 10, 14, 0), 1000);
+
+		String plano = explicar(consulta.sqlPagina(20), consulta).toUpperCase();
+
+		assertTrue(plano.contains("IDX_HISTORICO_REMETENTE_HORARIO"), plano);
+		assertTrue(plano.contains("IDX_HISTORICO_RECEBEDOR_HORARIO"), plano);
+	}
+
+	@Test
+	void deveExportarCadaRamoPeloProprioIndice() {
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(contaMaria.getId(), null, null, null);
+
+		String remetente = explicar(consulta.sqlExportacaoRemetente(), consulta).toUpperCase();
+		String recebedor = explicar(consulta.sqlExportacaoRecebedor(), consulta).toUpperCase();
+
+		assertTrue(remetente.contains("IDX_HISTORICO_REMETENTE_HORARIO"), remetente);
+		assertTrue(recebedor.contains("IDX_HISTORICO_RECEBEDOR_HORARIO"), recebedor);
+	}
+
+	@Test
+	void deveContarSemVarrerOHistoricoInteiro() {
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(contaJoao.getId(), null, null, null);
+
+		String plano = explicar(consulta.sqlContagem(), consulta).toUpperCase();
+
+		assertFalse(plano.contains("HISTORICO_CONTA.TABLESCAN"), plano);
+	}
+
+	@Test
+	void deveAgruparOsInsertsDoHistoricoEmLotes() {
+		for (int i = 0; i < 200; i++) {
+			entityManager.persist(new HistoricoConta(TipoTransacao.DEPOSITO, Dinheiro.deReais(1), contaMaria, null));
+		}
+		entityManager.flush();
+
+		assertEquals(200, estatisticas().getEntityInsertCount());
+		// lotes de 50 INSERTs e uma leitura da tabela de sequências a cada 50 ids, em vez de 200 comandos
+		assertTrue(estatisticas().getPrepareStatementCount() < 20,
+				estatisticas().getPrepareStatementCount() + " comandos preparados");
+	}
+
+	private String explicar(String sql, ConsultaHistoricoConta consulta) {
+		Query query = entityManager.getEntityManager().createNativeQuery("explain " + sql);
+		consulta.parametros().forEach(query::setParameter);
+		return String.valueOf(query.getSingleResult());
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> colunasDoIndice(String indice) {
+		return entityManager.getEntityManager()
+				.createNativeQuery("select column_name from information_schema.index_columns "
+						+ "where index_name = :indice order by ordinal_position")
+				.setParameter("indice", indice).getResultList();
+	}
+
+	private Conta criarConta(Conta conta, String nome, String cpf) {
+		Cliente cliente = new Cliente(nome, cpf);
+		entityManager.persist(cliente);
+		conta.setCliente(cliente);
+		conta.setSaldo(Dinheiro.ZERO);
+		return entityManager.persist(conta);
+	}
+
+	private Statistics estatisticas() {
+		return entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+	}
+}
@@ -0,0 +1,144 @@
+package com.wallace.spring.boot.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.repository.ConsultaHistoricoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+
+// Aplica as migrações num MySQL de verdade e valida o esquema contra as entidades (ddl-auto=validate, como em
+// prod). Os planos de consulta do H2 não dizem nada sobre o MySQL; aqui o EXPLAIN é o do MySQL
+@DataJpaTest(properties = { "spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MigracoesMySqlTest {
+
+	private static final int CONTAS = 50;
+	private static final int CONTA_CONSULTADA = 1;
+
+	@Container
+	@ServiceConnection
+	static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+	// só as entidades e conversores da aplicação: as entidades dos benchmarks não têm migração
+	@TestConfiguration
+	@EntityScan(basePackageClasses = { Conta.class, Dinheiro.class })
+	static class Entidades {
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("delete from historico_conta");
+		jdbcTemplate.update("delete from contas");
+		jdbcTemplate.update("delete from clientes");
+		List<Object[]> clientes = new ArrayList<>();
+		List<Object[]> contas = new ArrayList<>();
+		for (int id = 1; id <= CONTAS; id++) {
+			clientes.add(new Object[] { id, "Cliente " + id });
+			contas.add(new Object[] { id, id });
+		}
+		jdbcTemplate.batchUpdate("insert into clientes (cliente_id, nome) values (?, ?)", clientes);
+		jdbcTemplate.batchUpdate("insert into contas (conta_id, cliente_id, saldo, tipo_conta) values (?, ?, 0, 'CC')", contas);
+		// o histórico espalhado entre as contas, como em produção: cada conta é uma fração pequena da tabela
+		LocalDateTime horario = LocalDateTime.of(2025, 3, 10, 14, 30);
+		List<Object[]> linhas = new ArrayList<>();
+		for (int i = 1; i <= 5000; i++) {
+			int remetente = i % CONTAS + 1;
+			Integer recebedor = i % 2 == 0 ? (remetente % CONTAS) + 1 : null;
+			linhas.add(new Object[] { i, remetente, recebedor, recebedor != null ? "TRANSFERENCIA" : "DEPOSITO",
+					Timestamp.valueOf(horario.minusMinutes(i)) });
+		}
+		jdbcTemplate.batchUpdate("insert into historico_conta (id_transacao, id_remetente, id_recebedor, "
+				+ "tipo_transacao, valor, horario) values (?, ?, ?, ?, 10, ?)", linhas);
+		jdbcTemplate.execute("analyze table historico_conta");
+	}
+
+	@Test
+	void deveBackfillarAsColunasNovasECriarAsSequencias() {
+		assertEquals(0, jdbcTemplate.queryForObject("select count(*) from contas where versao <> 0 or sequencia_ledger <> 0",
+				Integer.class));
+		assertEquals(Set.of("clientes", "contas", "historico_conta", "users", "outbox_eventos", "lancamentos"),
+				Set.copyOf(jdbcTemplate.queryForList("select entidade from sequencias_ids", String.class)));
+	}
+
+	@Test
+	void deveGuardarOSaldoComAEscalaDeDinheiro() {
+		assertEquals(Dinheiro.CASAS_DECIMAIS, jdbcTemplate.queryForObject("select numeric_scale from information_schema.columns "
+				+ "where table_schema = database() and table_name = 'contas' and column_name = 'saldo'", Integer.class));
+	}
+
+	@Test
+	void deveCriarOsIndicesCompostosDoHistorico() {
+		assertEquals(List.of("id_remetente", "horario", "id_transacao"), colunasDoIndice("idx_historico_remetente_horario"));
+		assertEquals(List.of("id_recebedor", "horario", "id_transacao"), colunasDoIndice("idx_historico_recebedor_horario"));
+	}
+
+	@Test
+	void deveUsarUmIndicePorRamoNoPlanoDaPagina() {
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(CONTA_CONSULTADA, null, null, null)
+				.aPartirDe(LocalDateTime.of(2025, 3, 10, 14, 0), 1000);
+
+		Set<String> indices = indicesDoPlano(consulta.sqlPagina(20), consulta);
+
+		assertTrue(indices.contains("idx_historico_remetente_horario"), indices.toString());
+		assertTrue(indices.contains("idx_historico_recebedor_horario"), indices.toString());
+	}
+
+	@Test
+	void deveExportarEContarCadaRamoPeloProprioIndice() {
+		ConsultaHistoricoConta consulta = new ConsultaHistoricoConta(CONTA_CONSULTADA, null, null, null);
+
+		assertEquals(Set.of("idx_historico_remetente_horario"), indicesDoPlano(consulta.sqlExportacaoRemetente(), consulta));
+		assertEquals(Set.of("idx_historico_recebedor_horario"), indicesDoPlano(consulta.sqlExportacaoRecebedor(), consulta));
+		Set<String> contagem = indicesDoPlano(consulta.sqlContagem(), consulta);
+		assertTrue(contagem.containsAll(Set.of("idx_historico_remetente_horario", "idx_historico_recebedor_horario")),
+				contagem.toString());
+	}
+
+	// Índices usados pelas linhas do EXPLAIN que leem historico_conta
+	private Set<String> indicesDoPlano(String sql, ConsultaHistoricoConta consulta) {
+		List<Map<String, Object>> plano = namedParameterJdbcTemplate.queryForList("explain " + sql, consulta.parametros());
+		return plano.stream()
+				.filter(linha -> "h".equals(linha.get("table")))
+				.map(linha -> String.valueOf(linha.get("key")))
+				.collect(Collectors.toSet());
+	}
+
+	private List<String> colunasDoIndice(String indice) {
+		return jdbcTemplate.queryForList("select column_name from information_schema.statistics "
+				+ "where table_schema = database() and index_name = ? order by seq_in_index", String.class, indice);
+	}
+}
@@ -0,0 +1,69 @@
+package com.wallace.spring.boot.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wallace.spring.boot.model.entities.Cliente;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(SequenciaDeIds.class)
+public class SequenciaDeIdsTest {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private SequenciaDeIds sequenciaDeIds;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void limpar() {
+		jdbcTemplate.update("delete from clientes where cliente_id = 5000");
+	}
+
+	@Test
+	void deveIniciarAsSequenciasNaSubidaDaAplicacao() {
+		Long valor = jdbcTemplate.queryForObject("select ultimo_valor from sequencias_ids where entidade = ?",
+				Long.class, SequenciaDeIds.HISTORICO_CONTA);
+
+		assertEquals(SequenciaDeIds.TAMANHO_BLOCO, valor);
+	}
+
+	@Test
+	void naoDeveReservarIdsEntreguesAoHibernate() {
+		Cliente antes = entityManager.persist(new Cliente("Maria Silva", "52998224725"));
+		int primeiroReservado = sequenciaDeIds.reservar(SequenciaDeIds.CLIENTES, 100);
+		Cliente depois = entityManager.persist(new Cliente("João Souza", "11144477735"));
+
+		assertFalse(reservado(antes.getId(), primeiroReservado, 100));
+		assertFalse(reservado(depois.getId(), primeiroReservado, 100));
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void deveContinuarAcimaDosIdsGeradosPorIdentity() {
+		jdbcTemplate.update("insert into clientes (cliente_id, nome, cpf) values (5000, 'Cliente Legado', '52998224725')");
+
+		sequenciaDeIds.ajustarAoMaiorId(SequenciaDeIds.CLIENTES, "cliente_id");
+
+		assertTrue(sequenciaDeIds.reservar(SequenciaDeIds.CLIENTES, 1) > 5000);
+	}
+
+	private static boolean reservado(int id, int primeiro, int quantidade) {
+		return id >= primeiro && id < primeiro + quantidade;
+	}
+}
@@ -0,0 +1,71 @@
+package com.wallace.spring.boot.domain.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.wallace.spring.boot.config.security.Autorizacao;
+import com.wallace.spring.boot.config.security.UsuarioAutenticado;
+import com.wallace.spring.boot.enums.Permission;
+import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.model.entities.User;
+
+public class AutorizacaoTest {
+
+	private final Autorizacao autorizacao = new Autorizacao();
+
+	@Test
+	void deveReutilizarAsAuthoritiesCalculadasDaRole() {
+		assertSame(Role.ADMIN.getAuthorities(), Role.ADMIN.getAuthorities());
+		assertEquals(7, Role.ADMIN.getAuthorities().size());
+		assertTrue(Role.USER.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+		assertThrows(UnsupportedOperationException.class,
+				() -> Role.USER.getAuthorities().add(new SimpleGrantedAuthority("admin:delete")));
+	}
+
+	@Test
+	void deveDecidirPelaMascaraDoUsuarioAutenticado() {
+		UsuarioAutenticado usuario = new UsuarioAutenticado(1, "maria@email.com", Role.USER,
+				Role.USER.getMascaraPermissoes());
+		var autenticacao = new UsernamePasswordAuthenticationToken(usuario, null, Role.USER.getAuthorities());
+
+		assertTrue(autorizacao.possui(autenticacao, "user:read"));
+		assertTrue(autorizacao.possui(autenticacao, "user:write"));
+		assertFalse(autorizacao.possui(autenticacao, "admin:delete"));
+	}
+
+	@Test
+	void deveDecidirPelaRoleDoUsuarioCarregadoDoBanco() {
+		User admin = User.builder().id(2).email("admin@email.com").roles(Role.ADMIN).build();
+		var autenticacao = new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities());
+
+		assertTrue(autorizacao.possui(autenticacao, "admin:update"));
+		assertTrue(autorizacao.possui(autenticacao, "admin:delete"));
+	}
+
+	@Test
+	void deveUsarAsAuthoritiesParaOutrosPrincipais() {
+		var autenticacao = new TestingAuthenticationToken("joao", null, List.of(new SimpleGrantedAuthority("user:read")));
+
+		assertTrue(autorizacao.possui(autenticacao, "user:read"));
+		assertFalse(autorizacao.possui(autenticacao, "user:write"));
+		assertFalse(autorizacao.possui(null, "user:read"));
+	}
+
+	@Test
+	void deveRejeitarPermissaoDesconhecida() {
+		var autenticacao = new TestingAuthenticationToken("joao", null, "user:read");
+
+		assertThrows(IllegalArgumentException.class, () -> autorizacao.possui(autenticacao, "user:admin"));
+		assertEquals(Permission.USER_READ.getBit() | Permission.USER_WRITE.getBit(), Role.USER.getMascaraPermissoes());
+	}
+}
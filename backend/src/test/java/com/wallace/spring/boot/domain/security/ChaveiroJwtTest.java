@@ -0,0 +1,168 @@
+package com.wallace.spring.boot.domain.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.model.entities.User;
+import com.wallace.spring.boot.services.JwtService;
+import com.wallace.spring.boot.services.autenticacao.ChaveiroJwt;
+
+import io.jsonwebtoken.JwtException;
+
+public class ChaveiroJwtTest {
+
+	private final User usuario = User.builder().id(1).email("maria@email.com").roles(Role.USER).build();
+	private final List<HttpServer> servidores = new ArrayList<>();
+
+	@TempDir
+	private Path diretorio;
+
+	@TempDir
+	private Path outroDiretorio;
+
+	@AfterEach
+	void pararServidores() {
+		servidores.forEach(servidor -> servidor.stop(0));
+	}
+
+	@Test
+	void devePublicarAsChavesAtualEProximaNoJwks() {
+		ChaveiroJwt chaveiro = chaveiro("RS256", diretorio);
+
+		List<Map<String, Object>> chaves = chavesDoJwks(chaveiro);
+
+		assertEquals(2, chaves.size());
+		assertTrue(chaves.stream().anyMatch(chave -> chaveiro.chaveAtual().kid().equals(chave.get("kid"))));
+		assertTrue(chaves.stream().allMatch(chave -> "RSA".equals(chave.get("kty")) && !chave.containsKey("d")));
+	}
+
+	@Test
+	void deveAceitarTokensDaChaveAposentadaDuranteASobreposicao() {
+		ChaveiroJwt chaveiro = chaveiro("ES256", diretorio);
+		JwtService jwtService = new JwtService(chaveiro, 900000L);
+		String emitidoAntes = jwtService.generateToken(usuario);
+		String kidAnterior = chaveiro.chaveAtual().kid();
+
+		chaveiro.rotacionar();
+
+		assertEquals("maria@email.com", jwtService.parse(emitidoAntes).getSubject());
+		assertEquals(3, chavesDoJwks(chaveiro).size());
+		assertTrue(chaveiro.chavePublica(kidAnterior).isPresent());
+	}
+
+	@Test
+	void deveRecusarTokensAssinadosPorOutroChaveiro() {
+		JwtService outroNo = new JwtService(chaveiro("RS256", outroDiretorio), 900000L);
+		JwtService jwtService = new JwtService(chaveiro("RS256", diretorio), 900000L);
+
+		String token = outroNo.generateToken(usuario);
+
+		assertThrows(JwtException.class, () -> jwtService.parse(token));
+	}
+
+	@Test
+	void deveRecusarAlgoritmosSimetricos() {
+		assertThrows(IllegalArgumentException.class, () -> chaveiro("HS256", diretorio));
+	}
+
+	@Test
+	void deveManterAsChavesDepoisDoRestart() {
+		ChaveiroJwt antes = chaveiro("RS256", diretorio);
+		String token = new JwtService(antes, 900000L).generateToken(usuario);
+
+		ChaveiroJwt depois = chaveiro("RS256", diretorio);
+
+		assertEquals(antes.chaveAtual().kid(), depois.chaveAtual().kid());
+		assertEquals("maria@email.com", new JwtService(depois, 900000L).parse(token).getSubject());
+	}
+
+	@Test
+	void deveAdotarAChaveRotacionadaPorOutroNoDoMesmoDiretorio() {
+		ChaveiroJwt primeiroNo = chaveiro("ES256", diretorio);
+		ChaveiroJwt segundoNo = chaveiro("ES256", diretorio);
+
+		primeiroNo.rotacionar();
+		primeiroNo.rotacionar();
+		String token = new JwtService(primeiroNo, 900000L).generateToken(usuario);
+
+		assertEquals("maria@email.com", new JwtService(segundoNo, 900000L).parse(token).getSubject());
+	}
+
+	@Test
+	void deveVerificarOsTokensUmDoOutroPeloJwksDosPares() throws IOException {
+		AtomicReference<ChaveiroJwt> primeiroNo = new AtomicReference<>();
+		AtomicReference<ChaveiroJwt> segundoNo = new AtomicReference<>();
+		String jwksDoPrimeiro = servirJwks(primeiroNo, new AtomicInteger());
+		String jwksDoSegundo = servirJwks(segundoNo, new AtomicInteger());
+		primeiroNo.set(new ChaveiroJwt("RS256", diretorio.toString(), 0, 30, 900000L, List.of(jwksDoSegundo), 0));
+		segundoNo.set(new ChaveiroJwt("RS256", outroDiretorio.toString(), 0, 30, 900000L, List.of(jwksDoPrimeiro), 0));
+		JwtService primeiro = new JwtService(primeiroNo.get(), 900000L);
+		JwtService segundo = new JwtService(segundoNo.get(), 900000L);
+
+		assertEquals("maria@email.com", segundo.parse(primeiro.generateToken(usuario)).getSubject());
+		assertEquals("maria@email.com", primeiro.parse(segundo.generateToken(usuario)).getSubject());
+
+		// a rotação de um nó chega ao outro pela próxima busca do JWKS
+		segundoNo.get().rotacionar();
+		segundoNo.get().rotacionar();
+		assertEquals("maria@email.com", primeiro.parse(segundo.generateToken(usuario)).getSubject());
+	}
+
+	@Test
+	void deveLimitarABuscaDoJwksParaKidsDesconhecidos() throws IOException {
+		AtomicReference<ChaveiroJwt> par = new AtomicReference<>(chaveiro("RS256", outroDiretorio));
+		AtomicInteger buscas = new AtomicInteger();
+		ChaveiroJwt chaveiro = new ChaveiroJwt("RS256", diretorio.toString(), 86400000L, 30, 900000L,
+				List.of(servirJwks(par, buscas)), 60000L);
+
+		assertFalse(chaveiro.chavePublica("inventado-1").isPresent());
+		assertFalse(chaveiro.chavePublica("inventado-2").isPresent());
+
+		assertEquals(1, buscas.get());
+	}
+
+	// Intervalo de rotação zero: cada chamada a rotacionar() rotaciona de fato
+	private static ChaveiroJwt chaveiro(String algoritmo, Path diretorio) {
+		return new ChaveiroJwt(algoritmo, diretorio.toString(), 0, 30, 900000L, List.of(), 0);
+	}
+
+	private String servirJwks(AtomicReference<ChaveiroJwt> chaveiro, AtomicInteger buscas) throws IOException {
+		HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		servidor.createContext("/.well-known/jwks.json", troca -> {
+			buscas.incrementAndGet();
+			byte[] corpo = new ObjectMapper().writeValueAsBytes(chaveiro.get().jwks());
+			troca.getResponseHeaders().add("Content-Type", "application/json");
+			troca.sendResponseHeaders(200, corpo.length);
+			try (OutputStream saida = troca.getResponseBody()) {
+				saida.write(corpo);
+			}
+		});
+		servidor.start();
+		servidores.add(servidor);
+		return "http://localhost:" + servidor.getAddress().getPort() + "/.well-known/jwks.json";
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> chavesDoJwks(ChaveiroJwt chaveiro) {
+		return (List<Map<String, Object>>) chaveiro.jwks().get("keys");
+	}
+}
@@ -0,0 +1,131 @@
+package com.wallace.spring.boot.domain.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.User;
+
+import com.wallace.spring.boot.config.security.JwtAuthenticationFilter;
+import com.wallace.spring.boot.config.security.UsuarioAutenticado;
+import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.services.JwtService;
+import com.wallace.spring.boot.services.autenticacao.ChaveiroJwt;
+import com.wallace.spring.boot.services.autenticacao.ListaDeNegacaoTokens;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+
+	@Mock
+	private UserDetailsService userDetailsService;
+
+	@TempDir
+	private Path diretorioChaves;
+
+	private JwtService jwtService;
+	private ListaDeNegacaoTokens listaDeNegacaoTokens;
+	private JwtAuthenticationFilter filtro;
+
+	private com.wallace.spring.boot.model.entities.User usuario;
+
+	@BeforeEach
+	void setUp() {
+		jwtService = new JwtService(
+				new ChaveiroJwt("RS256", diretorioChaves.toString(), 86400000L, 30, 900000L, List.of(), 30000L), 900000L);
+		listaDeNegacaoTokens = new ListaDeNegacaoTokens();
+		filtro = new JwtAuthenticationFilter(jwtService, userDetailsService, listaDeNegacaoTokens, true);
+
+		usuario = com.wallace.spring.boot.model.entities.User.builder().id(7).username("Maria")
+				.email("maria@email.com").password("hash").roles(Role.ADMIN).build();
+	}
+
+	@AfterEach
+	void limparContexto() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void deveAutenticarPelasClaimsSemConsultarOBanco() throws Exception {
+		filtrar(jwtService.generateToken(usuario));
+
+		Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+		UsuarioAutenticado principal = assertInstanceOf(UsuarioAutenticado.class, autenticacao.getPrincipal());
+		assertEquals(7, principal.id());
+		assertEquals(Role.ADMIN, principal.role());
+		assertEquals("maria@email.com", autenticacao.getName());
+		assertTrue(autenticacao.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()
+				.containsAll(Role.ADMIN.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()));
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void deveConsultarOBancoParaTokensSemClaimsDeAutorizacao() throws Exception {
+		var detalhes = User.withUsername("joao@email.com").password("hash").authorities("user:read").build();
+		when(userDetailsService.loadUserByUsername("joao@email.com")).thenReturn(detalhes);
+
+		filtrar(jwtService.generateToken(detalhes));
+
+		assertEquals(detalhes, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+		verify(userDetailsService).loadUserByUsername("joao@email.com");
+	}
+
+	@Test
+	void deveIgnorarTokenNaListaDeNegacao() throws Exception {
+		String token = jwtService.generateToken(usuario);
+		String jti = jwtService.extractClaims(token, claims -> claims.getId());
+		listaDeNegacaoTokens.negar(jti, Instant.now().plusSeconds(60));
+
+		filtrar(token);
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+	}
+
+	@Test
+	void deveIgnorarTokenComAssinaturaInvalida() throws Exception {
+		String token = jwtService.generateToken(usuario);
+
+		filtrar(token.substring(0, token.length() - 2) + "xx");
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void deveDescartarEntradasExpiradasDaListaDeNegacao() {
+		listaDeNegacaoTokens.negar("expirado", Instant.now().minusSeconds(1));
+		listaDeNegacaoTokens.negar("valido", Instant.now().plusSeconds(60));
+
+		listaDeNegacaoTokens.removerExpirados();
+
+		assertEquals(1, listaDeNegacaoTokens.tamanho());
+		assertTrue(listaDeNegacaoTokens.estaNegado("valido"));
+	}
+
+	private void filtrar(String token) throws Exception {
+		MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/contas/1");
+		requisicao.addHeader("Authorization", "Bearer " + token);
+		filtro.doFilter(requisicao, new MockHttpServletResponse(), new MockFilterChain());
+	}
+}
@@ -0,0 +1,68 @@
+package com.wallace.spring.boot.domain.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.wallace.spring.boot.services.autenticacao.FiltroDeBloom;
+import com.wallace.spring.boot.services.autenticacao.ListaDeNegacaoTokens;
+
+public class ListaDeNegacaoTokensTest {
+
+	@Test
+	void deveManterTokenNegadoAposUmaRotacaoEDescartarAposDuas() {
+		ListaDeNegacaoTokens lista = new ListaDeNegacaoTokens(1000, 0.001);
+		lista.negar("jti-1", Instant.now().plusSeconds(60));
+
+		lista.rotacionarFiltros();
+		assertTrue(lista.estaNegado("jti-1"));
+
+		lista.rotacionarFiltros();
+		assertFalse(lista.estaNegado("jti-1"));
+	}
+
+	@Test
+	void deveResponderNaoNegadoParaTokensDesconhecidos() {
+		ListaDeNegacaoTokens lista = new ListaDeNegacaoTokens(1000, 0.001);
+		lista.negar("jti-1", Instant.now().plusSeconds(60));
+
+		assertTrue(lista.estaNegado("jti-1"));
+		assertFalse(lista.estaNegado("jti-2"));
+		assertFalse(lista.estaNegado(null));
+	}
+
+	@Test
+	void deveManterATaxaDeFalsosPositivosPertoDaConfigurada() {
+		FiltroDeBloom filtro = new FiltroDeBloom(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filtro.adicionar(UUID.randomUUID().toString());
+		}
+
+		int falsosPositivos = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filtro.podeConter(UUID.randomUUID().toString())) {
+				falsosPositivos++;
+			}
+		}
+
+		assertTrue(falsosPositivos < 300, "falsos positivos: " + falsosPositivos);
+	}
+
+	@Test
+	void deveSempreEncontrarOsValoresAdicionados() {
+		FiltroDeBloom filtro = new FiltroDeBloom(1000, 0.001);
+		String[] valores = new String[1000];
+		for (int i = 0; i < valores.length; i++) {
+			valores[i] = UUID.randomUUID().toString();
+			filtro.adicionar(valores[i]);
+		}
+
+		for (String valor : valores) {
+			assertTrue(filtro.podeConter(valor));
+		}
+	}
+}
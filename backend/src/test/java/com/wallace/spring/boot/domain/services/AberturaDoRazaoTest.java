@@ -0,0 +1,94 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.BalanceteDTO;
+import com.wallace.spring.boot.model.entities.Cliente;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.ContaCorrente;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.lancamentos.LancamentosContabeis;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(SequenciaDeIds.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AberturaDoRazaoTest {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SequenciaDeIds sequenciaDeIds;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private LancamentosContabeis lancamentos;
+	private Integer contaMaria;
+
+	@BeforeEach
+	void setUp() {
+		lancamentos = new LancamentosContabeis(entityManager, jdbcTemplate, sequenciaDeIds, transactionManager, 2, 1000);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			contaMaria = criarConta("Maria Silva", "52998224725", Dinheiro.de("150.25"));
+			criarConta("João Souza", "11144477735", Dinheiro.ZERO);
+		});
+	}
+
+	@AfterEach
+	void limpar() {
+		jdbcTemplate.update("delete from lancamentos");
+		jdbcTemplate.update("delete from totais_razao");
+		jdbcTemplate.update("delete from contas");
+		jdbcTemplate.update("delete from clientes");
+	}
+
+	@Test
+	void deveLancarOSaldoDasContasExistentesUmaUnicaVez() {
+		lancamentos.afterSingletonsInstantiated();
+		lancamentos.afterSingletonsInstantiated();
+
+		// duas faixas de CAIXA e de COMPENSACAO e uma linha por conta
+		assertEquals(6, jdbcTemplate.queryForObject("select count(*) from totais_razao", Integer.class));
+		assertEquals(2, jdbcTemplate.queryForObject("select count(*) from lancamentos", Integer.class));
+		BigDecimal creditosMaria = jdbcTemplate.queryForObject(
+				"select creditos - debitos from totais_razao where conta_contabil = 'DEPOSITOS_CLIENTES' and chave = ?",
+				BigDecimal.class, contaMaria);
+		assertEquals(Dinheiro.de("150.25"), Dinheiro.de(creditosMaria));
+
+		BalanceteDTO balancete = lancamentos.balancete(true);
+		assertTrue(balancete.equilibrado());
+		assertTrue(balancete.totaisConferem());
+	}
+
+	private Integer criarConta(String nome, String cpf, Dinheiro saldo) {
+		Cliente cliente = new Cliente(nome, cpf);
+		entityManager.persist(cliente);
+		Conta conta = new ContaCorrente();
+		conta.setCliente(cliente);
+		conta.setSaldo(saldo);
+		entityManager.persist(conta);
+		return conta.getId();
+	}
+}
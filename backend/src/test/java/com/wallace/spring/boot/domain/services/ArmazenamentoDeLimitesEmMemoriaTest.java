@@ -0,0 +1,77 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.wallace.spring.boot.services.limite.ArmazenamentoDeLimitesEmMemoria;
+import com.wallace.spring.boot.services.limite.PoliticaDeLimite;
+
+public class ArmazenamentoDeLimitesEmMemoriaTest {
+
+	private final AtomicLong relogio = new AtomicLong(1_000_000_000L);
+	private final ArmazenamentoDeLimitesEmMemoria armazenamento = new ArmazenamentoDeLimitesEmMemoria(1000,
+			Duration.ofMinutes(10), relogio::get);
+	private final PoliticaDeLimite cincoPorSegundo = new PoliticaDeLimite("teste", 5, Duration.ofSeconds(1));
+
+	@Test
+	void devePermitirRajadaAteACapacidadeERecusarADepois() {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, armazenamento.consumir("ip:1", cincoPorSegundo));
+		}
+
+		long espera = armazenamento.consumir("ip:1", cincoPorSegundo);
+
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(200), espera);
+	}
+
+	@Test
+	void deveReporFichasConformeOTempoPassa() {
+		for (int i = 0; i < 5; i++) {
+			armazenamento.consumir("ip:1", cincoPorSegundo);
+		}
+
+		relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+
+		assertEquals(0, armazenamento.consumir("ip:1", cincoPorSegundo));
+		assertEquals(0, armazenamento.consumir("ip:1", cincoPorSegundo));
+		assertTrue(armazenamento.consumir("ip:1", cincoPorSegundo) > 0);
+	}
+
+	@Test
+	void deveManterBaldesSeparadosPorChave() {
+		for (int i = 0; i < 5; i++) {
+			armazenamento.consumir("ip:1", cincoPorSegundo);
+		}
+
+		assertTrue(armazenamento.consumir("ip:1", cincoPorSegundo) > 0);
+		assertEquals(0, armazenamento.consumir("ip:2", cincoPorSegundo));
+	}
+
+	@Test
+	void deveAceitarExatamenteACapacidadeSobConcorrencia() throws Exception {
+		PoliticaDeLimite cemPorMinuto = new PoliticaDeLimite("concorrencia", 100, Duration.ofMinutes(1));
+		AtomicInteger aceitas = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		for (int i = 0; i < 1000; i++) {
+			executor.execute(() -> {
+				if (armazenamento.consumir("usuario:maria", cemPorMinuto) == 0) {
+					aceitas.incrementAndGet();
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(100, aceitas.get());
+	}
+}
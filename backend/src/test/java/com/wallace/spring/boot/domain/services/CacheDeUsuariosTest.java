@@ -0,0 +1,97 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.exceptions.EmailNaoEncontradoException;
+import com.wallace.spring.boot.model.entities.User;
+import com.wallace.spring.boot.services.autenticacao.CacheDeUsuarios;
+import com.wallace.spring.boot.services.autenticacao.UsuarioAlteradoEvento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CacheDeUsuariosTest {
+
+	private static final String EMAIL = "maria@email.com";
+
+	private SimpleMeterRegistry meterRegistry;
+	private AtomicInteger consultas;
+	private User usuario;
+	private Function<String, User> carregador;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		consultas = new AtomicInteger();
+		usuario = User.builder().id(7).username("Maria").email(EMAIL).password("hash").roles(Role.USER).build();
+		carregador = email -> {
+			consultas.incrementAndGet();
+			return usuario;
+		};
+	}
+
+	@Test
+	void deveConsultarOBancoApenasUmaVezPorEmail() {
+		CacheDeUsuarios cache = new CacheDeUsuarios(meterRegistry, true, 100, 300);
+
+		assertSame(usuario, cache.buscar(EMAIL, carregador));
+		assertSame(usuario, cache.buscar(EMAIL, carregador));
+
+		assertEquals(1, consultas.get());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "usuarios").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void deveInvalidarQuandoOUsuarioForAlterado() {
+		CacheDeUsuarios cache = new CacheDeUsuarios(meterRegistry, true, 100, 300);
+		cache.buscar(EMAIL, carregador);
+
+		cache.aoAlterarUsuario(new UsuarioAlteradoEvento(7, EMAIL));
+		cache.buscar(EMAIL, carregador);
+
+		assertEquals(2, consultas.get());
+	}
+
+	@Test
+	void deveInvalidarPeloIdQuandoOEmailMudar() {
+		CacheDeUsuarios cache = new CacheDeUsuarios(meterRegistry, true, 100, 300);
+		cache.buscar(EMAIL, carregador);
+
+		cache.aoAlterarUsuario(new UsuarioAlteradoEvento(7, "maria.silva@email.com"));
+		cache.buscar(EMAIL, carregador);
+
+		assertEquals(2, consultas.get());
+	}
+
+	@Test
+	void deveNaoGuardarEmailsInexistentes() {
+		CacheDeUsuarios cache = new CacheDeUsuarios(meterRegistry, true, 100, 300);
+		Function<String, User> inexistente = email -> {
+			consultas.incrementAndGet();
+			throw new EmailNaoEncontradoException("Email não encontrado");
+		};
+
+		assertThrows(EmailNaoEncontradoException.class, () -> cache.buscar(EMAIL, inexistente));
+		assertSame(usuario, cache.buscar(EMAIL, carregador));
+		assertEquals(2, consultas.get());
+	}
+
+	@Test
+	void deveSempreConsultarOBancoQuandoDesabilitado() {
+		CacheDeUsuarios cache = new CacheDeUsuarios(meterRegistry, false, 100, 300);
+
+		cache.buscar(EMAIL, carregador);
+		cache.buscar(EMAIL, carregador);
+
+		assertEquals(2, consultas.get());
+	}
+}
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -13,6 +15,7 @@ import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +28,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.wallace.spring.boot.dto.ContaRequestDTO;
+import com.wallace.spring.boot.enums.ModoConcorrencia;
+import com.wallace.spring.boot.enums.TipoTransacao;
 import com.wallace.spring.boot.exceptions.ClienteNaoEncontradoException;
 import com.wallace.spring.boot.exceptions.ContaInexistenteException;
 import com.wallace.spring.boot.exceptions.ContaJaExistenteException;
@@ -36,10 +41,14 @@ import com.wallace.spring.boot.model.entities.Cliente;
 import com.wallace.spring.boot.model.entities.Conta;
 import com.wallace.spring.boot.model.entities.ContaCorrente;
 import com.wallace.spring.boot.model.entities.ContaPoupanca;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
 import com.wallace.spring.boot.model.repository.ClienteRepository;
 import com.wallace.spring.boot.model.repository.ContaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 import com.wallace.spring.boot.services.ContaService;
 import com.wallace.spring.boot.services.HistoricoContaService;
+import com.wallace.spring.boot.services.eventos.OutboxDeEventos;
+import com.wallace.spring.boot.services.motor.MotorDeContasPadrao;
 
 @ExtendWith(MockitoExtension.class)
 public class ContaServiceTest {
@@ -55,16 +64,35 @@ public class ContaServiceTest {
 	@Mock
 	private HistoricoContaService historicoContaService;
 
+	@Mock
+	private OutboxDeEventos outboxDeEventos;
+
 	private Conta conta;
 	
-    private static final BigDecimal TAXA_PARA_TESTE = new BigDecimal("0.0089");
+	private static final BigDecimal TAXA_PARA_TESTE = new BigDecimal("0.0089");
 
 	@BeforeEach
 	void setUp() {
-		contaService = new ContaService(clienteRepository, contaRepository,historicoContaService, TAXA_PARA_TESTE);
+		contaService = new ContaService(clienteRepository, contaRepository,
+				new MotorDeContasPadrao(contaRepository, historicoContaService, outboxDeEventos, ModoConcorrencia.OTIMISTA),
+				Optional.empty(), TAXA_PARA_TESTE);
 		conta = new ContaCorrente();
 		conta.setId(1);
-		conta.setSaldo(new BigDecimal(1000));
+		conta.setSaldo(Dinheiro.deReais(1000));
+	}
+
+	@Test
+	@DisplayName("Deve gravar o evento do depósito no outbox")
+	void deveGravarOEventoDoDepositoNoOutbox() {
+		Dinheiro valor = Dinheiro.deReais(200);
+		HistoricoConta historico = new HistoricoConta(TipoTransacao.DEPOSITO, valor, conta, null);
+		when(contaRepository.findById(1)).thenReturn(Optional.of(conta));
+		when(contaRepository.save(any(Conta.class))).thenReturn(conta);
+		when(historicoContaService.registrarDeposito(conta, valor)).thenReturn(historico);
+
+		contaService.depositar(valor, 1);
+
+		verify(outboxDeEventos).registrar(historico);
 	}
 
 	@Test
@@ -72,8 +100,8 @@ public class ContaServiceTest {
 	void DeveDepositarComSucesso() {
 
 		Integer id = 1;
-		BigDecimal valor = new BigDecimal(200);
-		BigDecimal valorEsperado = new BigDecimal(1200);
+		Dinheiro valor = Dinheiro.deReais(200);
+		Dinheiro valorEsperado = Dinheiro.deReais(1200);
 
 		when(contaRepository.findById(id)).thenReturn(Optional.of(conta));
 
@@ -85,7 +113,7 @@ public class ContaServiceTest {
 		assertNotNull(novaConta);
 		assertEquals(valorEsperado, novaConta.getSaldo());
 
-		verify(historicoContaService).registrarDeposito(any(Conta.class), any(BigDecimal.class));
+		verify(historicoContaService).registrarDeposito(any(Conta.class), any(Dinheiro.class));
 		verify(contaRepository, times(1)).findById(id);
 		verify(contaRepository, times(1)).save(conta);
 	}
@@ -95,7 +123,7 @@ public class ContaServiceTest {
 	void deveLancarExcecaoAoDepositarValorMenorOuIgualAZero() {
 
 		Integer id = 1;
-		BigDecimal valor = new BigDecimal(-1);
+		Dinheiro valor = Dinheiro.deReais(-1);
 
 		when(contaRepository.findById(id)).thenReturn(Optional.of(conta));
 
@@ -109,7 +137,7 @@ public class ContaServiceTest {
 	void DeveLançarExceçãoAoTentarDepositarEmUmaContaComIdInválido() {
 
 		Integer id = 1;
-		BigDecimal valor = new BigDecimal(200);
+		Dinheiro valor = Dinheiro.deReais(200);
 
 		when(contaRepository.findById(id)).thenReturn(Optional.empty());
 
@@ -124,8 +152,8 @@ public class ContaServiceTest {
 	void DeveSacarComSucesso() {
 
 		Integer id = 1;
-		BigDecimal valor = new BigDecimal(200);
-		BigDecimal valorEsperado = new BigDecimal(800);
+		Dinheiro valor = Dinheiro.deReais(200);
+		Dinheiro valorEsperado = Dinheiro.deReais(800);
 
 		when(contaRepository.findById(id)).thenReturn(Optional.of(conta));
 
@@ -136,17 +164,33 @@ public class ContaServiceTest {
 		assertNotNull(novaConta);
 		assertEquals(valorEsperado, novaConta.getSaldo());
 
-		verify(historicoContaService).registrarSaque(any(Conta.class), any(BigDecimal.class));
+		verify(historicoContaService).registrarSaque(any(Conta.class), any(Dinheiro.class));
 		verify(contaRepository, times(1)).findById(id);
 		verify(contaRepository, times(1)).save(conta);
 	}
 
+	@Test
+	@DisplayName("Deve registrar o saque com o saldo já debitado, como o depósito")
+	void deveRegistrarOSaqueComOSaldoJaDebitado() {
+		List<Dinheiro> saldoNoRegistro = new ArrayList<>();
+		when(contaRepository.findById(1)).thenReturn(Optional.of(conta));
+		when(contaRepository.save(any(Conta.class))).thenReturn(conta);
+		when(historicoContaService.registrarSaque(eq(conta), any(Dinheiro.class))).thenAnswer(chamada -> {
+			saldoNoRegistro.add(conta.getSaldo());
+			return null;
+		});
+
+		contaService.sacar(Dinheiro.deReais(200), 1);
+
+		assertEquals(List.of(Dinheiro.deReais(800)), saldoNoRegistro);
+	}
+
 	@Test
 	@DisplayName("Deve lancar uma excecao ao sacar um valor menor ou igual a zero")
 	void deveLancarExcecaoAoSacarValorMenorOuIgualAZero() {
 
 		Integer id = 1;
-		BigDecimal valor = new BigDecimal(-1);
+		Dinheiro valor = Dinheiro.deReais(-1);
 
 		when(contaRepository.findById(id)).thenReturn(Optional.of(conta));
 
@@ -160,7 +204,7 @@ public class ContaServiceTest {
 	void DeveLançarExceçãoAoTentarSacarEmUmaContaComIdInválido() {
 
 		Integer id = 1;
-		BigDecimal valor = new BigDecimal(200);
+		Dinheiro valor = Dinheiro.deReais(200);
 
 		when(contaRepository.findById(id)).thenReturn(Optional.empty());
 
@@ -175,7 +219,7 @@ public class ContaServiceTest {
 	void DeveLancarExceçãoAoTentarSacarComSaldoInsuficiente() {
 
 		Integer id = 1;
-		BigDecimal valor = new BigDecimal(4000);
+		Dinheiro valor = Dinheiro.deReais(4000);
 
 		when(contaRepository.findById(id)).thenReturn(Optional.of(conta));
 
@@ -190,11 +234,11 @@ public class ContaServiceTest {
 
 		Integer contaIdDepositar = 1;
 		Integer contaIdReceber = 2;
-		BigDecimal valorTransferencia = new BigDecimal(200);
+		Dinheiro valorTransferencia = Dinheiro.deReais(200);
 
 		Conta contaReceber = new ContaPoupanca();
 		contaReceber.setId(contaIdReceber);
-		contaReceber.setSaldo(new BigDecimal(1000));
+		contaReceber.setSaldo(Dinheiro.deReais(1000));
 
 		when(contaRepository.findById(contaIdDepositar)).thenReturn(Optional.of(conta));
 		when(contaRepository.findById(contaIdReceber)).thenReturn(Optional.of(contaReceber));
@@ -205,8 +249,8 @@ public class ContaServiceTest {
 		Conta contaEntradaAtualizada = contasNovas.stream().filter(c -> c.getId().equals(contaIdReceber)).findFirst()
 				.get();
 
-		assertEquals(0, new BigDecimal("800.00").compareTo(contaSaidaAtualizada.getSaldo()));
-		assertEquals(0, new BigDecimal("1200.00").compareTo(contaEntradaAtualizada.getSaldo()));
+		assertEquals(0, Dinheiro.de("800.00").compareTo(contaSaidaAtualizada.getSaldo()));
+		assertEquals(0, Dinheiro.de("1200.00").compareTo(contaEntradaAtualizada.getSaldo()));
 
 		verify(historicoContaService).registrarTransferencia(conta, valorTransferencia, contaReceber);
 		verify(contaRepository).save(contaReceber);
@@ -219,11 +263,11 @@ public class ContaServiceTest {
 
 		Integer contaIdDepositar = 1;
 		Integer contaIdReceber = 2;
-		BigDecimal valorTransferencia = new BigDecimal(200);
+		Dinheiro valorTransferencia = Dinheiro.deReais(200);
 
 		Conta contaReceber = new ContaPoupanca();
 		contaReceber.setId(contaIdReceber);
-		contaReceber.setSaldo(new BigDecimal(1000));
+		contaReceber.setSaldo(Dinheiro.deReais(1000));
 
 		when(contaRepository.findById(contaIdDepositar)).thenReturn(Optional.empty());
 
@@ -240,11 +284,11 @@ public class ContaServiceTest {
 
 		Integer contaIdDepositar = 1;
 		Integer contaIdReceber = 2;
-		BigDecimal valorTransferencia = new BigDecimal(200);
+		Dinheiro valorTransferencia = Dinheiro.deReais(200);
 
 		Conta contaReceber = new ContaPoupanca();
 		contaReceber.setId(contaIdReceber);
-		contaReceber.setSaldo(new BigDecimal(1000));
+		contaReceber.setSaldo(Dinheiro.deReais(1000));
 
 		when(contaRepository.findById(contaIdDepositar)).thenReturn(Optional.of(conta));
 
@@ -263,11 +307,11 @@ public class ContaServiceTest {
 
 		Integer contaIdDepositar = 1;
 		Integer contaIdReceber = 2;
-		BigDecimal valorTransferencia = new BigDecimal(599999);
+		Dinheiro valorTransferencia = Dinheiro.deReais(599999);
 
 		Conta contaReceber = new ContaPoupanca();
 		contaReceber.setId(contaIdReceber);
-		contaReceber.setSaldo(new BigDecimal(1000));
+		contaReceber.setSaldo(Dinheiro.deReais(1000));
 
 		when(contaRepository.findById(contaIdDepositar)).thenReturn(Optional.of(conta));
 
@@ -286,11 +330,11 @@ public class ContaServiceTest {
 
 		Integer contaIdDepositar = 1;
 		Integer contaIdReceber = 2;
-		BigDecimal valorTransferencia = new BigDecimal(-1);
+		Dinheiro valorTransferencia = Dinheiro.deReais(-1);
 
 		Conta contaReceber = new ContaPoupanca();
 		contaReceber.setId(contaIdReceber);
-		contaReceber.setSaldo(new BigDecimal(1000));
+		contaReceber.setSaldo(Dinheiro.deReais(1000));
 
 		when(contaRepository.findById(contaIdDepositar)).thenReturn(Optional.of(conta));
 
@@ -303,6 +347,64 @@ public class ContaServiceTest {
 
 	}
 
+	@Test
+	@DisplayName("Deve bloquear as contas em ordem crescente de id na transferência pessimista")
+	void deveBloquearAsContasEmOrdemCrescenteNaTransferenciaPessimista() {
+		ContaService contaServicePessimista = new ContaService(clienteRepository, contaRepository,
+				new MotorDeContasPadrao(contaRepository, historicoContaService, outboxDeEventos, ModoConcorrencia.PESSIMISTA),
+				Optional.empty(), TAXA_PARA_TESTE);
+
+		Integer contaIdDepositar = 2;
+		Integer contaIdReceber = 1;
+		Dinheiro valorTransferencia = Dinheiro.deReais(200);
+
+		Conta contaDepositar = new ContaPoupanca();
+		contaDepositar.setId(contaIdDepositar);
+		contaDepositar.setSaldo(Dinheiro.deReais(1000));
+
+		when(contaRepository.findAllByIdParaAtualizacao(anyList())).thenReturn(List.of(conta, contaDepositar));
+
+		List<Conta> contasNovas = contaServicePessimista.transferir(contaIdDepositar, valorTransferencia,
+				contaIdReceber);
+
+		assertEquals(0, Dinheiro.de("800").compareTo(contasNovas.get(0).getSaldo()));
+		assertEquals(0, Dinheiro.de("1200").compareTo(contasNovas.get(1).getSaldo()));
+
+		verify(contaRepository, never()).findById(anyInt());
+		verify(historicoContaService).registrarTransferencia(contaDepositar, valorTransferencia, conta);
+	}
+
+	@Test
+	@DisplayName("Deve lançar exceção na transferência pessimista quando uma das contas não existir")
+	void deveLancarExcecaoNaTransferenciaPessimistaQuandoContaNaoExistir() {
+		ContaService contaServicePessimista = new ContaService(clienteRepository, contaRepository,
+				new MotorDeContasPadrao(contaRepository, historicoContaService, outboxDeEventos, ModoConcorrencia.PESSIMISTA),
+				Optional.empty(), TAXA_PARA_TESTE);
+
+		when(contaRepository.findAllByIdParaAtualizacao(anyList())).thenReturn(List.of(conta));
+
+		assertThrows(ContaInexistenteException.class,
+				() -> contaServicePessimista.transferir(1, Dinheiro.deReais(200), 2));
+
+		verify(contaRepository, never()).save(any(Conta.class));
+	}
+
+	@Test
+	@DisplayName("Deve usar SELECT FOR UPDATE no depósito pessimista")
+	void deveUsarSelectForUpdateNoDepositoPessimista() {
+		ContaService contaServicePessimista = new ContaService(clienteRepository, contaRepository,
+				new MotorDeContasPadrao(contaRepository, historicoContaService, outboxDeEventos, ModoConcorrencia.PESSIMISTA),
+				Optional.empty(), TAXA_PARA_TESTE);
+
+		when(contaRepository.findByIdParaAtualizacao(1)).thenReturn(Optional.of(conta));
+		when(contaRepository.save(any(Conta.class))).thenReturn(conta);
+
+		Conta novaConta = contaServicePessimista.depositar(Dinheiro.deReais(200), 1);
+
+		assertEquals(Dinheiro.deReais(1200), novaConta.getSaldo());
+		verify(contaRepository, never()).findById(anyInt());
+	}
+
 	@Test
 	@DisplayName("Deve criar com sucesso uma conta CC")
 	void deveCriarUmaContaCCComSucesso() {
@@ -326,7 +428,7 @@ public class ContaServiceTest {
 		assertNotNull(contaSalva);
 		assertTrue(contaSalva instanceof ContaCorrente);
 		assertEquals(clienteMock, contaSalva.getCliente());
-		assertEquals(0, BigDecimal.ZERO.compareTo(contaSalva.getSaldo()));
+		assertEquals(0, Dinheiro.ZERO.compareTo(contaSalva.getSaldo()));
 	}
 
 	@Test
@@ -352,7 +454,7 @@ public class ContaServiceTest {
 		assertNotNull(contaSalva);
 		assertTrue(contaSalva instanceof ContaPoupanca);
 		assertEquals(clienteMock, contaSalva.getCliente());
-		assertEquals(0, BigDecimal.ZERO.compareTo(contaSalva.getSaldo()));
+		assertEquals(0, Dinheiro.ZERO.compareTo(contaSalva.getSaldo()));
 	}
 
 	@Test
@@ -438,33 +540,33 @@ public class ContaServiceTest {
 	}
 	
 	@Test
-    @DisplayName("Deve simular o rendimento com sucesso")
-    void deveSimularRendimentoComSucesso() { 
+	@DisplayName("Deve simular o rendimento com sucesso")
+	void deveSimularRendimentoComSucesso() { 
     	
     	Integer id = 1;
     	LocalDate dataPrevista = LocalDate.now().plusMonths(2);
     	
     	ContaPoupanca contaPoupanca = new ContaPoupanca();
     	contaPoupanca.setId(id);
-    	contaPoupanca.setSaldo(new BigDecimal("1000.00"));
+    	contaPoupanca.setSaldo(Dinheiro.de("1000.00"));
 
     	when(contaRepository.findById(id)).thenReturn(Optional.of(contaPoupanca));
     	
-    	BigDecimal valorEsperado = contaPoupanca.getSaldo().multiply(TAXA_PARA_TESTE).multiply(new BigDecimal(2));
+    	Dinheiro valorEsperado = contaPoupanca.getSaldo().multiplicar(TAXA_PARA_TESTE.multiply(BigDecimal.valueOf(2)));
 
-    	BigDecimal valorSimulado = contaService.simularRendimento(dataPrevista, id);
+    	Dinheiro valorSimulado = contaService.simularRendimento(dataPrevista, id);
     	
     	assertNotNull(valorSimulado);
     	assertEquals(0, valorEsperado.compareTo(valorSimulado));
     	
     	verify(contaRepository).findById(id);
-    }
+	}
 
 	
 
 	@Test
-    @DisplayName("Deve lancar uma excecao de data antes do dia atual")
-    void deveLancarExcecaoQuandoDataForAnteriorAAtual() {
+	@DisplayName("Deve lancar uma excecao de data antes do dia atual")
+	void deveLancarExcecaoQuandoDataForAnteriorAAtual() {
     	
     	Integer id = 1;
     	LocalDate dataPrevista = LocalDate.now().minusMonths(2);
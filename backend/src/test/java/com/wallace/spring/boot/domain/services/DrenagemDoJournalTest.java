@@ -0,0 +1,201 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.entities.Cliente;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.ContaCorrente;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.historico.journal.DrenagemDoJournal;
+import com.wallace.spring.boot.services.historico.journal.HistoricoEmJournal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+// As transações do saldo são simuladas chamando beforeCommit/afterCompletion da sincronização registrada
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DrenagemDoJournalTest {
+
+	private static final FiltroHistoricoDTO SEM_FILTRO = new FiltroHistoricoDTO(null, null, null);
+
+	@TempDir
+	Path diretorio;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	private SequenciaDeIds sequenciaDeIds;
+	private HistoricoEmJournal historicoEmJournal;
+	private DrenagemDoJournal drenagem;
+	private Conta contaMaria;
+	private Conta contaJoao;
+
+	@BeforeEach
+	void setUp() {
+		sequenciaDeIds = mock(SequenciaDeIds.class);
+		when(sequenciaDeIds.reservar(anyString(), anyInt())).thenReturn(1);
+		abrir();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.executeWithoutResult(status -> {
+			criarConta("Maria Silva", "52998224725");
+			criarConta("João Souza", "11144477735");
+		});
+		// versão 1 no banco e nas entidades: é a versão que os Preparados anotam, como se o flush a tivesse gravado
+		jdbcTemplate.update("update contas set versao = 1");
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Conta> contas = entityManager.createQuery("from Conta c join fetch c.cliente order by c.id", Conta.class).getResultList();
+			contaMaria = contas.get(0);
+			contaJoao = contas.get(1);
+		});
+	}
+
+	@AfterEach
+	void limpar() {
+		historicoEmJournal.encerrar();
+		jdbcTemplate.update("delete from historico_conta");
+		jdbcTemplate.update("delete from contas");
+		jdbcTemplate.update("delete from clientes");
+	}
+
+	@Test
+	void deveParaOCheckpointNoPreparadoAbertoMaisAntigoSemReinserir() throws IOException {
+		TransactionSynchronization aberta = preparar(contaMaria);
+		preparar(contaJoao).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		assertEquals(1, historicoEmJournal.contarPendentes(contaJoao.getId(), SEM_FILTRO));
+
+		drenagem.drenar();
+		drenagem.drenar();
+
+		assertEquals(1, linhasNoHistorico());
+		assertEquals(0, checkpoint());
+		assertEquals(0, historicoEmJournal.contarPendentes(contaJoao.getId(), SEM_FILTRO));
+
+		aberta.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		drenagem.drenar();
+
+		assertEquals(2, linhasNoHistorico());
+		assertNotEquals(0, checkpoint());
+	}
+
+	@Test
+	void deveConferirATabelaNaPrimeiraDrenagemDepoisDaSubida() {
+		preparar(contaMaria);
+		preparar(contaJoao).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		drenagem.drenar();
+		historicoEmJournal.encerrar();
+		// a transação de Maria caiu antes da conclusão e o banco ficou com a versão anterior: a recuperação a
+		// descarta, e a de João, relida a partir do checkpoint, não é inserida de novo
+		jdbcTemplate.update("update contas set versao = 0 where conta_id = ?", contaMaria.getId());
+
+		abrir();
+		drenagem.afterSingletonsInstantiated();
+
+		assertEquals(1, linhasNoHistorico());
+		assertEquals(0, historicoEmJournal.contarPendentes(contaMaria.getId(), SEM_FILTRO));
+	}
+
+	@Test
+	void deveDeixarEmDuvidaOCommitComResultadoDesconhecidoEConfirmarPelaVersao() throws IOException {
+		preparar(contaMaria).afterCompletion(TransactionSynchronization.STATUS_UNKNOWN);
+
+		assertEquals(0, historicoEmJournal.contarPendentes(contaMaria.getId(), SEM_FILTRO));
+
+		// o commit chegou ao banco (a versão anotada está lá): a primeira passada resolve, a seguinte insere
+		drenagem.drenar();
+		drenagem.drenar();
+
+		assertEquals(1, linhasNoHistorico());
+		assertNotEquals(0, checkpoint());
+	}
+
+	@Test
+	void deveDescartarOCommitComResultadoDesconhecidoQueNaoChegouAoBanco() throws IOException {
+		preparar(contaMaria).afterCompletion(TransactionSynchronization.STATUS_UNKNOWN);
+		jdbcTemplate.update("update contas set versao = 0 where conta_id = ?", contaMaria.getId());
+
+		drenagem.drenar();
+		drenagem.drenar();
+
+		assertEquals(0, linhasNoHistorico());
+		assertNotEquals(0, checkpoint());
+	}
+
+	private void abrir() {
+		historicoEmJournal = new HistoricoEmJournal(sequenciaDeIds, mock(EntityManager.class), new SimpleMeterRegistry(),
+				diretorio.toString(), 1, 1000, false);
+		drenagem = new DrenagemDoJournal(historicoEmJournal, namedParameterJdbcTemplate,
+				new TransactionTemplate(transactionManager), 0);
+	}
+
+	// Registra um depósito e grava o Preparado, como no beforeCommit da transação do saldo
+	private TransactionSynchronization preparar(Conta conta) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			historicoEmJournal.registrar(
+					List.of(new HistoricoConta(TipoTransacao.DEPOSITO, Dinheiro.deReais(10), conta, null)));
+			TransactionSynchronization transacao = TransactionSynchronizationManager.getSynchronizations().get(0);
+			transacao.beforeCommit(false);
+			return transacao;
+		} finally {
+			TransactionSynchronizationManager.unbindResourceIfPossible(historicoEmJournal);
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private int linhasNoHistorico() {
+		return jdbcTemplate.queryForObject("select count(*) from historico_conta", Integer.class);
+	}
+
+	private long checkpoint() throws IOException {
+		Path arquivo = diretorio.resolve("checkpoint");
+		return Files.exists(arquivo) ? Long.parseLong(Files.readString(arquivo).trim()) : 0;
+	}
+
+	private void criarConta(String nome, String cpf) {
+		Cliente cliente = new Cliente(nome, cpf);
+		entityManager.persist(cliente);
+		Conta conta = new ContaCorrente();
+		conta.setCliente(cliente);
+		conta.setSaldo(Dinheiro.ZERO);
+		entityManager.persist(conta);
+	}
+}
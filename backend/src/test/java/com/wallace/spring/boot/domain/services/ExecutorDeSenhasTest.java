@@ -0,0 +1,64 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.wallace.spring.boot.exceptions.MuitasRequisicoesException;
+import com.wallace.spring.boot.services.autenticacao.ExecutorDeSenhas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ExecutorDeSenhasTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExecutorDeSenhas executorDeSenhas = new ExecutorDeSenhas(meterRegistry, 1, 1);
+	private final CountDownLatch liberar = new CountDownLatch(1);
+
+	@AfterEach
+	void encerrar() {
+		liberar.countDown();
+		executorDeSenhas.encerrar();
+	}
+
+	@Test
+	void deveExecutarForaDaThreadDaRequisicao() throws Exception {
+		String thread = executorDeSenhas.executar(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+		assertTrue(thread.startsWith("senhas-"));
+	}
+
+	@Test
+	void deveRecusarQuandoAsThreadsEAFilaEstiveremOcupadas() throws Exception {
+		CountDownLatch iniciada = new CountDownLatch(1);
+		CompletableFuture<String> emExecucao = executorDeSenhas.executar(() -> {
+			iniciada.countDown();
+			aguardar(liberar);
+			return "primeira";
+		});
+		assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> naFila = executorDeSenhas.executar(() -> "segunda");
+
+		assertThrows(MuitasRequisicoesException.class, () -> executorDeSenhas.executar(() -> "terceira"));
+		assertEquals(1.0, meterRegistry.get("autenticacao.senhas.fila").gauge().value());
+
+		liberar.countDown();
+		assertEquals("primeira", emExecucao.get(5, TimeUnit.SECONDS));
+		assertEquals("segunda", naFila.get(5, TimeUnit.SECONDS));
+	}
+
+	private static void aguardar(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
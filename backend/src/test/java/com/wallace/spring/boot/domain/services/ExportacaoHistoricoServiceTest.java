@@ -0,0 +1,131 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.enums.FormatoExportacao;
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.entities.Cliente;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.ContaCorrente;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.repository.ContaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.historico.ExportacaoHistoricoService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// A exportação abre a própria sessão, então os dados precisam estar confirmados antes de exportar
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ExportacaoHistoricoServiceTest {
+
+	private static final LocalDateTime HORARIO = LocalDateTime.of(2025, 3, 10, 14, 30);
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private ExportacaoHistoricoService exportacaoHistoricoService;
+
+	private Conta contaMaria;
+	private Conta contaJoao;
+	private HistoricoConta paraSiMesma;
+
+	@BeforeEach
+	void setUp() {
+		exportacaoHistoricoService = new ExportacaoHistoricoService(contaRepository, entityManagerFactory,
+				new ObjectMapper(), Optional.empty(), 2);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			contaMaria = criarConta("Maria Silva", "52998224725");
+			contaJoao = criarConta("João Souza", "11144477735");
+			// remetente e recebedor se alternam para que a intercalação dos dois cursores seja exercitada
+			for (int i = 0; i < 6; i++) {
+				HistoricoConta registro = i % 3 == 0
+						? new HistoricoConta(TipoTransacao.TRANSFERENCIA, Dinheiro.deReais(10), contaJoao, contaMaria)
+						: new HistoricoConta(TipoTransacao.DEPOSITO, Dinheiro.deReais(5), contaMaria, null);
+				registro.setHorarioTransacao(HORARIO.plusMinutes(i));
+				entityManager.persist(registro);
+			}
+			paraSiMesma = new HistoricoConta(TipoTransacao.TRANSFERENCIA, Dinheiro.deReais(1), contaMaria, contaMaria);
+			paraSiMesma.setHorarioTransacao(HORARIO.plusMinutes(10));
+			entityManager.persist(paraSiMesma);
+		});
+	}
+
+	@AfterEach
+	void limpar() {
+		jdbcTemplate.update("delete from historico_conta");
+		jdbcTemplate.update("delete from contas");
+		jdbcTemplate.update("delete from clientes");
+	}
+
+	@Test
+	void deveIntercalarOsDoisRamosEmOrdemCronologicaSemRepetir() throws Exception {
+		List<String> linhas = exportar(new FiltroHistoricoDTO(null, null, null));
+
+		assertEquals("id,tipo,valor,horario,id_remetente,nome_remetente,id_recebedor,nome_recebedor", linhas.get(0));
+		List<String> horarios = linhas.stream().skip(1).map(linha -> linha.split(",")[3]).toList();
+		assertEquals(List.of("2025-03-10T14:30", "2025-03-10T14:31", "2025-03-10T14:32", "2025-03-10T14:33",
+				"2025-03-10T14:34", "2025-03-10T14:35", "2025-03-10T14:40"), horarios);
+		assertEquals(1, linhas.stream().filter(linha -> linha.startsWith(paraSiMesma.getId() + ",")).count());
+	}
+
+	@Test
+	void deveAplicarOFiltroNosDoisRamos() throws Exception {
+		List<String> linhas = exportar(
+				new FiltroHistoricoDTO(HORARIO.toLocalDate(), HORARIO.toLocalDate(), TipoTransacao.TRANSFERENCIA));
+
+		assertEquals(4, linhas.size());
+		assertEquals(String.valueOf(contaJoao.getId()), linhas.get(1).split(",")[4]);
+		assertEquals(String.valueOf(contaJoao.getId()), linhas.get(2).split(",")[4]);
+		assertEquals(String.valueOf(paraSiMesma.getId()), linhas.get(3).split(",")[0]);
+	}
+
+	private List<String> exportar(FiltroHistoricoDTO filtro) throws Exception {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		exportacaoHistoricoService.exportar(contaMaria.getId(), filtro, FormatoExportacao.CSV, saida);
+		return Arrays.asList(saida.toString(StandardCharsets.UTF_8).split("\n"));
+	}
+
+	private Conta criarConta(String nome, String cpf) {
+		Cliente cliente = new Cliente(nome, cpf);
+		entityManager.persist(cliente);
+		Conta conta = new ContaCorrente();
+		conta.setCliente(cliente);
+		conta.setSaldo(Dinheiro.ZERO);
+		entityManager.persist(conta);
+		return conta;
+	}
+}
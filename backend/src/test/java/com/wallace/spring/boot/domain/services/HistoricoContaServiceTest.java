@@ -1,10 +1,22 @@
 package com.wallace.spring.boot.domain.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,17 +24,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import com.wallace.spring.boot.dto.FiltroHistoricoDTO;
+import com.wallace.spring.boot.dto.HistoricoContaResponseDTO;
+import com.wallace.spring.boot.dto.PaginacaoResponseDTO;
 import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.exceptions.CursorInvalidoException;
 import com.wallace.spring.boot.model.entities.Conta;
 import com.wallace.spring.boot.model.entities.ContaCorrente;
 import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.projecoes.HistoricoContaProjecao;
 import com.wallace.spring.boot.model.repository.HistoricoContaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
 import com.wallace.spring.boot.services.HistoricoContaService;
+import com.wallace.spring.boot.services.historico.CursorHistorico;
+import com.wallace.spring.boot.services.historico.journal.HistoricoEmJournal;
+import com.wallace.spring.boot.services.lancamentos.LancamentosContabeis;
 
 @ExtendWith(MockitoExtension.class)
 public class HistoricoContaServiceTest {
 
+	private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+	private static final FiltroHistoricoDTO SEM_FILTRO = new FiltroHistoricoDTO(null, null, null);
+
 	@Mock
 	private HistoricoContaRepository historicoContaRepository;
 
@@ -30,13 +56,14 @@ public class HistoricoContaServiceTest {
 
 	@BeforeEach
 	void setUp() {
-		historicoContaService = new HistoricoContaService(historicoContaRepository);
+		historicoContaService = new HistoricoContaService(historicoContaRepository, Optional.empty(), Optional.empty(),
+				Optional.empty(), TAMANHO_MAXIMO_PAGINA);
 	}
 
 	@Test
 	void deveRegistrarDeposito() { 
 		Conta conta = new ContaCorrente();
-		BigDecimal valor = BigDecimal.TEN;
+		Dinheiro valor = Dinheiro.deReais(10);
 
 		historicoContaService.registrarDeposito(conta, valor);
 
@@ -55,7 +82,7 @@ public class HistoricoContaServiceTest {
 	@Test
 	void deveRegistrarSaque() {
 		Conta conta = new ContaCorrente();
-		BigDecimal valor = BigDecimal.TEN;
+		Dinheiro valor = Dinheiro.deReais(10);
 
 		historicoContaService.registrarSaque(conta, valor);
 
@@ -75,7 +102,7 @@ public class HistoricoContaServiceTest {
 	void deveRegistrarTransferenciaComCaptor() { 
 		Conta contaRemetente = new ContaCorrente();
 		Conta contaDestino = new ContaCorrente();
-		BigDecimal valor = BigDecimal.TEN;
+		Dinheiro valor = Dinheiro.deReais(10);
 
 		historicoContaService.registrarTransferencia(contaRemetente, valor, contaDestino);
 
@@ -90,4 +117,106 @@ public class HistoricoContaServiceTest {
 		assertEquals(contaRemetente, resultadoCapturado.getEfetuouTransacao());
 		assertEquals(contaDestino, resultadoCapturado.getRecebeuTransacao());
 	}
+
+	@Test
+	void deveRetornarAPrimeiraPaginaComCursorQuandoHouverMaisRegistros() {
+		when(historicoContaRepository.buscarPagina(eq(1), isNull(), isNull(), isNull(), isNull(), isNull(),
+				eq(Limit.of(3)))).thenReturn(criarHistorico(3));
+
+		PaginacaoResponseDTO<HistoricoContaResponseDTO> pagina = historicoContaService.buscarHistorico(1, SEM_FILTRO,
+				null, 2, false);
+
+		assertEquals(2, pagina.data().size());
+		assertEquals(1, pagina.currentPage());
+		assertEquals(2, pagina.itemsPerPage());
+		assertNull(pagina.totalItems());
+		assertNotNull(pagina.nextCursor());
+
+		CursorHistorico cursor = CursorHistorico.decodificar(pagina.nextCursor());
+		assertEquals(pagina.data().get(1).id(), cursor.id());
+		assertEquals(1, cursor.pagina());
+	}
+
+	@Test
+	void deveContinuarAPartirDoCursorEAplicarOsFiltros() {
+		LocalDateTime horario = LocalDateTime.of(2025, 3, 10, 14, 30);
+		String cursor = new CursorHistorico(horario, 50, 1).codificar();
+		FiltroHistoricoDTO filtro = new FiltroHistoricoDTO(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31),
+				TipoTransacao.DEPOSITO);
+		when(historicoContaRepository.buscarPagina(1, TipoTransacao.DEPOSITO, LocalDateTime.of(2025, 1, 1, 0, 0),
+				LocalDateTime.of(2025, 4, 1, 0, 0), horario, 50, Limit.of(21))).thenReturn(criarHistorico(1));
+
+		PaginacaoResponseDTO<HistoricoContaResponseDTO> pagina = historicoContaService.buscarHistorico(1, filtro,
+				cursor, 20, false);
+
+		assertEquals(1, pagina.data().size());
+		assertEquals(2, pagina.currentPage());
+		assertNull(pagina.nextCursor());
+	}
+
+	@Test
+	void deveLimitarOTamanhoDaPaginaECalcularTotaisQuandoSolicitado() {
+		when(historicoContaRepository.buscarPagina(eq(1), isNull(), isNull(), isNull(), isNull(), isNull(),
+				eq(Limit.of(TAMANHO_MAXIMO_PAGINA + 1)))).thenReturn(new ArrayList<>());
+		when(historicoContaRepository.contar(1, null, null, null)).thenReturn(250L);
+
+		PaginacaoResponseDTO<HistoricoContaResponseDTO> pagina = historicoContaService.buscarHistorico(1, SEM_FILTRO,
+				null, 5000, true);
+
+		assertEquals(TAMANHO_MAXIMO_PAGINA, pagina.itemsPerPage());
+		assertEquals(250L, pagina.totalItems());
+		assertEquals(3, pagina.totalPages());
+	}
+
+	@Test
+	void deveLancarAPartidaDaPropriaEntradaDoHistorico() {
+		LancamentosContabeis lancamentosContabeis = mock(LancamentosContabeis.class);
+		HistoricoContaService servicoComLancamentos = new HistoricoContaService(historicoContaRepository,
+				Optional.empty(), Optional.empty(), Optional.of(lancamentosContabeis), TAMANHO_MAXIMO_PAGINA);
+		Conta conta = new ContaCorrente();
+
+		servicoComLancamentos.registrarSaque(conta, Dinheiro.deReais(10));
+
+		ArgumentCaptor<HistoricoConta> historicoCaptor = ArgumentCaptor.forClass(HistoricoConta.class);
+		verify(historicoContaRepository).save(historicoCaptor.capture());
+		verify(lancamentosContabeis).registrar(List.of(historicoCaptor.getValue()));
+	}
+
+	@Test
+	void deveMesclarAsEntradasPendentesDoJournalSemRepetirAsJaDrenadas() {
+		HistoricoEmJournal historicoEmJournal = mock(HistoricoEmJournal.class);
+		HistoricoContaService servicoComJournal = new HistoricoContaService(historicoContaRepository,
+				Optional.of(historicoEmJournal), Optional.empty(), Optional.empty(), TAMANHO_MAXIMO_PAGINA);
+		List<HistoricoContaProjecao> tabela = criarHistorico(3);
+		HistoricoContaProjecao pendente = new HistoricoContaProjecao(101, TipoTransacao.SAQUE, Dinheiro.deReais(5),
+				LocalDateTime.of(2025, 3, 10, 14, 31), 1, "Maria Silva", null, null);
+		when(historicoEmJournal.pendentes(1, SEM_FILTRO, null, null)).thenReturn(List.of(pendente, tabela.get(0)));
+		when(historicoEmJournal.contarPendentes(1, SEM_FILTRO)).thenReturn(1L);
+		when(historicoContaRepository.buscarPagina(eq(1), isNull(), isNull(), isNull(), isNull(), isNull(),
+				eq(Limit.of(3)))).thenReturn(tabela);
+		when(historicoContaRepository.contar(1, null, null, null)).thenReturn(3L);
+
+		PaginacaoResponseDTO<HistoricoContaResponseDTO> pagina = servicoComJournal.buscarHistorico(1, SEM_FILTRO, null,
+				2, true);
+
+		assertEquals(List.of(101, 100), pagina.data().stream().map(HistoricoContaResponseDTO::id).toList());
+		assertEquals(4L, pagina.totalItems());
+		assertEquals(100, CursorHistorico.decodificar(pagina.nextCursor()).id());
+	}
+
+	@Test
+	void deveRejeitarCursorInvalido() {
+		assertThrows(CursorInvalidoException.class,
+				() -> historicoContaService.buscarHistorico(1, SEM_FILTRO, "nao-e-um-cursor", 20, false));
+		verify(historicoContaRepository, never()).buscarPagina(any(), any(), any(), any(), any(), any(), any());
+	}
+
+	private List<HistoricoContaProjecao> criarHistorico(int quantidade) {
+		List<HistoricoContaProjecao> historico = new ArrayList<>();
+		for (int i = 0; i < quantidade; i++) {
+			historico.add(new HistoricoContaProjecao(100 - i, TipoTransacao.DEPOSITO, Dinheiro.deReais(10),
+					LocalDateTime.of(2025, 3, 10, 14, 30).minusMinutes(i), 1, "Maria Silva", null, null));
+		}
+		return historico;
+	}
 }
@@ -0,0 +1,174 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallace.spring.boot.dto.OperacaoRequestDTO;
+import com.wallace.spring.boot.dto.RendimentoResponseDTO;
+import com.wallace.spring.boot.exceptions.ChaveIdempotenciaReutilizadaException;
+import com.wallace.spring.boot.exceptions.ConflitoDeConcorrenciaException;
+import com.wallace.spring.boot.model.entities.ChaveIdempotencia;
+import com.wallace.spring.boot.model.repository.ChaveIdempotenciaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.idempotencia.IdempotenciaService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotenciaServiceTest {
+
+	private static final TypeReference<RendimentoResponseDTO> TIPO_RESPOSTA = new TypeReference<>() {};
+
+	@Mock
+	private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private IdempotenciaService idempotenciaService;
+
+	private final AtomicInteger execucoes = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		idempotenciaService = novoService();
+	}
+
+	@Test
+	void deveExecutarSempreQuandoNaoHouverChave() {
+		OperacaoRequestDTO requisicao = new OperacaoRequestDTO(Dinheiro.deReais(10), 1);
+
+		idempotenciaService.executar(null, "deposito", requisicao, TIPO_RESPOSTA, this::executar);
+		idempotenciaService.executar(" ", "deposito", requisicao, TIPO_RESPOSTA, this::executar);
+
+		assertEquals(2, execucoes.get());
+		verify(chaveIdempotenciaRepository, never()).reservar(anyString(), anyString(), any());
+	}
+
+	@Test
+	void deveReservarAChaveAntesDeExecutarAOperacao() {
+		OperacaoRequestDTO requisicao = new OperacaoRequestDTO(Dinheiro.deReais(10), 1);
+
+		idempotenciaService.executar("pedido-1", "deposito", requisicao, TIPO_RESPOSTA, () -> {
+			verify(chaveIdempotenciaRepository).reservar(anyString(), anyString(), any());
+			return executar();
+		});
+
+		InOrder ordem = inOrder(chaveIdempotenciaRepository, transactionManager);
+		ordem.verify(transactionManager).getTransaction(any());
+		ordem.verify(chaveIdempotenciaRepository).reservar(anyString(), anyString(), any());
+		ordem.verify(chaveIdempotenciaRepository).registrarResposta(anyString(), anyString());
+		ordem.verify(transactionManager).commit(any());
+	}
+
+	@Test
+	void deveReproduzirARespostaSemExecutarNovamente() {
+		OperacaoRequestDTO requisicao = new OperacaoRequestDTO(Dinheiro.deReais(10), 1);
+
+		RendimentoResponseDTO primeira = idempotenciaService.executar("pedido-1", "deposito", requisicao,
+				TIPO_RESPOSTA, this::executar);
+		RendimentoResponseDTO repetida = idempotenciaService.executar("pedido-1", "deposito", requisicao,
+				TIPO_RESPOSTA, this::executar);
+
+		assertEquals(1, execucoes.get());
+		assertEquals(primeira, repetida);
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "idempotencia").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void deveRejeitarChaveReutilizadaComOutraRequisicao() {
+		idempotenciaService.executar("pedido-1", "deposito", new OperacaoRequestDTO(Dinheiro.deReais(10), 1), TIPO_RESPOSTA,
+				this::executar);
+
+		assertThrows(ChaveIdempotenciaReutilizadaException.class, () -> idempotenciaService.executar("pedido-1",
+				"deposito", new OperacaoRequestDTO(Dinheiro.deReais(1), 1), TIPO_RESPOSTA, this::executar));
+		assertEquals(1, execucoes.get());
+	}
+
+	@Test
+	void deveReproduzirARespostaPersistidaQuandoNaoEstiverEmCache() {
+		OperacaoRequestDTO requisicao = new OperacaoRequestDTO(Dinheiro.deReais(10), 1);
+		RendimentoResponseDTO original = idempotenciaService.executar("pedido-1", "saque", requisicao, TIPO_RESPOSTA,
+				this::executar);
+
+		ArgumentCaptor<String> chave = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<String> impressaoDigital = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<String> resposta = ArgumentCaptor.forClass(String.class);
+		verify(chaveIdempotenciaRepository).reservar(chave.capture(), impressaoDigital.capture(), any());
+		verify(chaveIdempotenciaRepository).registrarResposta(eq(chave.getValue()), resposta.capture());
+		when(chaveIdempotenciaRepository.reservar(anyString(), anyString(), any()))
+				.thenThrow(new DataIntegrityViolationException("chave duplicada"));
+		when(chaveIdempotenciaRepository.findById(chave.getValue())).thenReturn(Optional.of(
+				new ChaveIdempotencia(chave.getValue(), impressaoDigital.getValue(), resposta.getValue())));
+
+		RendimentoResponseDTO reproduzida = novoService().executar("pedido-1", "saque", requisicao, TIPO_RESPOSTA,
+				this::executar);
+
+		assertEquals(1, execucoes.get());
+		assertEquals(original, reproduzida);
+	}
+
+	@Test
+	void deveRecusarEnquantoAOutraRequisicaoComAMesmaChaveNaoTerminou() {
+		OperacaoRequestDTO requisicao = new OperacaoRequestDTO(Dinheiro.deReais(10), 1);
+		when(chaveIdempotenciaRepository.reservar(anyString(), anyString(), any()))
+				.thenThrow(new DataIntegrityViolationException("chave duplicada"));
+		when(chaveIdempotenciaRepository.findById(anyString()))
+				.thenAnswer(invocacao -> Optional.of(new ChaveIdempotencia(invocacao.getArgument(0), "outra", null)));
+
+		assertThrows(ConflitoDeConcorrenciaException.class, () -> idempotenciaService.executar("pedido-1", "deposito",
+				requisicao, TIPO_RESPOSTA, this::executar));
+		assertEquals(0, execucoes.get());
+	}
+
+	@Test
+	void naoDeveGuardarARespostaQuandoAOperacaoFalhar() {
+		OperacaoRequestDTO requisicao = new OperacaoRequestDTO(Dinheiro.deReais(10), 1);
+
+		assertThrows(IllegalStateException.class, () -> idempotenciaService.executar("pedido-1", "deposito",
+				requisicao, TIPO_RESPOSTA, () -> {
+					throw new IllegalStateException("falha na operação");
+				}));
+		idempotenciaService.executar("pedido-1", "deposito", requisicao, TIPO_RESPOSTA, this::executar);
+
+		assertEquals(1, execucoes.get());
+		verify(transactionManager).rollback(any());
+		verify(chaveIdempotenciaRepository).registrarResposta(anyString(), anyString());
+	}
+
+	private IdempotenciaService novoService() {
+		return new IdempotenciaService(chaveIdempotenciaRepository, new ObjectMapper(), meterRegistry,
+				new TransactionTemplate(transactionManager), 24, 1000);
+	}
+
+	private RendimentoResponseDTO executar() {
+		return new RendimentoResponseDTO(Dinheiro.deReais(execucoes.incrementAndGet() * 100));
+	}
+}
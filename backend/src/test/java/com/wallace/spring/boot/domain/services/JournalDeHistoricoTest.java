@@ -0,0 +1,124 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.services.historico.journal.HistoricoEmJournal;
+import com.wallace.spring.boot.services.historico.journal.JournalDeHistorico;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+public class JournalDeHistoricoTest {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void devePercorrerOsRegistrosNaOrdemEmQueForamAnexados() {
+		try (JournalDeHistorico journal = new JournalDeHistorico(diretorio, 4096)) {
+			journal.anexar(bytes("primeiro"));
+			long fim = journal.anexar(bytes("segundo"));
+			journal.aguardarDurabilidade(fim);
+
+			assertEquals(List.of("primeiro", "segundo"), lerTudo(journal));
+			assertEquals(fim, journal.posicaoFinal());
+		}
+	}
+
+	@Test
+	void deveDescartarORegistroInterrompidoAoReabrir() throws IOException {
+		try (JournalDeHistorico journal = new JournalDeHistorico(diretorio, 4096)) {
+			journal.anexar(bytes("primeiro"));
+			journal.anexar(bytes("segundo"));
+		}
+		// corrompe o payload do segundo registro, como se a escrita tivesse sido cortada no meio
+		try (FileChannel canal = FileChannel.open(diretorio.resolve("0000000000000000.journal"),
+				StandardOpenOption.WRITE)) {
+			canal.write(ByteBuffer.wrap(new byte[] { 0x7f }), 8 + "primeiro".length() + 8);
+		}
+
+		try (JournalDeHistorico journal = new JournalDeHistorico(diretorio, 4096)) {
+			assertEquals(List.of("primeiro"), lerTudo(journal));
+
+			journal.anexar(bytes("terceiro"));
+
+			assertEquals(List.of("primeiro", "terceiro"), lerTudo(journal));
+		}
+	}
+
+	@Test
+	void deveRolarSegmentosEApagarOsAnterioresAoCheckpoint() throws IOException {
+		List<Long> fins = new ArrayList<>();
+		try (JournalDeHistorico journal = new JournalDeHistorico(diretorio, 64)) {
+			for (int i = 0; i < 6; i++) {
+				fins.add(journal.anexar(bytes("registro-" + i)));
+			}
+			assertEquals(6, lerTudo(journal).size());
+			assertEquals(2, contarSegmentos());
+
+			journal.gravarCheckpoint(fins.get(3));
+
+			assertEquals(fins.get(3).longValue(), journal.lerCheckpoint());
+			assertFalse(Files.exists(diretorio.resolve("0000000000000000.journal")));
+		}
+
+		try (JournalDeHistorico journal = new JournalDeHistorico(diretorio, 64)) {
+			List<String> lidos = new ArrayList<>();
+			journal.percorrer(journal.lerCheckpoint(), (inicio, fim, conteudo) -> lidos.add(texto(conteudo)));
+
+			assertEquals(List.of("registro-4", "registro-5"), lidos);
+		}
+	}
+
+	@Test
+	void deveRecusarOJournalComATransferenciaEmLoteHabilitada() {
+		assertThrows(IllegalStateException.class, () -> new HistoricoEmJournal(mock(SequenciaDeIds.class),
+				mock(EntityManager.class), new SimpleMeterRegistry(), diretorio.toString(), 1, 1000, true));
+	}
+
+	@Test
+	void deveRecusarRegistroMaiorQueOSegmento() {
+		try (JournalDeHistorico journal = new JournalDeHistorico(diretorio, 64)) {
+			assertThrows(IllegalArgumentException.class, () -> journal.anexar(new byte[64]));
+		}
+	}
+
+	private long contarSegmentos() throws IOException {
+		try (var arquivos = Files.list(diretorio)) {
+			return arquivos.filter(arquivo -> arquivo.toString().endsWith(".journal")).count();
+		}
+	}
+
+	private static List<String> lerTudo(JournalDeHistorico journal) {
+		List<String> lidos = new ArrayList<>();
+		journal.percorrer(0, (inicio, fim, conteudo) -> lidos.add(texto(conteudo)));
+		return lidos;
+	}
+
+	private static byte[] bytes(String texto) {
+		return texto.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String texto(ByteBuffer conteudo) {
+		byte[] lido = new byte[conteudo.remaining()];
+		conteudo.get(lido);
+		return new String(lido, StandardCharsets.UTF_8);
+	}
+}
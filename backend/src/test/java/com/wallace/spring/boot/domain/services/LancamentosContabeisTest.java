@@ -0,0 +1,183 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wallace.spring.boot.dto.BalanceteDTO;
+import com.wallace.spring.boot.enums.ContaContabil;
+import com.wallace.spring.boot.enums.NaturezaLancamento;
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.lancamentos.LancamentosContabeis;
+import com.wallace.spring.boot.services.lancamentos.LancamentosContabeis.Partida;
+import com.wallace.spring.boot.services.lancamentos.MovimentoContabil;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+public class LancamentosContabeisTest {
+
+	private static final LocalDateTime HORARIO = LocalDateTime.of(2025, 3, 10, 14, 30);
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private SequenciaDeIds sequenciaDeIds;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Captor
+	private ArgumentCaptor<List<Object[]>> linhasCaptor;
+
+	private LancamentosContabeis lancamentos;
+
+	@BeforeEach
+	void setUp() {
+		lancamentos = new LancamentosContabeis(entityManager, jdbcTemplate, sequenciaDeIds, transactionManager, 1, 1000);
+	}
+
+	@Test
+	void deveGerarPartidasEquilibradasParaCadaTipoDeOperacao() {
+		for (TipoTransacao tipo : TipoTransacao.values()) {
+			List<Partida> partidas = LancamentosContabeis.partidas(
+					new MovimentoContabil(1, tipo, Dinheiro.deReais(10), 1, tipo == TipoTransacao.TRANSFERENCIA ? 2 : null, HORARIO));
+			long debitos = partidas.stream().filter(p -> p.natureza() == NaturezaLancamento.DEBITO)
+					.mapToLong(p -> p.valor().centavos()).sum();
+			long creditos = partidas.stream().filter(p -> p.natureza() == NaturezaLancamento.CREDITO)
+					.mapToLong(p -> p.valor().centavos()).sum();
+			assertEquals(debitos, creditos, tipo.name());
+		}
+		List<Partida> transferencia = LancamentosContabeis.partidas(
+				new MovimentoContabil(1, TipoTransacao.TRANSFERENCIA, Dinheiro.deReais(10), 1, 2, HORARIO));
+		assertEquals(2, transferencia.stream().filter(p -> p.contaContabil() == ContaContabil.COMPENSACAO).count());
+	}
+
+	@Test
+	void deveInserirAsPartidasDaTransacaoNumUnicoBatchEAtualizarOsTotaisEmOrdem() {
+		when(sequenciaDeIds.reservar(SequenciaDeIds.LANCAMENTOS, 1000)).thenReturn(501);
+		when(jdbcTemplate.update(startsWith("UPDATE totais_razao"), any(Object[].class))).thenReturn(1);
+
+		confirmarTransacao(List.of(new MovimentoContabil(11, TipoTransacao.DEPOSITO, Dinheiro.deReais(10), 1, null, HORARIO),
+				new MovimentoContabil(12, TipoTransacao.TRANSFERENCIA, Dinheiro.deReais(4), 1, 2, HORARIO)));
+
+		verify(entityManager).flush();
+		verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO lancamentos"), linhasCaptor.capture());
+		List<Object[]> linhas = linhasCaptor.getValue();
+		assertEquals(6, linhas.size());
+		assertArrayEquals(new Object[] { 501, 11, "CAIXA", null, "DEBITO", new BigDecimal("10.00") },
+				Arrays.copyOf(linhas.get(0), 6));
+		assertArrayEquals(new Object[] { 506, 12, "DEPOSITOS_CLIENTES", 2, "CREDITO", new BigDecimal("4.00") },
+				Arrays.copyOf(linhas.get(5), 6));
+
+		InOrder ordem = inOrder(jdbcTemplate);
+		ordem.verify(jdbcTemplate).update(startsWith("UPDATE totais_razao"), eq(new BigDecimal("10.00")),
+				eq(new BigDecimal("0.00")), any(), eq("CAIXA"), eq(0L));
+		ordem.verify(jdbcTemplate).update(startsWith("UPDATE totais_razao"), eq(new BigDecimal("4.00")),
+				eq(new BigDecimal("4.00")), any(), eq("COMPENSACAO"), eq(0L));
+		ordem.verify(jdbcTemplate).update(startsWith("UPDATE totais_razao"), eq(new BigDecimal("4.00")),
+				eq(new BigDecimal("10.00")), any(), eq("DEPOSITOS_CLIENTES"), eq(1L));
+		ordem.verify(jdbcTemplate).update(startsWith("UPDATE totais_razao"), eq(new BigDecimal("0.00")),
+				eq(new BigDecimal("4.00")), any(), eq("DEPOSITOS_CLIENTES"), eq(2L));
+		verify(transactionManager, never()).getTransaction(any());
+	}
+
+	@Test
+	void deveFalharNoCommitQuandoOTotalNaoExisteSemAbrirOutraTransacao() {
+		when(sequenciaDeIds.reservar(SequenciaDeIds.LANCAMENTOS, 1000)).thenReturn(1);
+		when(jdbcTemplate.update(startsWith("UPDATE totais_razao"), any(Object[].class))).thenReturn(0);
+
+		assertThrows(IllegalStateException.class, () -> confirmarTransacao(
+				List.of(new MovimentoContabil(11, TipoTransacao.SAQUE, Dinheiro.deReais(3), 7, null, HORARIO))));
+
+		verify(jdbcTemplate, never()).update(startsWith("INSERT INTO totais_razao"), any(Object[].class));
+		verify(transactionManager, never()).getTransaction(any());
+	}
+
+	@Test
+	void deveCriarOTotalDaContaNovaNaTransacaoQueACria() {
+		lancamentos.abrirConta(7);
+
+		verify(jdbcTemplate).update(startsWith("INSERT INTO totais_razao"), eq("DEPOSITOS_CLIENTES"), eq(7L), any());
+		verify(transactionManager, never()).getTransaction(any());
+	}
+
+	@Test
+	void deveMontarOBalanceteAPartirDosTotais() throws Exception {
+		doAnswer(invocacao -> {
+			RowCallbackHandler handler = invocacao.getArgument(1);
+			handler.processRow(linhaDeTotais("CAIXA", "10.00", "0.00", 1));
+			handler.processRow(linhaDeTotais("COMPENSACAO", "4.00", "4.00", 1));
+			handler.processRow(linhaDeTotais("DEPOSITOS_CLIENTES", "4.00", "14.00", 2));
+			return null;
+		}).when(jdbcTemplate).query(startsWith("SELECT conta_contabil, SUM(debitos)"), any(RowCallbackHandler.class));
+
+		BalanceteDTO balancete = lancamentos.balancete(false);
+
+		assertEquals(Dinheiro.de("18.00"), balancete.totalDebitos());
+		assertEquals(Dinheiro.de("18.00"), balancete.totalCreditos());
+		assertTrue(balancete.equilibrado());
+		assertEquals(Dinheiro.de("10.00"), balancete.contas().get(0).saldo());
+		assertEquals(Dinheiro.de("10.00"), balancete.contas().get(2).saldo());
+		verify(jdbcTemplate, never()).query(startsWith("SELECT conta_contabil, SUM(CASE"), any(RowCallbackHandler.class));
+	}
+
+	private void confirmarTransacao(List<MovimentoContabil> movimentos) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			lancamentos.lancar(movimentos);
+			for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+				sincronizacao.beforeCommit(false);
+				sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			}
+		} finally {
+			TransactionSynchronizationManager.unbindResourceIfPossible(lancamentos);
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private ResultSet linhaDeTotais(String conta, String debitos, String creditos, long linhas) throws Exception {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getString("conta_contabil")).thenReturn(conta);
+		when(rs.getBigDecimal("debitos")).thenReturn(new BigDecimal(debitos));
+		when(rs.getBigDecimal("creditos")).thenReturn(new BigDecimal(creditos));
+		when(rs.getLong("linhas")).thenReturn(linhas);
+		return rs;
+	}
+}
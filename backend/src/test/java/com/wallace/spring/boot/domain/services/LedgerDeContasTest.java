@@ -0,0 +1,135 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.enums.TipoTransacao;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.ContaCorrente;
+import com.wallace.spring.boot.model.entities.HistoricoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.ledger.LedgerDeContas;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+public class LedgerDeContasTest {
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	private LedgerDeContas ledger;
+
+	@BeforeEach
+	void setUp() {
+		ledger = new LedgerDeContas(entityManager, jdbcTemplate, transactionTemplate, "TABELA", 100, 500);
+	}
+
+	@Test
+	void deveNumerarAsEntradasComASequenciaDeCadaConta() {
+		Conta remetente = new ContaCorrente();
+		Conta recebedor = new ContaCorrente();
+		HistoricoConta transferencia = new HistoricoConta(TipoTransacao.TRANSFERENCIA, Dinheiro.deReais(10), remetente,
+				recebedor);
+		HistoricoConta deposito = new HistoricoConta(TipoTransacao.DEPOSITO, Dinheiro.deReais(5), remetente, null);
+
+		ledger.numerar(List.of(transferencia, deposito));
+
+		assertEquals(1L, transferencia.getSequenciaRemetente());
+		assertEquals(1L, transferencia.getSequenciaRecebedor());
+		assertEquals(2L, deposito.getSequenciaRemetente());
+		assertNull(deposito.getSequenciaRecebedor());
+		assertEquals(2L, remetente.getSequenciaLedger());
+		assertEquals(1L, recebedor.getSequenciaLedger());
+		verify(entityManager).flush();
+	}
+
+	@Test
+	void deveRecusarOHistoricoEmJournal() {
+		assertThrows(IllegalStateException.class,
+				() -> new LedgerDeContas(entityManager, jdbcTemplate, transactionTemplate, "JOURNAL", 100, 500));
+	}
+
+	@Test
+	void deveSomarAsEntradasSemSequenciaQuandoNaoHaSnapshot() throws Exception {
+		prepararSnapshot(null, null);
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(CASE WHEN id_recebedor"), eq(BigDecimal.class),
+				eq(1), eq(1), eq(1))).thenReturn(new BigDecimal("10.00"));
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(CASE WHEN tipo_transacao"), eq(BigDecimal.class),
+				eq(1), eq(0L), eq(50L))).thenReturn(new BigDecimal("-3.00"));
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(valor)"), eq(BigDecimal.class), eq(1), eq(0L),
+				eq(50L))).thenReturn(new BigDecimal("5.00"));
+
+		assertEquals(Dinheiro.de("12.00"), ledger.saldoNaSequencia(1, 50L, false));
+	}
+
+	@Test
+	void devePartirDoSnapshotESomarApenasAsEntradasPosteriores() throws Exception {
+		prepararSnapshot(40L, new BigDecimal("100.00"));
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(CASE WHEN tipo_transacao"), eq(BigDecimal.class),
+				eq(1), eq(40L), eq(50L))).thenReturn(new BigDecimal("2.50"));
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(valor)"), eq(BigDecimal.class), eq(1), eq(40L),
+				eq(50L))).thenReturn(BigDecimal.ZERO);
+
+		assertEquals(Dinheiro.de("102.50"), ledger.saldoNaSequencia(1, 50L, false));
+		verify(jdbcTemplate, never()).queryForObject(startsWith("SELECT COALESCE(SUM(CASE WHEN id_recebedor"),
+				eq(BigDecimal.class), anyInt(), anyInt(), anyInt());
+	}
+
+	@Test
+	void deveIgnorarOSnapshotNaSomaCompleta() {
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(CASE WHEN id_recebedor"), eq(BigDecimal.class),
+				eq(1), eq(1), eq(1))).thenReturn(new BigDecimal("10.00"));
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(CASE WHEN tipo_transacao"), eq(BigDecimal.class),
+				eq(1), eq(0L), eq(50L))).thenReturn(new BigDecimal("90.00"));
+		when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(SUM(valor)"), eq(BigDecimal.class), eq(1), eq(0L),
+				eq(50L))).thenReturn(BigDecimal.ZERO);
+
+		assertEquals(Dinheiro.de("100.00"), ledger.saldoNaSequencia(1, 50L, true));
+		verify(jdbcTemplate, never()).query(startsWith("SELECT sequencia"), any(ResultSetExtractor.class), anyInt(),
+				anyLong());
+	}
+
+	private void prepararSnapshot(Long sequencia, BigDecimal saldo) throws Exception {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.next()).thenReturn(sequencia != null);
+		if (sequencia != null) {
+			when(rs.getLong("sequencia")).thenReturn(sequencia);
+			when(rs.getBigDecimal("saldo")).thenReturn(saldo);
+		}
+		when(jdbcTemplate.query(startsWith("SELECT sequencia"), any(ResultSetExtractor.class), eq(1), eq(50L)))
+				.thenAnswer(invocacao -> {
+					ResultSetExtractor<?> extrator = invocacao.getArgument(1);
+					return extrator.extractData(rs);
+				});
+	}
+}
@@ -0,0 +1,109 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wallace.spring.boot.dto.EventoContaDTO;
+import com.wallace.spring.boot.enums.TipoEventoConta;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.eventos.LeituraDoLog;
+import com.wallace.spring.boot.services.eventos.LogDeEventosEmArquivo;
+
+public class LogDeEventosEmArquivoTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void deveEntregarOsEventosEmOrdemAPartirDaPosicaoDoConsumidor() {
+		try (LogDeEventosEmArquivo log = new LogDeEventosEmArquivo(diretorio, 4096, objectMapper)) {
+			log.publicar(eventos(1, 5));
+
+			LeituraDoLog primeira = log.ler("fraude", 3);
+			assertEquals(List.of(1, 2, 3), ids(primeira));
+			log.confirmar("fraude", primeira.proximaPosicao());
+
+			LeituraDoLog segunda = log.ler("fraude", 10);
+			assertEquals(List.of(4, 5), ids(segunda));
+			assertEquals(log.posicaoFinal(), segunda.proximaPosicao());
+			assertEquals(List.of(1, 2, 3, 4, 5), ids(log.ler("notificacoes", 10)));
+		}
+	}
+
+	@Test
+	void deveManterAsPosicoesEDescartarORegistroIncompletoAoReabrir() throws IOException {
+		try (LogDeEventosEmArquivo log = new LogDeEventosEmArquivo(diretorio, 4096, objectMapper)) {
+			log.publicar(eventos(1, 3));
+			log.confirmar("fraude", log.ler("fraude", 2).proximaPosicao());
+		}
+		Path segmento = diretorio.resolve("0000000000000000.log");
+		try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+			canal.truncate(Files.size(segmento) - 5);
+		}
+
+		try (LogDeEventosEmArquivo log = new LogDeEventosEmArquivo(diretorio, 4096, objectMapper)) {
+			assertTrue(ids(log.ler("fraude", 10)).isEmpty());
+
+			log.publicar(eventos(4, 4));
+
+			assertEquals(List.of(4), ids(log.ler("fraude", 10)));
+			assertEquals(List.of(1, 2, 4), ids(log.ler("relatorios", 10)));
+		}
+	}
+
+	@Test
+	void deveApagarSegmentosQueTodosOsConsumidoresJaPassaram() {
+		try (LogDeEventosEmArquivo log = new LogDeEventosEmArquivo(diretorio, 512, objectMapper)) {
+			log.registrarConsumidor("fraude");
+			log.registrarConsumidor("notificacoes");
+			for (int i = 1; i <= 20; i++) {
+				log.publicar(eventos(i, i));
+			}
+			log.confirmar("fraude", log.posicaoFinal());
+			assertTrue(Files.exists(diretorio.resolve("0000000000000000.log")));
+
+			LeituraDoLog leitura = log.ler("notificacoes", 20);
+			assertEquals(IntStream.rangeClosed(1, 20).boxed().toList(), ids(leitura));
+			log.confirmar("notificacoes", leitura.proximaPosicao());
+
+			assertFalse(Files.exists(diretorio.resolve("0000000000000000.log")));
+			assertTrue(ids(log.ler("fraude", 10)).isEmpty());
+		}
+	}
+
+	@Test
+	void deveRecusarNomeDeConsumidorQueNaoSejaUmNomeDeArquivoSeguro() {
+		try (LogDeEventosEmArquivo log = new LogDeEventosEmArquivo(diretorio, 4096, objectMapper)) {
+			assertThrows(IllegalArgumentException.class, () -> log.ler("../fora", 10));
+		}
+	}
+
+	private static List<EventoContaDTO> eventos(int de, int ate) {
+		return IntStream.rangeClosed(de, ate).mapToObj(id -> new EventoContaDTO(id, 1, (long) id,
+				TipoEventoConta.DEPOSITO, Dinheiro.deReais(10), null, id, LocalDateTime.of(2025, 3, 10, 14, 30)))
+				.toList();
+	}
+
+	private static List<Integer> ids(LeituraDoLog leitura) {
+		return leitura.eventos().stream().map(EventoContaDTO::id).toList();
+	}
+}
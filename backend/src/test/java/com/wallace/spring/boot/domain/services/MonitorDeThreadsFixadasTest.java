@@ -0,0 +1,70 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.wallace.spring.boot.services.monitoramento.MonitorDeThreadsFixadas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MonitorDeThreadsFixadasTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final MonitorDeThreadsFixadas monitor = new MonitorDeThreadsFixadas(meterRegistry, 10);
+
+	@BeforeEach
+	void iniciar() {
+		monitor.iniciar();
+	}
+
+	@AfterEach
+	void encerrar() {
+		monitor.encerrar();
+	}
+
+	@Test
+	void deveMedirBloqueiosDentroDeSynchronizedMasNaoComReentrantLock() throws Exception {
+		ReentrantLock trava = new ReentrantLock();
+		Thread.ofVirtual().start(() -> {
+			trava.lock();
+			try {
+				dormir(100);
+			} finally {
+				trava.unlock();
+			}
+		}).join();
+
+		Object monitorDoObjeto = new Object();
+		Thread.ofVirtual().start(() -> {
+			synchronized (monitorDoObjeto) {
+				dormir(100);
+			}
+		}).join();
+
+		// o JFR entrega os eventos em blocos, cerca de uma vez por segundo
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (fixacoes() == 0 && System.nanoTime() < limite) {
+			Thread.sleep(100);
+		}
+
+		assertEquals(1, fixacoes());
+	}
+
+	private long fixacoes() {
+		return meterRegistry.timer("threads.virtuais.fixadas").count();
+	}
+
+	private static void dormir(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.wallace.spring.boot.exceptions.SobrecargaException;
+import com.wallace.spring.boot.exceptions.ValorMenorQueZeroException;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.ContaCorrente;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.motor.MotorDeContasPadrao;
+import com.wallace.spring.boot.services.motor.MotorDeContasPorRaias;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class MotorDeContasPorRaiasTest {
+
+	@Mock
+	private MotorDeContasPadrao motorPadrao;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private MotorDeContasPorRaias motor;
+
+	private ExecutorService executor;
+
+	private Conta conta;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		motor = new MotorDeContasPorRaias(motorPadrao, meterRegistry, 1, 100, 256, 5000);
+		motor.iniciar();
+		executor = Executors.newFixedThreadPool(4);
+		conta = new ContaCorrente();
+		conta.setId(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		motor.encerrar();
+	}
+
+	@Test
+	@DisplayName("Deve agrupar os depósitos enfileirados para a mesma conta em um único lote")
+	void deveAgruparDepositosEnfileiradosParaAMesmaConta() throws Exception {
+		CountDownLatch primeiroEmExecucao = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+
+		when(motorPadrao.depositarEmLote(eq(1), anyList())).thenAnswer(invocation -> {
+			primeiroEmExecucao.countDown();
+			liberar.await(5, TimeUnit.SECONDS);
+			return conta;
+		}).thenReturn(conta);
+
+		Future<Conta> primeiro = executor.submit(() -> motor.depositar(Dinheiro.deReais(10), 1));
+		assertTrue(primeiroEmExecucao.await(5, TimeUnit.SECONDS));
+
+		List<Future<Conta>> demais = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			demais.add(executor.submit(() -> motor.depositar(Dinheiro.deReais(1), 1)));
+		}
+		aguardarFila(3);
+		liberar.countDown();
+
+		assertSame(conta, primeiro.get(5, TimeUnit.SECONDS));
+		for (Future<Conta> resultado : demais) {
+			assertSame(conta, resultado.get(5, TimeUnit.SECONDS));
+		}
+		verify(motorPadrao).depositarEmLote(eq(1), argThat(valores -> valores.size() == 3));
+		assertEquals(4.0, meterRegistry.counter("contas.motor.raias.depositos-agrupados").count());
+	}
+
+	@Test
+	@DisplayName("Deve rejeitar depósito com valor inválido sem passar pela fila")
+	void deveRejeitarDepositoInvalidoSemPassarPelaFila() {
+		assertThrows(ValorMenorQueZeroException.class, () -> motor.depositar(Dinheiro.deReais(-1), 1));
+
+		verifyNoInteractions(motorPadrao);
+	}
+
+	@Test
+	@DisplayName("Deve propagar a exceção do saque para quem chamou")
+	void devePropagarExcecaoDoSaque() {
+		when(motorPadrao.sacar(Dinheiro.deReais(10), 1)).thenThrow(new IllegalStateException("falha"));
+
+		assertThrows(IllegalStateException.class, () -> motor.sacar(Dinheiro.deReais(10), 1));
+	}
+
+	@Test
+	@DisplayName("Não deve executar a operação que esgotou o tempo de espera na fila")
+	void naoDeveExecutarOperacaoQueEsgotouOTempoNaFila() throws Exception {
+		MotorDeContasPorRaias motorComEsperaCurta = new MotorDeContasPorRaias(motorPadrao, new SimpleMeterRegistry(), 1,
+				100, 256, 100);
+		motorComEsperaCurta.iniciar();
+		CountDownLatch primeiroEmExecucao = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		when(motorPadrao.depositarEmLote(eq(1), anyList())).thenAnswer(invocation -> {
+			primeiroEmExecucao.countDown();
+			liberar.await(5, TimeUnit.SECONDS);
+			return conta;
+		});
+		try {
+			Future<Conta> deposito = executor.submit(() -> motorComEsperaCurta.depositar(Dinheiro.deReais(10), 1));
+			assertTrue(primeiroEmExecucao.await(5, TimeUnit.SECONDS));
+
+			assertThrows(SobrecargaException.class, () -> motorComEsperaCurta.sacar(Dinheiro.deReais(5), 1));
+			liberar.countDown();
+
+			// o depósito já estava em execução quando o tempo esgotou: quem esperava recebe o resultado
+			assertSame(conta, deposito.get(5, TimeUnit.SECONDS));
+		} finally {
+			liberar.countDown();
+			motorComEsperaCurta.encerrar();
+		}
+		verify(motorPadrao, never()).sacar(any(), any());
+	}
+
+	private void aguardarFila(int tamanho) throws InterruptedException {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("contas.motor.raias.fila").gauge().value() < tamanho && System.nanoTime() < limite) {
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.EventoContaDTO;
+import com.wallace.spring.boot.enums.TipoEventoConta;
+import com.wallace.spring.boot.model.entities.EventoConta;
+import com.wallace.spring.boot.model.repository.EventoContaRepository;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.eventos.DestinoDeEventos;
+import com.wallace.spring.boot.services.eventos.RelayDoOutbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class RelayDoOutboxTest {
+
+	@Mock
+	private EventoContaRepository eventoContaRepository;
+
+	@Mock
+	private DestinoDeEventos destinoDeEventos;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Captor
+	private ArgumentCaptor<List<EventoContaDTO>> publicadosCaptor;
+
+	private RelayDoOutbox relay;
+
+	@BeforeEach
+	void setUp() {
+		when(transactionTemplate.execute(any())).thenAnswer(invocacao -> {
+			TransactionCallback<?> callback = invocacao.getArgument(0);
+			return callback.doInTransaction(null);
+		});
+		relay = new RelayDoOutbox(eventoContaRepository, destinoDeEventos, transactionTemplate,
+				new SimpleMeterRegistry(), 2);
+	}
+
+	@Test
+	void devePublicarEApagarEmLotesAteEsvaziarOOutbox() {
+		when(eventoContaRepository.buscarParaPublicacao(Limit.of(2))).thenReturn(
+				List.of(evento(10, 1, 3L), evento(11, 1, 4L)), List.of(evento(7, 2, 9L)));
+
+		int publicados = relay.publicarPendentes();
+
+		assertEquals(3, publicados);
+		verify(destinoDeEventos, times(2)).publicar(publicadosCaptor.capture());
+		assertEquals(List.of(10, 11), publicadosCaptor.getAllValues().get(0).stream().map(EventoContaDTO::id).toList());
+		assertEquals(List.of(7), publicadosCaptor.getAllValues().get(1).stream().map(EventoContaDTO::id).toList());
+		verify(eventoContaRepository).deleteAllByIdInBatch(List.of(10, 11));
+		verify(eventoContaRepository).deleteAllByIdInBatch(List.of(7));
+	}
+
+	@Test
+	void naoDeveApagarOLoteQuandoODestinoFalhar() {
+		when(eventoContaRepository.buscarParaPublicacao(Limit.of(2))).thenReturn(List.of(evento(10, 1, 3L)));
+		doThrow(new IllegalStateException("disco cheio")).when(destinoDeEventos).publicar(anyList());
+
+		relay.publicarPeriodicamente();
+
+		verify(eventoContaRepository, never()).deleteAllByIdInBatch(any());
+	}
+
+	private static EventoConta evento(int id, int contaId, long versao) {
+		EventoConta evento = new EventoConta(contaId, versao, TipoEventoConta.DEPOSITO, Dinheiro.deReais(10), null, id,
+				LocalDateTime.of(2025, 3, 10, 14, 30));
+		ReflectionTestUtils.setField(evento, "id", id);
+		return evento;
+	}
+}
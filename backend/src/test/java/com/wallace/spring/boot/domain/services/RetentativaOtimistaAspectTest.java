@@ -0,0 +1,71 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.wallace.spring.boot.exceptions.ConflitoDeConcorrenciaException;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.services.concorrencia.RetentativaOtimistaAspect;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class RetentativaOtimistaAspectTest {
+
+	@Mock
+	private ProceedingJoinPoint joinPoint;
+
+	@Mock
+	private Signature signature;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private RetentativaOtimistaAspect aspect;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		aspect = new RetentativaOtimistaAspect(meterRegistry, 3, 0, 0);
+		when(joinPoint.getSignature()).thenReturn(signature);
+		when(signature.getName()).thenReturn("depositar");
+	}
+
+	@Test
+	@DisplayName("Deve repetir a operação quando houver conflito de versão")
+	void deveRepetirAOperacaoQuandoHouverConflitoDeVersao() throws Throwable {
+		when(joinPoint.proceed()).thenThrow(new ObjectOptimisticLockingFailureException(Conta.class, 1))
+				.thenReturn("ok");
+
+		Object resultado = aspect.executarComRetentativa(joinPoint);
+
+		assertEquals("ok", resultado);
+		verify(joinPoint, times(2)).proceed();
+		assertEquals(1.0, meterRegistry.counter("contas.concorrencia.conflitos", "operacao", "depositar").count());
+		assertEquals(1.0, meterRegistry.counter("contas.concorrencia.retentativas", "operacao", "depositar").count());
+	}
+
+	@Test
+	@DisplayName("Deve lançar exceção de conflito ao esgotar as tentativas")
+	void deveLancarExcecaoDeConflitoAoEsgotarAsTentativas() throws Throwable {
+		when(joinPoint.proceed()).thenThrow(new ObjectOptimisticLockingFailureException(Conta.class, 1));
+
+		assertThrows(ConflitoDeConcorrenciaException.class, () -> aspect.executarComRetentativa(joinPoint));
+
+		verify(joinPoint, times(3)).proceed();
+		assertEquals(3.0, meterRegistry.counter("contas.concorrencia.conflitos", "operacao", "depositar").count());
+		assertEquals(1.0, meterRegistry.counter("contas.concorrencia.esgotadas", "operacao", "depositar").count());
+	}
+}
@@ -0,0 +1,108 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.wallace.spring.boot.services.monitoramento.SaturacaoDoPoolDeConexoes;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SaturacaoDoPoolDeConexoesTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final Timer aquisicoes = meterRegistry.timer("hikaricp.connections.acquire", "pool", "HikariPool-1");
+	private final HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+	private DataSource dataSource;
+	private SaturacaoDoPoolDeConexoes saturacao;
+
+	@BeforeEach
+	void preparar() throws Exception {
+		dataSource = mock(DataSource.class);
+		HikariDataSource hikari = mock(HikariDataSource.class);
+		when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+		when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+		when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+		saturacao = new SaturacaoDoPoolDeConexoes(dataSource, meterRegistry, 250, 1000);
+	}
+
+	@Test
+	void deveSaturarQuandoAEsperaMediaDoIntervaloPassaDoLimiteComFila() {
+		aquisicoes.record(400, TimeUnit.MILLISECONDS);
+		aquisicoes.record(600, TimeUnit.MILLISECONDS);
+		when(pool.getThreadsAwaitingConnection()).thenReturn(5);
+
+		saturacao.amostrar();
+
+		assertTrue(saturacao.saturado());
+	}
+
+	@Test
+	void naoDeveConsiderarEsperasDeIntervalosAnteriores() {
+		aquisicoes.record(2, TimeUnit.SECONDS);
+		when(pool.getThreadsAwaitingConnection()).thenReturn(5);
+		saturacao.amostrar();
+
+		for (int i = 0; i < 10; i++) {
+			aquisicoes.record(1, TimeUnit.MILLISECONDS);
+		}
+		saturacao.amostrar();
+
+		assertFalse(saturacao.saturado());
+	}
+
+	@Test
+	void deveLiberarAssimQueAFilaEsvaziar() {
+		aquisicoes.record(1, TimeUnit.SECONDS);
+		when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+		saturacao.amostrar();
+
+		when(pool.getThreadsAwaitingConnection()).thenReturn(0);
+
+		assertFalse(saturacao.saturado());
+	}
+
+	@Test
+	void deveSaturarQuandoNenhumaConexaoForEntregueNoIntervalo() {
+		when(pool.getThreadsAwaitingConnection()).thenReturn(8);
+
+		saturacao.amostrar();
+
+		assertTrue(saturacao.saturado());
+	}
+
+	@Test
+	void deveAmostrarSozinhoNumaThreadDePlataforma() throws Exception {
+		AtomicReference<Thread> amostrou = new AtomicReference<>();
+		when(pool.getThreadsAwaitingConnection()).thenAnswer(chamada -> {
+			amostrou.compareAndSet(null, Thread.currentThread());
+			return 8;
+		});
+		saturacao = new SaturacaoDoPoolDeConexoes(dataSource, meterRegistry, 250, 10);
+
+		saturacao.iniciar();
+		try {
+			verify(pool, timeout(1000).atLeastOnce()).getThreadsAwaitingConnection();
+		} finally {
+			saturacao.encerrar();
+		}
+
+		assertFalse(amostrou.get().isVirtual());
+		assertEquals("amostragem-pool-conexoes", amostrou.get().getName());
+	}
+}
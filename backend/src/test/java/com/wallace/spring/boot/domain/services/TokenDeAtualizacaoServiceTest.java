@@ -0,0 +1,108 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.wallace.spring.boot.enums.Role;
+import com.wallace.spring.boot.exceptions.TokenDeAtualizacaoInvalidoException;
+import com.wallace.spring.boot.model.entities.TokenDeAtualizacao;
+import com.wallace.spring.boot.model.entities.User;
+import com.wallace.spring.boot.model.repository.TokenDeAtualizacaoRepository;
+import com.wallace.spring.boot.services.autenticacao.TokenDeAtualizacaoService;
+import com.wallace.spring.boot.services.autenticacao.TokenDeAtualizacaoService.TokenRotacionado;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenDeAtualizacaoServiceTest {
+
+	@Mock
+	private TokenDeAtualizacaoRepository tokenDeAtualizacaoRepository;
+
+	private TokenDeAtualizacaoService tokenDeAtualizacaoService;
+	private User usuario;
+
+	@BeforeEach
+	void setUp() {
+		tokenDeAtualizacaoService = new TokenDeAtualizacaoService(tokenDeAtualizacaoRepository, 7);
+		usuario = User.builder().id(3).email("maria@email.com").roles(Role.USER).build();
+	}
+
+	@Test
+	void devePersistirApenasOHashDoTokenEmitido() {
+		String token = tokenDeAtualizacaoService.emitir(usuario);
+
+		TokenDeAtualizacao salvo = capturarSalvo();
+		assertEquals(64, salvo.getHash().length());
+		assertNotEquals(token, salvo.getHash());
+		assertSame(usuario, salvo.getUsuario());
+		assertEquals(salvo.getCriadoEm().plusDays(7), salvo.getExpiraEm());
+	}
+
+	@Test
+	void deveRotacionarNaMesmaFamilia() {
+		String token = tokenDeAtualizacaoService.emitir(usuario);
+		TokenDeAtualizacao emitido = capturarSalvo();
+		when(tokenDeAtualizacaoRepository.buscarComUsuario(emitido.getHash())).thenReturn(Optional.of(emitido));
+		when(tokenDeAtualizacaoRepository.revogar(emitido.getHash())).thenReturn(1);
+
+		TokenRotacionado rotacionado = tokenDeAtualizacaoService.rotacionar(token);
+
+		assertSame(usuario, rotacionado.usuario());
+		assertNotEquals(token, rotacionado.refreshToken());
+		ArgumentCaptor<TokenDeAtualizacao> captor = ArgumentCaptor.forClass(TokenDeAtualizacao.class);
+		verify(tokenDeAtualizacaoRepository, times(2)).save(captor.capture());
+		assertEquals(emitido.getFamilia(), captor.getAllValues().get(1).getFamilia());
+	}
+
+	@Test
+	void deveRevogarAFamiliaQuandoUmTokenForReutilizado() {
+		String token = tokenDeAtualizacaoService.emitir(usuario);
+		TokenDeAtualizacao emitido = capturarSalvo();
+		when(tokenDeAtualizacaoRepository.buscarComUsuario(emitido.getHash())).thenReturn(Optional.of(emitido));
+		when(tokenDeAtualizacaoRepository.revogar(emitido.getHash())).thenReturn(0);
+
+		assertThrows(TokenDeAtualizacaoInvalidoException.class, () -> tokenDeAtualizacaoService.rotacionar(token));
+
+		verify(tokenDeAtualizacaoRepository).revogarFamilia(emitido.getFamilia());
+	}
+
+	@Test
+	void deveRecusarTokenExpiradoSemRevogar() {
+		TokenDeAtualizacao expirado = new TokenDeAtualizacao("hash", "familia", usuario,
+				LocalDateTime.now().minusDays(8), LocalDateTime.now().minusDays(1));
+		when(tokenDeAtualizacaoRepository.buscarComUsuario(anyString())).thenReturn(Optional.of(expirado));
+
+		assertThrows(TokenDeAtualizacaoInvalidoException.class, () -> tokenDeAtualizacaoService.rotacionar("token"));
+
+		verify(tokenDeAtualizacaoRepository, never()).revogar(anyString());
+	}
+
+	@Test
+	void deveRecusarTokenDesconhecido() {
+		when(tokenDeAtualizacaoRepository.buscarComUsuario(anyString())).thenReturn(Optional.empty());
+
+		assertThrows(TokenDeAtualizacaoInvalidoException.class, () -> tokenDeAtualizacaoService.rotacionar("token"));
+	}
+
+	private TokenDeAtualizacao capturarSalvo() {
+		ArgumentCaptor<TokenDeAtualizacao> captor = ArgumentCaptor.forClass(TokenDeAtualizacao.class);
+		verify(tokenDeAtualizacaoRepository).save(captor.capture());
+		return captor.getValue();
+	}
+}
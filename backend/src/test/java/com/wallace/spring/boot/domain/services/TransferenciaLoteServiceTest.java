@@ -0,0 +1,218 @@
+package com.wallace.spring.boot.domain.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wallace.spring.boot.dto.TransferenciaLoteResponseDTO;
+import com.wallace.spring.boot.dto.TransferenciaRequestDTO;
+import com.wallace.spring.boot.exceptions.OperacaoIndisponivelException;
+import com.wallace.spring.boot.model.entities.Conta;
+import com.wallace.spring.boot.model.entities.ContaCorrente;
+import com.wallace.spring.boot.model.repository.ContaRepository;
+import com.wallace.spring.boot.model.repository.SequenciaDeIds;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.services.TransferenciaLoteService;
+import com.wallace.spring.boot.services.eventos.OutboxDeEventos;
+
+@ExtendWith(MockitoExtension.class)
+public class TransferenciaLoteServiceTest {
+
+	@Mock
+	private ContaRepository contaRepository;
+
+	@Mock
+	private SequenciaDeIds sequenciaDeIds;
+
+	@Mock
+	private OutboxDeEventos outboxDeEventos;
+
+	@Mock
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Captor
+	private ArgumentCaptor<List<Object[]>> atualizacoesCaptor;
+
+	private Conta conta1;
+	private Conta conta2;
+
+	@BeforeEach
+	void setUp() {
+		conta1 = new ContaCorrente();
+		conta1.setId(1);
+		conta2 = new ContaCorrente();
+		conta2.setId(2);
+	}
+
+	@Test
+	void deveAplicarTransferenciasValidasERejeitarAsDemaisIndividualmente() throws Exception {
+		TransferenciaLoteService service = criarService(500);
+		prepararContasBloqueadas(Map.of(1, new BigDecimal("100.00"), 2, BigDecimal.ZERO));
+		List<TransferenciaRequestDTO> lote = List.of(new TransferenciaRequestDTO(1, 2, Dinheiro.de("60.00")),
+				new TransferenciaRequestDTO(1, 2, Dinheiro.de("60.00")),
+				new TransferenciaRequestDTO(1, 3, Dinheiro.de("10.00")));
+
+		TransferenciaLoteResponseDTO resposta = service.transferirEmLote(lote);
+
+		assertEquals(3, resposta.total());
+		assertEquals(1, resposta.sucessos());
+		assertEquals(2, resposta.falhas());
+		assertTrue(resposta.resultados().get(0).sucesso());
+		assertEquals("Saldo insuficiente na conta para realizar a transferência",
+				resposta.resultados().get(1).mensagem());
+		assertEquals("Esta conta não existe!", resposta.resultados().get(2).mensagem());
+
+		verify(jdbcTemplate).batchUpdate(startsWith("UPDATE contas"), atualizacoesCaptor.capture());
+		List<Object[]> atualizacoes = atualizacoesCaptor.getValue();
+		assertEquals(2, atualizacoes.size());
+		assertArrayEquals(new Object[] { new BigDecimal("40.00"), 1 }, atualizacoes.get(0));
+		assertArrayEquals(new Object[] { new BigDecimal("60.00"), 2 }, atualizacoes.get(1));
+
+		verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO historico_conta"), atualizacoesCaptor.capture());
+		assertEquals(1, atualizacoesCaptor.getValue().size());
+		assertEquals(1001, atualizacoesCaptor.getValue().get(0)[0]);
+		verify(sequenciaDeIds).reservar(SequenciaDeIds.HISTORICO_CONTA, 2);
+	}
+
+	@Test
+	void deveMarcarComoFalhaApenasOBlocoQueNaoFoiGravado() throws Exception {
+		TransferenciaLoteService service = criarService(1);
+		prepararContasBloqueadas(Map.of(1, new BigDecimal("100.00"), 2, BigDecimal.ZERO));
+		doThrow(new DataAccessResourceFailureException("Conexão perdida")).doAnswer(invocacao -> {
+			Consumer<TransactionStatus> acao = invocacao.getArgument(0);
+			acao.accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+
+		TransferenciaLoteResponseDTO resposta = service.transferirEmLote(
+				List.of(new TransferenciaRequestDTO(1, 2, Dinheiro.deReais(10)), new TransferenciaRequestDTO(1, 2, Dinheiro.deReais(10))));
+
+		assertFalse(resposta.resultados().get(0).sucesso());
+		assertTrue(resposta.resultados().get(1).sucesso());
+		assertEquals(1, resposta.sucessos());
+	}
+
+	@Test
+	void deveMarcarComoFalhaOBlocoQueLancouQualquerExcecaoESeguirComOsDemais() throws Exception {
+		TransferenciaLoteService service = criarService(1);
+		prepararContasBloqueadas(Map.of(1, new BigDecimal("100.00"), 2, BigDecimal.ZERO));
+		doAnswer(invocacao -> {
+			Consumer<TransactionStatus> acao = invocacao.getArgument(0);
+			acao.accept(null);
+			return null;
+		}).doThrow(new ArithmeticException("Valor monetário fora do limite suportado")).doAnswer(invocacao -> {
+			Consumer<TransactionStatus> acao = invocacao.getArgument(0);
+			acao.accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+
+		TransferenciaLoteResponseDTO resposta = service.transferirEmLote(List.of(
+				new TransferenciaRequestDTO(1, 2, Dinheiro.deReais(10)), new TransferenciaRequestDTO(1, 2, Dinheiro.deReais(10)),
+				new TransferenciaRequestDTO(1, 2, Dinheiro.deReais(10))));
+
+		assertTrue(resposta.resultados().get(0).sucesso());
+		assertFalse(resposta.resultados().get(1).sucesso());
+		assertTrue(resposta.resultados().get(2).sucesso());
+		assertEquals(2, resposta.sucessos());
+	}
+
+	@Test
+	void deveGravarUmEventoPorContaComAVersaoQueOChunkDeixa() throws Exception {
+		when(outboxDeEventos.habilitado()).thenReturn(true);
+		TransferenciaLoteService service = criarService(500);
+		prepararContasBloqueadas(Map.of(1, new BigDecimal("100.00"), 2, BigDecimal.ZERO));
+
+		service.transferirEmLote(List.of(new TransferenciaRequestDTO(1, 2, Dinheiro.de("30.00")),
+				new TransferenciaRequestDTO(1, 2, Dinheiro.de("20.00"))));
+
+		verify(sequenciaDeIds).reservar(SequenciaDeIds.OUTBOX_EVENTOS, 4);
+		verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO outbox_eventos"), atualizacoesCaptor.capture());
+		List<Object[]> eventos = atualizacoesCaptor.getValue();
+		assertEquals(4, eventos.size());
+		assertArrayEquals(new Object[] { 1001, 1, 8L, "TRANSFERENCIA_ENVIADA", new BigDecimal("30.00"), 2, 1001 },
+				Arrays.copyOf(eventos.get(0), 7));
+		assertArrayEquals(new Object[] { 1002, 2, 8L, "TRANSFERENCIA_RECEBIDA", new BigDecimal("30.00"), 1, 1001 },
+				Arrays.copyOf(eventos.get(1), 7));
+		assertArrayEquals(new Object[] { 1004, 2, 8L, "TRANSFERENCIA_RECEBIDA", new BigDecimal("20.00"), 1, 1002 },
+				Arrays.copyOf(eventos.get(3), 7));
+	}
+
+	@Test
+	void deveRecusarOLoteQuandoDesabilitado() {
+		TransferenciaLoteService service = new TransferenciaLoteService(contaRepository, sequenciaDeIds, outboxDeEventos,
+				Optional.empty(), Optional.empty(), namedParameterJdbcTemplate, transactionTemplate, 500, false);
+
+		assertThrows(OperacaoIndisponivelException.class, () -> service
+				.transferirEmLote(List.of(new TransferenciaRequestDTO(1, 2, Dinheiro.deReais(10)))));
+		verify(contaRepository, never()).findAllById(any());
+	}
+
+	private TransferenciaLoteService criarService(int tamanhoChunk) {
+		when(contaRepository.findAllById(any())).thenReturn(List.of(conta1, conta2));
+		lenient().when(sequenciaDeIds.reservar(anyString(), anyInt())).thenReturn(1001);
+		return new TransferenciaLoteService(contaRepository, sequenciaDeIds, outboxDeEventos, Optional.empty(), Optional.empty(),
+				namedParameterJdbcTemplate, transactionTemplate, tamanhoChunk, true);
+	}
+
+	private void prepararContasBloqueadas(Map<Integer, BigDecimal> saldos) {
+		lenient().doAnswer(invocacao -> {
+			Consumer<TransactionStatus> acao = invocacao.getArgument(0);
+			acao.accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		lenient().when(namedParameterJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+		lenient().doAnswer(invocacao -> {
+			RowCallbackHandler handler = invocacao.getArgument(2);
+			for (Map.Entry<Integer, BigDecimal> saldo : saldos.entrySet()) {
+				ResultSet rs = mock(ResultSet.class);
+				when(rs.getInt("conta_id")).thenReturn(saldo.getKey());
+				when(rs.getBigDecimal("saldo")).thenReturn(saldo.getValue());
+				lenient().when(rs.getLong("versao")).thenReturn(7L);
+				handler.processRow(rs);
+			}
+			return null;
+		}).when(namedParameterJdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+	}
+}
@@ -0,0 +1,82 @@
+package com.wallace.spring.boot.domain.valores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.wallace.spring.boot.dto.OperacaoRequestDTO;
+import com.wallace.spring.boot.model.valores.Dinheiro;
+import com.wallace.spring.boot.model.valores.DinheiroConverter;
+
+public class DinheiroTest {
+
+	@Test
+	void deveArredondarParaCentavosComHalfEven() {
+		assertEquals(1012, Dinheiro.de("10.125").centavos());
+		assertEquals(1014, Dinheiro.de("10.135").centavos());
+		assertEquals(-1012, Dinheiro.de("-10.125").centavos());
+	}
+
+	@Test
+	void deveSomarESubtrairDeFormaExata() {
+		Dinheiro saldo = Dinheiro.de("0.10").somar(Dinheiro.de("0.20"));
+
+		assertEquals(Dinheiro.de("0.30"), saldo);
+		assertEquals(Dinheiro.de("-0.05"), saldo.subtrair(Dinheiro.de("0.35")));
+		assertEquals("-0.05", saldo.subtrair(Dinheiro.de("0.35")).toString());
+	}
+
+	@Test
+	void deveLancarExcecaoQuandoEstourarOLimite() {
+		Dinheiro maximo = Dinheiro.deCentavos(Long.MAX_VALUE);
+
+		assertThrows(ArithmeticException.class, () -> maximo.somar(Dinheiro.deCentavos(1)));
+		assertThrows(ArithmeticException.class, () -> Dinheiro.de(new BigDecimal("1e30")));
+	}
+
+	@Test
+	void deveConverterParaColunaComDuasCasasDecimais() {
+		DinheiroConverter converter = new DinheiroConverter();
+
+		assertEquals(new BigDecimal("1250.50"), converter.convertToDatabaseColumn(Dinheiro.de("1250.5")));
+		assertEquals(Dinheiro.de("1250.50"), converter.convertToEntityAttribute(new BigDecimal("1250.500")));
+	}
+
+	@Test
+	void deveRecusarNaLeituraSaldoComMaisDeDuasCasasEmVezDeArredondar() {
+		DinheiroConverter converter = new DinheiroConverter();
+
+		ArithmeticException erro = assertThrows(ArithmeticException.class,
+				() -> converter.convertToEntityAttribute(new BigDecimal("150.255")));
+
+		assertEquals("O valor 150.255 tem mais de 2 casas decimais", erro.getMessage());
+	}
+
+	@Test
+	void deveSerializarComoNumeroJson() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+
+		String json = mapper.writeValueAsString(new OperacaoRequestDTO(Dinheiro.de("150.7"), 1));
+		OperacaoRequestDTO lido = mapper.readValue(json, OperacaoRequestDTO.class);
+
+		assertEquals("{\"valor\":150.70,\"contaId\":1}", json);
+		assertEquals(Dinheiro.de("150.70"), lido.valor());
+	}
+
+	@Test
+	void deveRecusarJsonComMaisDeDuasCasasDecimais() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+
+		InvalidFormatException erro = assertThrows(InvalidFormatException.class,
+				() -> mapper.readValue("{\"valor\":10.005,\"contaId\":1}", OperacaoRequestDTO.class));
+
+		assertEquals("O valor 10.005 tem mais de 2 casas decimais", erro.getOriginalMessage());
+		assertEquals(Dinheiro.de("10.50"), mapper.readValue("{\"valor\":10.500,\"contaId\":1}",
+				OperacaoRequestDTO.class).valor());
+	}
+}
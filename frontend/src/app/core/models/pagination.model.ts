@@ -4,4 +4,5 @@ export interface Pagination<T> {
   itemsPerPage: number;
   totalItems: number;
   totalPages: number;
+  nextCursor?: string | null;
 }